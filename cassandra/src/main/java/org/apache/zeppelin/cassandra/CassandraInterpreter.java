@@ -91,6 +91,10 @@ public class CassandraInterpreter extends Interpreter {
           "cassandra.query.default.consistency";
   public static final String CASSANDRA_QUERY_DEFAULT_SERIAL_CONSISTENCY =
           "cassandra.query.default.serial.consistency";
+  public static final String CASSANDRA_QUERY_MAX_ROWS =
+          "cassandra.query.max.rows";
+  public static final String CASSANDRA_QUERY_ASYNC_PARALLELISM =
+          "cassandra.query.async.parallelism";
   public static final String CASSANDRA_QUERY_DEFAULT_FETCH_SIZE =
           "cassandra.query.default.fetchSize";
   public static final String CASSANDRA_QUERY_DEFAULT_IDEMPOTENCE =
@@ -142,6 +146,8 @@ public class CassandraInterpreter extends Interpreter {
   public static final String DEFAULT_CONSISTENCY = "ONE";
   public static final String DEFAULT_SERIAL_CONSISTENCY = "SERIAL";
   public static final String DEFAULT_FETCH_SIZE = "5000";
+  public static final String DEFAULT_MAX_ROWS = "1000";
+  public static final String DEFAULT_ASYNC_PARALLELISM = "1";
   public static final String DEFAULT_CONNECTION_TIMEOUT = "5000";
   public static final String DEFAULT_READ_TIMEOUT = "12000";
   public static final String DEFAULT_TCP_NO_DELAY = "true";
@@ -228,7 +234,10 @@ public class CassandraInterpreter extends Interpreter {
 
     cluster = clusterBuilder.build();
     session = cluster.connect();
-    helper = new InterpreterLogic(session);
+    helper = new InterpreterLogic(session,
+            parseInt(getProperty().getProperty(CASSANDRA_QUERY_MAX_ROWS, DEFAULT_MAX_ROWS)),
+            parseInt(getProperty().getProperty(CASSANDRA_QUERY_ASYNC_PARALLELISM,
+                    DEFAULT_ASYNC_PARALLELISM)));
   }
 
   @Override
@@ -22,7 +22,7 @@ import java.nio.ByteBuffer
 import java.text.SimpleDateFormat
 import java.util
 import java.util.Date
-import java.util.concurrent.ConcurrentHashMap
+import java.util.concurrent.{ConcurrentHashMap, Executor, Semaphore}
 
 import com.datastax.driver.core.DataType.Name._
 import com.datastax.driver.core._
@@ -32,12 +32,11 @@ import org.apache.zeppelin.cassandra.TextBlockHierarchy._
 import org.apache.zeppelin.display.AngularObjectRegistry
 import org.apache.zeppelin.display.ui.OptionInput.ParamOption
 import org.apache.zeppelin.interpreter.InterpreterResult.Code
-import org.apache.zeppelin.interpreter.{InterpreterException, InterpreterResult, InterpreterContext}
+import org.apache.zeppelin.interpreter.{InterpreterException, InterpreterOutput, InterpreterResult, InterpreterContext, ResultMessages}
 import org.slf4j.LoggerFactory
 import scala.collection.JavaConversions._
 import scala.collection.JavaConverters._
 import scala.collection.mutable
-import scala.collection.mutable.ArrayBuffer
 
 
 /**
@@ -83,6 +82,10 @@ object InterpreterLogic {
 
   val paragraphParser = new ParagraphParser
   val boundValuesParser = new BoundValuesParser
+
+  val sameThreadExecutor = new Executor {
+    override def execute(command: Runnable): Unit = command.run()
+  }
   
 }
 
@@ -92,8 +95,14 @@ object InterpreterLogic {
  * and parameters blocks
  *
  * @param session java driver session
+ * @param maxRows maximum number of rows displayed for a query
+ * @param asyncParallelism number of statements of a paragraph executed concurrently,
+ *                         statements are executed one after another when 1
  */
-class InterpreterLogic(val session: Session)  {
+class InterpreterLogic(val session: Session, val maxRows: Int, val asyncParallelism: Int)  {
+
+  def this(session: Session) = this(session,
+    CassandraInterpreter.DEFAULT_MAX_ROWS.toInt, CassandraInterpreter.DEFAULT_ASYNC_PARALLELISM.toInt)
 
   val enhancedSession: EnhancedSession = new EnhancedSession(session)
 
@@ -152,11 +161,11 @@ class InterpreterLogic(val session: Session)  {
           case x => throw new InterpreterException(s"Unknown statement type : ${x}")
        }
 
-      val results: List[(Any,Any)] = for (statement <- statements) yield (enhancedSession.execute(statement),statement)
+      val results: List[(Any,Any)] = executeStatements(statements)
 
       if (results.nonEmpty) {
         results.last match {
-          case(res: ResultSet, st: Statement) => buildResponseMessage((res, st), protocolVersion)
+          case(res: ResultSet, st: Statement) => buildResponseMessage((res, st), protocolVersion, context.out)
           case(output: String, _) => new InterpreterResult(Code.SUCCESS, output)
           case _ => throw new InterpreterException(s"Cannot parse result type : ${results.last}")
         }
@@ -185,48 +194,105 @@ class InterpreterLogic(val session: Session)  {
     }
   }
 
+  /**
+   * Execute the statements in order. With an async parallelism above 1, up to that many
+   * CQL statements are executed concurrently, so they should not depend on each other
+   */
+  def executeStatements(statements: List[Any]): List[(Any,Any)] = {
+    if (asyncParallelism <= 1) {
+      for (statement <- statements) yield (enhancedSession.execute(statement),statement)
+    } else {
+      val inFlight = new Semaphore(asyncParallelism)
+      val submitted: List[(Any,Any)] = statements.map {
+        case st: Statement => {
+          inFlight.acquireUninterruptibly()
+          val future: ResultSetFuture = session.executeAsync(st)
+          future.addListener(new Runnable {
+            override def run(): Unit = inFlight.release()
+          }, sameThreadExecutor)
+          (future, st)
+        }
+        case st => (enhancedSession.execute(st), st)
+      }
+      submitted.map {
+        case (future: ResultSetFuture, st) => (future.getUninterruptibly, st)
+        case result => result
+      }
+    }
+  }
+
   def buildResponseMessage(lastResultSet: (ResultSet,Statement), protocolVersion: ProtocolVersion): InterpreterResult = {
-    val output = new StringBuilder()
-    val rows: collection.mutable.ArrayBuffer[Row] = ArrayBuffer()
+    buildResponseMessage(lastResultSet, protocolVersion, null)
+  }
 
-    val iterator: util.Iterator[Row] = lastResultSet._1.iterator()
-    while (iterator.hasNext) {
-      rows.append(iterator.next())
-    }
+  /**
+   * Render at most maxRows rows of the result set. When out is not null, the rows of each
+   * page are written into it before the next page is fetched, otherwise the whole result is
+   * returned in the InterpreterResult
+   */
+  def buildResponseMessage(lastResultSet: (ResultSet,Statement), protocolVersion: ProtocolVersion,
+                           out: InterpreterOutput): InterpreterResult = {
+    val resultSet: ResultSet = lastResultSet._1
+    val output = new StringBuilder()
 
-    val columnsDefinitions: List[(String, DataType)] = lastResultSet._1
+    val columnsDefinitions: List[(String, DataType)] = resultSet
       .getColumnDefinitions
       .asList
       .toList // Java list -> Scala list
       .map(definition => (definition.getName, definition.getType))
 
-
-    if (rows.nonEmpty) {
-      // Create table headers
-      output
-        .append("%table ")
-        .append(columnsDefinitions.map { case (columnName, _) => columnName }.mkString("\t")).append("\n")
-
-      // Deserialize Data
-      rows.foreach {
-        row => {
-          val data = columnsDefinitions.map {
-            case (name, dataType) => {
-              if (row.isNull(name)) null else row.getObject(name)
-            }
-          }
-          output.append(data.mkString("\t")).append("\n")
-        }
-      }
-    } else {
+    if (resultSet.isExhausted) {
       val lastQuery: String = lastResultSet._2.toString
-      val executionInfo: ExecutionInfo = lastResultSet._1.getExecutionInfo
+      val executionInfo: ExecutionInfo = resultSet.getExecutionInfo
       output.append(enhancedSession.displayExecutionStatistics(lastQuery, executionInfo))
+      return new InterpreterResult(Code.SUCCESS, output.toString())
     }
 
-    val result: String = output.toString()
-    logger.debug(s"CQL result : \n\n$result\n")
-    new InterpreterResult(Code.SUCCESS, result)
+    // Create table headers
+    output
+      .append("%table ")
+      .append(columnsDefinitions.map { case (columnName, _) => columnName }.mkString("\t")).append("\n")
+
+    // Deserialize Data
+    var rowCount = 0
+    while (rowCount < maxRows && !resultSet.isExhausted) {
+      val row = resultSet.one()
+      val data = columnsDefinitions.indices.map {
+        index => if (row.isNull(index)) null else row.getObject(index)
+      }
+      output.append(data.mkString("\t")).append("\n")
+      rowCount += 1
+
+      // the rows of the page are rendered before the next page is fetched
+      if (out != null && resultSet.getAvailableWithoutFetching == 0) {
+        out.write(output.toString())
+        out.flush()
+        output.setLength(0)
+      }
+    }
+    val truncated = resultSet.getAvailableWithoutFetching > 0 || !resultSet.isFullyFetched
+    val exceedsLimit = ResultMessages.getExceedsLimitRowsMessage(maxRows,
+      CassandraInterpreter.CASSANDRA_QUERY_MAX_ROWS)
+
+    if (out == null) {
+      val result: String = output.toString()
+      logger.debug(s"CQL result : \n\n$result\n")
+      val interpreterResult = new InterpreterResult(Code.SUCCESS, result)
+      if (truncated) {
+        interpreterResult.add(exceedsLimit.getType, exceedsLimit.getData)
+      }
+      interpreterResult
+    } else {
+      // empty line terminates the table, so that following messages are not part of it
+      output.append("\n")
+      if (truncated) {
+        output.append("%").append(exceedsLimit.getType.name().toLowerCase).append(" ")
+          .append(exceedsLimit.getData).append("\n")
+      }
+      out.write(output.toString())
+      out.flush()
+      new InterpreterResult(Code.SUCCESS)
+    }
   }
 
   def parseInput(input:String): List[AnyBlock] = {
@@ -36,10 +36,13 @@ import com.datastax.driver.core.Session;
 import info.archinnov.achilles.embedded.CassandraEmbeddedServerBuilder;
 
 import org.apache.zeppelin.display.AngularObjectRegistry;
+import org.apache.zeppelin.display.GUI;
 import org.apache.zeppelin.interpreter.Interpreter;
 import org.apache.zeppelin.interpreter.InterpreterContext;
+import org.apache.zeppelin.interpreter.InterpreterOutput;
 import org.apache.zeppelin.interpreter.InterpreterResult;
 import org.apache.zeppelin.interpreter.InterpreterResult.Code;
+import org.apache.zeppelin.interpreter.InterpreterResultMessage;
 import org.junit.*;
 import org.junit.runner.RunWith;
 import org.mockito.Answers;
@@ -48,7 +51,10 @@ import org.mockito.runners.MockitoJUnitRunner;
 
 import java.io.BufferedReader;
 import java.io.InputStream;
+import java.io.IOException;
 import java.io.InputStreamReader;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Properties;
 
 @RunWith(MockitoJUnitRunner.class)
@@ -197,6 +203,81 @@ public class CassandraInterpreterTest {
                 "Primitive\tSoulfly\t2003\n");
     }
     
+    @Test
+    public void should_limit_the_number_of_displayed_rows() throws Exception {
+        //Given
+        final InterpreterLogic helper = new InterpreterLogic(session, 2, 1);
+
+        //When
+        final InterpreterResult actual = helper.interpret(session,
+                "SELECT * FROM " + ARTISTS_TABLE + " LIMIT 10;", intrContext);
+
+        //Then
+        assertThat(actual.code()).isEqualTo(Code.SUCCESS);
+        assertThat(actual.message()).hasSize(2);
+        assertThat(actual.message().get(0).getData()).isEqualTo("name\tborn\tcountry\tdied\tgender\tstyles\ttype\n" +
+                "Bogdan Raczynski\t1977-01-01\tPoland\tnull\tMale\t[Dance, Electro]\tPerson\n" +
+                "Krishna Das\t1947-05-31\tUSA\tnull\tMale\t[Unknown]\tPerson\n");
+        assertThat(actual.message().get(1).getData()).contains("Output is truncated");
+    }
+
+    @Test
+    public void should_write_rows_page_by_page_into_the_output() throws Exception {
+        //Given
+        final InterpreterLogic helper = new InterpreterLogic(session, 3, 1);
+        final List<String> writes = new ArrayList<>();
+        InterpreterOutput out = new InterpreterOutput(null) {
+            @Override
+            public void write(String string) throws IOException {
+                writes.add(string);
+                super.write(string);
+            }
+        };
+        InterpreterContext context = new InterpreterContext("noteId", "paragraphId", null,
+                "Paragraph1", "", null, null, new GUI(), null, null, null, out);
+
+        //When
+        final InterpreterResult actual = helper.interpret(session,
+                "@fetchSize=2\nSELECT * FROM " + ARTISTS_TABLE + " LIMIT 10;", context);
+
+        //Then the first page is written before the second one is read
+        assertThat(actual.code()).isEqualTo(Code.SUCCESS);
+        assertThat(actual.message()).isEmpty();
+        assertThat(writes).hasSize(2);
+        assertThat(writes.get(0)).isEqualTo("%table name\tborn\tcountry\tdied\tgender\tstyles\ttype\n" +
+                "Bogdan Raczynski\t1977-01-01\tPoland\tnull\tMale\t[Dance, Electro]\tPerson\n" +
+                "Krishna Das\t1947-05-31\tUSA\tnull\tMale\t[Unknown]\tPerson\n");
+        assertThat(writes.get(1)).startsWith(
+                "Sheryl Crow\t1962-02-11\tUSA\tnull\tFemale\t[Classic, Rock, Country, Blues, Pop, Folk]\tPerson\n");
+
+        //Then the output stops at max rows and ends with the truncation notice
+        List<InterpreterResultMessage> messages = out.toInterpreterResultMessage();
+        assertThat(messages).hasSize(2);
+        assertThat(messages.get(0).getType()).isEqualTo(InterpreterResult.Type.TABLE);
+        assertThat(messages.get(0).getData()).isEqualTo("name\tborn\tcountry\tdied\tgender\tstyles\ttype\n" +
+                "Bogdan Raczynski\t1977-01-01\tPoland\tnull\tMale\t[Dance, Electro]\tPerson\n" +
+                "Krishna Das\t1947-05-31\tUSA\tnull\tMale\t[Unknown]\tPerson\n" +
+                "Sheryl Crow\t1962-02-11\tUSA\tnull\tFemale\t[Classic, Rock, Country, Blues, Pop, Folk]\tPerson\n");
+        assertThat(messages.get(1).getType()).isEqualTo(InterpreterResult.Type.HTML);
+        assertThat(messages.get(1).getData()).contains("Output is truncated");
+    }
+
+    @Test
+    public void should_execute_independent_statements_concurrently() throws Exception {
+        //Given
+        final InterpreterLogic helper = new InterpreterLogic(session, 1000, 2);
+        String statements = "SELECT * FROM " + ARTISTS_TABLE + " LIMIT 3;\n" +
+                "SELECT * FROM " + ARTISTS_TABLE + " LIMIT 2;\n" +
+                "SELECT name FROM " + ARTISTS_TABLE + " LIMIT 1;";
+
+        //When
+        final InterpreterResult actual = helper.interpret(session, statements, intrContext);
+
+        //Then the result of the last statement is displayed
+        assertThat(actual.code()).isEqualTo(Code.SUCCESS);
+        assertThat(actual.message().get(0).getData()).isEqualTo("name\nBogdan Raczynski\n");
+    }
+
     @Test
     public void should_throw_statement_not_having_semi_colon() throws Exception {
         //Given
@@ -20,6 +20,7 @@ package org.apache.zeppelin.elasticsearch;
 import java.io.IOException;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Iterator;
@@ -29,6 +30,7 @@ import java.util.Map;
 import java.util.Properties;
 import java.util.Set;
 import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
@@ -42,6 +44,7 @@ import org.apache.zeppelin.elasticsearch.client.HttpBasedClient;
 import org.apache.zeppelin.elasticsearch.client.TransportBasedClient;
 import org.apache.zeppelin.interpreter.Interpreter;
 import org.apache.zeppelin.interpreter.InterpreterContext;
+import org.apache.zeppelin.interpreter.InterpreterOutput;
 import org.apache.zeppelin.interpreter.InterpreterResult;
 import org.apache.zeppelin.interpreter.thrift.InterpreterCompletion;
 import org.elasticsearch.common.xcontent.XContentBuilder;
@@ -80,6 +83,9 @@ public class ElasticsearchInterpreter extends Interpreter {
       + "  - size <value>\n"
       + "    . defines the size of the result set (default value is in the config)\n"
       + "    . if used, this command must be declared before a search command\n"
+      + "  - scroll /indices/types <query>\n"
+      + "    . same as search, but all the matching hits are fetched page by page\n"
+      + "    . the size command limits the number of hits, all the hits are fetched without it\n"
       + "  - count /indices/types <query>\n"
       + "    . same comments as for the search\n"
       + "  - get /index/type/id\n"
@@ -88,7 +94,7 @@ public class ElasticsearchInterpreter extends Interpreter {
       + "    . the id can be omitted, elasticsearch will generate one";
 
   protected static final List<String> COMMANDS = Arrays.asList(
-      "count", "delete", "get", "help", "index", "search");
+      "count", "delete", "get", "help", "index", "scroll", "search");
 
   private static final Pattern FIELD_NAME_PATTERN = Pattern.compile("\\[\\\\\"(.+)\\\\\"\\](.*)");
 
@@ -100,10 +106,18 @@ public class ElasticsearchInterpreter extends Interpreter {
   public static final String ELASTICSEARCH_RESULT_SIZE = "elasticsearch.result.size";
   public static final String ELASTICSEARCH_BASIC_AUTH_USERNAME = "elasticsearch.basicauth.username";
   public static final String ELASTICSEARCH_BASIC_AUTH_PASSWORD = "elasticsearch.basicauth.password";
+  public static final String ELASTICSEARCH_SCROLL_SIZE = "elasticsearch.scroll.size";
+  public static final String ELASTICSEARCH_SCROLL_KEEPALIVE = "elasticsearch.scroll.keepalive";
 
   private final Gson gson = new GsonBuilder().setPrettyPrinting().create();
   private ElasticsearchClient elsClient;
   private int resultSize = 10;
+  private int scrollSize = 1000;
+  private String scrollKeepAlive = "1m";
+  // paragraph id --> progress of the running scroll
+  private final Map<String, Integer> scrollProgress = new ConcurrentHashMap<>();
+  private final Set<String> cancelledScrolls =
+      Collections.newSetFromMap(new ConcurrentHashMap<String, Boolean>());
 
   public ElasticsearchInterpreter(Properties property) {
     super(property);
@@ -126,6 +140,19 @@ public class ElasticsearchInterpreter extends Interpreter {
           property.get(ELASTICSEARCH_RESULT_SIZE), e);
     }
 
+    if (StringUtils.isNotEmpty(getProperty(ELASTICSEARCH_SCROLL_SIZE))) {
+      try {
+        this.scrollSize = Integer.parseInt(getProperty(ELASTICSEARCH_SCROLL_SIZE));
+      }
+      catch (final NumberFormatException e) {
+        logger.error("Unable to parse " + ELASTICSEARCH_SCROLL_SIZE + " : " +
+            property.get(ELASTICSEARCH_SCROLL_SIZE), e);
+      }
+    }
+    if (StringUtils.isNotEmpty(getProperty(ELASTICSEARCH_SCROLL_KEEPALIVE))) {
+      this.scrollKeepAlive = getProperty(ELASTICSEARCH_SCROLL_KEEPALIVE);
+    }
+
     try {
       if (StringUtils.isEmpty(clientType) || "transport".equals(clientType)) {
         elsClient = new TransportBasedClient(getProperty());
@@ -158,6 +185,7 @@ public class ElasticsearchInterpreter extends Interpreter {
     }
 
     int currentResultSize = resultSize;
+    boolean sizeDefined = false;
 
     if (elsClient == null) {
       return new InterpreterResult(InterpreterResult.Code.ERROR,
@@ -186,6 +214,7 @@ public class ElasticsearchInterpreter extends Interpreter {
         return processHelp(InterpreterResult.Code.ERROR, "Right format is : size <value>");
       }
       currentResultSize = Integer.parseInt(sizeLine[1]);
+      sizeDefined = true;
 
       items = StringUtils.split(lines[1].trim(), " ", 3);
     }
@@ -210,6 +239,10 @@ public class ElasticsearchInterpreter extends Interpreter {
       else if ("search".equalsIgnoreCase(method)) {
         return processSearch(urlItems, data, currentResultSize, interpreterContext);
       }
+      else if ("scroll".equalsIgnoreCase(method)) {
+        return processScroll(urlItems, data,
+            sizeDefined ? currentResultSize : Long.MAX_VALUE, interpreterContext);
+      }
       else if ("index".equalsIgnoreCase(method)) {
         return processIndex(urlItems, data);
       }
@@ -226,7 +259,10 @@ public class ElasticsearchInterpreter extends Interpreter {
 
   @Override
   public void cancel(InterpreterContext interpreterContext) {
-    // Nothing to do
+    // Only a scroll can be stopped, between two pages
+    if (scrollProgress.containsKey(interpreterContext.getParagraphId())) {
+      cancelledScrolls.add(interpreterContext.getParagraphId());
+    }
   }
 
   @Override
@@ -236,7 +272,8 @@ public class ElasticsearchInterpreter extends Interpreter {
 
   @Override
   public int getProgress(InterpreterContext interpreterContext) {
-    return 0;
+    final Integer progress = scrollProgress.get(interpreterContext.getParagraphId());
+    return progress == null ? 0 : progress;
   }
 
   @Override
@@ -374,6 +411,144 @@ public class ElasticsearchInterpreter extends Interpreter {
     return buildResponseMessage(response);
   }
 
+  /**
+   * Processes a "scroll" request: the hits are fetched page by page and each page is written
+   * to the output before the next one is fetched, so only one page is kept in memory.
+   *
+   * The columns of the table are the union of the fields of the hits seen so far. When a page
+   * contains new fields, a new table is started with the extended header.
+   *
+   * @param urlItems Items of the URL
+   * @param data May contains the JSON of the request
+   * @param maxHits Limit of result set
+   * @param interpreterContext Instance of the context
+   * @return Result of the scroll request, empty when the hits are written to the output
+   */
+  private InterpreterResult processScroll(String[] urlItems, String data, long maxHits,
+      InterpreterContext interpreterContext) throws IOException {
+
+    if (urlItems.length > 2) {
+      return new InterpreterResult(InterpreterResult.Code.ERROR,
+          "Bad URL (it should be /index1,index2,.../type1,type2,...)");
+    }
+
+    final String paragraphId = interpreterContext.getParagraphId();
+    final InterpreterOutput out = interpreterContext.out;
+    // used when there's no output to stream to
+    final StringBuilder result = new StringBuilder();
+    final Set<String> columns = new TreeSet<>();
+    long fetched = 0;
+    String scrollId = null;
+
+    scrollProgress.put(paragraphId, 0);
+    try {
+      ActionResponse response = elsClient.searchScroll(getIndices(urlItems), getTypes(urlItems),
+          data, (int) Math.min(scrollSize, maxHits), scrollKeepAlive);
+      scrollId = response.getScrollId();
+
+      if (response.getAggregations() != null && response.getAggregations().size() > 0) {
+        return buildResponseMessage(response);
+      }
+
+      final long total = Math.min(response.getTotalHits(), maxHits);
+      while (!response.getHits().isEmpty() && fetched < maxHits
+          && !cancelledScrolls.contains(paragraphId)) {
+        final List<HitWrapper> hits = response.getHits();
+        final int count = (int) Math.min(hits.size(), maxHits - fetched);
+        final String page = buildHitsPage(hits.subList(0, count), columns, fetched > 0);
+        if (out != null) {
+          out.write(page);
+          out.flush();
+        }
+        else {
+          result.append(page);
+        }
+        fetched += count;
+        scrollProgress.put(paragraphId, (int) (fetched * 100 / Math.max(total, 1)));
+
+        if (fetched < maxHits && scrollId != null) {
+          response = elsClient.scroll(scrollId, scrollKeepAlive);
+          scrollId = response.getScrollId();
+        }
+      }
+
+      addAngularObject(interpreterContext, "scroll", fetched);
+      if (out != null || result.length() == 0) {
+        return new InterpreterResult(InterpreterResult.Code.SUCCESS);
+      }
+      return new InterpreterResult(InterpreterResult.Code.SUCCESS, result.toString());
+    }
+    finally {
+      scrollProgress.remove(paragraphId);
+      cancelledScrolls.remove(paragraphId);
+      if (scrollId != null) {
+        try {
+          elsClient.clearScroll(scrollId);
+        }
+        catch (final Exception e) {
+          logger.warn("Unable to clear scroll " + scrollId, e);
+        }
+      }
+    }
+  }
+
+  /**
+   * Flattens a page of hits into rows of a table. The new fields are added to columns, and
+   * when there are some, the rows are preceded by a new table header.
+   *
+   * @param hits Hits of the page
+   * @param columns Union of the fields of the previous pages
+   * @param tableStarted Whether a table has already been written
+   * @return Rows of the page
+   */
+  private String buildHitsPage(List<HitWrapper> hits, Set<String> columns,
+      boolean tableStarted) {
+
+    final List<Map<String, Object>> flattenHits = new ArrayList<>(hits.size());
+    boolean newColumns = false;
+    for (final HitWrapper hit : hits) {
+      final Map<String, Object> flattenMap = flattenHit(hit);
+      flattenHits.add(flattenMap);
+      newColumns |= columns.addAll(flattenMap.keySet());
+    }
+
+    final StringBuilder buffer = new StringBuilder();
+    if (newColumns || !tableStarted) {
+      if (tableStarted) {
+        // An empty line ends the previous table
+        buffer.append('\n');
+      }
+      buffer.append("%table ");
+      appendRow(buffer, new ArrayList<Object>(columns));
+    }
+
+    final List<Object> values = new ArrayList<>(columns.size());
+    for (final Map<String, Object> hit : flattenHits) {
+      values.clear();
+      for (final String key : columns) {
+        values.add(hit.get(key));
+      }
+      appendRow(buffer, values);
+    }
+
+    return buffer.toString();
+  }
+
+  private void appendRow(StringBuilder buffer, List<Object> values) {
+    boolean first = true;
+    for (final Object value : values) {
+      if (!first) {
+        buffer.append('\t');
+      }
+      first = false;
+      if (value != null) {
+        // Tabs and new lines in values would break the table
+        buffer.append(value.toString().replace('\t', ' ').replace('\n', ' '));
+      }
+    }
+    buffer.append('\n');
+  }
+
   /**
    * Processes a "index" request.
    *
@@ -425,19 +600,16 @@ public class ElasticsearchInterpreter extends Interpreter {
     return new InterpreterResult(InterpreterResult.Code.ERROR, "Document not found");
   }
 
-  private ActionResponse searchData(String[] urlItems, String query, int size) {
-
-    String[] indices = null;
-    String[] types = null;
+  private String[] getIndices(String[] urlItems) {
+    return urlItems.length >= 1 ? StringUtils.split(urlItems[0], ",") : null;
+  }
 
-    if (urlItems.length >= 1) {
-      indices = StringUtils.split(urlItems[0], ",");
-    }
-    if (urlItems.length > 1) {
-      types = StringUtils.split(urlItems[1], ",");
-    }
+  private String[] getTypes(String[] urlItems) {
+    return urlItems.length > 1 ? StringUtils.split(urlItems[1], ",") : null;
+  }
 
-    return elsClient.search(indices, types, query, size);
+  private ActionResponse searchData(String[] urlItems, String query, int size) {
+    return elsClient.search(getIndices(urlItems), getTypes(urlItems), query, size);
   }
 
   private InterpreterResult buildAggResponseMessage(Aggregations aggregations) {
@@ -542,22 +714,7 @@ public class ElasticsearchInterpreter extends Interpreter {
     final Set<String> keys = new TreeSet<>();
     for (final HitWrapper hit : response.getHits()) {
 
-      final String json = hit.getSourceAsString();
-
-      final Map<String, Object> flattenJsonMap = JsonFlattener.flattenAsMap(json);
-      final Map<String, Object> flattenMap = new HashMap<>();
-      for (final Iterator<String> iter = flattenJsonMap.keySet().iterator(); iter.hasNext(); ) {
-        // Replace keys that match a format like that : [\"keyname\"][0]
-        final String fieldName = iter.next();
-        final Matcher fieldNameMatcher = FIELD_NAME_PATTERN.matcher(fieldName);
-        if (fieldNameMatcher.matches()) {
-          flattenMap.put(fieldNameMatcher.group(1) + fieldNameMatcher.group(2),
-              flattenJsonMap.get(fieldName));
-        }
-        else {
-          flattenMap.put(fieldName, flattenJsonMap.get(fieldName));
-        }
-      }
+      final Map<String, Object> flattenMap = flattenHit(hit);
       flattenHits.add(flattenMap);
 
       for (final String key : flattenMap.keySet()) {
@@ -589,6 +746,26 @@ public class ElasticsearchInterpreter extends Interpreter {
     return buffer.toString();
   }
 
+  private Map<String, Object> flattenHit(HitWrapper hit) {
+    final String json = hit.getSourceAsString();
+
+    final Map<String, Object> flattenJsonMap = JsonFlattener.flattenAsMap(json);
+    final Map<String, Object> flattenMap = new HashMap<>();
+    for (final Iterator<String> iter = flattenJsonMap.keySet().iterator(); iter.hasNext(); ) {
+      // Replace keys that match a format like that : [\"keyname\"][0]
+      final String fieldName = iter.next();
+      final Matcher fieldNameMatcher = FIELD_NAME_PATTERN.matcher(fieldName);
+      if (fieldNameMatcher.matches()) {
+        flattenMap.put(fieldNameMatcher.group(1) + fieldNameMatcher.group(2),
+            flattenJsonMap.get(fieldName));
+      }
+      else {
+        flattenMap.put(fieldName, flattenJsonMap.get(fieldName));
+      }
+    }
+    return flattenMap;
+  }
+
   private InterpreterResult buildResponseMessage(ActionResponse response) {
 
     final List<AggWrapper> aggregations = response.getAggregations();
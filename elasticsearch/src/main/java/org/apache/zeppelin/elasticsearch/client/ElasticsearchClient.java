@@ -32,5 +32,24 @@ public interface ElasticsearchClient {
 
   ActionResponse search(String[] indices, String[] types, String query, int size);
 
+  /**
+   * Starts a scrolled search, the response contains the first page of hits and the scroll id.
+   *
+   * @param size Number of hits per page
+   * @param keepAlive How long the scroll context is kept between two pages (ex: 1m)
+   */
+  ActionResponse searchScroll(String[] indices, String[] types, String query, int size,
+      String keepAlive);
+
+  /**
+   * Gets the next page of hits of a scrolled search, the page is empty at the end.
+   */
+  ActionResponse scroll(String scrollId, String keepAlive);
+
+  /**
+   * Releases the resources of a scrolled search.
+   */
+  void clearScroll(String scrollId);
+
   void close();
 }
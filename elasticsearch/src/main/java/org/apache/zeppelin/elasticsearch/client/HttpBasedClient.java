@@ -269,22 +269,38 @@ public class HttpBasedClient implements ElasticsearchClient {
   @Override
   public ActionResponse search(String[] indices, String[] types, String query, int size) {
     ActionResponse response = null;
+    query = toJsonQuery(query);
 
-    if (!StringUtils.isEmpty(query)) {
-      // The query can be either JSON-formatted, nor a Lucene query
-      // So, try to parse as a JSON => if there is an error, consider the query a Lucene one
-      try {
-        gson.fromJson(query, Map.class);
+    try {
+      final HttpRequestWithBody request = Unirest
+          .post(getUrl(indices, types) + "/_search?size=" + size)
+          .header("Content-Type", "application/json");
+
+      if (StringUtils.isNoneEmpty(query)) {
+        request.header("Accept", "application/json").body(query);
       }
-      catch (final JsonParseException e) {
-        // This is not a JSON (or maybe not well formatted...)
-        query = QUERY_STRING_TEMPLATE.replace("_Q_", query);
+
+      if (StringUtils.isNotEmpty(username)) {
+        request.basicAuth(username, password);
       }
+
+      response = buildSearchResponse(request.asJson(), size > 0);
     }
+    catch (final UnirestException e) {
+      throw new ActionException(e);
+    }
+
+    return response;
+  }
+
+  @Override
+  public ActionResponse searchScroll(String[] indices, String[] types, String query, int size,
+      String keepAlive) {
+    query = toJsonQuery(query);
 
     try {
       final HttpRequestWithBody request = Unirest
-          .post(getUrl(indices, types) + "/_search?size=" + size)
+          .post(getUrl(indices, types) + "/_search?size=" + size + "&scroll=" + keepAlive)
           .header("Content-Type", "application/json");
 
       if (StringUtils.isNoneEmpty(query)) {
@@ -295,61 +311,125 @@ public class HttpBasedClient implements ElasticsearchClient {
         request.basicAuth(username, password);
       }
 
-      final HttpResponse<JsonNode> result = request.asJson();
-      final JSONObject body = result.getBody() != null ? result.getBody().getObject() : null;
+      return buildSearchResponse(request.asJson(), size > 0);
+    }
+    catch (final UnirestException e) {
+      throw new ActionException(e);
+    }
+  }
 
-      if (isSucceeded(result)) {
-        final long total = getFieldAsLong(result, "hits/total");
+  @Override
+  public ActionResponse scroll(String scrollId, String keepAlive) {
+    final JSONObject scrollRequest = new JSONObject();
+    scrollRequest.put("scroll", keepAlive);
+    scrollRequest.put("scroll_id", scrollId);
 
-        response = new ActionResponse()
-            .succeeded(true)
-            .totalHits(total);
+    try {
+      final HttpRequestWithBody request = Unirest
+          .post(getUrl(null, null, null, false) + "_search/scroll")
+          .header("Content-Type", "application/json")
+          .header("Accept", "application/json");
+      request.body(scrollRequest.toString());
 
-        if (containsAggs(result)) {
-          JSONObject aggregationsMap = body.getJSONObject("aggregations");
-          if (aggregationsMap == null) {
-            aggregationsMap = body.getJSONObject("aggs");
-          }
+      if (StringUtils.isNotEmpty(username)) {
+        request.basicAuth(username, password);
+      }
 
-          for (final String key: aggregationsMap.keySet()) {
-            final JSONObject aggResult = aggregationsMap.getJSONObject(key);
-            if (aggResult.has("buckets")) {
-              // Multi-bucket aggregations
-              final Iterator<Object> buckets = aggResult.getJSONArray("buckets").iterator();
-              while (buckets.hasNext()) {
-                response.addAggregation(
-                    new AggWrapper(AggregationType.MULTI_BUCKETS, buckets.next().toString()));
-              }
-            }
-            else {
-              response.addAggregation(
-                  new AggWrapper(AggregationType.SIMPLE, aggregationsMap.toString()));
-            }
-            break; // Keep only one aggregation
+      return buildSearchResponse(request.asJson(), true);
+    }
+    catch (final UnirestException e) {
+      throw new ActionException(e);
+    }
+  }
+
+  @Override
+  public void clearScroll(String scrollId) {
+    final JSONObject clearRequest = new JSONObject();
+    clearRequest.put("scroll_id", new JSONArray().put(scrollId));
+
+    try {
+      final HttpRequestWithBody request = Unirest
+          .delete(getUrl(null, null, null, false) + "_search/scroll")
+          .header("Content-Type", "application/json");
+      request.body(clearRequest.toString());
+
+      if (StringUtils.isNotEmpty(username)) {
+        request.basicAuth(username, password);
+      }
+
+      request.asString();
+    }
+    catch (final UnirestException e) {
+      throw new ActionException(e);
+    }
+  }
+
+  private String toJsonQuery(String query) {
+    if (!StringUtils.isEmpty(query)) {
+      // The query can be either JSON-formatted, nor a Lucene query
+      // So, try to parse as a JSON => if there is an error, consider the query a Lucene one
+      try {
+        gson.fromJson(query, Map.class);
+      }
+      catch (final JsonParseException e) {
+        // This is not a JSON (or maybe not well formatted...)
+        query = QUERY_STRING_TEMPLATE.replace("_Q_", query);
+      }
+    }
+    return query;
+  }
+
+  private ActionResponse buildSearchResponse(HttpResponse<JsonNode> result, boolean withHits) {
+    final JSONObject body = result.getBody() != null ? result.getBody().getObject() : null;
+
+    if (!isSucceeded(result)) {
+      throw new ActionException(body.get("error").toString());
+    }
+
+    final long total = getFieldAsLong(result, "hits/total");
+
+    final ActionResponse response = new ActionResponse()
+        .succeeded(true)
+        .totalHits(total)
+        .scrollId(body.optString("_scroll_id", null));
+
+    if (containsAggs(result)) {
+      JSONObject aggregationsMap = body.getJSONObject("aggregations");
+      if (aggregationsMap == null) {
+        aggregationsMap = body.getJSONObject("aggs");
+      }
+
+      for (final String key: aggregationsMap.keySet()) {
+        final JSONObject aggResult = aggregationsMap.getJSONObject(key);
+        if (aggResult.has("buckets")) {
+          // Multi-bucket aggregations
+          final Iterator<Object> buckets = aggResult.getJSONArray("buckets").iterator();
+          while (buckets.hasNext()) {
+            response.addAggregation(
+                new AggWrapper(AggregationType.MULTI_BUCKETS, buckets.next().toString()));
           }
         }
-        else if (size > 0 && total > 0) {
-          final JSONArray hits = getFieldAsArray(body, "hits/hits");
-          final Iterator<Object> iter = hits.iterator();
-
-          while (iter.hasNext()) {
-            final JSONObject hit = (JSONObject) iter.next();
-            final Object data =
-                hit.opt("_source") != null ? hit.opt("_source") : hit.opt("fields");
-            response.addHit(new HitWrapper(
-                hit.getString("_index"),
-                hit.getString("_type"),
-                hit.getString("_id"),
-                data.toString()));
-          }
+        else {
+          response.addAggregation(
+              new AggWrapper(AggregationType.SIMPLE, aggregationsMap.toString()));
         }
-      }
-      else {
-        throw new ActionException(body.get("error").toString());
+        break; // Keep only one aggregation
       }
     }
-    catch (final UnirestException e) {
-      throw new ActionException(e);
+    else if (withHits && total > 0) {
+      final JSONArray hits = getFieldAsArray(body, "hits/hits");
+      final Iterator<Object> iter = hits.iterator();
+
+      while (iter.hasNext()) {
+        final JSONObject hit = (JSONObject) iter.next();
+        final Object data =
+            hit.opt("_source") != null ? hit.opt("_source") : hit.opt("fields");
+        response.addHit(new HitWrapper(
+            hit.getString("_index"),
+            hit.getString("_type"),
+            hit.getString("_id"),
+            data.toString()));
+      }
     }
 
     return response;
@@ -133,6 +133,38 @@ public class TransportBasedClient implements ElasticsearchClient {
 
   @Override
   public ActionResponse search(String[] indices, String[] types, String query, int size) {
+    final SearchRequestBuilder reqBuilder = prepareSearch(indices, types, query);
+    reqBuilder.setSize(size);
+
+    return buildSearchResponse(reqBuilder.get());
+  }
+
+  @Override
+  public ActionResponse searchScroll(String[] indices, String[] types, String query, int size,
+      String keepAlive) {
+    final SearchRequestBuilder reqBuilder = prepareSearch(indices, types, query);
+    reqBuilder.setSize(size);
+    reqBuilder.setScroll(keepAlive);
+
+    return buildSearchResponse(reqBuilder.get());
+  }
+
+  @Override
+  public ActionResponse scroll(String scrollId, String keepAlive) {
+    final SearchResponse searchResp = client
+        .prepareSearchScroll(scrollId)
+        .setScroll(keepAlive)
+        .get();
+
+    return buildSearchResponse(searchResp);
+  }
+
+  @Override
+  public void clearScroll(String scrollId) {
+    client.prepareClearScroll().addScrollId(scrollId).get();
+  }
+
+  private SearchRequestBuilder prepareSearch(String[] indices, String[] types, String query) {
     final SearchRequestBuilder reqBuilder = new SearchRequestBuilder(
         client, SearchAction.INSTANCE);
     reqBuilder.setIndices();
@@ -158,13 +190,14 @@ public class TransportBasedClient implements ElasticsearchClient {
       }
     }
 
-    reqBuilder.setSize(size);
-
-    final SearchResponse searchResp = reqBuilder.get();
+    return reqBuilder;
+  }
 
+  private ActionResponse buildSearchResponse(SearchResponse searchResp) {
     final ActionResponse actionResp = new ActionResponse()
         .succeeded(true)
-        .totalHits(searchResp.getHits().getTotalHits());
+        .totalHits(searchResp.getHits().getTotalHits())
+        .scrollId(searchResp.getScrollId());
 
     if (searchResp.getAggregations() != null) {
       setAggregations(searchResp.getAggregations(), actionResp);
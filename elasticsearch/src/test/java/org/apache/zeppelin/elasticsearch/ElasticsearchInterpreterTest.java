@@ -130,6 +130,8 @@ public class ElasticsearchInterpreterTest {
     final Properties props = new Properties();
     props.put(ElasticsearchInterpreter.ELASTICSEARCH_HOST, ELS_HOST);
     props.put(ElasticsearchInterpreter.ELASTICSEARCH_CLUSTER_NAME, ELS_CLUSTER_NAME);
+    // several pages are needed to scroll through the test data
+    props.put(ElasticsearchInterpreter.ELASTICSEARCH_SCROLL_SIZE, "7");
 
     props.put(ElasticsearchInterpreter.ELASTICSEARCH_PORT, ELS_TRANSPORT_PORT);
     props.put(ElasticsearchInterpreter.ELASTICSEARCH_CLIENT_TYPE, "transport");
@@ -231,6 +233,26 @@ public class ElasticsearchInterpreterTest {
     assertEquals(Code.SUCCESS, res.code());
   }
 
+  @Theory
+  public void testScroll(ElasticsearchInterpreter interpreter) {
+
+    final InterpreterContext ctx = buildContext("scroll");
+
+    InterpreterResult res = interpreter.interpret("scroll /logs *", ctx);
+    assertEquals(Code.SUCCESS, res.code());
+    assertEquals(InterpreterResult.Type.TABLE, res.message().get(0).getType());
+    // header and all the documents
+    assertEquals(51, res.message().get(0).getData().split("\n").length);
+    assertEquals(50l, ctx.getAngularObjectRegistry().get("scroll_scroll", null, null).get());
+
+    res = interpreter.interpret("size 10\nscroll /logs { \"query\": { \"match_all\": {} } }", ctx);
+    assertEquals(Code.SUCCESS, res.code());
+    assertEquals(11, res.message().get(0).getData().split("\n").length);
+
+    res = interpreter.interpret("scroll /logs {{{hello}}}", ctx);
+    assertEquals(Code.ERROR, res.code());
+  }
+
   @Theory
   public void testAgg(ElasticsearchInterpreter interpreter) {
 
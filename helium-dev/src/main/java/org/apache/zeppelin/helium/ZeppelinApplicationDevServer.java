@@ -136,7 +136,7 @@ public class ZeppelinApplicationDevServer extends ZeppelinDevServer {
 
   @Override
   protected InterpreterOutput createInterpreterOutput(
-      final String noteId, final String paragraphId) {
+      final String noteId, final String paragraphId, String traceId) {
     if (out == null) {
       final RemoteInterpreterEventClient eventClient = getEventClient();
       try {
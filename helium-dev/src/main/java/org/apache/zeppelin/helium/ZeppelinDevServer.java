@@ -66,7 +66,7 @@ public class ZeppelinDevServer extends
 
   @Override
   protected InterpreterOutput createInterpreterOutput(
-      final String noteId, final String paragraphId) {
+      final String noteId, final String paragraphId, String traceId) {
     if (out == null) {
       final RemoteInterpreterEventClient eventClient = getEventClient();
       try {
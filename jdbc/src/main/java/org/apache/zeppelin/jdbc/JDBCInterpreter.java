@@ -14,6 +14,7 @@
  */
 package org.apache.zeppelin.jdbc;
 
+import java.io.File;
 import java.io.IOException;
 import java.security.PrivilegedExceptionAction;
 import java.sql.Connection;
@@ -27,11 +28,14 @@ import java.util.Arrays;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Properties;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import org.apache.commons.dbcp2.ConnectionFactory;
 import org.apache.commons.dbcp2.DriverManagerConnectionFactory;
@@ -48,8 +52,10 @@ import org.apache.thrift.transport.TTransportException;
 import org.apache.zeppelin.interpreter.Interpreter;
 import org.apache.zeppelin.interpreter.InterpreterContext;
 import org.apache.zeppelin.interpreter.InterpreterException;
+import org.apache.zeppelin.interpreter.InterpreterOutput;
 import org.apache.zeppelin.interpreter.InterpreterResult;
 import org.apache.zeppelin.interpreter.InterpreterResult.Code;
+import org.apache.zeppelin.interpreter.InterpreterResultMessage;
 import org.apache.zeppelin.interpreter.KerberosInterpreter;
 import org.apache.zeppelin.interpreter.ResultMessages;
 import org.apache.zeppelin.interpreter.thrift.InterpreterCompletion;
@@ -78,9 +84,16 @@ import static org.apache.hadoop.security.UserGroupInformation.AuthenticationMeth
  * <li>{@code default.password} - JDBC password..</li>
  * <li>{@code default.driver.name} - JDBC driver name.</li>
  * <li>{@code common.max.result} - Max number of SQL result to display.</li>
+ * <li>{@code default.statementFetchSize} - JDBC fetch size of statements.</li>
+ * <li>{@code zeppelin.jdbc.cache.enabled} - Cache results of queries.</li>
  * </ul>
  *
  * <p>
+ * Rows are written to the paragraph output as they are fetched, so the first rows of a large
+ * result are shown before the whole result set has been read.
+ * </p>
+ *
+ * <p>
  * How to use: <br/>
  * {@code %jdbc.sql} <br/>
  * {@code
@@ -108,7 +121,10 @@ public class JDBCInterpreter extends KerberosInterpreter {
   static final String COMPLETER_SCHEMA_FILTERS_KEY = "completer.schemaFilters";
   static final String COMPLETER_TTL_KEY = "completer.ttlInSeconds";
   static final String DEFAULT_COMPLETER_TTL = "120";
+  // number of threads loading metadata of the databases for completion
+  private static final int COMPLETER_CRAWLER_THREADS = 4;
   static final String SPLIT_QURIES_KEY = "splitQueries";
+  static final String STATEMENT_FETCH_SIZE_KEY = "statementFetchSize";
   static final String JDBC_JCEKS_FILE = "jceks.file";
   static final String JDBC_JCEKS_CREDENTIAL_KEY = "jceks.credentialKey";
   static final String PRECODE_KEY_TEMPLATE = "%s.precode";
@@ -118,7 +134,11 @@ public class JDBCInterpreter extends KerberosInterpreter {
   private static final char NEWLINE = '\n';
   private static final char TAB = '\t';
   private static final String TABLE_MAGIC_TAG = "%table ";
+  private static final String TEXT_MAGIC_TAG = "%text ";
   private static final String EXPLAIN_PREDICATE = "EXPLAIN ";
+  // rows are sent to the output after the first chunk, then at most once per flush interval
+  private static final int FIRST_CHUNK_ROWS = 100;
+  private static final long STREAM_FLUSH_INTERVAL_MS = 1000;
 
   static final String COMMON_MAX_LINE = COMMON_KEY + DOT + MAX_LINE_KEY;
 
@@ -134,17 +154,31 @@ public class JDBCInterpreter extends KerberosInterpreter {
   private final String CONCURRENT_EXECUTION_COUNT = "zeppelin.jdbc.concurrent.max_connection";
   private final String DBCP_STRING = "jdbc:apache:commons:dbcp:";
 
+  static final String CACHE_ENABLED_KEY = "zeppelin.jdbc.cache.enabled";
+  static final String CACHE_TTL_KEY = "zeppelin.jdbc.cache.ttl";
+  static final String CACHE_MAX_ENTRIES_KEY = "zeppelin.jdbc.cache.max_entries";
+  static final String CACHE_MAX_SIZE_KEY = "zeppelin.jdbc.cache.max_size_mb";
+  static final String CACHE_SHARED_KEY = "zeppelin.jdbc.cache.shared";
+  static final String CACHE_DIR_KEY = "zeppelin.jdbc.cache.dir";
+  // paragraph config to run the query without using the cache
+  static final String CACHE_BYPASS_CONFIG = "jdbc.cache.bypass";
+  private static final String CACHE_SHARED_SCOPE = "shared";
+
   private final HashMap<String, Properties> basePropretiesMap;
   private final HashMap<String, JDBCUserConfigurations> jdbcUserConfigurationsMap;
-  private final HashMap<String, SqlCompleter> sqlCompletersMap;
+  private final ConcurrentHashMap<String, SqlCompleter> sqlCompletersMap;
+  private ExecutorService completerExecutor;
+  // paragraphId --> number of rows fetched so far, used for progress
+  private final Map<String, AtomicInteger> fetchedRowsMap = new ConcurrentHashMap<>();
 
   private int maxLineResults;
+  private JDBCResultCache resultCache;
 
   public JDBCInterpreter(Properties property) {
     super(property);
     jdbcUserConfigurationsMap = new HashMap<>();
     basePropretiesMap = new HashMap<>();
-    sqlCompletersMap = new HashMap<>();
+    sqlCompletersMap = new ConcurrentHashMap<>();
     maxLineResults = MAX_LINE_DEFAULT;
   }
 
@@ -206,6 +240,68 @@ public class JDBCInterpreter extends KerberosInterpreter {
     logger.debug("JDBC PropretiesMap: {}", basePropretiesMap);
 
     setMaxLineResults();
+    createResultCache();
+  }
+
+  private void createResultCache() {
+    if (!Boolean.valueOf(getProperty(CACHE_ENABLED_KEY))) {
+      resultCache = null;
+      return;
+    }
+    long ttl = getLongProperty(CACHE_TTL_KEY, 300);
+    int maxEntries = (int) getLongProperty(CACHE_MAX_ENTRIES_KEY, 100);
+    long maxSizeMb = getLongProperty(CACHE_MAX_SIZE_KEY, 64);
+    String cacheDir = getProperty(CACHE_DIR_KEY);
+    resultCache = new JDBCResultCache(TimeUnit.SECONDS.toMillis(ttl), maxEntries,
+        maxSizeMb * 1024 * 1024, StringUtils.isBlank(cacheDir) ? null : new File(cacheDir.trim()));
+    logger.info("JDBC result cache enabled, ttl: {}s, maxEntries: {}, maxSize: {} MB, dir: {}",
+        ttl, maxEntries, maxSizeMb, cacheDir);
+  }
+
+  private long getLongProperty(String key, long defaultValue) {
+    String value = getProperty(key);
+    if (StringUtils.isNotBlank(value)) {
+      try {
+        return Long.parseLong(value.trim());
+      } catch (NumberFormatException e) {
+        logger.warn("Invalid {}: {}", key, value);
+      }
+    }
+    return defaultValue;
+  }
+
+  /**
+   * Key of the result cache for the query, null when the cache should not be used
+   */
+  private String getResultCacheKey(String propertyKey, String sql,
+      InterpreterContext interpreterContext) {
+    if (resultCache == null) {
+      return null;
+    }
+    Map<String, Object> config = interpreterContext.getConfig();
+    if (config != null && Boolean.valueOf(String.valueOf(config.get(CACHE_BYPASS_CONFIG)))) {
+      return null;
+    }
+    String scope = Boolean.valueOf(getProperty(CACHE_SHARED_KEY)) ? CACHE_SHARED_SCOPE :
+        interpreterContext.getAuthenticationInfo().getUser();
+    return JDBCResultCache.createKey(propertyKey, scope, sql);
+  }
+
+  private void sendResultCacheInfo(InterpreterContext interpreterContext, boolean hit) {
+    if (interpreterContext.getClient() == null) {
+      return;
+    }
+    Map<String, String> infos = new HashMap<>();
+    infos.put("resultCache", hit ? "hit" : "miss");
+    infos.put("label", "RESULT CACHE");
+    infos.put("tooltip", String.format("Result cache hits: %d, misses: %d",
+        resultCache.getHits(), resultCache.getMisses()));
+    interpreterContext.getClient().onParaInfosReceived(interpreterContext.getNoteId(),
+        interpreterContext.getParagraphId(), infos);
+  }
+
+  JDBCResultCache getResultCache() {
+    return resultCache;
   }
 
 
@@ -227,44 +323,52 @@ public class JDBCInterpreter extends KerberosInterpreter {
     }
   }
 
-  private SqlCompleter createOrUpdateSqlCompleter(SqlCompleter sqlCompleter,
-      final Connection connection, String propertyKey, final String buf, final int cursor) {
-    String schemaFiltersKey = String.format("%s.%s", propertyKey, COMPLETER_SCHEMA_FILTERS_KEY);
-    String sqlCompleterTtlKey = String.format("%s.%s", propertyKey, COMPLETER_TTL_KEY);
-    final String schemaFiltersString = getProperty(schemaFiltersKey);
-    int ttlInSeconds = Integer.valueOf(
-        StringUtils.defaultIfEmpty(getProperty(sqlCompleterTtlKey), DEFAULT_COMPLETER_TTL)
-    );
-    final SqlCompleter completer;
+  /**
+   * Get the completer of the user and prefix, and start loading the metadata of the database in
+   * the background if it's not loaded yet or expired.
+   */
+  private SqlCompleter getOrCreateSqlCompleter(final String propertyKey,
+      final InterpreterContext interpreterContext) {
+    String sqlCompleterKey = getSqlCompleterKey(propertyKey, interpreterContext);
+    SqlCompleter sqlCompleter = sqlCompletersMap.get(sqlCompleterKey);
     if (sqlCompleter == null) {
-      completer = new SqlCompleter(ttlInSeconds);
-    } else {
-      completer = sqlCompleter;
+      String sqlCompleterTtlKey = String.format("%s.%s", propertyKey, COMPLETER_TTL_KEY);
+      int ttlInSeconds = Integer.valueOf(
+          StringUtils.defaultIfEmpty(getProperty(sqlCompleterTtlKey), DEFAULT_COMPLETER_TTL)
+      );
+      SqlCompleter newCompleter = new SqlCompleter(ttlInSeconds);
+      try {
+        // keywords are available right away, the crawler adds the ones of the database
+        newCompleter.initKeywords(SqlCompleter.getSqlKeywordsCompletions(null));
+      } catch (IOException | SQLException e) {
+        logger.warn("Fail to load the default SQL keywords", e);
+      }
+      sqlCompleter = sqlCompletersMap.putIfAbsent(sqlCompleterKey, newCompleter);
+      if (sqlCompleter == null) {
+        sqlCompleter = newCompleter;
+      }
     }
-    ExecutorService executorService = Executors.newFixedThreadPool(1);
-    executorService.execute(new Runnable() {
+
+    String schemaFiltersKey = String.format("%s.%s", propertyKey, COMPLETER_SCHEMA_FILTERS_KEY);
+    sqlCompleter.refreshInBackground(new SqlCompleter.ConnectionProvider() {
       @Override
-      public void run() {
-        completer.createOrUpdateFromConnection(connection, schemaFiltersString, buf, cursor);
+      public Connection getConnection() throws Exception {
+        return JDBCInterpreter.this.getConnection(propertyKey, interpreterContext);
       }
-    });
+    }, getProperty(schemaFiltersKey), getCompleterExecutor());
+    return sqlCompleter;
+  }
 
-    executorService.shutdown();
+  private String getSqlCompleterKey(String propertyKey, InterpreterContext interpreterContext) {
+    return String.format("%s.%s", interpreterContext.getAuthenticationInfo().getUser(),
+        propertyKey);
+  }
 
-    try {
-      // protection to release connection
-      executorService.awaitTermination(3, TimeUnit.SECONDS);
-    } catch (InterruptedException e) {
-      logger.warn("Completion timeout", e);
-      if (connection != null) {
-        try {
-          connection.close();
-        } catch (SQLException e1) {
-          logger.warn("Error close connection", e1);
-        }
-      }
+  private synchronized ExecutorService getCompleterExecutor() {
+    if (completerExecutor == null) {
+      completerExecutor = Executors.newFixedThreadPool(COMPLETER_CRAWLER_THREADS);
     }
-    return completer;
+    return completerExecutor;
   }
 
   private void initStatementMap() {
@@ -290,6 +394,13 @@ public class JDBCInterpreter extends KerberosInterpreter {
   @Override
   public void close() {
     super.close();
+    synchronized (this) {
+      if (completerExecutor != null) {
+        completerExecutor.shutdownNow();
+        completerExecutor = null;
+      }
+    }
+    sqlCompletersMap.clear();
     try {
       initStatementMap();
       initConnectionPoolMap();
@@ -518,44 +629,90 @@ public class JDBCInterpreter extends KerberosInterpreter {
     return null;
   }
 
-  private String getResults(ResultSet resultSet, boolean isTableType)
-      throws SQLException {
+  /**
+   * Read the rows of resultSet. When out is not null, rows are written into it in chunks while
+   * they are fetched and null is returned, otherwise the whole result is returned as a string.
+   */
+  private String getResults(ResultSet resultSet, boolean isTableType, InterpreterOutput out,
+      AtomicInteger fetchedRows) throws SQLException, IOException {
     ResultSetMetaData md = resultSet.getMetaData();
+    int columnCount = md.getColumnCount();
     StringBuilder msg;
     if (isTableType) {
       msg = new StringBuilder(TABLE_MAGIC_TAG);
+    } else if (out != null) {
+      msg = new StringBuilder(TEXT_MAGIC_TAG);
     } else {
       msg = new StringBuilder();
     }
 
-    for (int i = 1; i < md.getColumnCount() + 1; i++) {
+    for (int i = 1; i < columnCount + 1; i++) {
       if (i > 1) {
         msg.append(TAB);
       }
-      msg.append(replaceReservedChars(md.getColumnName(i)));
+      appendReplacedReservedChars(msg, md.getColumnName(i));
     }
     msg.append(NEWLINE);
 
     int displayRowCount = 0;
+    long lastFlushTime = System.currentTimeMillis();
     while (displayRowCount < getMaxResult() && resultSet.next()) {
-      for (int i = 1; i < md.getColumnCount() + 1; i++) {
-        Object resultObject;
-        String resultValue;
-        resultObject = resultSet.getObject(i);
-        if (resultObject == null) {
-          resultValue = "null";
-        } else {
-          resultValue = resultSet.getString(i);
-        }
-        msg.append(replaceReservedChars(resultValue));
-        if (i != md.getColumnCount()) {
+      for (int i = 1; i < columnCount + 1; i++) {
+        // getString returns null for SQL NULL, no need to fetch the value as object as well
+        String resultValue = resultSet.getString(i);
+        appendReplacedReservedChars(msg, resultValue == null ? "null" : resultValue);
+        if (i != columnCount) {
           msg.append(TAB);
         }
       }
       msg.append(NEWLINE);
       displayRowCount++;
+      fetchedRows.set(displayRowCount);
+
+      if (out != null && (displayRowCount == FIRST_CHUNK_ROWS
+          || System.currentTimeMillis() - lastFlushTime >= STREAM_FLUSH_INTERVAL_MS)) {
+        out.write(msg.toString());
+        out.flush();
+        msg.setLength(0);
+        lastFlushTime = System.currentTimeMillis();
+      }
+    }
+
+    if (out == null) {
+      return msg.toString();
+    }
+    if (isTableType) {
+      // empty line terminates the table, so that following messages are not part of it
+      msg.append(NEWLINE);
+    }
+    out.write(msg.toString());
+    out.flush();
+    return null;
+  }
+
+  /**
+   * Add a message to the result, or write it to the output when the result is streamed.
+   */
+  private void addMessage(InterpreterResult interpreterResult, InterpreterOutput out,
+      InterpreterResult.Type type, String data) throws IOException {
+    if (out == null) {
+      interpreterResult.add(type, data);
+    } else {
+      out.write("%" + type.name().toLowerCase() + " " + data + NEWLINE);
+      out.flush();
+    }
+  }
+
+  private int getStatementFetchSize(String propertyKey) {
+    String fetchSize = getProperty(String.format("%s.%s", propertyKey, STATEMENT_FETCH_SIZE_KEY));
+    if (StringUtils.isNotBlank(fetchSize)) {
+      try {
+        return Integer.parseInt(fetchSize.trim());
+      } catch (NumberFormatException e) {
+        logger.warn("Invalid {}.{}: {}", propertyKey, STATEMENT_FETCH_SIZE_KEY, fetchSize);
+      }
     }
-    return msg.toString();
+    return getMaxResult();
   }
 
   private boolean isDDLCommand(int updatedCount, int columnCount) throws SQLException {
@@ -641,7 +798,8 @@ public class JDBCInterpreter extends KerberosInterpreter {
     for (String propertyKey : basePropretiesMap.keySet()) {
       String precode = getProperty(String.format("%s.precode", propertyKey));
       if (StringUtils.isNotBlank(precode)) {
-        interpreterResult = executeSql(propertyKey, precode, interpreterContext);
+        // precode output is returned in the result, it must not go to the paragraph output
+        interpreterResult = executeSql(propertyKey, precode, interpreterContext, null, null);
         if (interpreterResult.code() != Code.SUCCESS) {
           break;
         }
@@ -651,8 +809,14 @@ public class JDBCInterpreter extends KerberosInterpreter {
     return interpreterResult;
   }
 
+  /**
+   * @param out when not null, the results are streamed to this output instead of being added
+   *            to the returned InterpreterResult
+   * @param cacheKey when not null, the result is added to the result cache with this key if
+   *                 all the statements are queries
+   */
   private InterpreterResult executeSql(String propertyKey, String sql,
-      InterpreterContext interpreterContext) {
+      InterpreterContext interpreterContext, InterpreterOutput out, String cacheKey) {
     Connection connection;
     Statement statement;
     ResultSet resultSet = null;
@@ -666,13 +830,17 @@ public class JDBCInterpreter extends KerberosInterpreter {
     }
 
     InterpreterResult interpreterResult = new InterpreterResult(InterpreterResult.Code.SUCCESS);
+    AtomicInteger fetchedRows = new AtomicInteger(0);
+    boolean cacheable = cacheKey != null;
+    if (paragraphId != null) {
+      fetchedRowsMap.put(paragraphId, fetchedRows);
+    }
     try {
       connection = getConnection(propertyKey, interpreterContext);
       if (connection == null) {
         return new InterpreterResult(Code.ERROR, "Prefix not found.");
       }
 
-
       List<String> sqlArray;
       if (splitQuery) {
         sqlArray = splitSqlQueries(sql);
@@ -685,7 +853,7 @@ public class JDBCInterpreter extends KerberosInterpreter {
         statement = connection.createStatement();
 
         // fetch n+1 rows in order to indicate there's more rows available (for large selects)
-        statement.setFetchSize(getMaxResult());
+        statement.setFetchSize(getStatementFetchSize(propertyKey));
         statement.setMaxRows(getMaxResult() + 1);
 
         if (statement == null) {
@@ -703,21 +871,28 @@ public class JDBCInterpreter extends KerberosInterpreter {
             // Regards that the command is DDL.
             if (isDDLCommand(statement.getUpdateCount(),
                 resultSet.getMetaData().getColumnCount())) {
-              interpreterResult.add(InterpreterResult.Type.TEXT,
+              cacheable = false;
+              addMessage(interpreterResult, out, InterpreterResult.Type.TEXT,
                   "Query executed successfully.");
             } else {
               String results = getResults(resultSet,
-                  !containsIgnoreCase(sqlToExecute, EXPLAIN_PREDICATE));
-              interpreterResult.add(results);
+                  !containsIgnoreCase(sqlToExecute, EXPLAIN_PREDICATE), out, fetchedRows);
+              if (results != null) {
+                interpreterResult.add(results);
+              }
               if (resultSet.next()) {
-                interpreterResult.add(ResultMessages.getExceedsLimitRowsMessage(getMaxResult(),
-                    String.format("%s.%s", COMMON_KEY, MAX_LINE_KEY)));
+                InterpreterResultMessage exceedsLimitMessage =
+                    ResultMessages.getExceedsLimitRowsMessage(getMaxResult(),
+                        String.format("%s.%s", COMMON_KEY, MAX_LINE_KEY));
+                addMessage(interpreterResult, out, exceedsLimitMessage.getType(),
+                    exceedsLimitMessage.getData());
               }
             }
           } else {
             // Response contains either an update count or there are no results.
+            cacheable = false;
             int updateCount = statement.getUpdateCount();
-            interpreterResult.add(InterpreterResult.Type.TEXT,
+            addMessage(interpreterResult, out, InterpreterResult.Type.TEXT,
                 "Query executed successfully. Affected rows : " +
                     updateCount);
           }
@@ -744,6 +919,13 @@ public class JDBCInterpreter extends KerberosInterpreter {
         } catch (SQLException e) { /*ignored*/ }
       }
       getJDBCConfiguration(user).removeStatement(paragraphId);
+      if (cacheable) {
+        if (out != null) {
+          resultCache.put(cacheKey, out.toInterpreterResultMessage());
+        } else {
+          resultCache.put(cacheKey, interpreterResult.message());
+        }
+      }
     } catch (Throwable e) {
       logger.error("Cannot run " + sql, e);
       String errorMsg = Throwables.getStackTraceAsString(e);
@@ -754,6 +936,10 @@ public class JDBCInterpreter extends KerberosInterpreter {
       }
       interpreterResult.add(errorMsg);
       return new InterpreterResult(Code.ERROR, interpreterResult.message());
+    } finally {
+      if (paragraphId != null) {
+        fetchedRowsMap.remove(paragraphId);
+      }
     }
     return interpreterResult;
   }
@@ -761,11 +947,19 @@ public class JDBCInterpreter extends KerberosInterpreter {
   /**
    * For %table response replace Tab and Newline characters from the content.
    */
-  private String replaceReservedChars(String str) {
+  private void appendReplacedReservedChars(StringBuilder sb, String str) {
     if (str == null) {
-      return EMPTY_COLUMN_VALUE;
+      sb.append(EMPTY_COLUMN_VALUE);
+      return;
+    }
+    if (str.indexOf(TAB) < 0 && str.indexOf(NEWLINE) < 0) {
+      sb.append(str);
+      return;
+    }
+    for (int i = 0; i < str.length(); i++) {
+      char c = str.charAt(i);
+      sb.append(c == TAB || c == NEWLINE ? WHITESPACE : c);
     }
-    return str.replace(TAB, WHITESPACE).replace(NEWLINE, WHITESPACE);
   }
 
   @Override
@@ -779,7 +973,23 @@ public class JDBCInterpreter extends KerberosInterpreter {
 
     cmd = cmd.trim();
     logger.debug("PropertyKey: {}, SQL command: '{}'", propertyKey, cmd);
-    return executeSql(propertyKey, cmd, contextInterpreter);
+
+    if (propertyKey != null && basePropretiesMap.containsKey(propertyKey) &&
+        !sqlCompletersMap.containsKey(getSqlCompleterKey(propertyKey, contextInterpreter))) {
+      // prefetch metadata for completion the first time the data source is used
+      getOrCreateSqlCompleter(propertyKey, contextInterpreter);
+    }
+
+    String cacheKey = getResultCacheKey(propertyKey, cmd, contextInterpreter);
+    if (cacheKey != null) {
+      List<InterpreterResultMessage> cachedMessages = resultCache.get(cacheKey);
+      sendResultCacheInfo(contextInterpreter, cachedMessages != null);
+      if (cachedMessages != null) {
+        logger.debug("Use cached result of SQL command '{}'", cmd);
+        return new InterpreterResult(Code.SUCCESS, cachedMessages);
+      }
+    }
+    return executeSql(propertyKey, cmd, contextInterpreter, contextInterpreter.out, cacheKey);
   }
 
   @Override
@@ -818,7 +1028,13 @@ public class JDBCInterpreter extends KerberosInterpreter {
 
   @Override
   public int getProgress(InterpreterContext context) {
-    return 0;
+    AtomicInteger fetchedRows = context.getParagraphId() == null ? null :
+        fetchedRowsMap.get(context.getParagraphId());
+    if (fetchedRows == null || getMaxResult() <= 0) {
+      return 0;
+    }
+    // the total number of rows is not known, report against the display limit
+    return Math.min(99, (int) (fetchedRows.get() * 100L / getMaxResult()));
   }
 
   @Override
@@ -835,21 +1051,7 @@ public class JDBCInterpreter extends KerberosInterpreter {
       InterpreterContext interpreterContext) {
     List<InterpreterCompletion> candidates = new ArrayList<>();
     String propertyKey = getPropertyKey(buf);
-    String sqlCompleterKey =
-        String.format("%s.%s", interpreterContext.getAuthenticationInfo().getUser(), propertyKey);
-    SqlCompleter sqlCompleter = sqlCompletersMap.get(sqlCompleterKey);
-
-    Connection connection = null;
-    try {
-      if (interpreterContext != null) {
-        connection = getConnection(propertyKey, interpreterContext);
-      }
-    } catch (ClassNotFoundException | SQLException | IOException e) {
-      logger.warn("SQLCompleter will created without use connection");
-    }
-
-    sqlCompleter = createOrUpdateSqlCompleter(sqlCompleter, connection, propertyKey, buf, cursor);
-    sqlCompletersMap.put(sqlCompleterKey, sqlCompleter);
+    SqlCompleter sqlCompleter = getOrCreateSqlCompleter(propertyKey, interpreterContext);
     sqlCompleter.complete(buf, cursor, candidates);
 
     return candidates;
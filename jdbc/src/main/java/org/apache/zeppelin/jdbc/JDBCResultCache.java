@@ -0,0 +1,267 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more contributor license
+ * agreements. See the NOTICE file distributed with this work for additional information regarding
+ * copyright ownership. The ASF licenses this file to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance with the License. You may obtain a
+ * copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.apache.zeppelin.jdbc;
+
+import com.google.gson.Gson;
+import org.apache.zeppelin.interpreter.InterpreterResultMessage;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Cache of query results for the JDBC interpreter.
+ *
+ * Entries are keyed on property key, scope (user name or shared) and the final SQL, expire after
+ * the ttl, and the least recently used entries are evicted when the number of entries or the
+ * total size of the cached results exceeds the limits. When a directory is given, entries are
+ * also written there so they survive an interpreter restart and eviction from memory.
+ */
+public class JDBCResultCache {
+  private static final Logger logger = LoggerFactory.getLogger(JDBCResultCache.class);
+  private static final Gson gson = new Gson();
+  private static final String CACHE_FILE_EXTENSION = ".json";
+
+  private final long ttlMs;
+  private final int maxEntries;
+  private final long maxSize;
+  private final File cacheDir;
+  // access ordered, eldest entry is the least recently used one
+  private final LinkedHashMap<String, Entry> entries = new LinkedHashMap<>(16, 0.75f, true);
+  private long totalSize = 0;
+
+  private final AtomicLong hits = new AtomicLong(0);
+  private final AtomicLong misses = new AtomicLong(0);
+
+  /**
+   * @param ttlMs time to live of the entries
+   * @param maxEntries max number of entries in memory
+   * @param maxSize max total number of characters of the results in memory
+   * @param cacheDir directory of the on-disk tier, null to keep results in memory only
+   */
+  public JDBCResultCache(long ttlMs, int maxEntries, long maxSize, File cacheDir) {
+    this.ttlMs = ttlMs;
+    this.maxEntries = maxEntries;
+    this.maxSize = maxSize;
+    this.cacheDir = cacheDir;
+    if (cacheDir != null) {
+      cacheDir.mkdirs();
+      removeExpiredFiles();
+    }
+  }
+
+  public static String createKey(String propertyKey, String scope, String sql) {
+    return propertyKey + "\u0000" + scope + "\u0000" + sql;
+  }
+
+  /**
+   * Get the cached result messages, null when there's no valid entry
+   */
+  public List<InterpreterResultMessage> get(String key) {
+    Entry entry;
+    synchronized (entries) {
+      entry = entries.get(key);
+      if (entry != null && entry.isExpired(ttlMs)) {
+        remove(key);
+        entry = null;
+      }
+    }
+
+    if (entry == null && cacheDir != null) {
+      entry = readFromDisk(key);
+      if (entry != null) {
+        putInMemory(key, entry);
+      }
+    }
+
+    if (entry == null) {
+      misses.incrementAndGet();
+      return null;
+    }
+    hits.incrementAndGet();
+    return entry.getMessages();
+  }
+
+  public void put(String key, List<InterpreterResultMessage> messages) {
+    Entry entry = new Entry(key, System.currentTimeMillis(), new ArrayList<>(messages));
+    if (entry.size() > maxSize) {
+      logger.debug("Result of size {} is larger than the cache, not cached", entry.size());
+      return;
+    }
+    putInMemory(key, entry);
+    if (cacheDir != null) {
+      writeToDisk(entry);
+    }
+  }
+
+  public void clear() {
+    synchronized (entries) {
+      entries.clear();
+      totalSize = 0;
+    }
+    if (cacheDir != null) {
+      File[] files = cacheDir.listFiles();
+      if (files != null) {
+        for (File file : files) {
+          if (file.getName().endsWith(CACHE_FILE_EXTENSION)) {
+            file.delete();
+          }
+        }
+      }
+    }
+  }
+
+  public int size() {
+    synchronized (entries) {
+      return entries.size();
+    }
+  }
+
+  public long getHits() {
+    return hits.get();
+  }
+
+  public long getMisses() {
+    return misses.get();
+  }
+
+  private void putInMemory(String key, Entry entry) {
+    synchronized (entries) {
+      remove(key);
+      entries.put(key, entry);
+      totalSize += entry.size();
+      Iterator<Map.Entry<String, Entry>> it = entries.entrySet().iterator();
+      while ((entries.size() > maxEntries || totalSize > maxSize) && it.hasNext()) {
+        Entry eldest = it.next().getValue();
+        it.remove();
+        totalSize -= eldest.size();
+      }
+    }
+  }
+
+  private void remove(String key) {
+    Entry removed = entries.remove(key);
+    if (removed != null) {
+      totalSize -= removed.size();
+    }
+  }
+
+  private File getCacheFile(String key) {
+    try {
+      MessageDigest digest = MessageDigest.getInstance("SHA-1");
+      StringBuilder name = new StringBuilder();
+      for (byte b : digest.digest(key.getBytes(StandardCharsets.UTF_8))) {
+        name.append(String.format("%02x", b));
+      }
+      return new File(cacheDir, name.append(CACHE_FILE_EXTENSION).toString());
+    } catch (NoSuchAlgorithmException e) {
+      throw new IllegalStateException(e);
+    }
+  }
+
+  private Entry readFromDisk(String key) {
+    File file = getCacheFile(key);
+    if (!file.exists()) {
+      return null;
+    }
+    try {
+      Entry entry = gson.fromJson(
+          new String(Files.readAllBytes(file.toPath()), StandardCharsets.UTF_8), Entry.class);
+      // a hash collision or an expired entry
+      if (entry == null || !key.equals(entry.key) || entry.isExpired(ttlMs)) {
+        file.delete();
+        return null;
+      }
+      return entry;
+    } catch (Exception e) {
+      logger.warn("Fail to read cached result from " + file, e);
+      file.delete();
+      return null;
+    }
+  }
+
+  private void writeToDisk(Entry entry) {
+    File file = getCacheFile(entry.key);
+    File tmpFile = new File(file.getPath() + ".tmp");
+    try {
+      Files.write(tmpFile.toPath(), gson.toJson(entry).getBytes(StandardCharsets.UTF_8));
+      Files.move(tmpFile.toPath(), file.toPath(), StandardCopyOption.REPLACE_EXISTING);
+    } catch (IOException e) {
+      logger.warn("Fail to write cached result to " + file, e);
+      tmpFile.delete();
+    }
+  }
+
+  private void removeExpiredFiles() {
+    File[] files = cacheDir.listFiles();
+    if (files == null) {
+      return;
+    }
+    for (File file : files) {
+      if (file.getName().endsWith(CACHE_FILE_EXTENSION)
+          && System.currentTimeMillis() - file.lastModified() > ttlMs) {
+        file.delete();
+      }
+    }
+  }
+
+  /**
+   * Cached result of a query
+   */
+  private static class Entry {
+    private String key;
+    private long createdAt;
+    private List<InterpreterResultMessage> messages;
+    // computed lazily, 0 until then
+    private transient long size;
+
+    Entry(String key, long createdAt, List<InterpreterResultMessage> messages) {
+      this.key = key;
+      this.createdAt = createdAt;
+      this.messages = messages;
+    }
+
+    boolean isExpired(long ttlMs) {
+      return System.currentTimeMillis() - createdAt > ttlMs;
+    }
+
+    List<InterpreterResultMessage> getMessages() {
+      return new ArrayList<>(messages);
+    }
+
+    long size() {
+      if (size == 0) {
+        long total = key.length();
+        for (InterpreterResultMessage message : messages) {
+          total += message.getData() == null ? 0 : message.getData().length();
+        }
+        size = total;
+      }
+      return size;
+    }
+  }
+}
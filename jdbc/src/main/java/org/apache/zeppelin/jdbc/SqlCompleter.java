@@ -20,6 +20,11 @@ import java.util.Map;
 import java.util.Set;
 import java.util.StringTokenizer;
 import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.regex.Pattern;
 
 import org.apache.commons.lang.StringUtils;
@@ -36,11 +41,28 @@ import jline.console.completer.ArgumentCompleter.WhitespaceArgumentDelimiter;
 
 /**
  * SQL auto complete functionality for the JdbcInterpreter.
+ *
+ * Completion is served from memory only. Metadata of the database (keywords, schemas, tables
+ * and columns) is loaded by a background crawler, which loads the tables and columns of the
+ * schemas concurrently and is started again once the loaded metadata expires. Loaded metadata
+ * is kept in immutable sorted sets that are replaced as a whole, so completion never waits for
+ * the crawler. Each crawl replaces the tables and columns of every schema, so dropped schemas,
+ * tables and columns disappear from completion.
  */
 public class SqlCompleter {
 
+  /**
+   * Provides connections to the crawler, every connection is closed after use
+   */
+  public interface ConnectionProvider {
+    Connection getConnection() throws Exception;
+  }
+
   private static Logger logger = LoggerFactory.getLogger(SqlCompleter.class);
 
+  // with ttl -1 the metadata is loaded again as soon as this is elapsed since the last crawl
+  static final int MIN_REFRESH_INTERVAL_SECONDS = 60;
+
 
   /**
    * Delimiter that can split SQL statement in keyword list
@@ -59,26 +81,31 @@ public class SqlCompleter {
   /**
    * Schema completer
    */
-  private CachedCompleter schemasCompleter;
+  private volatile CachedCompleter schemasCompleter;
 
   /**
    * Contain different completer with table list for every schema name
    */
-  private Map<String, CachedCompleter> tablesCompleters = new HashMap<>();
+  private Map<String, CachedCompleter> tablesCompleters = new ConcurrentHashMap<>();
 
   /**
-   * Contains different completer with column list for every table name
-   * Table names store as schema_name.table_name
+   * Contains different completer with column list for every table name, by schema name.
+   * The table map of a schema is replaced as a whole.
    */
-  private Map<String, CachedCompleter> columnsCompleters = new HashMap<>();
+  private Map<String, Map<String, CachedCompleter>> columnsCompleters =
+      new ConcurrentHashMap<>();
 
   /**
    * Completer for sql keywords
    */
-  private CachedCompleter keywordCompleter;
+  private volatile CachedCompleter keywordCompleter;
 
   private int ttlInSeconds;
 
+  private final AtomicBoolean crawling = new AtomicBoolean(false);
+  private volatile boolean keywordsLoadedFromDatabase = false;
+  private volatile long lastCrawlTime = 0;
+
 
   public SqlCompleter(int ttlInSeconds) {
     this.ttlInSeconds = ttlInSeconds;
@@ -178,36 +205,38 @@ public class SqlCompleter {
   }
 
 
-  private static void fillTableNames(String schema, DatabaseMetaData meta, Set<String> tables) {
+  private static void fillTableNames(String schema, DatabaseMetaData meta, Set<String> tables)
+      throws SQLException {
     try (ResultSet tbls = meta.getTables(schema, schema, "%",
         new String[]{"TABLE", "VIEW", "ALIAS", "SYNONYM", "GLOBAL TEMPORARY", "LOCAL TEMPORARY"})) {
       while (tbls.next()) {
         String table = tbls.getString("TABLE_NAME");
         tables.add(table);
       }
-    } catch (Throwable t) {
-      logger.error("Failed to retrieve the table name", t);
     }
   }
 
   /**
-   * Fill two map with list of tables and list of columns
+   * Fill map with list of columns of every table
    *
    * @param schema name of a scheme
-   * @param table name of a table
+   * @param table name pattern of tables, '%' for all the tables of the schema
    * @param meta meta metadata from connection to database
-   * @param columns function fills this set, for every table name adds set
-   *        of columns within the table; table name is in format schema_name.table_name
+   * @param columns function fills this map, for every table name adds set
+   *        of columns within the table
    */
   private static void fillColumnNames(String schema, String table, DatabaseMetaData meta,
-      Set<String> columns) {
+      Map<String, Set<String>> columns) throws SQLException {
     try (ResultSet cols = meta.getColumns(schema, schema, table, "%")) {
       while (cols.next()) {
-        String column = cols.getString("COLUMN_NAME");
-        columns.add(column);
+        String tableName = cols.getString("TABLE_NAME");
+        Set<String> tableColumns = columns.get(tableName);
+        if (tableColumns == null) {
+          tableColumns = new HashSet<>();
+          columns.put(tableName, tableColumns);
+        }
+        tableColumns.add(cols.getString("COLUMN_NAME"));
       }
-    } catch (Throwable t) {
-      logger.error("Failed to retrieve the column name", t);
     }
   }
 
@@ -282,75 +311,137 @@ public class SqlCompleter {
   }
 
   /**
-   * Initializes all local completers from database connection
+   * Whether the loaded metadata should be loaded again, according to the ttl. With ttl -1 it's
+   * loaded again once MIN_REFRESH_INTERVAL_SECONDS are elapsed, not on every completion.
+   */
+  public boolean needsRefresh() {
+    if (lastCrawlTime == 0) {
+      return true;
+    }
+    int ttl = ttlInSeconds == -1 ? MIN_REFRESH_INTERVAL_SECONDS : ttlInSeconds;
+    return ttl > 0 && (System.currentTimeMillis() - lastCrawlTime) / 1000 > ttl;
+  }
+
+  public boolean isCrawling() {
+    return crawling.get();
+  }
+
+  /**
+   * Load the metadata of the database in the background when it's not loaded yet or expired.
+   * Returns immediately, completion keeps using the previously loaded metadata until then.
    *
-   * @param connection database connection
+   * @param connectionProvider provides the connections to read metadata with
    * @param schemaFiltersString a comma separated schema name patterns, supports '%'  symbol;
    *        for example "prod_v_%,prod_t_%"
+   * @param executor runs the crawler, the tables and columns of each schema are loaded by a
+   *        separate task
    */
-  public void createOrUpdateFromConnection(Connection connection, String schemaFiltersString,
-      String buffer, int cursor) {
-    try (Connection c = connection) {
-      if (schemaFiltersString == null) {
-        schemaFiltersString = StringUtils.EMPTY;
-      }
-      List<String> schemaFilters = Arrays.asList(schemaFiltersString.split(","));
-      CursorArgument cursorArgument = parseCursorArgument(buffer, cursor);
-
-      Set<String> tables = new HashSet<>();
-      Set<String> columns = new HashSet<>();
-      Set<String> schemas = new HashSet<>();
-      Set<String> catalogs = new HashSet<>();
-      Set<String> keywords = new HashSet<>();
-
-      if (c != null) {
-        DatabaseMetaData databaseMetaData = c.getMetaData();
-        if (keywordCompleter == null || keywordCompleter.getCompleter() == null
-            || keywordCompleter.isExpired()) {
-          keywords = getSqlKeywordsCompletions(databaseMetaData);
-          initKeywords(keywords);
-        }
-        if (cursorArgument.needLoadSchemas() &&
-            (schemasCompleter == null || schemasCompleter.getCompleter() == null
-            || schemasCompleter.isExpired())) {
-          schemas = getSchemaNames(databaseMetaData, schemaFilters);
-          catalogs = getCatalogNames(databaseMetaData, schemaFilters);
-
-          if (schemas.size() == 0) {
-            schemas.addAll(catalogs);
-          }
-
-          initSchemas(schemas);
-        }
-
-        CachedCompleter tablesCompleter = tablesCompleters.get(cursorArgument.getSchema());
-        if (cursorArgument.needLoadTables() &&
-            (tablesCompleter == null || tablesCompleter.isExpired())) {
-          fillTableNames(cursorArgument.getSchema(), databaseMetaData, tables);
-          initTables(cursorArgument.getSchema(), tables);
+  public void refreshInBackground(final ConnectionProvider connectionProvider,
+      String schemaFiltersString, final ExecutorService executor) {
+    if (!needsRefresh() || !crawling.compareAndSet(false, true)) {
+      return;
+    }
+    final List<String> schemaFilters =
+        Arrays.asList(StringUtils.defaultString(schemaFiltersString).split(","));
+    try {
+      executor.execute(new Runnable() {
+        @Override
+        public void run() {
+          crawl(connectionProvider, schemaFilters, executor);
         }
+      });
+    } catch (RejectedExecutionException e) {
+      logger.debug("Metadata crawler is shut down");
+      crawling.set(false);
+    }
+  }
 
-        String schemaTable =
-            String.format("%s.%s", cursorArgument.getSchema(), cursorArgument.getTable());
-        CachedCompleter columnsCompleter = columnsCompleters.get(schemaTable);
+  private void crawl(final ConnectionProvider connectionProvider, List<String> schemaFilters,
+      ExecutorService executor) {
+    long start = System.currentTimeMillis();
+    Set<String> schemas;
+    try (Connection c = connectionProvider.getConnection()) {
+      if (c == null) {
+        finishCrawl(start, 0);
+        return;
+      }
+      DatabaseMetaData databaseMetaData = c.getMetaData();
+      if (!keywordsLoadedFromDatabase) {
+        initKeywords(getSqlKeywordsCompletions(databaseMetaData));
+        keywordsLoadedFromDatabase = true;
+      }
+      schemas = getSchemaNames(databaseMetaData, schemaFilters);
+      Set<String> catalogs = getCatalogNames(databaseMetaData, schemaFilters);
+      if (schemas.size() == 0) {
+        schemas.addAll(catalogs);
+      }
+      initSchemas(schemas);
+      // an empty result is more likely a failed lookup than a database without schemas
+      if (!schemas.isEmpty()) {
+        retainSchemas(schemas);
+      }
+    } catch (Exception e) {
+      logger.error("Failed to update the metadata completions", e);
+      finishCrawl(start, 0);
+      return;
+    }
 
-        if (cursorArgument.needLoadColumns() &&
-            (columnsCompleter == null || columnsCompleter.isExpired())) {
-          fillColumnNames(cursorArgument.getSchema(), cursorArgument.getTable(), databaseMetaData,
-              columns);
-          initColumns(schemaTable, columns);
+    if (schemas.isEmpty()) {
+      finishCrawl(start, 0);
+      return;
+    }
+    final AtomicInteger remaining = new AtomicInteger(schemas.size());
+    final long crawlStart = start;
+    final int schemaCount = schemas.size();
+    for (final String schema : schemas) {
+      Runnable task = new Runnable() {
+        @Override
+        public void run() {
+          try {
+            crawlSchema(connectionProvider, schema);
+          } finally {
+            if (remaining.decrementAndGet() == 0) {
+              finishCrawl(crawlStart, schemaCount);
+            }
+          }
         }
-
-        logger.info("Completer initialized with " + schemas.size() + " schemas, " +
-            columns.size() + " tables and " + keywords.size() + " keywords");
+      };
+      try {
+        executor.execute(task);
+      } catch (RejectedExecutionException e) {
+        logger.debug("Metadata crawler is shut down");
+        crawling.set(false);
+        return;
       }
-
-    } catch (SQLException | IOException e) {
-      logger.error("Failed to update the metadata completions", e);
     }
   }
 
+  /**
+   * Load the tables and columns of a schema, all columns are read with a single query. The
+   * previously loaded ones are kept when it fails.
+   */
+  private void crawlSchema(ConnectionProvider connectionProvider, String schema) {
+    try (Connection c = connectionProvider.getConnection()) {
+      if (c == null) {
+        return;
+      }
+      DatabaseMetaData databaseMetaData = c.getMetaData();
+      Set<String> tables = new HashSet<>();
+      fillTableNames(schema, databaseMetaData, tables);
+      Map<String, Set<String>> columns = new HashMap<>();
+      fillColumnNames(schema, "%", databaseMetaData, columns);
+      replaceSchema(schema, tables, columns);
+    } catch (Exception e) {
+      logger.error("Failed to update the metadata completions of schema " + schema, e);
+    }
+  }
 
+  private void finishCrawl(long start, int schemaCount) {
+    lastCrawlTime = System.currentTimeMillis();
+    crawling.set(false);
+    logger.info("Completer metadata of {} schemas loaded in {} ms", schemaCount,
+        lastCrawlTime - start);
+  }
 
   public void initKeywords(Set<String> keywords) {
     if (keywords != null && !keywords.isEmpty()) {
@@ -373,12 +464,58 @@ public class SqlCompleter {
   }
 
   public void initColumns(String schemaTable, Set<String> columns) {
-    if (columns != null && !columns.isEmpty()) {
-      columnsCompleters.put(schemaTable,
+    int dot = schemaTable.indexOf('.');
+    if (columns != null && !columns.isEmpty() && dot > 0) {
+      String schema = schemaTable.substring(0, dot);
+      Map<String, CachedCompleter> tables = columnsCompleters.get(schema);
+      tables = tables == null ?
+          new HashMap<String, CachedCompleter>() : new HashMap<>(tables);
+      tables.put(schemaTable.substring(dot + 1),
           new CachedCompleter(new StringsCompleter(columns), ttlInSeconds));
+      columnsCompleters.put(schema, tables);
+    }
+  }
+
+  /**
+   * Replace the tables and the columns of the schema by the ones just loaded
+   *
+   * @param columns for every table, the set of its columns
+   */
+  void replaceSchema(String schema, Set<String> tables, Map<String, Set<String>> columns) {
+    if (tables.isEmpty()) {
+      tablesCompleters.remove(schema);
+    } else {
+      tablesCompleters.put(schema, new CachedCompleter(
+          new StringsCompleter(new TreeSet<>(tables)), ttlInSeconds));
+    }
+
+    Map<String, CachedCompleter> tableColumns = new HashMap<>();
+    for (Map.Entry<String, Set<String>> entry : columns.entrySet()) {
+      if (!entry.getValue().isEmpty()) {
+        tableColumns.put(entry.getKey(),
+            new CachedCompleter(new StringsCompleter(entry.getValue()), ttlInSeconds));
+      }
+    }
+    if (tableColumns.isEmpty()) {
+      columnsCompleters.remove(schema);
+    } else {
+      columnsCompleters.put(schema, tableColumns);
     }
   }
 
+  /**
+   * Forget the tables and columns of the schemas which don't exist anymore
+   */
+  void retainSchemas(Set<String> schemas) {
+    tablesCompleters.keySet().retainAll(schemas);
+    columnsCompleters.keySet().retainAll(schemas);
+  }
+
+  private CachedCompleter getColumnsCompleter(String schema, String table) {
+    Map<String, CachedCompleter> tables = columnsCompleters.get(schema);
+    return tables == null ? null : tables.get(table);
+  }
+
   /**
    * Find aliases in sql command
    *
@@ -388,7 +525,9 @@ public class SqlCompleter {
   public Map<String, String> findAliasesInSQL(String[] sqlArguments) {
     Map<String, String> res = new HashMap<>();
     for (int i = 0; i < sqlArguments.length - 1; i++) {
-      if (columnsCompleters.keySet().contains(sqlArguments[i]) &&
+      int dot = sqlArguments[i].indexOf('.');
+      if (dot > 0 && getColumnsCompleter(sqlArguments[i].substring(0, dot),
+              sqlArguments[i].substring(dot + 1)) != null &&
               sqlArguments[i + 1].matches("[a-zA-Z]+")) {
         res.put(sqlArguments[i + 1], sqlArguments[i]);
       }
@@ -402,7 +541,11 @@ public class SqlCompleter {
    * @return -1 in case of no candidates found, 0 otherwise
    */
   private int completeKeyword(String buffer, int cursor, List<CharSequence> candidates) {
-    return keywordCompleter.getCompleter().complete(buffer, cursor, candidates);
+    CachedCompleter completer = keywordCompleter;
+    if (completer == null) {
+      return -1;
+    }
+    return completer.getCompleter().complete(buffer, cursor, candidates);
   }
 
   /**
@@ -411,7 +554,11 @@ public class SqlCompleter {
    * @return -1 in case of no candidates found, 0 otherwise
    */
   private int completeSchema(String buffer, int cursor, List<CharSequence> candidates) {
-    return schemasCompleter.getCompleter().complete(buffer, cursor, candidates);
+    CachedCompleter completer = schemasCompleter;
+    if (completer == null) {
+      return -1;
+    }
+    return completer.getCompleter().complete(buffer, cursor, candidates);
   }
 
   /**
@@ -421,11 +568,12 @@ public class SqlCompleter {
    */
   private int completeTable(String schema, String buffer, int cursor,
                             List<CharSequence> candidates) {
+    CachedCompleter completer = schema == null ? null : tablesCompleters.get(schema);
     // Wrong schema
-    if (schema == null || !tablesCompleters.containsKey(schema))
+    if (completer == null) {
       return -1;
-    else {
-      return tablesCompleters.get(schema).getCompleter().complete(buffer, cursor, candidates);
+    } else {
+      return completer.getCompleter().complete(buffer, cursor, candidates);
     }
   }
 
@@ -436,12 +584,13 @@ public class SqlCompleter {
    */
   private int completeColumn(String schema, String table, String buffer, int cursor,
                              List<CharSequence> candidates) {
+    CachedCompleter completer = schema == null || table == null ? null :
+        getColumnsCompleter(schema, table);
     // Wrong schema or wrong table
-    if (schema == null || table == null || !columnsCompleters.containsKey(schema + "." + table)) {
+    if (completer == null) {
       return -1;
     } else {
-      return columnsCompleters.get(schema + "." + table).getCompleter()
-          .complete(buffer, cursor, candidates);
+      return completer.getCompleter().complete(buffer, cursor, candidates);
     }
   }
 
@@ -580,26 +729,5 @@ public class SqlCompleter {
     public void setCursorPosition(int cursorPosition) {
       this.cursorPosition = cursorPosition;
     }
-
-    public boolean needLoadSchemas() {
-      if (table == null && column == null) {
-        return true;
-      }
-      return false;
-    }
-
-    public boolean needLoadTables() {
-      if (schema != null && table != null && column == null) {
-        return true;
-      }
-      return false;
-    }
-
-    public boolean needLoadColumns() {
-      if (schema != null && table != null && column != null) {
-        return true;
-      }
-      return false;
-    }
   }
 }
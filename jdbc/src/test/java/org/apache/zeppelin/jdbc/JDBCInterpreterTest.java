@@ -32,12 +32,16 @@ import java.sql.DriverManager;
 import java.sql.PreparedStatement;
 import java.sql.SQLException;
 import java.sql.Statement;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Properties;
 
 import org.apache.zeppelin.completer.CompletionType;
 import org.apache.zeppelin.interpreter.InterpreterContext;
+import org.apache.zeppelin.interpreter.InterpreterOutput;
 import org.apache.zeppelin.interpreter.InterpreterResult;
+import org.apache.zeppelin.interpreter.InterpreterResultMessage;
 import org.apache.zeppelin.interpreter.thrift.InterpreterCompletion;
 import org.apache.zeppelin.scheduler.FIFOScheduler;
 import org.apache.zeppelin.scheduler.ParallelScheduler;
@@ -325,6 +329,89 @@ public class JDBCInterpreterTest extends BasicJDBCTestCaseAdapter {
     assertTrue(interpreterResult.message().get(1).getData().contains("alert-warning"));
   }
 
+  @Test
+  public void testSelectQueryStreamedToOutput() throws SQLException, IOException {
+    Properties properties = new Properties();
+    properties.setProperty("common.max_count", "2");
+    properties.setProperty("common.max_retry", "3");
+    properties.setProperty("default.driver", "org.h2.Driver");
+    properties.setProperty("default.url", getJdbcConnection());
+    properties.setProperty("default.user", "");
+    properties.setProperty("default.password", "");
+    properties.setProperty("default.splitQueries", "true");
+    properties.setProperty("default.statementFetchSize", "1");
+    JDBCInterpreter t = new JDBCInterpreter(properties);
+    t.open();
+
+    InterpreterOutput out = new InterpreterOutput(null);
+    InterpreterContext context = new InterpreterContext("", "1", null, "", "",
+        new AuthenticationInfo("testUser"), null, null, null, null, null, out);
+    String sqlQuery = "select * from test_table;" +
+        "select * from test_table where ID = 'c';";
+
+    InterpreterResult interpreterResult = t.interpret(sqlQuery, context);
+
+    assertEquals(InterpreterResult.Code.SUCCESS, interpreterResult.code());
+    assertEquals(0, interpreterResult.message().size());
+    List<InterpreterResultMessage> messages = out.toInterpreterResultMessage();
+    assertEquals(3, messages.size());
+    assertEquals(InterpreterResult.Type.TABLE, messages.get(0).getType());
+    assertEquals("ID\tNAME\na\ta_name\nb\tb_name\n", messages.get(0).getData());
+    assertEquals(InterpreterResult.Type.HTML, messages.get(1).getType());
+    assertTrue(messages.get(1).getData().contains("alert-warning"));
+    assertEquals(InterpreterResult.Type.TABLE, messages.get(2).getType());
+    assertEquals("ID\tNAME\nc\tnull\n", messages.get(2).getData());
+    assertEquals(0, t.getProgress(context));
+  }
+
+  @Test
+  public void testResultCache() throws SQLException, IOException {
+    Properties properties = new Properties();
+    properties.setProperty("common.max_count", "1000");
+    properties.setProperty("common.max_retry", "3");
+    properties.setProperty("default.driver", "org.h2.Driver");
+    properties.setProperty("default.url", getJdbcConnection());
+    properties.setProperty("default.user", "");
+    properties.setProperty("default.password", "");
+    properties.setProperty("zeppelin.jdbc.cache.enabled", "true");
+    JDBCInterpreter t = new JDBCInterpreter(properties);
+    t.open();
+
+    String sqlQuery = "select * from test_table where id = 'a'";
+    InterpreterResult interpreterResult = t.interpret(sqlQuery, interpreterContext);
+    assertEquals(InterpreterResult.Code.SUCCESS, interpreterResult.code());
+    assertEquals("ID\tNAME\na\ta_name\n", interpreterResult.message().get(0).getData());
+    assertEquals(0, t.getResultCache().getHits());
+    assertEquals(1, t.getResultCache().getMisses());
+
+    Connection connection = DriverManager.getConnection(getJdbcConnection());
+    connection.createStatement().execute("update test_table set name = 'changed' where id = 'a'");
+    connection.close();
+
+    // served from the cache
+    interpreterResult = t.interpret(sqlQuery, interpreterContext);
+    assertEquals("ID\tNAME\na\ta_name\n", interpreterResult.message().get(0).getData());
+    assertEquals(1, t.getResultCache().getHits());
+
+    // cache is per user
+    InterpreterContext otherUserContext = new InterpreterContext("", "1", null, "", "",
+        new AuthenticationInfo("otherUser"), null, null, null, null, null, null);
+    interpreterResult = t.interpret(sqlQuery, otherUserContext);
+    assertEquals("ID\tNAME\na\tchanged\n", interpreterResult.message().get(0).getData());
+
+    // bypassed by the paragraph config
+    Map<String, Object> config = new HashMap<>();
+    config.put("jdbc.cache.bypass", true);
+    InterpreterContext bypassContext = new InterpreterContext("", "1", null, "", "",
+        new AuthenticationInfo("testUser"), config, null, null, null, null, null);
+    interpreterResult = t.interpret(sqlQuery, bypassContext);
+    assertEquals("ID\tNAME\na\tchanged\n", interpreterResult.message().get(0).getData());
+
+    // statements which don't return rows are not cached
+    t.interpret("update test_table set name = 'a_name' where id = 'a'", interpreterContext);
+    assertEquals(2, t.getResultCache().size());
+  }
+
   @Test
   public void concurrentSettingTest() {
     Properties properties = new Properties();
@@ -370,6 +457,29 @@ public class JDBCInterpreterTest extends BasicJDBCTestCaseAdapter {
     assertEquals(true, completionList.contains(correctCompletionKeyword));
   }
 
+  @Test
+  public void testAutoCompletionPrefetch() throws SQLException, IOException,
+      InterruptedException {
+    JDBCInterpreter jdbcInterpreter = new JDBCInterpreter(getDBProperty("", ""));
+    jdbcInterpreter.open();
+
+    // running a paragraph starts loading the metadata in the background
+    jdbcInterpreter.interpret("select 1", interpreterContext);
+
+    InterpreterCompletion schemaCompletion =
+        new InterpreterCompletion("PUBLIC", "PUBLIC", CompletionType.schema.name());
+    List<InterpreterCompletion> completionList =
+        jdbcInterpreter.completion("PUB", 3, interpreterContext);
+    long start = System.currentTimeMillis();
+    while (!completionList.contains(schemaCompletion)
+        && System.currentTimeMillis() - start < 10000) {
+      Thread.sleep(50);
+      completionList = jdbcInterpreter.completion("PUB", 3, interpreterContext);
+    }
+    assertTrue(completionList.contains(schemaCompletion));
+    jdbcInterpreter.close();
+  }
+
   private Properties getDBProperty(String dbUser, String dbPassowrd) throws IOException {
     Properties properties = new Properties();
     properties.setProperty("common.max_count", "1000");
@@ -501,6 +611,41 @@ public class JDBCInterpreterTest extends BasicJDBCTestCaseAdapter {
     assertEquals(InterpreterResult.Type.TEXT, interpreterResult.message().get(0).getType());
   }
 
+  @Test
+  public void testPrecodeOutputNotInParagraphOutput() throws SQLException, IOException {
+    Properties properties = new Properties();
+    properties.setProperty("common.max_count", "1000");
+    properties.setProperty("common.max_retry", "3");
+    properties.setProperty("default.driver", "org.h2.Driver");
+    properties.setProperty("default.url", getJdbcConnection());
+    properties.setProperty("default.user", "");
+    properties.setProperty("default.password", "");
+    properties.setProperty("zeppelin.jdbc.cache.enabled", "true");
+    properties.setProperty(DEFAULT_PRECODE, "select 'precode_output' as p");
+    JDBCInterpreter jdbcInterpreter = new JDBCInterpreter(properties);
+    jdbcInterpreter.open();
+
+    InterpreterOutput out = new InterpreterOutput(null);
+    InterpreterContext context = new InterpreterContext("", "1", null, "", "",
+        new AuthenticationInfo("testUser"), null, null, null, null, null, out);
+    InterpreterResult precodeResult = jdbcInterpreter.executePrecode(context);
+    assertEquals(InterpreterResult.Code.SUCCESS, precodeResult.code());
+    assertTrue(precodeResult.message().get(0).getData().contains("precode_output"));
+
+    String sqlQuery = "select * from test_table where id = 'a'";
+    InterpreterResult interpreterResult = jdbcInterpreter.interpret(sqlQuery, context);
+    assertEquals(InterpreterResult.Code.SUCCESS, interpreterResult.code());
+    List<InterpreterResultMessage> messages = out.toInterpreterResultMessage();
+    assertEquals(1, messages.size());
+    assertEquals("ID\tNAME\na\ta_name\n", messages.get(0).getData());
+
+    // the cached result doesn't contain the precode output either
+    interpreterResult = jdbcInterpreter.interpret(sqlQuery, interpreterContext);
+    assertEquals(1, jdbcInterpreter.getResultCache().getHits());
+    assertEquals(1, interpreterResult.message().size());
+    assertEquals("ID\tNAME\na\ta_name\n", interpreterResult.message().get(0).getData());
+  }
+
   @Test
   public void testPrecodeWithAnotherPrefix() throws SQLException, IOException {
     Properties properties = new Properties();
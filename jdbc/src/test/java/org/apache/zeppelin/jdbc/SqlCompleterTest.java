@@ -135,6 +135,8 @@ public class SqlCompleterTest {
 
   private final static Set<String> EMPTY = new HashSet<>();
 
+  private final static Set<InterpreterCompletion> EMPTY_COMPLETIONS = new HashSet<>();
+
   private CompleterTester tester;
 
   private ArgumentCompleter.WhitespaceArgumentDelimiter delimiter =
@@ -306,6 +308,25 @@ public class SqlCompleterTest {
     tester.buffer(buffer).from(25).to(27).expect(newHashSet(new InterpreterCompletion("financial_account", "financial_account", CompletionType.table.name()))).test();
   }
 
+  @Test
+  public void testDroppedTablesAndSchemas() {
+    Map<String, Set<String>> columns = new HashMap<>();
+    columns.put("customer", newHashSet("customer_rk"));
+    sqlCompleter.replaceSchema("prod_dds", newHashSet("customer"), columns);
+    sqlCompleter.retainSchemas(newHashSet("prod_dds"));
+
+    tester.buffer("select * from prod_dds.fi").from(25).to(25).expect(EMPTY_COMPLETIONS).test();
+    tester.buffer("select prod_dds.financial_account.acc").from(37).to(37)
+        .expect(EMPTY_COMPLETIONS).test();
+    tester.buffer("select prod_dds.customer.na").from(27).to(27)
+        .expect(EMPTY_COMPLETIONS).test();
+    tester.buffer("select prod_dds.customer.cu").from(27).to(27).expect(newHashSet(
+        new InterpreterCompletion("customer_rk", "customer_rk", CompletionType.column.name())))
+        .test();
+    tester.buffer("select * from prod_emart.fi").from(27).to(27).expect(EMPTY_COMPLETIONS)
+        .test();
+  }
+
   @Test
   public void testEdges() {
     String buffer = "  ORDER  ";
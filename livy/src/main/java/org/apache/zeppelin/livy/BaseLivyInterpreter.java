@@ -71,11 +71,18 @@ public abstract class BaseLivyInterpreter extends Interpreter {
   protected static final Logger LOGGER = LoggerFactory.getLogger(BaseLivyInterpreter.class);
   private static Gson gson = new GsonBuilder().setPrettyPrinting().disableHtmlEscaping().create();
   private static String SESSION_NOT_FOUND_PATTERN = "\"Session '\\d+' not found.\"";
+  private static final double PULL_STATUS_BACKOFF_MULTIPLIER = 1.5;
+  private static final int SHARED_HTTP_CLIENT_MAX_CONNECTIONS = 100;
+
+  // shared by all the livy interpreters of the process without ssl and kerberos, so that
+  // connections to livy are kept alive and reused across statements and sessions
+  private static HttpClient sharedHttpClient;
 
   protected volatile SessionInfo sessionInfo;
   private String livyURL;
   private int sessionCreationTimeout;
   private int pullStatusInterval;
+  private int pullStatusInitialInterval;
   protected boolean displayAppInfo;
   protected LivyVersion livyVersion;
   private RestTemplate restTemplate;
@@ -94,6 +101,8 @@ public abstract class BaseLivyInterpreter extends Interpreter {
         property.getProperty("zeppelin.livy.session.create_timeout", 120 + ""));
     this.pullStatusInterval = Integer.parseInt(
         property.getProperty("zeppelin.livy.pull_status.interval.millis", 1000 + ""));
+    this.pullStatusInitialInterval = Math.min(pullStatusInterval, Integer.parseInt(
+        property.getProperty("zeppelin.livy.pull_status.initial_interval.millis", 100 + "")));
     this.restTemplate = createRestTemplate();
   }
 
@@ -208,6 +217,7 @@ public abstract class BaseLivyInterpreter extends Interpreter {
       SessionInfo sessionInfo = SessionInfo.fromJson(
           callRestAPI("/sessions", "POST", request.toJson()));
       long start = System.currentTimeMillis();
+      long interval = pullStatusInitialInterval;
       // pull the session status until it is idle or timeout
       while (!sessionInfo.isReady()) {
         if ((System.currentTimeMillis() - start) / 1000 > sessionCreationTimeout) {
@@ -216,7 +226,8 @@ public abstract class BaseLivyInterpreter extends Interpreter {
               + ", log: " + sessionInfo.log;
           throw new LivyException(msg);
         }
-        Thread.sleep(pullStatusInterval);
+        Thread.sleep(interval);
+        interval = nextPullStatusInterval(interval);
         sessionInfo = getSessionInfo(sessionInfo.id);
         LOGGER.info("Session {} is in state {}, appId {}", sessionInfo.id, sessionInfo.state,
             sessionInfo.appId);
@@ -259,22 +270,25 @@ public abstract class BaseLivyInterpreter extends Interpreter {
         }
         stmtInfo = executeStatement(new ExecuteRequest(code));
       }
-      // pull the statement status
+      // pull the statement status, short statements are pulled soon after they are submitted
+      // and the interval backs off to pullStatusInterval for long ones
+      long interval = pullStatusInitialInterval;
       while (!stmtInfo.isAvailable()) {
+        if (paragraphId != null) {
+          paragraphId2StmtProgressMap.put(paragraphId, (int) (stmtInfo.progress * 100));
+        }
         if (paragraphId != null && paragraphsToCancel.contains(paragraphId)) {
           cancel(stmtInfo.id, paragraphId);
           return new InterpreterResult(InterpreterResult.Code.ERROR, "Job is cancelled");
         }
         try {
-          Thread.sleep(pullStatusInterval);
+          Thread.sleep(interval);
         } catch (InterruptedException e) {
           LOGGER.error("InterruptedException when pulling statement status.", e);
           throw new LivyException(e);
         }
+        interval = nextPullStatusInterval(interval);
         stmtInfo = getStatementInfo(stmtInfo.id);
-        if (paragraphId != null) {
-          paragraphId2StmtProgressMap.put(paragraphId, (int) (stmtInfo.progress * 100));
-        }
       }
       if (appendSessionExpired) {
         return appendSessionExpire(getResultFromStatementInfo(stmtInfo, displayAppInfo),
@@ -290,6 +304,11 @@ public abstract class BaseLivyInterpreter extends Interpreter {
     }
   }
 
+  private long nextPullStatusInterval(long interval) {
+    return Math.min(pullStatusInterval,
+        (long) Math.ceil(Math.max(1, interval) * PULL_STATUS_BACKOFF_MULTIPLIER));
+  }
+
   private void cancel(int id, String paragraphId) {
     if (livyVersion.isCancelSupported()) {
       try {
@@ -505,12 +524,22 @@ public abstract class BaseLivyInterpreter extends Interpreter {
       }
     }
     if (httpClient == null) {
-      return new RestTemplate();
+      return new RestTemplate(new HttpComponentsClientHttpRequestFactory(getSharedHttpClient()));
     } else {
       return new RestTemplate(new HttpComponentsClientHttpRequestFactory(httpClient));
     }
   }
 
+  private static synchronized HttpClient getSharedHttpClient() {
+    if (sharedHttpClient == null) {
+      sharedHttpClient = HttpClients.custom()
+          .setMaxConnTotal(SHARED_HTTP_CLIENT_MAX_CONNECTIONS)
+          .setMaxConnPerRoute(SHARED_HTTP_CLIENT_MAX_CONNECTIONS)
+          .build();
+    }
+    return sharedHttpClient;
+  }
+
   private String callRestAPI(String targetURL, String method) throws LivyException {
     return callRestAPI(targetURL, method, "");
   }
@@ -208,6 +208,9 @@ public class IPythonInterpreter extends Interpreter implements ExecuteResultHand
           + "/" + ipythonScript);
       FileUtils.copyURLToFile(url, new File(tmpPythonScriptFolder, ipythonScript));
     }
+    FileUtils.copyURLToFile(
+        getClass().getClassLoader().getResource(PythonInterpreter.ZEPPELIN_COLUMNAR),
+        new File(tmpPythonScriptFolder, "zeppelin_columnar.py"));
 
     CommandLine cmd = CommandLine.parse(pythonExecutable);
     cmd.addArgument(tmpPythonScriptFolder.getAbsolutePath() + "/ipython_server.py");
@@ -233,11 +236,13 @@ public class IPythonInterpreter extends Interpreter implements ExecuteResultHand
     } else {
       additionalPythonPath = py4jLibPath;
     }
+    // the script folder makes zeppelin_columnar importable in the kernel
+    String pythonPath = tmpPythonScriptFolder.getAbsolutePath() + ":" + additionalPythonPath;
     Map<String, String> envs = EnvironmentUtils.getProcEnvironment();
     if (envs.containsKey("PYTHONPATH")) {
-      envs.put("PYTHONPATH", additionalPythonPath + ":" + envs.get("PYTHONPATH"));
+      envs.put("PYTHONPATH", pythonPath + ":" + envs.get("PYTHONPATH"));
     } else {
-      envs.put("PYTHONPATH", additionalPythonPath);
+      envs.put("PYTHONPATH", pythonPath);
     }
 
     LOGGER.debug("PYTHONPATH: " + envs.get("PYTHONPATH"));
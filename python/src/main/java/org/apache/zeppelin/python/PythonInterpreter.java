@@ -28,6 +28,7 @@ import java.io.OutputStreamWriter;
 import java.io.PipedInputStream;
 import java.io.PipedOutputStream;
 import java.net.*;
+import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.util.Collection;
@@ -43,6 +44,7 @@ import org.apache.commons.exec.ExecuteResultHandler;
 import org.apache.commons.exec.ExecuteWatchdog;
 import org.apache.commons.exec.PumpStreamHandler;
 import org.apache.commons.exec.environment.EnvironmentUtils;
+import org.apache.commons.io.FileUtils;
 import org.apache.commons.io.IOUtils;
 import org.apache.zeppelin.display.GUI;
 import org.apache.zeppelin.interpreter.*;
@@ -65,6 +67,8 @@ import py4j.commands.Command;
 public class PythonInterpreter extends Interpreter implements ExecuteResultHandler {
   private static final Logger LOG = LoggerFactory.getLogger(PythonInterpreter.class);
   public static final String ZEPPELIN_PYTHON = "python/zeppelin_python.py";
+  // columnar table files, shared by the python and ipython interpreters
+  public static final String ZEPPELIN_COLUMNAR = "python/zeppelin_columnar.py";
   public static final String ZEPPELIN_PY4JPATH = "interpreter/python/py4j-0.9.2/src";
   public static final String ZEPPELIN_PYTHON_LIBS = "interpreter/lib/python";
   public static final String DEFAULT_ZEPPELIN_PYTHON = "python";
@@ -98,8 +102,9 @@ public class PythonInterpreter extends Interpreter implements ExecuteResultHandl
   public PythonInterpreter(Properties property) {
     super(property);
     try {
-      File scriptFile = File.createTempFile("zeppelin_python-", ".py", new File("/tmp"));
-      scriptPath = scriptFile.getAbsolutePath();
+      // the script and the modules it imports are kept in a directory of their own
+      File scriptDir = Files.createTempDirectory(Paths.get("/tmp"), "zeppelin_python-").toFile();
+      scriptPath = new File(scriptDir, "zeppelin_python.py").getAbsolutePath();
     } catch (IOException e) {
       throw new InterpreterException(e);
     }
@@ -124,6 +129,7 @@ public class PythonInterpreter extends Interpreter implements ExecuteResultHandl
     }
 
     copyFile(out, ZEPPELIN_PYTHON);
+    copyFile(new File(out.getParentFile(), "zeppelin_columnar.py"), ZEPPELIN_COLUMNAR);
     logger.info("File {} created", scriptPath);
   }
 
@@ -298,17 +304,11 @@ public class PythonInterpreter extends Interpreter implements ExecuteResultHandl
     }
 
     executor.getWatchdog().destroyProcess();
-    new File(scriptPath).delete();
+    FileUtils.deleteQuietly(new File(scriptPath).getParentFile());
     gatewayServer.shutdown();
 
-    // wait until getStatements stop
-    synchronized (statementSetNotifier) {
-      try {
-        statementSetNotifier.wait(1500);
-      } catch (InterruptedException e) {
-      }
-      statementSetNotifier.notify();
-    }
+    // let getStatements return
+    notifyStatementWaiters();
   }
 
   PythonInterpretRequest pythonInterpretRequest = null;
@@ -331,7 +331,7 @@ public class PythonInterpreter extends Interpreter implements ExecuteResultHandl
     synchronized (statementSetNotifier) {
       while (pythonInterpretRequest == null && pythonscriptRunning && pythonScriptInitialized) {
         try {
-          statementSetNotifier.wait(1000);
+          statementSetNotifier.wait();
         } catch (InterruptedException e) {
         }
       }
@@ -349,7 +349,7 @@ public class PythonInterpreter extends Interpreter implements ExecuteResultHandl
     synchronized (statementFinishedNotifier) {
       statementOutput = out;
       statementError = error;
-      statementFinishedNotifier.notify();
+      statementFinishedNotifier.notifyAll();
     }
   }
 
@@ -426,15 +426,20 @@ public class PythonInterpreter extends Interpreter implements ExecuteResultHandl
       statementSetNotifier.notify();
     }
 
+    // setStatementsFinished or the end of the process wakes us up
     synchronized (statementFinishedNotifier) {
-      while (statementOutput == null) {
+      while (statementOutput == null && pythonscriptRunning) {
         try {
-          statementFinishedNotifier.wait(1000);
+          statementFinishedNotifier.wait();
         } catch (InterruptedException e) {
         }
       }
     }
 
+    if (statementOutput == null) {
+      return new InterpreterResult(Code.ERROR, "python process terminated");
+    }
+
     if (statementError) {
       return new InterpreterResult(Code.ERROR, statementOutput);
     } else {
@@ -583,15 +588,30 @@ public class PythonInterpreter extends Interpreter implements ExecuteResultHandl
     return maxResult;
   }
 
+  /**
+   * Wake up the threads waiting for a statement or for its result, so that they notice
+   * that the python process is gone instead of waiting forever
+   */
+  private void notifyStatementWaiters() {
+    synchronized (statementSetNotifier) {
+      statementSetNotifier.notifyAll();
+    }
+    synchronized (statementFinishedNotifier) {
+      statementFinishedNotifier.notifyAll();
+    }
+  }
+
   @Override
   public void onProcessComplete(int exitValue) {
     pythonscriptRunning = false;
+    notifyStatementWaiters();
     logger.info("python process terminated. exit code " + exitValue);
   }
 
   @Override
   public void onProcessFailed(ExecuteException e) {
     pythonscriptRunning = false;
+    notifyStatementWaiters();
     logger.error("python process failed", e);
   }
 }
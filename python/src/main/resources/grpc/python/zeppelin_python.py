@@ -15,7 +15,8 @@
 # limitations under the License.
 #
 
-from py4j.java_gateway import java_import, JavaGateway, GatewayClient
+from py4j.java_gateway import java_import, JavaGateway, GatewayClient, JavaObject
+from zeppelin_columnar import COLUMNAR_TABLE_CLASS, ColumnarTableStore, read_columnar_table
 
 from io import BytesIO
 try:
@@ -32,6 +33,7 @@ class PyZeppelinContext(object):
     self.paramOption = gateway.jvm.org.apache.zeppelin.display.ui.OptionInput.ParamOption
     self.javaList = gateway.jvm.java.util.ArrayList
     self.max_result = z.getMaxResult()
+    self._tables = ColumnarTableStore()
 
   def input(self, name, defaultValue=""):
     return self.z.getGui().input(name, defaultValue)
@@ -55,6 +57,33 @@ class PyZeppelinContext(object):
       javaDefaultCheck.append(check)
     return self.z.getGui().checkbox(name, javaDefaultCheck, javaOptions)
 
+  def put(self, name, value):
+    """Put a value into the resource pool. A pandas DataFrame is written once into a
+    memory mapped columnar file, which JVM interpreters read as a TableData
+    """
+    if type(value).__name__ == "DataFrame":
+      value = self._write_table(name, value)
+    self.z.put(name, value)
+
+  def get(self, name):
+    """Get a value from the resource pool, columnar tables are returned as pandas DataFrames
+    """
+    value = self.z.get(name)
+    if isinstance(value, JavaObject) and value.getClass().getName() == COLUMNAR_TABLE_CLASS:
+      return read_columnar_table(value.getPath())
+    return value
+
+  def remove(self, name):
+    self.z.remove(name)
+    self._remove_table(name)
+
+  def _write_table(self, name, df):
+    path = self._tables.write(name, df)
+    return gateway.jvm.org.apache.zeppelin.tabledata.ColumnarTableData(path)
+
+  def _remove_table(self, name):
+    self._tables.remove(name)
+
   def show(self, p, **kwargs):
     if type(p).__name__ == "DataFrame": # does not play well with sub-classes
       # `isinstance(p, DataFrame)` would req `import pandas.core.frame.DataFrame`
@@ -0,0 +1,146 @@
+#
+# Licensed to the Apache Software Foundation (ASF) under one or more
+# contributor license agreements.  See the NOTICE file distributed with
+# this work for additional information regarding copyright ownership.
+# The ASF licenses this file to You under the Apache License, Version 2.0
+# (the "License"); you may not use this file except in compliance with
+# the License.  You may obtain a copy of the License at
+#
+#    http://www.apache.org/licenses/LICENSE-2.0
+#
+# Unless required by applicable law or agreed to in writing, software
+# distributed under the License is distributed on an "AS IS" BASIS,
+# WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+# See the License for the specific language governing permissions and
+# limitations under the License.
+#
+
+# Columnar table files shared with the JVM interpreters, used by both the python and the
+# ipython interpreter. See org.apache.zeppelin.tabledata.ColumnarTableData for the layout.
+
+import atexit, os, re, shutil, struct, tempfile, uuid
+
+COLUMNAR_TABLE_MAGIC = b"ZTD1"
+COLUMNAR_TABLE_CLASS = "org.apache.zeppelin.tabledata.ColumnarTableData"
+
+
+def _columnar_align(length):
+  return (length + 7) // 8 * 8
+
+
+def _columnar_encode(value):
+  if not isinstance(value, (bytes, type(u""))):
+    value = str(value)
+  if isinstance(value, bytes):
+    return value
+  return value.encode("utf-8")
+
+
+def write_columnar_table(df, path):
+  """Write a pandas DataFrame in the file format of ColumnarTableData, column by column,
+  so that JVM interpreters can memory map it instead of parsing a text table
+  """
+  import numpy as np
+  import pandas as pd
+  columns = []
+  for name in df.columns:
+    values = df[name].values
+    if values.dtype.kind in "iub":
+      columns.append((name, 1, values.astype("<i8").tobytes()))
+    elif values.dtype.kind == "f":
+      columns.append((name, 3, values.astype("<f8").tobytes()))
+    else:
+      # None and NaN are written as nulls, not as "None" or "nan"
+      nulls = np.asarray(pd.isnull(values), dtype=bool)
+      cells = [b"" if null else _columnar_encode(v) for v, null in zip(values, nulls)]
+      offsets = np.zeros(len(cells) + 1, dtype="<i8")
+      offsets[1:] = np.cumsum([len(c) for c in cells], dtype="<i8")
+      columns.append((name, 0, offsets.tobytes() + b"".join(cells) +
+                      np.packbits(nulls).tobytes()))
+
+  names = [_columnar_encode(name) for name, _, _ in columns]
+  header = [COLUMNAR_TABLE_MAGIC, struct.pack("<iq", len(columns), len(df))]
+  offset = _columnar_align(16 + sum(4 + len(n) + 20 for n in names))
+  for n, (_, column_type, data) in zip(names, columns):
+    header.append(struct.pack("<i", len(n)) + n + struct.pack("<iqq", column_type, offset, len(data)))
+    offset += _columnar_align(len(data))
+
+  tmp_path = path + ".tmp"
+  with open(tmp_path, "wb") as f:
+    for data in [b"".join(header)] + [data for _, _, data in columns]:
+      f.write(data)
+      f.write(b"\0" * (_columnar_align(len(data)) - len(data)))
+  os.rename(tmp_path, path)
+
+
+def read_columnar_table(path):
+  """Read a ColumnarTableData file as a pandas DataFrame, numeric columns are read from
+  the memory mapped file
+  """
+  import numpy as np
+  import pandas as pd
+  from collections import OrderedDict
+  data = np.memmap(path, dtype=np.uint8, mode="r")
+
+  def unpack(fmt, pos):
+    end = pos + struct.calcsize(fmt)
+    return struct.unpack(fmt, data[pos:end].tobytes()), end
+
+  if data[0:4].tobytes() != COLUMNAR_TABLE_MAGIC:
+    raise ValueError(path + " is not a columnar table")
+  (num_columns, num_rows), pos = unpack("<iq", 4)
+  columns = OrderedDict()
+  for _ in range(num_columns):
+    (name_length,), pos = unpack("<i", pos)
+    name = data[pos:pos + name_length].tobytes().decode("utf-8")
+    (column_type, offset, length), pos = unpack("<iqq", pos + name_length)
+    if column_type == 1:
+      columns[name] = np.frombuffer(data, dtype="<i8", count=num_rows, offset=offset)
+    elif column_type == 2:
+      columns[name] = np.frombuffer(data, dtype="<i4", count=num_rows, offset=offset)
+    elif column_type == 3:
+      columns[name] = np.frombuffer(data, dtype="<f8", count=num_rows, offset=offset)
+    else:
+      offsets = np.frombuffer(data, dtype="<i8", count=num_rows + 1, offset=offset)
+      start = offset + (num_rows + 1) * 8
+      nulls = np.zeros(num_rows, dtype=bool)
+      bitmap_start = start + offsets[num_rows]
+      if bitmap_start < offset + length:
+        nulls = np.unpackbits(data[bitmap_start:bitmap_start + (num_rows + 7) // 8])[:num_rows]
+      columns[name] = [None if nulls[i] else
+                       data[start + offsets[i]:start + offsets[i + 1]].tobytes().decode("utf-8")
+                       for i in range(num_rows)]
+  return pd.DataFrame(columns, columns=list(columns.keys()))
+
+
+class ColumnarTableStore(object):
+  """Files of the tables put into the resource pool by this process. They are kept in a
+  temp directory private to the process (mkdtemp creates it with mode 0700), which is
+  deleted when the process exits
+  """
+
+  def __init__(self):
+    self._dir = None
+    self._tables = {}
+    atexit.register(self.close)
+
+  def write(self, name, df):
+    if self._dir is None:
+      self._dir = tempfile.mkdtemp(prefix="zeppelin-tables-")
+    path = os.path.join(self._dir, "{}-{}.ztd".format(
+      re.sub("[^A-Za-z0-9_.-]", "_", name), uuid.uuid4().hex))
+    write_columnar_table(df, path)
+    self.remove(name)
+    self._tables[name] = path
+    return path
+
+  def remove(self, name):
+    path = self._tables.pop(name, None)
+    if path and os.path.exists(path):
+      os.remove(path)
+
+  def close(self):
+    self._tables.clear()
+    if self._dir is not None:
+      shutil.rmtree(self._dir, ignore_errors=True)
+      self._dir = None
@@ -17,13 +17,16 @@
 
 import os, sys, getopt, traceback, json, re
 
-from py4j.java_gateway import java_import, JavaGateway, GatewayClient
+from py4j.java_gateway import java_import, JavaGateway, GatewayClient, JavaObject
 from py4j.protocol import Py4JJavaError, Py4JNetworkError
+from zeppelin_columnar import COLUMNAR_TABLE_CLASS, ColumnarTableStore, read_columnar_table
 import warnings
 import ast
 import traceback
 import warnings
 import signal
+import threading
+import time
 import base64
 
 from io import BytesIO
@@ -35,17 +38,56 @@ except ImportError:
 # for back compatibility
 
 class Logger(object):
-  def __init__(self):
-    pass
+  """ Sends what is written to stdout to the paragraph output while the statement is running.
+  Writes are buffered so that printing many small pieces doesn't make one py4j call each,
+  the buffer is sent every flush_interval seconds, when it grows over max_size and when
+  the statement finishes.
+  """
+
+  def __init__(self, flush_interval=0.1, max_size=65536):
+    self.flush_interval = flush_interval
+    self.max_size = max_size
+    self.lock = threading.RLock()
+    self.buffer = []
+    self.size = 0
+    flusher = threading.Thread(target=self._flush_periodically)
+    flusher.daemon = True
+    flusher.start()
 
   def write(self, message):
-    intp.appendOutput(message)
+    with self.lock:
+      self.buffer.append(message)
+      self.size += len(message)
+      if self.size >= self.max_size:
+        self.flush()
 
   def reset(self):
-    pass
+    with self.lock:
+      self.buffer = []
+      self.size = 0
 
   def flush(self):
-    pass
+    with self.lock:
+      if self.buffer:
+        message = "".join(self.buffer)
+        self.reset()
+        intp.appendOutput(message)
+
+  def _flush_periodically(self):
+    while True:
+      time.sleep(self.flush_interval)
+      try:
+        self.flush()
+      except Py4JNetworkError:
+        # connection to the gateway is lost, the main loop exits as well
+        return
+      except Exception:
+        pass
+
+
+def setStatementsFinished(out, error):
+  output.flush()
+  intp.setStatementsFinished(out, error)
 
 
 class PyZeppelinContext(object):
@@ -58,6 +100,7 @@ class PyZeppelinContext(object):
     self.javaList = gateway.jvm.java.util.ArrayList
     self.max_result = 1000
     self._displayhook = lambda *args: None
+    self._tables = ColumnarTableStore()
     self._setup_matplotlib()
 
   def getInterpreterContext(self):
@@ -85,6 +128,36 @@ class PyZeppelinContext(object):
       javaDefaultCheck.append(check)
     return self.z.getGui().checkbox(name, javaDefaultCheck, javaOptions)
 
+  def put(self, name, value):
+    """Put a value into the resource pool. A pandas DataFrame is written once into a
+    memory mapped columnar file, which JVM interpreters read as a TableData
+    """
+    if type(value).__name__ == "DataFrame":
+      value = self._write_table(name, value)
+    self.getInterpreterContext().getResourcePool().put(name, value)
+
+  def get(self, name):
+    """Get a value from the resource pool, columnar tables are returned as pandas DataFrames
+    """
+    value = None
+    resource = self.getInterpreterContext().getResourcePool().get(name)
+    if resource is not None:
+      value = resource.get()
+    if isinstance(value, JavaObject) and value.getClass().getName() == COLUMNAR_TABLE_CLASS:
+      return read_columnar_table(value.getPath())
+    return value
+
+  def remove(self, name):
+    self.getInterpreterContext().getResourcePool().remove(name)
+    self._remove_table(name)
+
+  def _write_table(self, name, df):
+    path = self._tables.write(name, df)
+    return gateway.jvm.org.apache.zeppelin.tabledata.ColumnarTableData(path)
+
+  def _remove_table(self, name):
+    self._tables.remove(name)
+
   def show(self, p, **kwargs):
     if hasattr(p, '__name__') and p.__name__ == "matplotlib.pyplot":
       self.show_matplotlib(p, **kwargs)
@@ -191,6 +264,8 @@ def handler_stop_signals(sig, frame):
 
 
 signal.signal(signal.SIGINT, handler_stop_signals)
+# exit through sys.exit on close, so that the temp files of the process are deleted
+signal.signal(signal.SIGTERM, handler_stop_signals)
 
 host = "127.0.0.1"
 if len(sys.argv) >= 3:
@@ -282,17 +357,17 @@ while True :
       except:
         raise Exception(traceback.format_exc())
 
-    intp.setStatementsFinished("", False)
+    setStatementsFinished("", False)
   except Py4JJavaError:
     excInnerError = traceback.format_exc() # format_tb() does not return the inner exception
     innerErrorStart = excInnerError.find("Py4JJavaError:")
     if innerErrorStart > -1:
        excInnerError = excInnerError[innerErrorStart:]
-    intp.setStatementsFinished(excInnerError + str(sys.exc_info()), True)
+    setStatementsFinished(excInnerError + str(sys.exc_info()), True)
   except Py4JNetworkError:
     # lost connection from gateway server. exit
     sys.exit(1)
   except:
-    intp.setStatementsFinished(traceback.format_exc(), True)
+    setStatementsFinished(traceback.format_exc(), True)
 
   output.reset()
@@ -18,6 +18,7 @@
 package org.apache.zeppelin.python;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
 import static org.junit.Assert.assertNotNull;
 import static org.junit.Assert.assertTrue;
 
@@ -40,6 +41,8 @@ import org.apache.zeppelin.interpreter.InterpreterResult;
 import org.apache.zeppelin.interpreter.InterpreterResult.Type;
 import org.apache.zeppelin.interpreter.InterpreterResultMessageOutput;
 import org.apache.zeppelin.resource.LocalResourcePool;
+import org.apache.zeppelin.tabledata.ColumnDef;
+import org.apache.zeppelin.tabledata.ColumnarTableData;
 import org.apache.zeppelin.user.AuthenticationInfo;
 import org.junit.After;
 import org.junit.Before;
@@ -184,6 +187,37 @@ public class PythonInterpreterPandasSqlTest implements InterpreterOutputListener
     assertTrue(new String(out.getOutputAt(1).toByteArray()).contains("6.7"));
   }
 
+  @Test
+  public void putDataFrameAsColumnarTable() throws IOException {
+    InterpreterResult ret;
+    ret = python.interpret("import pandas as pd", context);
+    ret = python.interpret("df = pd.DataFrame({'name': ['moon', 'park'], 'age': [33, 34], " +
+        "'score': [1.5, 2.5], 'note': [None, float('nan')]}, " +
+        "columns=['name', 'age', 'score', 'note'])", context);
+    ret = python.interpret("z.put('df', df)", context);
+    assertEquals(ret.message().toString(), InterpreterResult.Code.SUCCESS, ret.code());
+
+    // JVM side reads the typed columns from the file written by python
+    ColumnarTableData table =
+        (ColumnarTableData) context.getResourcePool().get("df").get();
+    assertEquals(2, table.getRowCount());
+    assertEquals(ColumnDef.TYPE.STRING, table.columns()[0].type());
+    assertEquals(ColumnDef.TYPE.LONG, table.columns()[1].type());
+    assertEquals(ColumnDef.TYPE.DOUBLE, table.columns()[2].type());
+    assertEquals("park", table.getString(0, 1));
+    assertEquals(33, table.getLong(1, 0));
+    assertEquals(2.5, table.getDouble(2, 1), 0);
+    // None and NaN of an object column are nulls, not "None" and "nan"
+    assertNull(table.getString(3, 0));
+    assertNull(table.getString(3, 1));
+
+    ret = python.interpret("t = z.get('df')\n" +
+        "print(t[['name', 'age', 'score']].equals(df[['name', 'age', 'score']]) and " +
+        "t['note'].isnull().all())", context);
+    assertEquals(ret.message().toString(), InterpreterResult.Code.SUCCESS, ret.code());
+    assertTrue(new String(out.getOutputAt(0).toByteArray()).contains("True"));
+  }
+
   @Override
   public void onUpdateAll(InterpreterOutput out) {
 
@@ -27,8 +27,11 @@ import java.io.File;
 import java.io.IOException;
 import java.net.URISyntaxException;
 import java.net.URL;
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.LinkedList;
+import java.util.List;
 import java.util.Map;
 import java.util.Properties;
 
@@ -54,6 +57,8 @@ public class PythonInterpreterTest implements InterpreterOutputListener {
   String cmdHistory;
   private InterpreterContext context;
   InterpreterOutput out;
+  List<String> appendedLines;
+  volatile File receivedMarker;
 
   public static Properties getPythonTestProperties() {
     Properties p = new Properties();
@@ -66,6 +71,8 @@ public class PythonInterpreterTest implements InterpreterOutputListener {
   @Before
   public void beforeTest() throws IOException {
     cmdHistory = "";
+    appendedLines = Collections.synchronizedList(new LinkedList<String>());
+    receivedMarker = null;
 
     // python interpreter
     pythonInterpreter = new PythonInterpreter(getPythonTestProperties());
@@ -121,6 +128,29 @@ public class PythonInterpreterTest implements InterpreterOutputListener {
     assertEquals(InterpreterResult.Code.SUCCESS, pythonInterpreter.interpret(pyValidCode, context).code());
   }
 
+  @Test
+  public void testOutputStreamedWhileRunning() throws IOException {
+    // the statement only finishes after the test has received its first line of output
+    File marker = File.createTempFile("python_output", ".received");
+    marker.delete();
+    receivedMarker = marker;
+    InterpreterResult result = pythonInterpreter.interpret(
+        "import os, time\n" +
+        "print(\"before\")\n" +
+        "for i in range(600):\n" +
+        "  if os.path.exists(\"" + marker.getAbsolutePath() + "\"):\n" +
+        "    break\n" +
+        "  time.sleep(0.05)\n" +
+        "else:\n" +
+        "  print(\"not streamed\")\n" +
+        "print(\"after\")", context);
+    marker.delete();
+    assertEquals(InterpreterResult.Code.SUCCESS, result.code());
+    assertEquals("before\nafter\n", new String(out.getOutputAt(0).toByteArray()));
+    // lines are appended in the order they were printed
+    assertEquals(Arrays.asList("before\n", "after\n"), appendedLines);
+  }
+
   @Override
   public void onUpdateAll(InterpreterOutput out) {
 
@@ -128,7 +158,14 @@ public class PythonInterpreterTest implements InterpreterOutputListener {
 
   @Override
   public void onAppend(int index, InterpreterResultMessageOutput out, byte[] line) {
-
+    appendedLines.add(new String(line));
+    if (receivedMarker != null) {
+      try {
+        receivedMarker.createNewFile();
+      } catch (IOException e) {
+        throw new RuntimeException(e);
+      }
+    }
   }
 
   @Override
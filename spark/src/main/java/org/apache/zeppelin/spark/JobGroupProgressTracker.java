@@ -0,0 +1,243 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.zeppelin.spark;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Task counters of the active spark jobs of each job group (i.e. of each paragraph).
+ *
+ * Counters are updated incrementally from the listener bus events, so reading the progress
+ * of a paragraph doesn't need to walk the stages of its active jobs. Jobs are forgotten when
+ * they end, the same way the progress was computed from the active jobs of the scheduler.
+ */
+public class JobGroupProgressTracker {
+
+  /**
+   * Task counters of a stage
+   */
+  public static class StageProgress {
+    private final int stageId;
+    private final String name;
+    private final String jobGroup;
+    private final int numTasks;
+    private int completedTasks;
+    private int failedTasks;
+    private String status = "PENDING";
+    // number of active jobs the stage belongs to
+    private int jobs;
+
+    StageProgress(int stageId, String name, String jobGroup, int numTasks) {
+      this.stageId = stageId;
+      this.name = name;
+      this.jobGroup = jobGroup;
+      this.numTasks = numTasks;
+    }
+
+    public int getStageId() {
+      return stageId;
+    }
+
+    public String getName() {
+      return name;
+    }
+
+    public String getJobGroup() {
+      return jobGroup;
+    }
+
+    public int getNumTasks() {
+      return numTasks;
+    }
+
+    public int getCompletedTasks() {
+      return completedTasks;
+    }
+
+    public int getFailedTasks() {
+      return failedTasks;
+    }
+
+    public String getStatus() {
+      return status;
+    }
+
+    @Override
+    public String toString() {
+      StringBuilder sb = new StringBuilder();
+      sb.append("Stage ").append(stageId);
+      if (name != null) {
+        sb.append(" (").append(name).append(")");
+      }
+      sb.append(": ").append(completedTasks).append("/").append(numTasks).append(" tasks");
+      if (failedTasks > 0) {
+        sb.append(", ").append(failedTasks).append(" failed");
+      }
+      return sb.append(", ").append(status).toString();
+    }
+  }
+
+  /**
+   * Task counters of the active jobs of a job group
+   */
+  private static class GroupProgress {
+    private int activeJobs;
+    private int totalTasks;
+    private int completedTasks;
+    private final List<StageProgress> stages = new ArrayList<>();
+  }
+
+  /**
+   * Stages of an active job
+   */
+  private static class JobProgress {
+    private final String jobGroup;
+    private final List<StageProgress> stages = new ArrayList<>();
+
+    JobProgress(String jobGroup) {
+      this.jobGroup = jobGroup;
+    }
+  }
+
+  private final Map<String, GroupProgress> groups = new HashMap<>();
+  private final Map<Integer, JobProgress> jobs = new HashMap<>();
+  private final Map<Integer, StageProgress> stages = new HashMap<>();
+
+  /**
+   * A job of the job group started. Jobs without a job group are not tracked.
+   */
+  public synchronized void jobStarted(int jobId, String jobGroup) {
+    if (jobGroup == null) {
+      return;
+    }
+    GroupProgress group = groups.get(jobGroup);
+    if (group == null) {
+      group = new GroupProgress();
+      groups.put(jobGroup, group);
+    }
+    group.activeJobs++;
+    jobs.put(jobId, new JobProgress(jobGroup));
+  }
+
+  /**
+   * A stage of a started job, whether it will be run or skipped.
+   */
+  public synchronized void stageAdded(int jobId, int stageId, String name, int numTasks) {
+    JobProgress job = jobs.get(jobId);
+    if (job == null) {
+      return;
+    }
+    StageProgress stage = stages.get(stageId);
+    if (stage == null) {
+      stage = new StageProgress(stageId, name, job.jobGroup, numTasks);
+      stages.put(stageId, stage);
+      GroupProgress group = groups.get(job.jobGroup);
+      group.totalTasks += numTasks;
+      group.stages.add(stage);
+    }
+    stage.jobs++;
+    job.stages.add(stage);
+  }
+
+  public synchronized void stageSubmitted(int stageId) {
+    StageProgress stage = stages.get(stageId);
+    if (stage != null) {
+      stage.status = "ACTIVE";
+    }
+  }
+
+  /**
+   * @return the stage, null when it's not tracked
+   */
+  public synchronized StageProgress stageCompleted(int stageId, boolean failed) {
+    StageProgress stage = stages.get(stageId);
+    if (stage != null) {
+      stage.status = failed ? "FAILED" : "COMPLETED";
+    }
+    return stage;
+  }
+
+  public synchronized void taskEnded(int stageId, boolean successful) {
+    StageProgress stage = stages.get(stageId);
+    if (stage == null) {
+      return;
+    }
+    if (!successful) {
+      stage.failedTasks++;
+    } else if (stage.completedTasks < stage.numTasks) {
+      // speculative and resubmitted tasks may complete the same partition more than once
+      stage.completedTasks++;
+      groups.get(stage.jobGroup).completedTasks++;
+    }
+  }
+
+  public synchronized void jobEnded(int jobId) {
+    JobProgress job = jobs.remove(jobId);
+    if (job == null) {
+      return;
+    }
+    for (StageProgress stage : job.stages) {
+      if (--stage.jobs == 0) {
+        GroupProgress group = groups.get(stage.jobGroup);
+        stages.remove(stage.stageId);
+        group.totalTasks -= stage.numTasks;
+        group.completedTasks -= stage.completedTasks;
+        group.stages.remove(stage);
+        removeIfIdle(stage.jobGroup);
+      }
+    }
+    groups.get(job.jobGroup).activeJobs--;
+    removeIfIdle(job.jobGroup);
+  }
+
+  // a stage may be shared with the jobs of another group, which keeps the group until it ends
+  private void removeIfIdle(String jobGroup) {
+    GroupProgress group = groups.get(jobGroup);
+    if (group != null && group.activeJobs == 0 && group.stages.isEmpty()) {
+      groups.remove(jobGroup);
+    }
+  }
+
+  /**
+   * @return percentage of the tasks of the active jobs of the job group which completed
+   */
+  public synchronized int getProgress(String jobGroup) {
+    GroupProgress group = groups.get(jobGroup);
+    if (group == null || group.totalTasks == 0) {
+      return 0;
+    }
+    return group.completedTasks * 100 / group.totalTasks;
+  }
+
+  /**
+   * @return description of each stage of the active jobs of the job group
+   */
+  public synchronized List<String> getStageInfos(String jobGroup) {
+    List<String> infos = new ArrayList<>();
+    GroupProgress group = groups.get(jobGroup);
+    if (group != null) {
+      for (StageProgress stage : group.stages) {
+        infos.add(stage.toString());
+      }
+    }
+    return infos;
+  }
+}
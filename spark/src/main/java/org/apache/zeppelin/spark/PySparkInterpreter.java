@@ -345,9 +345,9 @@ public class PySparkInterpreter extends Interpreter implements ExecuteResultHand
 
   public PythonInterpretRequest getStatements() {
     synchronized (statementSetNotifier) {
-      while (pythonInterpretRequest == null) {
+      while (pythonInterpretRequest == null && pythonscriptRunning) {
         try {
-          statementSetNotifier.wait(1000);
+          statementSetNotifier.wait();
         } catch (InterruptedException e) {
         }
       }
@@ -366,7 +366,7 @@ public class PySparkInterpreter extends Interpreter implements ExecuteResultHand
       LOGGER.debug("Setting python statement output: " + out + ", error: " + error);
       statementOutput = out;
       statementError = error;
-      statementFinishedNotifier.notify();
+      statementFinishedNotifier.notifyAll();
     }
   }
 
@@ -460,15 +460,20 @@ public class PySparkInterpreter extends Interpreter implements ExecuteResultHand
       statementSetNotifier.notify();
     }
 
+    // setStatementsFinished or the end of the process wakes us up
     synchronized (statementFinishedNotifier) {
-      while (statementOutput == null) {
+      while (statementOutput == null && pythonscriptRunning) {
         try {
-          statementFinishedNotifier.wait(1000);
+          statementFinishedNotifier.wait();
         } catch (InterruptedException e) {
         }
       }
     }
 
+    if (statementOutput == null) {
+      return new InterpreterResult(Code.ERROR, "pyspark process terminated");
+    }
+
     if (statementError) {
       return new InterpreterResult(Code.ERROR, statementOutput);
     } else {
@@ -718,15 +723,30 @@ public class PySparkInterpreter extends Interpreter implements ExecuteResultHand
   }
 
 
+  /**
+   * Wake up the threads waiting for a statement or for its result, so that they notice
+   * that the python process is gone instead of waiting forever
+   */
+  private void notifyStatementWaiters() {
+    synchronized (statementSetNotifier) {
+      statementSetNotifier.notifyAll();
+    }
+    synchronized (statementFinishedNotifier) {
+      statementFinishedNotifier.notifyAll();
+    }
+  }
+
   @Override
   public void onProcessComplete(int exitValue) {
     pythonscriptRunning = false;
+    notifyStatementWaiters();
     LOGGER.info("python process terminated. exit code " + exitValue);
   }
 
   @Override
   public void onProcessFailed(ExecuteException e) {
     pythonscriptRunning = false;
+    notifyStatementWaiters();
     LOGGER.error("python process failed", e);
   }
 }
@@ -46,7 +46,12 @@ import org.apache.spark.repl.SparkILoop;
 import org.apache.spark.scheduler.ActiveJob;
 import org.apache.spark.scheduler.DAGScheduler;
 import org.apache.spark.scheduler.Pool;
+import org.apache.spark.scheduler.SparkListenerJobEnd;
 import org.apache.spark.scheduler.SparkListenerJobStart;
+import org.apache.spark.scheduler.SparkListenerStageCompleted;
+import org.apache.spark.scheduler.SparkListenerStageSubmitted;
+import org.apache.spark.scheduler.SparkListenerTaskEnd;
+import org.apache.spark.scheduler.StageInfo;
 import org.apache.spark.sql.SQLContext;
 import org.apache.spark.ui.SparkUI;
 import org.apache.spark.ui.jobs.JobProgressListener;
@@ -118,6 +123,7 @@ public class SparkInterpreter extends Interpreter {
   private static SparkEnv env;
   private static Object sparkSession;    // spark 2.x
   private static JobProgressListener sparkListener;
+  private static JobGroupProgressTracker jobGroupProgress;
   private static AbstractFile classOutputDir;
   private static Integer sharedInterpreterLock = new Integer(0);
   private static AtomicInteger numReferenceOfSparkContext = new AtomicInteger(0);
@@ -148,7 +154,7 @@ public class SparkInterpreter extends Interpreter {
 
     this.sc = sc;
     env = SparkEnv.get();
-    sparkListener = setupListeners(this.sc);
+    registerListeners();
   }
 
   public SparkContext getSparkContext() {
@@ -156,7 +162,7 @@ public class SparkInterpreter extends Interpreter {
       if (sc == null) {
         sc = createSparkContext();
         env = SparkEnv.get();
-        sparkListener = setupListeners(sc);
+        registerListeners();
       }
       return sc;
     }
@@ -177,13 +183,37 @@ public class SparkInterpreter extends Interpreter {
     }
   }
 
+  private static void registerListeners() {
+    // stages of a job are known when it starts since spark 1.2
+    JobGroupProgressTracker tracker =
+        SparkVersion.fromVersionString(sc.version()).olderThan(SparkVersion.SPARK_1_2_0) ?
+            null : new JobGroupProgressTracker();
+    sparkListener = setupListeners(sc, tracker);
+    jobGroupProgress = sparkListener == null ? null : tracker;
+  }
+
   static JobProgressListener setupListeners(SparkContext context) {
+    return setupListeners(context, null);
+  }
+
+  /**
+   * @param tracker task counters of the job groups to update from the events, can be null
+   */
+  static JobProgressListener setupListeners(SparkContext context,
+      final JobGroupProgressTracker tracker) {
     JobProgressListener pl = new JobProgressListener(context.getConf()) {
       @Override
       public synchronized void onJobStart(SparkListenerJobStart jobStart) {
         super.onJobStart(jobStart);
         int jobId = jobStart.jobId();
         String jobGroupId = jobStart.properties().getProperty("spark.jobGroup.id");
+        if (tracker != null) {
+          tracker.jobStarted(jobId, jobGroupId);
+          for (StageInfo stageInfo : JavaConversions.seqAsJavaList(jobStart.stageInfos())) {
+            tracker.stageAdded(jobId, stageInfo.stageId(), stageInfo.name(),
+                stageInfo.numTasks());
+          }
+        }
         String uiEnabled = jobStart.properties().getProperty("spark.ui.enabled");
         String jobUrl = getJobUrl(jobId);
         String noteId = Utils.getNoteId(jobGroupId);
@@ -203,6 +233,52 @@ public class SparkInterpreter extends Interpreter {
         }
       }
 
+      @Override
+      public synchronized void onStageSubmitted(SparkListenerStageSubmitted stageSubmitted) {
+        super.onStageSubmitted(stageSubmitted);
+        if (tracker != null) {
+          tracker.stageSubmitted(stageSubmitted.stageInfo().stageId());
+        }
+      }
+
+      @Override
+      public synchronized void onTaskEnd(SparkListenerTaskEnd taskEnd) {
+        super.onTaskEnd(taskEnd);
+        if (tracker != null) {
+          tracker.taskEnded(taskEnd.stageId(),
+              taskEnd.taskInfo() != null && taskEnd.taskInfo().successful());
+        }
+      }
+
+      @Override
+      public synchronized void onStageCompleted(SparkListenerStageCompleted stageCompleted) {
+        super.onStageCompleted(stageCompleted);
+        if (tracker == null) {
+          return;
+        }
+        StageInfo stageInfo = stageCompleted.stageInfo();
+        JobGroupProgressTracker.StageProgress stage =
+            tracker.stageCompleted(stageInfo.stageId(), stageInfo.failureReason().isDefined());
+        RemoteEventClientWrapper eventClient = BaseZeppelinContext.getEventClient();
+        if (stage != null && eventClient != null) {
+          // one value per stage, so the paragraph keeps the task breakdown of its stages
+          Map<String, String> infos = new java.util.HashMap<>();
+          infos.put("stages", stage.toString());
+          infos.put("label", "SPARK STAGES");
+          infos.put("tooltip", "Tasks of the spark stages");
+          eventClient.onParaInfosReceived(Utils.getNoteId(stage.getJobGroup()),
+              Utils.getParagraphId(stage.getJobGroup()), infos);
+        }
+      }
+
+      @Override
+      public synchronized void onJobEnd(SparkListenerJobEnd jobEnd) {
+        super.onJobEnd(jobEnd);
+        if (tracker != null) {
+          tracker.jobEnded(jobEnd.jobId());
+        }
+      }
+
       private String getJobUrl(int jobId) {
         String jobUrl = null;
         if (sparkUrl != null) {
@@ -888,6 +964,8 @@ public class SparkInterpreter extends Interpreter {
 
       z = new SparkZeppelinContext(sc, sqlc, hooks,
               Integer.parseInt(getProperty("zeppelin.spark.maxResult")));
+      z.setColumnarTableResource(java.lang.Boolean.parseBoolean(
+          getProperty("zeppelin.spark.showData.columnar")));
 
       interpret("@transient val _binder = new java.util.HashMap[String, Object]()");
       Map<String, Object> binder;
@@ -1336,6 +1414,9 @@ public class SparkInterpreter extends Interpreter {
   @Override
   public int getProgress(InterpreterContext context) {
     String jobGroup = Utils.buildJobGroupId(context);
+    if (jobGroupProgress != null) {
+      return jobGroupProgress.getProgress(jobGroup);
+    }
     int completedTasks = 0;
     int totalTasks = 0;
 
@@ -1460,6 +1541,10 @@ public class SparkInterpreter extends Interpreter {
   public void close() {
     logger.info("Close interpreter");
 
+    if (z != null) {
+      z.close();
+    }
+
     if (numReferenceOfSparkContext.decrementAndGet() == 0) {
       if (sparkSession != null) {
         Utils.invokeMethod(sparkSession, "stop");
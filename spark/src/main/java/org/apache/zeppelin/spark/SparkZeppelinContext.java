@@ -18,6 +18,7 @@
 package org.apache.zeppelin.spark;
 
 import com.google.common.collect.Lists;
+import org.apache.commons.io.FileUtils;
 import org.apache.spark.SparkContext;
 import org.apache.spark.sql.SQLContext;
 import org.apache.spark.sql.catalyst.expressions.Attribute;
@@ -26,12 +27,21 @@ import org.apache.zeppelin.display.AngularObjectWatcher;
 import org.apache.zeppelin.display.Input;
 import org.apache.zeppelin.display.ui.OptionInput;
 import org.apache.zeppelin.interpreter.*;
+import org.apache.zeppelin.resource.WellKnownResourceName;
+import org.apache.zeppelin.tabledata.ColumnDef;
+import org.apache.zeppelin.tabledata.ColumnarTableData;
+import org.apache.zeppelin.tabledata.Row;
+import org.apache.zeppelin.tabledata.TableData;
 import scala.Tuple2;
 import scala.Unit;
 
+import java.io.File;
+import java.io.IOException;
 import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Method;
+import java.nio.file.Files;
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
 
 import static scala.collection.JavaConversions.asJavaCollection;
 import static scala.collection.JavaConversions.asJavaIterable;
@@ -41,12 +51,21 @@ import static scala.collection.JavaConversions.collectionAsScalaIterable;
  * ZeppelinContext for Spark
  */
 public class SparkZeppelinContext extends BaseZeppelinContext {
+  // rows formatted by z.show before they are written to the output
+  private static final int SHOW_CHUNK_ROWS = 1000;
+  private static final long SHOW_FLUSH_INTERVAL_MS = 1000;
 
+  // class --> method name and parameter types --> method, see getMethod
+  private static final ConcurrentHashMap<Class, ConcurrentHashMap<MethodKey, Method>>
+      methodCache = new ConcurrentHashMap<>();
 
   private SparkContext sc;
   public SQLContext sqlContext;
   private List<Class> supportedClasses;
   private Map<String, String> interpreterClassMap;
+  private boolean columnarTableResource = false;
+  // files of the columnar tables put into the resource pool, deleted on close
+  private File tableDir;
 
   public SparkZeppelinContext(
       SparkContext sc, SQLContext sql,
@@ -95,73 +114,126 @@ public class SparkZeppelinContext extends BaseZeppelinContext {
 
   @Override
   public String showData(Object df) {
-    Object[] rows = null;
-    Method take;
+    StringBuilder msg = new StringBuilder();
+    try {
+      showData(df, maxResult, msg, null);
+    } catch (IOException e) {
+      throw new InterpreterException(e);
+    }
+    return msg.toString();
+  }
+
+  /**
+   * Display the Dataset/DataFrame/SchemaRDD by streaming its rows into the output in chunks,
+   * instead of building the whole table as one string first
+   */
+  @ZeppelinApi
+  @Override
+  public void show(Object o, int maxResult) {
+    if (!isSupportedObject(o)) {
+      super.show(o, maxResult);
+      return;
+    }
+    try {
+      showData(o, maxResult, new StringBuilder(), interpreterContext.out);
+    } catch (IOException e) {
+      throw new InterpreterException(e);
+    }
+  }
+
+  /**
+   * Whether the rows displayed by z.show are also put into the resource pool of the paragraph
+   * as a typed ColumnarTableData
+   */
+  public void setColumnarTableResource(boolean columnarTableResource) {
+    this.columnarTableResource = columnarTableResource;
+  }
+
+  private boolean isSupportedObject(Object obj) {
+    for (Class supportedClass : supportedClasses) {
+      if (supportedClass.isInstance(obj)) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  /**
+   * Format the rows of df as a table. Rows are appended to msg, and when out is not null,
+   * written to out every SHOW_CHUNK_ROWS rows so that msg never holds the whole table.
+   */
+  private void showData(Object df, int maxResult, StringBuilder msg, InterpreterOutput out)
+      throws IOException {
+    Object[] rows;
+    List<Attribute> columns;
     String jobGroup = Utils.buildJobGroupId(interpreterContext);
     sc.setJobGroup(jobGroup, "Zeppelin", false);
-
     try {
       // convert it to DataFrame if it is Dataset, as we will iterate all the records
       // and assume it is type Row.
       if (df.getClass().getCanonicalName().equals("org.apache.spark.sql.Dataset")) {
-        Method convertToDFMethod = df.getClass().getMethod("toDF");
-        df = convertToDFMethod.invoke(df);
+        df = getMethod(df.getClass(), "toDF").invoke(df);
       }
-      take = df.getClass().getMethod("take", int.class);
-      rows = (Object[]) take.invoke(df, maxResult + 1);
-    } catch (NoSuchMethodException | SecurityException | IllegalAccessException
-        | IllegalArgumentException | InvocationTargetException | ClassCastException e) {
-      sc.clearJobGroup();
-      throw new InterpreterException(e);
-    }
+      rows = (Object[]) getMethod(df.getClass(), "take", int.class).invoke(df, maxResult + 1);
 
-    List<Attribute> columns = null;
-    // get field names
-    try {
+      // get field names
       // Use reflection because of classname returned by queryExecution changes from
       // Spark <1.5.2 org.apache.spark.sql.SQLContext$QueryExecution
       // Spark 1.6.0> org.apache.spark.sql.hive.HiveContext$QueryExecution
-      Object qe = df.getClass().getMethod("queryExecution").invoke(df);
-      Object a = qe.getClass().getMethod("analyzed").invoke(qe);
-      scala.collection.Seq seq = (scala.collection.Seq) a.getClass().getMethod("output").invoke(a);
-
+      Object qe = getMethod(df.getClass(), "queryExecution").invoke(df);
+      Object a = getMethod(qe.getClass(), "analyzed").invoke(qe);
+      scala.collection.Seq seq = (scala.collection.Seq) getMethod(a.getClass(), "output")
+          .invoke(a);
       columns = (List<Attribute>) scala.collection.JavaConverters.seqAsJavaListConverter(seq)
           .asJava();
     } catch (NoSuchMethodException | SecurityException | IllegalAccessException
-        | IllegalArgumentException | InvocationTargetException e) {
+        | IllegalArgumentException | InvocationTargetException | ClassCastException e) {
       throw new InterpreterException(e);
+    } finally {
+      sc.clearJobGroup();
     }
 
-    StringBuilder msg = new StringBuilder();
-    msg.append("%table ");
+    int rowCount = Math.min(maxResult, rows.length);
+    if (out != null && columnarTableResource) {
+      putColumnarTable(rows, rowCount, columns);
+    }
+
+    StringBuilder header = new StringBuilder();
+    header.append("%table ");
     for (Attribute col : columns) {
-      msg.append(col.name() + "\t");
+      header.append(col.name() + "\t");
     }
-    String trim = msg.toString().trim();
-    msg = new StringBuilder(trim);
+    msg.append(header.toString().trim());
     msg.append("\n");
 
     // ArrayType, BinaryType, BooleanType, ByteType, DecimalType, DoubleType, DynamicType,
     // FloatType, FractionalType, IntegerType, IntegralType, LongType, MapType, NativeType,
     // NullType, NumericType, ShortType, StringType, StructType
 
+    long lastFlushTime = 0;
     try {
-      for (int r = 0; r < maxResult && r < rows.length; r++) {
+      for (int r = 0; r < rowCount; r++) {
         Object row = rows[r];
-        Method isNullAt = row.getClass().getMethod("isNullAt", int.class);
-        Method apply = row.getClass().getMethod("apply", int.class);
-
+        // formatted rows are not needed anymore
+        rows[r] = null;
         for (int i = 0; i < columns.size(); i++) {
-          if (!(Boolean) isNullAt.invoke(row, i)) {
-            msg.append(apply.invoke(row, i).toString());
-          } else {
-            msg.append("null");
-          }
+          Object value = getValue(row, i);
+          msg.append(value == null ? "null" : value.toString());
           if (i != columns.size() - 1) {
             msg.append("\t");
           }
         }
         msg.append("\n");
+
+        if (out != null && (r + 1) % SHOW_CHUNK_ROWS == 0) {
+          out.write(msg.toString());
+          msg.setLength(0);
+          // a table is sent again as a whole on every flush, so don't flush too often
+          if (System.currentTimeMillis() - lastFlushTime >= SHOW_FLUSH_INTERVAL_MS) {
+            out.flush();
+            lastFlushTime = System.currentTimeMillis();
+          }
+        }
       }
     } catch (NoSuchMethodException | SecurityException | IllegalAccessException
         | IllegalArgumentException | InvocationTargetException e) {
@@ -174,8 +246,143 @@ public class SparkZeppelinContext extends BaseZeppelinContext {
           SparkSqlInterpreter.MAX_RESULTS));
     }
 
-    sc.clearJobGroup();
-    return msg.toString();
+    if (out != null) {
+      out.write(msg.toString());
+      msg.setLength(0);
+      out.flush();
+    }
+  }
+
+  private Object getValue(Object row, int i)
+      throws NoSuchMethodException, IllegalAccessException, InvocationTargetException {
+    if ((Boolean) getMethod(row.getClass(), "isNullAt", int.class).invoke(row, i)) {
+      return null;
+    }
+    return getMethod(row.getClass(), "apply", int.class).invoke(row, i);
+  }
+
+  /**
+   * Put the displayed rows into the resource pool of the paragraph as a typed TableData
+   */
+  private void putColumnarTable(Object[] rows, int rowCount, List<Attribute> columns)
+      throws IOException {
+    ColumnDef[] columnDefs = new ColumnDef[columns.size()];
+    for (int i = 0; i < columnDefs.length; i++) {
+      columnDefs[i] = new ColumnDef(columns.get(i).name(), toColumnType(columns.get(i)));
+    }
+    final List<Row> tableRows = new ArrayList<>(rowCount);
+    try {
+      for (int r = 0; r < rowCount; r++) {
+        Object[] values = new Object[columnDefs.length];
+        for (int i = 0; i < values.length; i++) {
+          values[i] = getValue(rows[r], i);
+        }
+        tableRows.add(new Row(values));
+      }
+    } catch (NoSuchMethodException | IllegalAccessException | InvocationTargetException e) {
+      throw new InterpreterException(e);
+    }
+
+    final ColumnDef[] tableColumns = columnDefs;
+    ColumnarTableData tableData = ColumnarTableData.write(
+        new File(getTableDir(), interpreterContext.getNoteId() + "_" +
+            interpreterContext.getParagraphId() + ".ztd"),
+        new TableData() {
+          @Override
+          public ColumnDef[] columns() {
+            return tableColumns;
+          }
+
+          @Override
+          public Iterator<Row> rows() {
+            return tableRows.iterator();
+          }
+        });
+    interpreterContext.getResourcePool().put(interpreterContext.getNoteId(),
+        interpreterContext.getParagraphId(), WellKnownResourceName.ZeppelinTableData.toString(),
+        tableData);
+  }
+
+  private synchronized File getTableDir() throws IOException {
+    if (tableDir == null) {
+      tableDir = Files.createTempDirectory("zeppelin-tables-").toFile();
+    }
+    return tableDir;
+  }
+
+  /**
+   * Delete the files of the columnar tables written by z.show
+   */
+  public synchronized void close() {
+    if (tableDir != null) {
+      FileUtils.deleteQuietly(tableDir);
+      tableDir = null;
+    }
+  }
+
+  private ColumnDef.TYPE toColumnType(Attribute column) {
+    // the package of the data types changed in spark 1.3, compare by name
+    String type = column.dataType().getClass().getSimpleName();
+    if (type.startsWith("LongType")) {
+      return ColumnDef.TYPE.LONG;
+    } else if (type.startsWith("IntegerType") || type.startsWith("ShortType")
+        || type.startsWith("ByteType")) {
+      return ColumnDef.TYPE.INT;
+    } else if (type.startsWith("DoubleType") || type.startsWith("FloatType")) {
+      return ColumnDef.TYPE.DOUBLE;
+    }
+    return ColumnDef.TYPE.STRING;
+  }
+
+  /**
+   * Get a method by reflection. Methods are cached per class, as the classes of
+   * DataFrame, QueryExecution and Row differ between spark versions but never change
+   * within the interpreter process.
+   */
+  private static Method getMethod(Class clazz, String name, Class<?>... parameterTypes)
+      throws NoSuchMethodException {
+    ConcurrentHashMap<MethodKey, Method> methods = methodCache.get(clazz);
+    if (methods == null) {
+      methods = new ConcurrentHashMap<>();
+      ConcurrentHashMap<MethodKey, Method> existing = methodCache.putIfAbsent(clazz, methods);
+      if (existing != null) {
+        methods = existing;
+      }
+    }
+    MethodKey key = new MethodKey(name, parameterTypes);
+    Method method = methods.get(key);
+    if (method == null) {
+      method = clazz.getMethod(name, parameterTypes);
+      methods.put(key, method);
+    }
+    return method;
+  }
+
+  /**
+   * Name and parameter types of a method, so that overloads are cached separately
+   */
+  private static class MethodKey {
+    private final String name;
+    private final Class<?>[] parameterTypes;
+
+    MethodKey(String name, Class<?>[] parameterTypes) {
+      this.name = name;
+      this.parameterTypes = parameterTypes;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+      if (!(o instanceof MethodKey)) {
+        return false;
+      }
+      MethodKey other = (MethodKey) o;
+      return name.equals(other.name) && Arrays.equals(parameterTypes, other.parameterTypes);
+    }
+
+    @Override
+    public int hashCode() {
+      return 31 * name.hashCode() + Arrays.hashCode(parameterTypes);
+    }
   }
 
   @ZeppelinApi
@@ -18,27 +18,68 @@
 import os, sys, getopt, traceback, json, re
 
 from py4j.java_gateway import java_import, JavaGateway, GatewayClient
-from py4j.protocol import Py4JJavaError
+from py4j.protocol import Py4JJavaError, Py4JNetworkError
 from pyspark.conf import SparkConf
 from pyspark.context import SparkContext
 import ast
+import threading
+import time
 import warnings
 
 # for back compatibility
 from pyspark.sql import SQLContext, HiveContext, Row
 
 class Logger(object):
-  def __init__(self):
-    pass
+  """ Sends what is written to stdout to the paragraph output while the statement is running.
+  Writes are buffered so that printing many small pieces doesn't make one py4j call each,
+  the buffer is sent every flush_interval seconds, when it grows over max_size and when
+  the statement finishes.
+  """
+
+  def __init__(self, flush_interval=0.1, max_size=65536):
+    self.flush_interval = flush_interval
+    self.max_size = max_size
+    self.lock = threading.RLock()
+    self.buffer = []
+    self.size = 0
+    flusher = threading.Thread(target=self._flush_periodically)
+    flusher.daemon = True
+    flusher.start()
 
   def write(self, message):
-    intp.appendOutput(message)
+    with self.lock:
+      self.buffer.append(message)
+      self.size += len(message)
+      if self.size >= self.max_size:
+        self.flush()
 
   def reset(self):
-    pass
+    with self.lock:
+      self.buffer = []
+      self.size = 0
 
   def flush(self):
-    pass
+    with self.lock:
+      if self.buffer:
+        message = "".join(self.buffer)
+        self.reset()
+        intp.appendOutput(message)
+
+  def _flush_periodically(self):
+    while True:
+      time.sleep(self.flush_interval)
+      try:
+        self.flush()
+      except Py4JNetworkError:
+        # connection to the gateway is lost, the main loop exits as well
+        return
+      except Exception:
+        pass
+
+
+def setStatementsFinished(out, error):
+  output.flush()
+  intp.setStatementsFinished(out, error)
 
 
 class PyZeppelinContext(dict):
@@ -49,7 +90,9 @@ class PyZeppelinContext(dict):
   def show(self, obj):
     from pyspark.sql import DataFrame
     if isinstance(obj, DataFrame):
-      print(self.z.showData(obj._jdf))
+      # the table is streamed into the output by the JVM, send what was printed before first
+      sys.stdout.flush()
+      self.z.show(obj._jdf)
     else:
       print(str(obj))
 
@@ -343,7 +386,7 @@ while True :
           code = compile(mod, '<stdin>', 'exec')
           exec(code, _zcUserQueryNameSpace)
 
-        intp.setStatementsFinished("", False)
+        setStatementsFinished("", False)
       except Py4JJavaError:
         # raise it to outside try except
         raise
@@ -352,20 +395,20 @@ while True :
         m = re.search("File \"<stdin>\", line (\d+).*", exception)
         if m:
           line_no = int(m.group(1))
-          intp.setStatementsFinished(
+          setStatementsFinished(
             "Fail to execute line {}: {}\n".format(line_no, stmts[line_no - 1]) + exception, True)
         else:
-          intp.setStatementsFinished(exception, True)
+          setStatementsFinished(exception, True)
     else:
-      intp.setStatementsFinished("", False)
+      setStatementsFinished("", False)
 
   except Py4JJavaError:
     excInnerError = traceback.format_exc() # format_tb() does not return the inner exception
     innerErrorStart = excInnerError.find("Py4JJavaError:")
     if innerErrorStart > -1:
        excInnerError = excInnerError[innerErrorStart:]
-    intp.setStatementsFinished(excInnerError + str(sys.exc_info()), True)
+    setStatementsFinished(excInnerError + str(sys.exc_info()), True)
   except:
-    intp.setStatementsFinished(traceback.format_exc(), True)
+    setStatementsFinished(traceback.format_exc(), True)
 
   output.reset()
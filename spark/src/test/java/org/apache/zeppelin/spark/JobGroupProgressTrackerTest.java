@@ -0,0 +1,95 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.zeppelin.spark;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.List;
+
+import org.junit.Test;
+
+public class JobGroupProgressTrackerTest {
+
+  @Test
+  public void testProgressOfJobGroup() {
+    JobGroupProgressTracker tracker = new JobGroupProgressTracker();
+    String group = "zeppelin-note-paragraph";
+    tracker.jobStarted(1, group);
+    tracker.stageAdded(1, 10, "map at <console>:1", 3);
+    tracker.stageAdded(1, 11, "collect at <console>:1", 1);
+    // job of another paragraph
+    tracker.jobStarted(2, "zeppelin-note-other");
+    tracker.stageAdded(2, 20, "count at <console>:1", 4);
+    // job without job group is not tracked
+    tracker.jobStarted(3, null);
+    tracker.stageAdded(3, 30, "count at <console>:1", 4);
+    tracker.taskEnded(30, true);
+
+    assertEquals(0, tracker.getProgress(group));
+    tracker.stageSubmitted(10);
+    tracker.taskEnded(10, true);
+    tracker.taskEnded(10, false);
+    tracker.taskEnded(10, true);
+    assertEquals(50, tracker.getProgress(group));
+    assertEquals(0, tracker.getProgress("zeppelin-note-other"));
+
+    // a speculative copy of a task doesn't count twice
+    tracker.taskEnded(10, true);
+    tracker.taskEnded(10, true);
+    JobGroupProgressTracker.StageProgress stage = tracker.stageCompleted(10, false);
+    assertEquals(3, stage.getCompletedTasks());
+    assertEquals(1, stage.getFailedTasks());
+    assertEquals(75, tracker.getProgress(group));
+
+    List<String> stages = tracker.getStageInfos(group);
+    assertEquals(2, stages.size());
+    assertEquals("Stage 10 (map at <console>:1): 3/3 tasks, 1 failed, COMPLETED",
+        stages.get(0));
+    assertTrue(stages.get(1).endsWith("0/1 tasks, PENDING"));
+
+    // only the active jobs count, like the jobs of the scheduler
+    tracker.jobEnded(1);
+    assertEquals(0, tracker.getProgress(group));
+    assertTrue(tracker.getStageInfos(group).isEmpty());
+    tracker.jobStarted(4, group);
+    tracker.stageAdded(4, 40, "count at <console>:2", 2);
+    tracker.taskEnded(40, true);
+    assertEquals(50, tracker.getProgress(group));
+  }
+
+  @Test
+  public void testStageSharedByJobs() {
+    JobGroupProgressTracker tracker = new JobGroupProgressTracker();
+    String group = "zeppelin-note-paragraph";
+    tracker.jobStarted(1, group);
+    tracker.stageAdded(1, 10, "map", 2);
+    tracker.jobStarted(2, group);
+    tracker.stageAdded(2, 10, "map", 2);
+    tracker.stageAdded(2, 11, "reduce", 2);
+    tracker.taskEnded(10, true);
+    tracker.taskEnded(10, true);
+    assertEquals(50, tracker.getProgress(group));
+
+    tracker.jobEnded(1);
+    assertEquals(50, tracker.getProgress(group));
+    tracker.jobEnded(2);
+    assertEquals(0, tracker.getProgress(group));
+    assertTrue(tracker.getStageInfos(group).isEmpty());
+  }
+}
@@ -33,6 +33,8 @@ import org.apache.zeppelin.interpreter.remote.RemoteEventClientWrapper;
 import org.apache.zeppelin.interpreter.thrift.InterpreterCompletion;
 import org.apache.zeppelin.resource.LocalResourcePool;
 import org.apache.zeppelin.resource.WellKnownResourceName;
+import org.apache.zeppelin.tabledata.ColumnDef;
+import org.apache.zeppelin.tabledata.ColumnarTableData;
 import org.apache.zeppelin.user.AuthenticationInfo;
 import org.apache.zeppelin.display.GUI;
 import org.apache.zeppelin.interpreter.*;
@@ -97,7 +99,13 @@ public class SparkInterpreterTest {
       public void onParaInfosReceived(String noteId, String paragraphId,
           Map<String, String> infos) {
         if (infos != null) {
-          paraIdToInfosMap.put(paragraphId, infos);
+          // job urls and stage infos of a paragraph are sent separately
+          Map<String, String> paraInfos = paraIdToInfosMap.get(paragraphId);
+          if (paraInfos == null) {
+            paraInfos = new HashMap<>();
+            paraIdToInfosMap.put(paragraphId, paraInfos);
+          }
+          paraInfos.putAll(infos);
         }
       }
 
@@ -192,7 +200,7 @@ public class SparkInterpreterTest {
   }
 
   @Test
-  public void testZShow() {
+  public void testZShow() throws IOException {
     String code = "";
     repl.interpret("case class Person(name:String, age:Int)\n", context);
     repl.interpret("val people = sc.parallelize(Seq(Person(\"moon\", 33), Person(\"jobs\", 51), Person(\"gates\", 51), Person(\"park\", 34)))\n", context);
@@ -202,7 +210,27 @@ public class SparkInterpreterTest {
     } else {
       code = "z.show(people.toDF)";
     }
+    repl.getZeppelinContext().setColumnarTableResource(true);
+    try {
       assertEquals(Code.SUCCESS, repl.interpret(code, context).code());
+    } finally {
+      repl.getZeppelinContext().setColumnarTableResource(false);
+    }
+
+    // rows are streamed into the output
+    List<InterpreterResultMessage> messages = context.out.toInterpreterResultMessage();
+    InterpreterResultMessage lastMessage = messages.get(messages.size() - 1);
+    assertEquals(InterpreterResult.Type.TABLE, lastMessage.getType());
+    assertTrue(lastMessage.getData().startsWith("name\tage\nmoon\t33\n"));
+
+    ColumnarTableData table = (ColumnarTableData) context.getResourcePool().get(
+        context.getNoteId(),
+        context.getParagraphId(),
+        WellKnownResourceName.ZeppelinTableData.toString()).get();
+    assertEquals(4, table.getRowCount());
+    assertEquals(ColumnDef.TYPE.INT, table.columns()[1].type());
+    assertEquals("jobs", table.getString(0, 1));
+    assertEquals(51, table.getInt(1, 1));
   }
 
   @Test
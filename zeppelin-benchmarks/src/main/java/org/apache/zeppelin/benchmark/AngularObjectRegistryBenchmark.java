@@ -0,0 +1,116 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.zeppelin.benchmark;
+
+import org.apache.zeppelin.display.AngularObject;
+import org.apache.zeppelin.display.AngularObjectRegistry;
+import org.apache.zeppelin.display.AngularObjectRegistryListener;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Registry shared by the paragraphs of several notes, each thread adding, reading, updating and
+ * removing the objects of its own paragraph while the others do the same.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@Threads(8)
+public class AngularObjectRegistryBenchmark {
+  private static final int NOTES = 100;
+
+  private AngularObjectRegistry registry;
+
+  /**
+   * Paragraph of the thread
+   */
+  @State(Scope.Thread)
+  public static class ThreadState {
+    private static final AtomicInteger threads = new AtomicInteger();
+    String noteId;
+    String paragraphId;
+    int i;
+
+    @Setup
+    public void setUp() {
+      int thread = threads.getAndIncrement();
+      noteId = "note" + thread;
+      paragraphId = "paragraph" + thread;
+    }
+  }
+
+  @Setup
+  public void setUp() {
+    registry = new AngularObjectRegistry("benchmark", new AngularObjectRegistryListener() {
+      @Override
+      public void onAdd(String interpreterGroupId, AngularObject object) {
+      }
+
+      @Override
+      public void onUpdate(String interpreterGroupId, AngularObject object) {
+      }
+
+      @Override
+      public void onRemove(String interpreterGroupId, String name, String noteId,
+          String paragraphId) {
+      }
+    });
+    for (int n = 0; n < NOTES; n++) {
+      registry.add("global" + n, n, "note" + n, null);
+    }
+  }
+
+  @Benchmark
+  public Object addRemove(ThreadState state) {
+    String name = "object" + (state.i++ % 10);
+    registry.add(name, state.i, state.noteId, state.paragraphId);
+    return registry.remove(name, state.noteId, state.paragraphId);
+  }
+
+  @Benchmark
+  public Object get(ThreadState state) {
+    int n = state.i++ % NOTES;
+    return registry.get("global" + n, "note" + n, null);
+  }
+
+  @Benchmark
+  public Object getAllWithGlobal(ThreadState state) {
+    return registry.getAllWithGlobal("note" + (state.i++ % NOTES));
+  }
+
+  @Benchmark
+  public void update(ThreadState state) {
+    AngularObject o = registry.get("global0", "note0", null);
+    o.set(state.i++);
+  }
+}
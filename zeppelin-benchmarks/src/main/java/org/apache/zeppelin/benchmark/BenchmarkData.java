@@ -0,0 +1,110 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.zeppelin.benchmark;
+
+import com.google.gson.Gson;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Data shaped like the notes users have: sql paragraphs with table results, and text
+ * paragraphs with a few lines of output.
+ */
+public class BenchmarkData {
+  private static final Gson gson = new Gson();
+
+  /**
+   * @return tab separated table with a header line, as sent by the sql interpreters
+   */
+  public static String table(int rows, int columns) {
+    StringBuilder sb = new StringBuilder();
+    for (int c = 0; c < columns; c++) {
+      sb.append(c == 0 ? "" : "\t").append("column_").append(c);
+    }
+    for (int r = 0; r < rows; r++) {
+      sb.append('\n');
+      for (int c = 0; c < columns; c++) {
+        if (c > 0) {
+          sb.append('\t');
+        }
+        if (c % 3 == 0) {
+          sb.append("value ").append(r).append('_').append(c);
+        } else {
+          sb.append(r * columns + c);
+        }
+      }
+    }
+    return sb.toString();
+  }
+
+  /**
+   * @return note.json of a note whose paragraphs alternate between a sql paragraph with a table
+   *     result of the given number of rows and a markdown paragraph with a text result
+   */
+  public static String noteJson(String id, int paragraphs, int rows) {
+    Map<String, Object> note = new LinkedHashMap<>();
+    note.put("id", id);
+    note.put("name", "benchmark/note " + id);
+    List<Object> list = new ArrayList<>();
+    for (int i = 0; i < paragraphs; i++) {
+      Map<String, Object> p = new LinkedHashMap<>();
+      p.put("id", "20170101-000000_" + i);
+      p.put("jobName", "paragraph_" + i);
+      p.put("title", "Paragraph " + i);
+      p.put("user", "user1");
+      p.put("dateCreated", "2017-01-01 00:00:00.000");
+      p.put("dateStarted", "2017-01-01 00:00:01.000");
+      p.put("dateFinished", "2017-01-01 00:00:02.000");
+      p.put("status", "FINISHED");
+      p.put("config", new HashMap<String, Object>());
+      Map<String, Object> settings = new HashMap<>();
+      settings.put("params", new HashMap<String, Object>());
+      settings.put("forms", new HashMap<String, Object>());
+      p.put("settings", settings);
+
+      Map<String, Object> msg = new LinkedHashMap<>();
+      if (i % 2 == 0) {
+        p.put("text", "%sql\nSELECT * FROM events_" + i + "\nWHERE day = '2017-01-01'\nLIMIT "
+            + rows);
+        msg.put("type", "TABLE");
+        msg.put("data", table(rows, 6));
+      } else {
+        p.put("text", "%md\n## Results of query " + (i - 1) + "\nevents of the day by type");
+        msg.put("type", "HTML");
+        msg.put("data", "<div class=\"markdown-body\">\n<h2>Results of query " + (i - 1)
+            + "</h2>\n<p>events of the day by type</p>\n</div>");
+      }
+      List<Object> msgs = new ArrayList<>();
+      msgs.add(msg);
+      Map<String, Object> results = new LinkedHashMap<>();
+      results.put("code", "SUCCESS");
+      results.put("msg", msgs);
+      p.put("results", results);
+      list.add(p);
+    }
+    note.put("paragraphs", list);
+    note.put("angularObjects", new HashMap<String, Object>());
+    note.put("config", new HashMap<String, Object>());
+    note.put("info", new HashMap<String, Object>());
+    return gson.toJson(note);
+  }
+}
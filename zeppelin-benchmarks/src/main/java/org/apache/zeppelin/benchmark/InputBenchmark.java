@@ -0,0 +1,94 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.zeppelin.benchmark;
+
+import org.apache.zeppelin.display.Input;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Dynamic forms of a large parameterized sql paragraph, extracted and substituted the way
+ * Paragraph does on each run.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class InputBenchmark {
+
+  @Param({"10", "100"})
+  public int forms;
+
+  @Param({"100"})
+  public int linesPerForm;
+
+  private String script;
+  private Map<String, Object> params;
+
+  @Setup
+  public void setUp() {
+    StringBuilder sb = new StringBuilder("SELECT *\nFROM events\nWHERE 1 = 1\n");
+    params = new HashMap<>();
+    for (int i = 0; i < forms; i++) {
+      for (int l = 0; l < linesPerForm; l++) {
+        sb.append("  -- filter ").append(i).append(", comment line ").append(l).append('\n');
+      }
+      switch (i % 3) {
+        case 0:
+          sb.append("  AND col").append(i).append(" = '${text").append(i).append("=abc}'\n");
+          params.put("text" + i, "value" + i);
+          break;
+        case 1:
+          sb.append("  AND col").append(i).append(" = '${select").append(i)
+              .append("(Select ").append(i).append(")=a,a|b|c(C)}'\n");
+          params.put("select" + i, "b");
+          break;
+        default:
+          sb.append("  AND col").append(i).append(" IN (${checkbox:check").append(i)
+              .append("=a|b,a|b|c|d})\n");
+          params.put("check" + i, new String[] {"a", "c", "d"});
+      }
+    }
+    script = sb.toString();
+  }
+
+  @Benchmark
+  public Object extractSimpleQueryForm() {
+    return Input.extractSimpleQueryForm(script);
+  }
+
+  @Benchmark
+  public String getSimpleQuery() {
+    return Input.getSimpleQuery(params, script);
+  }
+}
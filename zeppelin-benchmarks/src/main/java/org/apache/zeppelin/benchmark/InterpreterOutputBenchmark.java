@@ -0,0 +1,108 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.zeppelin.benchmark;
+
+import org.apache.zeppelin.interpreter.InterpreterOutput;
+import org.apache.zeppelin.interpreter.InterpreterOutputListener;
+import org.apache.zeppelin.interpreter.InterpreterResultMessageOutput;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Output of a paragraph written the way interpreters do: whole lines, or one byte at a time
+ * (e.g. the python and spark consoles), then read back as the result messages.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class InterpreterOutputBenchmark {
+
+  @Param({"1000"})
+  public int lines;
+
+  private byte[] line;
+  private InterpreterOutputListener listener;
+
+  @Setup
+  public void setUp() {
+    line = "2017-01-01 00:00:00 INFO stage 1 finished, 200 tasks, 1234 records\n"
+        .getBytes(StandardCharsets.UTF_8);
+    listener = new InterpreterOutputListener() {
+      @Override
+      public void onUpdateAll(InterpreterOutput out) {
+      }
+
+      @Override
+      public void onAppend(int index, InterpreterResultMessageOutput out, byte[] line) {
+      }
+
+      @Override
+      public void onUpdate(int index, InterpreterResultMessageOutput out) {
+      }
+    };
+  }
+
+  @Benchmark
+  public Object writeLines() throws IOException {
+    InterpreterOutput out = new InterpreterOutput(listener);
+    for (int i = 0; i < lines; i++) {
+      out.write(line);
+    }
+    out.flush();
+    return out.toInterpreterResultMessage();
+  }
+
+  @Benchmark
+  public Object writeBytes() throws IOException {
+    InterpreterOutput out = new InterpreterOutput(listener);
+    for (int i = 0; i < lines; i++) {
+      for (byte b : line) {
+        out.write(b);
+      }
+    }
+    out.flush();
+    return out.toInterpreterResultMessage();
+  }
+
+  @Benchmark
+  public Object writeTable() throws IOException {
+    InterpreterOutput out = new InterpreterOutput(listener);
+    out.write("%table ");
+    for (int i = 0; i < lines; i++) {
+      out.write("value " + i + "\t" + i + "\t" + (i * 2) + "\n");
+    }
+    out.flush();
+    return out.toInterpreterResultMessage();
+  }
+}
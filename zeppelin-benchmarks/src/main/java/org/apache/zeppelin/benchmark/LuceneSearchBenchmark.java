@@ -0,0 +1,99 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.zeppelin.benchmark;
+
+import org.apache.zeppelin.notebook.Note;
+import org.apache.zeppelin.search.LuceneSearch;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Search index of the notebook: indexing all the notes at startup, reindexing a note when it
+ * changes, and searching.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class LuceneSearchBenchmark {
+
+  @Param({"100"})
+  public int notes;
+
+  @Param({"20"})
+  public int paragraphs;
+
+  private List<Note> notebook;
+  private LuceneSearch search;
+  private int i;
+
+  @Setup
+  public void setUp() {
+    notebook = new ArrayList<>();
+    for (int n = 0; n < notes; n++) {
+      notebook.add(Note.fromJson(BenchmarkData.noteJson("2BENCH" + n, paragraphs, 10)));
+    }
+  }
+
+  @Setup(Level.Iteration)
+  public void setUpIndex() {
+    search = new LuceneSearch();
+    search.addIndexDocs(notebook);
+  }
+
+  @TearDown(Level.Iteration)
+  public void tearDownIndex() {
+    search.close();
+  }
+
+  @Benchmark
+  public Object addIndexDocs() {
+    LuceneSearch index = new LuceneSearch();
+    index.addIndexDocs(notebook);
+    index.close();
+    return index;
+  }
+
+  @Benchmark
+  public void updateIndexDoc() throws IOException {
+    search.updateIndexDoc(notebook.get(i++ % notes));
+  }
+
+  @Benchmark
+  public Object query() {
+    return search.query("events_" + (i++ % paragraphs));
+  }
+}
@@ -0,0 +1,109 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.zeppelin.benchmark;
+
+import org.apache.zeppelin.display.AngularObjectRegistry;
+import org.apache.zeppelin.display.GUI;
+import org.apache.zeppelin.interpreter.Interpreter;
+import org.apache.zeppelin.interpreter.InterpreterContext;
+import org.apache.zeppelin.interpreter.InterpreterContextRunner;
+import org.apache.zeppelin.interpreter.InterpreterGroup;
+import org.apache.zeppelin.interpreter.InterpreterOutput;
+import org.apache.zeppelin.interpreter.InterpreterResult;
+import org.apache.zeppelin.python.PythonInterpreter;
+import org.apache.zeppelin.resource.LocalResourcePool;
+import org.apache.zeppelin.user.AuthenticationInfo;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.HashMap;
+import java.util.LinkedList;
+import java.util.Properties;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Round trip of a statement between PythonInterpreter and the python process, i.e. the fixed
+ * overhead every python paragraph pays. Needs python on the PATH.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PythonInterpreterBenchmark {
+
+  private PythonInterpreter interpreter;
+  private InterpreterContext context;
+  private int count;
+
+  @Setup
+  public void setUp() {
+    Properties p = new Properties();
+    p.setProperty(PythonInterpreter.ZEPPELIN_PYTHON, PythonInterpreter.DEFAULT_ZEPPELIN_PYTHON);
+    p.setProperty(PythonInterpreter.MAX_RESULT, "1000");
+    p.setProperty("zeppelin.python.useIPython", "false");
+    interpreter = new PythonInterpreter(p);
+
+    InterpreterGroup group = new InterpreterGroup();
+    group.put("note", new LinkedList<Interpreter>());
+    group.get("note").add(interpreter);
+    interpreter.setInterpreterGroup(group);
+
+    context = new InterpreterContext("note", "id", null, "title", "text",
+        new AuthenticationInfo(),
+        new HashMap<String, Object>(),
+        new GUI(),
+        new AngularObjectRegistry(group.getId(), null),
+        new LocalResourcePool("id"),
+        new LinkedList<InterpreterContextRunner>(),
+        new InterpreterOutput(null));
+    InterpreterContext.set(context);
+    interpreter.open();
+  }
+
+  @Setup(Level.Iteration)
+  public void clearOutput() {
+    context.out.clear();
+  }
+
+  @TearDown
+  public void tearDown() {
+    interpreter.close();
+  }
+
+  @Benchmark
+  public InterpreterResult statement() {
+    return interpreter.interpret("x = " + count++, context);
+  }
+
+  @Benchmark
+  public InterpreterResult print() {
+    return interpreter.interpret("print(" + count++ + ")", context);
+  }
+}
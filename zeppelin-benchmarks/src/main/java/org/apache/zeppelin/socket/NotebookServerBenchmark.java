@@ -0,0 +1,99 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.zeppelin.socket;
+
+import org.apache.zeppelin.benchmark.BenchmarkData;
+import org.apache.zeppelin.notebook.Note;
+import org.apache.zeppelin.notebook.socket.Message;
+import org.apache.zeppelin.notebook.socket.Message.OP;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Websocket messages of NotebookServer: the note sent when a note is opened, the paragraph
+ * broadcast when it finishes, the output appended while it runs, and a message received from
+ * the browser. Lives in the package of NotebookServer to call its (de)serialization.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class NotebookServerBenchmark {
+
+  @Param({"20"})
+  public int paragraphs;
+
+  @Param({"100", "1000"})
+  public int rows;
+
+  private NotebookServer server;
+  private Message note;
+  private Message paragraph;
+  private Message appendOutput;
+  private String runParagraph;
+
+  @Setup
+  public void setUp() {
+    server = new NotebookServer();
+    Note n = Note.fromJson(BenchmarkData.noteJson("2BENCHMARK", paragraphs, rows));
+    note = new Message(OP.NOTE).put("note", n);
+    paragraph = new Message(OP.PARAGRAPH).put("paragraph", n.getParagraphs().get(0));
+    appendOutput = new Message(OP.PARAGRAPH_APPEND_OUTPUT)
+        .put("noteId", n.getId())
+        .put("paragraphId", n.getParagraphs().get(0).getId())
+        .put("index", 0)
+        .put("data", "2017-01-01 00:00:00 INFO stage 1 finished, 200 tasks\n");
+    runParagraph = server.serializeMessage(new Message(OP.RUN_PARAGRAPH)
+        .put("id", n.getParagraphs().get(0).getId())
+        .put("title", n.getParagraphs().get(0).getTitle())
+        .put("paragraph", n.getParagraphs().get(0).getText()));
+  }
+
+  @Benchmark
+  public String serializeNote() {
+    return server.serializeMessage(note);
+  }
+
+  @Benchmark
+  public String serializeParagraph() {
+    return server.serializeMessage(paragraph);
+  }
+
+  @Benchmark
+  public String serializeAppendOutput() {
+    return server.serializeMessage(appendOutput);
+  }
+
+  @Benchmark
+  public Message deserializeRunParagraph() {
+    return server.deserializeMessage(runParagraph);
+  }
+}
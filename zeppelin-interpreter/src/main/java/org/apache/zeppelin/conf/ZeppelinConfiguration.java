@@ -383,6 +383,14 @@ public class ZeppelinConfiguration extends XMLConfiguration {
     return getBoolean(ConfVars.ZEPPELIN_NOTEBOOK_S3_SSE);
   }
 
+  public boolean isS3Gzip() {
+    return getBoolean(ConfVars.ZEPPELIN_NOTEBOOK_S3_GZIP);
+  }
+
+  public int getS3ListThreads() {
+    return getInt(ConfVars.ZEPPELIN_NOTEBOOK_S3_LIST_THREADS);
+  }
+
   public String getMongoUri() {
     return getString(ConfVars.ZEPPELIN_NOTEBOOK_MONGO_URI);
   }
@@ -399,6 +407,10 @@ public class ZeppelinConfiguration extends XMLConfiguration {
     return getBoolean(ConfVars.ZEPPELIN_NOTEBOOK_MONGO_AUTOIMPORT);
   }
 
+  public int getMongoBatchSize() {
+    return getInt(ConfVars.ZEPPELIN_NOTEBOOK_MONGO_BATCH_SIZE);
+  }
+
   public String getInterpreterListPath() {
     return getRelativeDir(String.format("%s/interpreter-list", getConfDir()));
   }
@@ -415,6 +427,10 @@ public class ZeppelinConfiguration extends XMLConfiguration {
     return getRelativeDir(String.format("%s/interpreter.json", getConfDir()));
   }
 
+  public String getInterpreterEvictionPath() {
+    return getRelativeDir(String.format("%s/interpreter-eviction.json", getConfDir()));
+  }
+
   public String getHeliumConfPath() {
     return getRelativeDir(String.format("%s/helium.json", getConfDir()));
   }
@@ -439,6 +455,10 @@ public class ZeppelinConfiguration extends XMLConfiguration {
     return getRelativeDir(String.format("%s/notebook-authorization.json", getConfDir()));
   }
 
+  public long getNotebookAuthorizationFlushInterval() {
+    return getInt(ConfVars.ZEPPELIN_NOTEBOOK_AUTHORIZATION_FLUSH_INTERVAL);
+  }
+
   public Boolean credentialsPersist() {
     return getBoolean(ConfVars.ZEPPELIN_CREDENTIALS_PERSIST);
   }
@@ -628,6 +648,18 @@ public class ZeppelinConfiguration extends XMLConfiguration {
         "http://repo1.maven.org/maven2/"),
     ZEPPELIN_INTERPRETER_CONNECT_TIMEOUT("zeppelin.interpreter.connect.timeout", 30000),
     ZEPPELIN_INTERPRETER_MAX_POOL_SIZE("zeppelin.interpreter.max.poolsize", 10),
+    // number of started interpreter processes kept ready for per user/note isolated settings
+    ZEPPELIN_INTERPRETER_STANDBY_POOL_SIZE("zeppelin.interpreter.standby.pool.size", 0),
+    // idle interpreter processes are stopped when either limit is exceeded, 0 disables the limit
+    ZEPPELIN_INTERPRETER_EVICTION_MAX_PROCESSES("zeppelin.interpreter.eviction.max.processes", 0),
+    ZEPPELIN_INTERPRETER_EVICTION_MIN_FREE_MEMORY(
+        "zeppelin.interpreter.eviction.min.free.memory.mb", 0),
+    ZEPPELIN_INTERPRETER_EVICTION_IDLE_TIMEOUT("zeppelin.interpreter.eviction.idle.timeout",
+        30 * 60 * 1000),
+    ZEPPELIN_INTERPRETER_EVICTION_CHECK_INTERVAL("zeppelin.interpreter.eviction.check.interval",
+        60 * 1000),
+    // also evict the processes of settings shared by all users and notes
+    ZEPPELIN_INTERPRETER_EVICTION_SHARED("zeppelin.interpreter.eviction.shared", false),
     ZEPPELIN_INTERPRETER_GROUP_ORDER("zeppelin.interpreter.group.order", "spark,md,angular,sh,"
         + "livy,alluxio,file,psql,flink,python,ignite,lens,cassandra,geode,kylin,elasticsearch,"
         + "scalding,jdbc,hbase,bigquery,beam,pig,scio,groovy"),
@@ -645,6 +677,8 @@ public class ZeppelinConfiguration extends XMLConfiguration {
     ZEPPELIN_NOTEBOOK_S3_KMS_KEY_ID("zeppelin.notebook.s3.kmsKeyID", null),
     ZEPPELIN_NOTEBOOK_S3_KMS_KEY_REGION("zeppelin.notebook.s3.kmsKeyRegion", null),
     ZEPPELIN_NOTEBOOK_S3_SSE("zeppelin.notebook.s3.sse", false),
+    ZEPPELIN_NOTEBOOK_S3_GZIP("zeppelin.notebook.s3.gzip", false),
+    ZEPPELIN_NOTEBOOK_S3_LIST_THREADS("zeppelin.notebook.s3.listThreads", 16),
     ZEPPELIN_NOTEBOOK_AZURE_CONNECTION_STRING("zeppelin.notebook.azure.connectionString", null),
     ZEPPELIN_NOTEBOOK_AZURE_SHARE("zeppelin.notebook.azure.share", "zeppelin"),
     ZEPPELIN_NOTEBOOK_AZURE_USER("zeppelin.notebook.azure.user", "user"),
@@ -652,11 +686,19 @@ public class ZeppelinConfiguration extends XMLConfiguration {
     ZEPPELIN_NOTEBOOK_MONGO_COLLECTION("zeppelin.notebook.mongo.collection", "notes"),
     ZEPPELIN_NOTEBOOK_MONGO_URI("zeppelin.notebook.mongo.uri", "mongodb://localhost"),
     ZEPPELIN_NOTEBOOK_MONGO_AUTOIMPORT("zeppelin.notebook.mongo.autoimport", false),
+    ZEPPELIN_NOTEBOOK_MONGO_BATCH_SIZE("zeppelin.notebook.mongo.batchSize", 100),
     ZEPPELIN_NOTEBOOK_STORAGE("zeppelin.notebook.storage",
         "org.apache.zeppelin.notebook.repo.GitNotebookRepo"),
     ZEPPELIN_NOTEBOOK_ONE_WAY_SYNC("zeppelin.notebook.one.way.sync", false),
+    // number of notes read and written in parallel when the notebook storages are synced
+    ZEPPELIN_NOTEBOOK_SYNC_THREADS("zeppelin.notebook.sync.threads", 8),
+    // sync the notebook storages in the background, instead of before the notes are loaded
+    ZEPPELIN_NOTEBOOK_SYNC_BACKGROUND("zeppelin.notebook.sync.background", false),
     // whether by default note is public or private
     ZEPPELIN_NOTEBOOK_PUBLIC("zeppelin.notebook.public", true),
+    // delay in ms used to batch writes of notebook-authorization.json, 0 writes synchronously
+    ZEPPELIN_NOTEBOOK_AUTHORIZATION_FLUSH_INTERVAL(
+        "zeppelin.notebook.authorization.flush.interval", 1000),
     ZEPPELIN_INTERPRETER_REMOTE_RUNNER("zeppelin.interpreter.remoterunner",
         System.getProperty("os.name")
                 .startsWith("Windows") ? "bin/interpreter.cmd" : "bin/interpreter.sh"),
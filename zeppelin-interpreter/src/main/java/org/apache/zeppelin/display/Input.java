@@ -150,9 +150,12 @@ public class Input<T> implements Serializable {
   //                                                expanded to "US or JP"
   private static final Pattern VAR_PTN = Pattern.compile("([_])?[$][{]([^=}]*([=][^}]*)?)[}]");
 
+  private static final Pattern NAME_PTN = Pattern.compile("([^(]*)\\s*[(]([^)]*)[)]");
+  private static final Pattern TYPE_PTN =
+      Pattern.compile("([^:()]*)\\s*([(][^()]*[)])?\\s*:(.*)");
+
   private static String[] getNameAndDisplayName(String str) {
-    Pattern p = Pattern.compile("([^(]*)\\s*[(]([^)]*)[)]");
-    Matcher m = p.matcher(str.trim());
+    Matcher m = NAME_PTN.matcher(str.trim());
     if (m == null || m.find() == false) {
       return null;
     }
@@ -163,8 +166,7 @@ public class Input<T> implements Serializable {
   }
 
   private static String[] getType(String str) {
-    Pattern p = Pattern.compile("([^:()]*)\\s*([(][^()]*[)])?\\s*:(.*)");
-    Matcher m = p.matcher(str.trim());
+    Matcher m = TYPE_PTN.matcher(str.trim());
     if (m == null || m.find() == false) {
       return null;
     }
@@ -275,66 +277,110 @@ public class Input<T> implements Serializable {
     return input;
   }
 
-  public static LinkedHashMap<String, Input> extractSimpleQueryForm(String script) {
-    LinkedHashMap<String, Input> forms = new LinkedHashMap<>();
-    if (script == null) {
-      return forms;
+  /**
+   * Forms of a script parsed once: the literal text between the variables and the form of
+   * each variable, so that substituting values is a single concatenation.
+   */
+  private static class Template {
+    // literal text before each variable, and after the last one
+    private final String[] texts;
+    private final Input[] variables;
+    private final LinkedHashMap<String, Input> forms = new LinkedHashMap<>();
+
+    Template(String script) {
+      List<String> textList = new ArrayList<>();
+      List<Input> variableList = new ArrayList<>();
+      Matcher match = VAR_PTN.matcher(script);
+      int end = 0;
+      while (match.find()) {
+        Input form = getInputForm(match);
+        textList.add(script.substring(end, match.start()));
+        variableList.add(form);
+        forms.put(form.name, form);
+        end = match.end();
+      }
+      textList.add(script.substring(end));
+      forms.remove("pql");
+      this.texts = textList.toArray(new String[textList.size()]);
+      this.variables = variableList.toArray(new Input[variableList.size()]);
+    }
+
+    String render(Map<String, Object> params) {
+      StringBuilder sb = new StringBuilder();
+      for (int i = 0; i < variables.length; i++) {
+        sb.append(texts[i]).append(expand(variables[i], params));
+      }
+      return sb.append(texts[variables.length]).toString();
     }
-    String replaced = script;
+  }
+
+  private static final int TEMPLATE_CACHE_SIZE = 1000;
+  // parsed templates by script, access ordered so that the least recently used one is evicted
+  private static final Map<String, Template> templates =
+      new LinkedHashMap<String, Template>(16, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, Template> eldest) {
+          return size() > TEMPLATE_CACHE_SIZE;
+        }
+      };
 
-    Matcher match = VAR_PTN.matcher(replaced);
-    while (match.find()) {
-      Input form = getInputForm(match);
-      forms.put(form.name, form);
+  private static Template getTemplate(String script) {
+    synchronized (templates) {
+      Template template = templates.get(script);
+      if (template != null) {
+        return template;
+      }
+    }
+    Template template = new Template(script);
+    synchronized (templates) {
+      templates.put(script, template);
     }
+    return template;
+  }
 
-    forms.remove("pql");
-    return forms;
+  public static LinkedHashMap<String, Input> extractSimpleQueryForm(String script) {
+    if (script == null) {
+      return new LinkedHashMap<>();
+    }
+    return new LinkedHashMap<>(getTemplate(script).forms);
   }
 
   private static final String DEFAULT_DELIMITER = ",";
 
   public static String getSimpleQuery(Map<String, Object> params, String script) {
-    String replaced = script;
-
-    Matcher match = VAR_PTN.matcher(replaced);
-    while (match.find()) {
-      Input input = getInputForm(match);
-      Object value;
-      if (params.containsKey(input.name)) {
-        value = params.get(input.name);
-      } else {
-        value = input.getDefaultValue();
-      }
+    return getTemplate(script).render(params);
+  }
 
-      String expanded;
-      if (value instanceof Object[] || value instanceof Collection) {  // multi-selection
-        OptionInput optionInput = (OptionInput) input;
-        String delimiter = input.argument;
-        if (delimiter == null) {
-          delimiter = DEFAULT_DELIMITER;
-        }
-        Collection<Object> checked = value instanceof Collection ? (Collection<Object>) value
-            : Arrays.asList((Object[]) value);
-        List<Object> validChecked = new LinkedList<>();
-        for (Object o : checked) {  // filter out obsolete checked values
-          for (ParamOption option : optionInput.getOptions()) {
-            if (option.getValue().equals(o)) {
-              validChecked.add(o);
-              break;
-            }
+  private static String expand(Input input, Map<String, Object> params) {
+    Object value;
+    if (params.containsKey(input.name)) {
+      value = params.get(input.name);
+    } else {
+      value = input.getDefaultValue();
+    }
+
+    if (value instanceof Object[] || value instanceof Collection) {  // multi-selection
+      OptionInput optionInput = (OptionInput) input;
+      String delimiter = input.argument;
+      if (delimiter == null) {
+        delimiter = DEFAULT_DELIMITER;
+      }
+      Collection<Object> checked = value instanceof Collection ? (Collection<Object>) value
+          : Arrays.asList((Object[]) value);
+      List<Object> validChecked = new LinkedList<>();
+      for (Object o : checked) {  // filter out obsolete checked values
+        for (ParamOption option : optionInput.getOptions()) {
+          if (option.getValue().equals(o)) {
+            validChecked.add(o);
+            break;
           }
         }
-        params.put(input.name, validChecked);
-        expanded = StringUtils.join(validChecked, delimiter);
-      } else {  // single-selection
-        expanded = value.toString();
       }
-      replaced = match.replaceFirst(expanded);
-      match = VAR_PTN.matcher(replaced);
+      params.put(input.name, validChecked);
+      return StringUtils.join(validChecked, delimiter);
+    } else {  // single-selection
+      return value.toString();
     }
-
-    return replaced;
   }
 
 
@@ -60,6 +60,7 @@ public class InterpreterContext {
   private ResourcePool resourcePool;
   private List<InterpreterContextRunner> runners;
   private String className;
+  private String traceId;
   private RemoteEventClientWrapper client;
   private RemoteWorksController remoteWorksController;
   private final Map<String, Integer> progressMap;
@@ -186,6 +187,17 @@ public class InterpreterContext {
     this.className = className;
   }
 
+  /**
+   * @return id of the trace of the paragraph run, see {@link org.apache.zeppelin.tracing.Tracer}
+   */
+  public String getTraceId() {
+    return traceId;
+  }
+
+  public void setTraceId(String traceId) {
+    this.traceId = traceId;
+  }
+
   public RemoteEventClientWrapper getClient() {
     return client;
   }
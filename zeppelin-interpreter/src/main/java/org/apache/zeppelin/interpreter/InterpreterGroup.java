@@ -19,6 +19,7 @@ package org.apache.zeppelin.interpreter;
 
 import com.google.common.annotations.VisibleForTesting;
 import org.apache.zeppelin.display.AngularObjectRegistry;
+import org.apache.zeppelin.interpreter.remote.RemoteInterpreterEventPoller;
 import org.apache.zeppelin.interpreter.remote.RemoteInterpreterProcess;
 import org.apache.zeppelin.resource.ResourcePool;
 import org.apache.zeppelin.scheduler.Scheduler;
@@ -28,6 +29,7 @@ import org.slf4j.LoggerFactory;
 
 import java.util.*;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
 
 /**
  * InterpreterGroup is collections of interpreter sessions.
@@ -54,6 +56,11 @@ public class InterpreterGroup {
   private RemoteInterpreterProcess remoteInterpreterProcess; // attached remote interpreter process
   private ResourcePool resourcePool;
   private boolean angularRegistryPushed = false;
+  // used to find idle groups whose interpreter process can be evicted
+  private volatile long lastActivityTime = System.currentTimeMillis();
+  private final AtomicInteger runningCalls = new AtomicInteger(0);
+  // set while the group is closed because it was idle, no new call is accepted after that
+  private boolean closing = false;
 
   /**
    * Create InterpreterGroup with given id, used in InterpreterProcess
@@ -138,7 +145,15 @@ public class InterpreterGroup {
   public synchronized RemoteInterpreterProcess getOrCreateInterpreterProcess() {
     if (remoteInterpreterProcess == null) {
       LOGGER.info("Create InterperterProcess for InterpreterGroup: " + getId());
-      remoteInterpreterProcess = interpreterSetting.createInterpreterProcess();
+      remoteInterpreterProcess = interpreterSetting.acquireInterpreterProcess();
+      if (remoteInterpreterProcess.isRunning()) {
+        // standby process is already started, only bind it to this group
+        RemoteInterpreterEventPoller eventPoller =
+            remoteInterpreterProcess.getRemoteInterpreterEventPoller();
+        eventPoller.setInterpreterProcess(remoteInterpreterProcess);
+        eventPoller.setInterpreterGroup(this);
+        eventPoller.start();
+      }
     }
     return remoteInterpreterProcess;
   }
@@ -229,4 +244,63 @@ public class InterpreterGroup {
   public boolean isEmpty() {
     return sessions.isEmpty();
   }
+
+  /**
+   * Mark the start of a call into an interpreter of this group
+   * @throws InterpreterException when the group is being closed because it was idle
+   */
+  public synchronized void onCallStart() {
+    if (closing) {
+      throw new InterpreterException("InterpreterGroup " + id + " is closed");
+    }
+    runningCalls.incrementAndGet();
+    lastActivityTime = System.currentTimeMillis();
+  }
+
+  /**
+   * Mark the end of a call into an interpreter of this group
+   */
+  public void onCallFinish() {
+    runningCalls.decrementAndGet();
+    lastActivityTime = System.currentTimeMillis();
+  }
+
+  /**
+   * A group is busy while a call into one of its interpreters is in flight or a paragraph
+   * is waiting or running in the scheduler of one of its sessions
+   */
+  public boolean isBusy() {
+    if (runningCalls.get() > 0) {
+      return true;
+    }
+    for (List<Interpreter> interpreters : sessions.values()) {
+      for (Interpreter interpreter : interpreters) {
+        Scheduler scheduler = interpreter.getScheduler();
+        if (scheduler != null && (!scheduler.getJobsWaiting().isEmpty()
+            || !scheduler.getJobsRunning().isEmpty())) {
+          return true;
+        }
+      }
+    }
+    return false;
+  }
+
+  public long getLastActivityTime() {
+    return lastActivityTime;
+  }
+
+  /**
+   * Close this group if it is not busy and has been idle for at least idleTimeout msec.
+   * The check and the close are done under the lock of the group, calls started afterwards
+   * are rejected.
+   * @return true when the group was closed
+   */
+  public synchronized boolean closeIfIdle(long idleTimeout) {
+    if (isBusy() || System.currentTimeMillis() - lastActivityTime < idleTimeout) {
+      return false;
+    }
+    closing = true;
+    close();
+    return true;
+  }
 }
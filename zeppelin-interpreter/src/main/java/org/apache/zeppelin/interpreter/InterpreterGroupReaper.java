@@ -0,0 +1,327 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.zeppelin.interpreter;
+
+import com.google.common.annotations.VisibleForTesting;
+import com.google.gson.Gson;
+import com.google.gson.GsonBuilder;
+import com.google.gson.reflect.TypeToken;
+import org.apache.commons.io.FileUtils;
+import org.apache.zeppelin.conf.ZeppelinConfiguration;
+import org.apache.zeppelin.conf.ZeppelinConfiguration.ConfVars;
+import org.apache.zeppelin.interpreter.remote.RemoteInterpreterProcess;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.File;
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.lang.management.OperatingSystemMXBean;
+import java.text.SimpleDateFormat;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.Date;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Stops the interpreter processes of idle InterpreterGroups when the number of running
+ * interpreter processes or the free memory of the host crosses the configured limits.
+ * Least recently used groups are evicted first, and only groups which have been idle for
+ * at least the configured idle timeout are considered. Groups of shared interpreter settings
+ * serve every user and note, so they are only evicted when
+ * zeppelin.interpreter.eviction.shared is enabled.
+ *
+ * Every eviction is recorded (and persisted to interpreter-eviction.json) so that the user
+ * can be told why the state of the interpreter is gone the next time it is used.
+ */
+public class InterpreterGroupReaper {
+
+  private static final Logger LOGGER = LoggerFactory.getLogger(InterpreterGroupReaper.class);
+  private static final Gson gson = new GsonBuilder().setPrettyPrinting().create();
+  private static final int MAX_RECORDS = 500;
+
+  private final InterpreterSettingManager interpreterSettingManager;
+  private final long idleTimeout;
+  private final int maxProcesses;
+  private final long minFreeMemoryMb;
+  private final long checkInterval;
+  private final boolean evictShared;
+  private final File recordFile;
+  // groupId --> last eviction of that group, kept in eviction order
+  private final Map<String, EvictionRecord> evictionRecords = new LinkedHashMap<>();
+  private ScheduledExecutorService executor;
+
+  public InterpreterGroupReaper(ZeppelinConfiguration conf,
+                                InterpreterSettingManager interpreterSettingManager) {
+    this.interpreterSettingManager = interpreterSettingManager;
+    this.idleTimeout = conf.getInt(ConfVars.ZEPPELIN_INTERPRETER_EVICTION_IDLE_TIMEOUT);
+    this.maxProcesses = conf.getInt(ConfVars.ZEPPELIN_INTERPRETER_EVICTION_MAX_PROCESSES);
+    this.minFreeMemoryMb = conf.getInt(ConfVars.ZEPPELIN_INTERPRETER_EVICTION_MIN_FREE_MEMORY);
+    this.checkInterval = conf.getInt(ConfVars.ZEPPELIN_INTERPRETER_EVICTION_CHECK_INTERVAL);
+    this.evictShared = conf.getBoolean(ConfVars.ZEPPELIN_INTERPRETER_EVICTION_SHARED);
+    this.recordFile = new File(conf.getInterpreterEvictionPath());
+    loadRecords();
+  }
+
+  public static boolean isEnabled(ZeppelinConfiguration conf) {
+    return conf.getInt(ConfVars.ZEPPELIN_INTERPRETER_EVICTION_MAX_PROCESSES) > 0
+        || conf.getInt(ConfVars.ZEPPELIN_INTERPRETER_EVICTION_MIN_FREE_MEMORY) > 0;
+  }
+
+  public void start() {
+    executor = Executors.newSingleThreadScheduledExecutor(new ThreadFactory() {
+      @Override
+      public Thread newThread(Runnable r) {
+        Thread t = new Thread(r, "InterpreterGroupReaper");
+        t.setDaemon(true);
+        return t;
+      }
+    });
+    executor.scheduleWithFixedDelay(new Runnable() {
+      @Override
+      public void run() {
+        try {
+          evict();
+        } catch (Exception e) {
+          LOGGER.error("Fail to evict idle interpreter processes", e);
+        }
+      }
+    }, checkInterval, checkInterval, TimeUnit.MILLISECONDS);
+    LOGGER.info("InterpreterGroupReaper started, maxProcesses: {}, minFreeMemory: {} MB, " +
+        "idleTimeout: {} ms", maxProcesses, minFreeMemoryMb, idleTimeout);
+  }
+
+  public void stop() {
+    if (executor != null) {
+      executor.shutdownNow();
+      executor = null;
+    }
+  }
+
+  /**
+   * Evict idle groups in LRU order until the limits are satisfied
+   */
+  @VisibleForTesting
+  void evict() {
+    List<InterpreterGroup> running = getRunningGroups();
+    int processCount = running.size();
+    List<InterpreterGroup> candidates = new ArrayList<>();
+    long now = System.currentTimeMillis();
+    for (InterpreterGroup group : running) {
+      if (isEvictable(group) && !group.isBusy()
+          && now - group.getLastActivityTime() >= idleTimeout) {
+        candidates.add(group);
+      }
+    }
+    Collections.sort(candidates, new Comparator<InterpreterGroup>() {
+      @Override
+      public int compare(InterpreterGroup o1, InterpreterGroup o2) {
+        return Long.compare(o1.getLastActivityTime(), o2.getLastActivityTime());
+      }
+    });
+
+    for (InterpreterGroup group : candidates) {
+      String reason;
+      boolean lowMemory = false;
+      if (maxProcesses > 0 && processCount > maxProcesses) {
+        reason = String.format("%d interpreter processes were running, more than the limit of %d",
+            processCount, maxProcesses);
+      } else if (minFreeMemoryMb > 0 && getFreeMemoryMb() < minFreeMemoryMb) {
+        reason = String.format("the server had less than %d MB of free memory", minFreeMemoryMb);
+        lowMemory = true;
+      } else {
+        break;
+      }
+      // activity may have happened since the candidates were selected
+      if (!evict(group, reason)) {
+        continue;
+      }
+      processCount--;
+      if (lowMemory) {
+        // memory is released asynchronously, check it again in the next round
+        break;
+      }
+    }
+  }
+
+  private boolean evict(InterpreterGroup group, String reason) {
+    long idleTime = System.currentTimeMillis() - group.getLastActivityTime();
+    if (!group.closeIfIdle(idleTimeout)) {
+      return false;
+    }
+    String settingName = group.getInterpreterSetting() != null ?
+        group.getInterpreterSetting().getName() : "";
+    LOGGER.info("Evict InterpreterGroup {} of {}, idle for {} ms, because {}",
+        group.getId(), settingName, idleTime, reason);
+    EvictionRecord record = new EvictionRecord(group.getId(), settingName,
+        System.currentTimeMillis(), idleTime, reason);
+    synchronized (evictionRecords) {
+      evictionRecords.remove(group.getId());
+      evictionRecords.put(group.getId(), record);
+      while (evictionRecords.size() > MAX_RECORDS) {
+        evictionRecords.remove(evictionRecords.keySet().iterator().next());
+      }
+    }
+    saveRecords();
+    return true;
+  }
+
+  /**
+   * Only groups dedicated to a user or a note are evicted, unless eviction of shared groups
+   * is enabled
+   */
+  private boolean isEvictable(InterpreterGroup group) {
+    if (evictShared) {
+      return true;
+    }
+    InterpreterSetting setting = group.getInterpreterSetting();
+    InterpreterOption option = setting == null ? null : setting.getOption();
+    return option != null && (option.isProcess() || option.isSession());
+  }
+
+  private List<InterpreterGroup> getRunningGroups() {
+    List<InterpreterGroup> groups = new ArrayList<>();
+    for (InterpreterSetting setting : interpreterSettingManager.get()) {
+      for (InterpreterGroup group : setting.getAllInterpreterGroups()) {
+        RemoteInterpreterProcess process = group.getRemoteInterpreterProcess();
+        if (process != null && process.isRunning()) {
+          groups.add(group);
+        }
+      }
+    }
+    return groups;
+  }
+
+  @VisibleForTesting
+  long getFreeMemoryMb() {
+    OperatingSystemMXBean osBean = ManagementFactory.getOperatingSystemMXBean();
+    if (osBean instanceof com.sun.management.OperatingSystemMXBean) {
+      return ((com.sun.management.OperatingSystemMXBean) osBean).getFreePhysicalMemorySize()
+          / (1024 * 1024);
+    }
+    // unknown, never evict because of memory
+    return Long.MAX_VALUE;
+  }
+
+  /**
+   * Get and remove the eviction record of a group, so the user is told only once
+   */
+  public EvictionRecord takeEvictionRecord(String groupId) {
+    EvictionRecord record;
+    synchronized (evictionRecords) {
+      record = evictionRecords.remove(groupId);
+    }
+    if (record != null) {
+      saveRecords();
+    }
+    return record;
+  }
+
+  public Collection<EvictionRecord> getEvictionRecords() {
+    synchronized (evictionRecords) {
+      return new ArrayList<>(evictionRecords.values());
+    }
+  }
+
+  private void loadRecords() {
+    if (!recordFile.exists()) {
+      return;
+    }
+    try {
+      List<EvictionRecord> records = gson.fromJson(FileUtils.readFileToString(recordFile),
+          new TypeToken<List<EvictionRecord>>() {}.getType());
+      if (records != null) {
+        synchronized (evictionRecords) {
+          for (EvictionRecord record : records) {
+            evictionRecords.put(record.getGroupId(), record);
+          }
+        }
+      }
+    } catch (Exception e) {
+      LOGGER.warn("Fail to load interpreter eviction records from " + recordFile, e);
+    }
+  }
+
+  private void saveRecords() {
+    String json;
+    synchronized (evictionRecords) {
+      json = gson.toJson(new ArrayList<>(evictionRecords.values()));
+    }
+    try {
+      FileUtils.writeStringToFile(recordFile, json);
+    } catch (IOException e) {
+      LOGGER.warn("Fail to save interpreter eviction records to " + recordFile, e);
+    }
+  }
+
+  /**
+   * Why and when the interpreter process of an InterpreterGroup was stopped
+   */
+  public static class EvictionRecord {
+    private String groupId;
+    private String interpreterSetting;
+    private long evictedAt;
+    private long idleTime;
+    private String reason;
+
+    public EvictionRecord(String groupId, String interpreterSetting, long evictedAt,
+                          long idleTime, String reason) {
+      this.groupId = groupId;
+      this.interpreterSetting = interpreterSetting;
+      this.evictedAt = evictedAt;
+      this.idleTime = idleTime;
+      this.reason = reason;
+    }
+
+    public String getGroupId() {
+      return groupId;
+    }
+
+    public String getInterpreterSetting() {
+      return interpreterSetting;
+    }
+
+    public long getEvictedAt() {
+      return evictedAt;
+    }
+
+    public long getIdleTime() {
+      return idleTime;
+    }
+
+    public String getReason() {
+      return reason;
+    }
+
+    public String getMessage() {
+      return String.format("The %s interpreter process was stopped at %s after being idle for " +
+          "%d minutes, because %s. A new process has been started, variables and other state " +
+          "of the previous session are lost.", interpreterSetting,
+          new SimpleDateFormat("yyyy-MM-dd HH:mm:ss").format(new Date(evictedAt)),
+          TimeUnit.MILLISECONDS.toMinutes(idleTime), reason);
+    }
+  }
+}
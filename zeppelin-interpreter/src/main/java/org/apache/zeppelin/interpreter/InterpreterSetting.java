@@ -49,6 +49,7 @@ import java.util.concurrent.locks.ReentrantReadWriteLock;
 
 import static org.apache.zeppelin.conf.ZeppelinConfiguration.ConfVars.ZEPPELIN_INTERPRETER_MAX_POOL_SIZE;
 import static org.apache.zeppelin.conf.ZeppelinConfiguration.ConfVars.ZEPPELIN_INTERPRETER_OUTPUT_LIMIT;
+import static org.apache.zeppelin.conf.ZeppelinConfiguration.ConfVars.ZEPPELIN_INTERPRETER_STANDBY_POOL_SIZE;
 import static org.apache.zeppelin.util.IdHashes.generateId;
 
 /**
@@ -117,6 +118,9 @@ public class InterpreterSetting {
 
   private transient Map<String, URLClassLoader> cleanCl =
       Collections.synchronizedMap(new HashMap<String, URLClassLoader>());
+
+  // started processes waiting to be bound to new isolated InterpreterGroups
+  private transient StandbyInterpreterProcessPool standbyProcessPool;
   ///////////////////////////////////////////////////////////////////////////////////////////
 
 
@@ -406,6 +410,7 @@ public class InterpreterSetting {
       intpGroup.close();
     }
     interpreterGroups.clear();
+    closeStandbyProcessPool();
     this.runtimeInfosToBeCleared = null;
     this.infos = null;
   }
@@ -674,6 +679,45 @@ public class InterpreterSetting {
     }
   }
 
+  /**
+   * Get interpreter process for a new InterpreterGroup. A started standby process is used when
+   * available, otherwise a new process which is not started yet is created.
+   */
+  RemoteInterpreterProcess acquireInterpreterProcess() {
+    RemoteInterpreterProcess process = getStandbyProcessPool().poll();
+    if (process != null) {
+      return process;
+    }
+    return createInterpreterProcess();
+  }
+
+  public synchronized StandbyInterpreterProcessPool getStandbyProcessPool() {
+    if (standbyProcessPool == null) {
+      // only isolated processes are created per user/note on demand, so only they benefit
+      // from standby processes
+      int poolSize = 0;
+      if (option.isRemote() && !option.isExistingProcess()
+          && (option.perUserIsolated() || option.perNoteIsolated())) {
+        poolSize = conf.getInt(ZEPPELIN_INTERPRETER_STANDBY_POOL_SIZE);
+      }
+      standbyProcessPool = new StandbyInterpreterProcessPool(name, poolSize,
+          new StandbyInterpreterProcessPool.ProcessFactory() {
+            @Override
+            public RemoteInterpreterProcess create() {
+              return createInterpreterProcess();
+            }
+          });
+    }
+    return standbyProcessPool;
+  }
+
+  private synchronized void closeStandbyProcessPool() {
+    if (standbyProcessPool != null) {
+      standbyProcessPool.close();
+      standbyProcessPool = null;
+    }
+  }
+
   RemoteInterpreterProcess createInterpreterProcess() {
     RemoteInterpreterProcess remoteInterpreterProcess = null;
     int connectTimeout =
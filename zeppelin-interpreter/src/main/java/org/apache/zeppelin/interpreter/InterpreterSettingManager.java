@@ -103,6 +103,7 @@ public class InterpreterSettingManager {
   private RemoteInterpreterProcessListener remoteInterpreterProcessListener;
   private ApplicationEventListener appEventListener;
   private DependencyResolver dependencyResolver;
+  private InterpreterGroupReaper reaper;
 
 
   public InterpreterSettingManager(ZeppelinConfiguration zeppelinConfiguration,
@@ -141,6 +142,18 @@ public class InterpreterSettingManager {
     this.remoteInterpreterProcessListener = remoteInterpreterProcessListener;
     this.appEventListener = appEventListener;
     init();
+
+    if (InterpreterGroupReaper.isEnabled(conf)) {
+      this.reaper = new InterpreterGroupReaper(conf, this);
+      this.reaper.start();
+    }
+  }
+
+  /**
+   * @return reaper of idle interpreter processes, null when eviction is disabled
+   */
+  public InterpreterGroupReaper getReaper() {
+    return reaper;
   }
 
   /**
@@ -860,6 +873,9 @@ public class InterpreterSettingManager {
   }
 
   public void close() {
+    if (reaper != null) {
+      reaper.stop();
+    }
     List<Thread> closeThreads = new LinkedList<>();
     synchronized (interpreterSettings) {
       Collection<InterpreterSetting> intpSettings = interpreterSettings.values();
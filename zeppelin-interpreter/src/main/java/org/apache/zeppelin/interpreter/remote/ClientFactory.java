@@ -53,7 +53,7 @@ public class ClientFactory extends BasePooledObjectFactory<Client>{
       throw new InterpreterException(e);
     }
 
-    TProtocol protocol = new  TBinaryProtocol(transport);
+    TProtocol protocol = new TimedProtocol(new TBinaryProtocol(transport));
     Client client = new RemoteInterpreterService.Client(protocol);
 
     synchronized (clientSocketMap) {
@@ -34,6 +34,7 @@ import java.util.List;
  * Proxy for AngularObjectRegistry that exists in remote interpreter process
  */
 public class RemoteAngularObjectRegistry extends AngularObjectRegistry {
+  private static final Gson gson = new Gson();
   Logger logger = LoggerFactory.getLogger(RemoteAngularObjectRegistry.class);
   private InterpreterGroup interpreterGroup;
 
@@ -70,7 +71,6 @@ public class RemoteAngularObjectRegistry extends AngularObjectRegistry {
         new RemoteInterpreterProcess.RemoteFunction<Void>() {
           @Override
           public Void call(Client client) throws Exception {
-            Gson gson = new Gson();
             client.angularObjectAdd(name, noteId, paragraphId, gson.toJson(o));
             return null;
           }
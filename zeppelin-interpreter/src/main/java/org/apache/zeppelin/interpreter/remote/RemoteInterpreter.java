@@ -34,6 +34,8 @@ import org.apache.zeppelin.interpreter.thrift.RemoteInterpreterService.Client;
 import org.apache.zeppelin.scheduler.Job;
 import org.apache.zeppelin.scheduler.Scheduler;
 import org.apache.zeppelin.scheduler.SchedulerFactory;
+import org.apache.zeppelin.tracing.Span;
+import org.apache.zeppelin.tracing.Tracer;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -93,7 +95,12 @@ public class RemoteInterpreter extends Interpreter {
     this.interpreterProcess = intpGroup.getOrCreateInterpreterProcess();
     synchronized (interpreterProcess) {
       if (!interpreterProcess.isRunning()) {
+        long start = System.currentTimeMillis();
         interpreterProcess.start(userName, false);
+        if (intpGroup.getInterpreterSetting() != null) {
+          intpGroup.getInterpreterSetting().getStandbyProcessPool()
+              .recordColdStart(System.currentTimeMillis() - start);
+        }
         interpreterProcess.getRemoteInterpreterEventPoller()
             .setInterpreterProcess(interpreterProcess);
         interpreterProcess.getRemoteInterpreterEventPoller().setInterpreterGroup(intpGroup);
@@ -178,6 +185,36 @@ public class RemoteInterpreter extends Interpreter {
       LOGGER.debug("st:\n{}", st);
     }
 
+    final InterpreterGroup intpGroup = getInterpreterGroup();
+    intpGroup.onCallStart();
+    try {
+      InterpreterResult result = interpretInternal(st, context);
+      return addEvictionNotice(intpGroup, result);
+    } finally {
+      intpGroup.onCallFinish();
+    }
+  }
+
+  /**
+   * Tell the user once when the previous interpreter process of this group was evicted
+   */
+  private InterpreterResult addEvictionNotice(InterpreterGroup intpGroup,
+                                              InterpreterResult result) {
+    InterpreterSetting setting = intpGroup.getInterpreterSetting();
+    if (result == null || setting == null || setting.getInterpreterSettingManager() == null) {
+      return result;
+    }
+    InterpreterGroupReaper reaper = setting.getInterpreterSettingManager().getReaper();
+    InterpreterGroupReaper.EvictionRecord record =
+        reaper == null ? null : reaper.takeEvictionRecord(intpGroup.getId());
+    if (record != null) {
+      result.message().add(0, new InterpreterResultMessage(InterpreterResult.Type.TEXT,
+          record.getMessage() + "\n"));
+    }
+    return result;
+  }
+
+  private InterpreterResult interpretInternal(final String st, final InterpreterContext context) {
     final FormType form = getFormType();
     RemoteInterpreterProcess interpreterProcess = getOrCreateInterpreterProcess();
     InterpreterContextRunnerPool interpreterContextRunnerPool = interpreterProcess
@@ -190,16 +227,20 @@ public class RemoteInterpreter extends Interpreter {
       interpreterContextRunnerPool.clear(noteId);
       interpreterContextRunnerPool.addAll(noteId, runners);
     }
+    interpreterProcess.waitForAngularObjectUpdates();
     return interpreterProcess.callRemoteFunction(
         new RemoteInterpreterProcess.RemoteFunction<InterpreterResult>() {
           @Override
           public InterpreterResult call(Client client) throws Exception {
 
+            Span span = Tracer.singleton().startSpan(context.getTraceId(), "interpret.rpc");
             RemoteInterpreterResult remoteResult = client.interpret(
                 sessionId, className, st, convert(context));
+            span.end();
             Map<String, Object> remoteConfig = (Map<String, Object>) gson.fromJson(
                 remoteResult.getConfig(), new TypeToken<Map<String, Object>>() {
                 }.getType());
+            recordRemoteSpans(remoteResult.getSpans());
             context.getConfig().clear();
             context.getConfig().putAll(remoteConfig);
             GUI currentGUI = context.getGui();
@@ -236,7 +277,7 @@ public class RemoteInterpreter extends Interpreter {
     interpreterProcess.callRemoteFunction(new RemoteInterpreterProcess.RemoteFunction<Void>() {
       @Override
       public Void call(Client client) throws Exception {
-        client.cancel(sessionId, className, convert(context));
+        client.cancel(sessionId, className, convertIds(context));
         return null;
       }
     });
@@ -272,14 +313,20 @@ public class RemoteInterpreter extends Interpreter {
       LOGGER.warn("getProgress is called when RemoterInterpreter is not opened for " + className);
       return 0;
     }
-    RemoteInterpreterProcess interpreterProcess = getOrCreateInterpreterProcess();
-    return interpreterProcess.callRemoteFunction(
-        new RemoteInterpreterProcess.RemoteFunction<Integer>() {
-          @Override
-          public Integer call(Client client) throws Exception {
-            return client.getProgress(sessionId, className, convert(context));
-          }
-        });
+    InterpreterGroup intpGroup = getInterpreterGroup();
+    intpGroup.onCallStart();
+    try {
+      RemoteInterpreterProcess interpreterProcess = getOrCreateInterpreterProcess();
+      return interpreterProcess.callRemoteFunction(
+          new RemoteInterpreterProcess.RemoteFunction<Integer>() {
+            @Override
+            public Integer call(Client client) throws Exception {
+              return client.getProgress(sessionId, className, convertIds(context));
+            }
+          });
+    } finally {
+      intpGroup.onCallFinish();
+    }
   }
 
 
@@ -290,15 +337,21 @@ public class RemoteInterpreter extends Interpreter {
       LOGGER.warn("completion is called when RemoterInterpreter is not opened for " + className);
       return new ArrayList<>();
     }
-    RemoteInterpreterProcess interpreterProcess = getOrCreateInterpreterProcess();
-    return interpreterProcess.callRemoteFunction(
-        new RemoteInterpreterProcess.RemoteFunction<List<InterpreterCompletion>>() {
-          @Override
-          public List<InterpreterCompletion> call(Client client) throws Exception {
-            return client.completion(sessionId, className, buf, cursor,
-                convert(interpreterContext));
-          }
-        });
+    InterpreterGroup intpGroup = getInterpreterGroup();
+    intpGroup.onCallStart();
+    try {
+      RemoteInterpreterProcess interpreterProcess = getOrCreateInterpreterProcess();
+      return interpreterProcess.callRemoteFunction(
+          new RemoteInterpreterProcess.RemoteFunction<List<InterpreterCompletion>>() {
+            @Override
+            public List<InterpreterCompletion> call(Client client) throws Exception {
+              return client.completion(sessionId, className, buf, cursor,
+                  convert(interpreterContext));
+            }
+          });
+    } finally {
+      intpGroup.onCallFinish();
+    }
   }
 
   public String getStatus(final String jobId) {
@@ -330,7 +383,33 @@ public class RemoteInterpreter extends Interpreter {
   private RemoteInterpreterContext convert(InterpreterContext ic) {
     return new RemoteInterpreterContext(ic.getNoteId(), ic.getParagraphId(), ic.getReplName(),
         ic.getParagraphTitle(), ic.getParagraphText(), gson.toJson(ic.getAuthenticationInfo()),
-        gson.toJson(ic.getConfig()), gson.toJson(ic.getGui()), gson.toJson(ic.getRunners()));
+        gson.toJson(ic.getConfig()), gson.toJson(ic.getGui()), gson.toJson(ic.getRunners()))
+        .setTraceId(ic.getTraceId());
+  }
+
+  /**
+   * Record the spans of the interpreter process, returned with the result of interpret()
+   */
+  private void recordRemoteSpans(String spansJson) {
+    if (spansJson == null) {
+      return;
+    }
+    List<Span> spans = gson.fromJson(spansJson, new TypeToken<List<Span>>() {
+    }.getType());
+    for (Span span : spans) {
+      Tracer.singleton().record(span);
+    }
+  }
+
+  /**
+   * Only the ids and the user of the context, for the calls made while the paragraph runs
+   * (progress polling, cancel). The remote side uses the context it received from interpret()
+   * instead of decoding the runners, gui and config of each call. The user is still sent for
+   * interpreters which check who cancels when the paragraph isn't running there.
+   */
+  private RemoteInterpreterContext convertIds(InterpreterContext ic) {
+    return new RemoteInterpreterContext(ic.getNoteId(), ic.getParagraphId(), ic.getReplName(),
+        null, null, gson.toJson(ic.getAuthenticationInfo()), null, null, null);
   }
 
   private InterpreterResult convert(RemoteInterpreterResult result) {
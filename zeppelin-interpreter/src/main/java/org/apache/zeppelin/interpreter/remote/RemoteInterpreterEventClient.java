@@ -32,6 +32,7 @@ import org.slf4j.LoggerFactory;
 import java.io.IOException;
 import java.nio.ByteBuffer;
 import java.util.HashMap;
+import java.util.IdentityHashMap;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
@@ -52,6 +53,11 @@ public class RemoteInterpreterEventClient implements ResourcePoolConnector {
   private final Map<ResourceId, Object> getResourceResponse = new HashMap<>();
   private final Map<InvokeResourceMethodEventMessage, Object> getInvokeResponse = new HashMap<>();
   private final Gson gson = new Gson();
+  // queued ANGULAR_OBJECT_UPDATE event of each object, further updates are merged into it
+  private final Map<String, RemoteInterpreterEvent> queuedAngularObjectUpdates = new HashMap<>();
+  // object of each queued ANGULAR_OBJECT_UPDATE event, serialized when the event is polled
+  private final Map<RemoteInterpreterEvent, AngularObject> angularObjectUpdates =
+      new IdentityHashMap<>();
 
   /**
    * Run paragraph
@@ -84,16 +90,37 @@ public class RemoteInterpreterEventClient implements ResourcePoolConnector {
    * @param object
    */
   public void angularObjectAdd(AngularObject object) {
-    sendEvent(new RemoteInterpreterEvent(
-        RemoteInterpreterEventType.ANGULAR_OBJECT_ADD, object.toJson()));
+    RemoteInterpreterEvent event = new RemoteInterpreterEvent(
+        RemoteInterpreterEventType.ANGULAR_OBJECT_ADD, object.toJson());
+    synchronized (eventQueue) {
+      // updates which follow the add are not merged into the updates queued before it
+      queuedAngularObjectUpdates.remove(
+          angularObjectKey(object.getName(), object.getNoteId(), object.getParagraphId()));
+      sendEvent(event);
+    }
   }
 
   /**
-   * notify angularObject update
+   * notify angularObject update.
+   *
+   * Updates of an object are coalesced while its update event waits in the queue, so that an
+   * object updated many times (e.g. bound to a slider) is sent once per poll of the
+   * ZeppelinServer, with its latest value.
    */
   public void angularObjectUpdate(AngularObject object) {
-    sendEvent(new RemoteInterpreterEvent(
-        RemoteInterpreterEventType.ANGULAR_OBJECT_UPDATE, object.toJson()));
+    String key = angularObjectKey(object.getName(), object.getNoteId(), object.getParagraphId());
+    synchronized (eventQueue) {
+      RemoteInterpreterEvent queued = queuedAngularObjectUpdates.get(key);
+      if (queued != null) {
+        angularObjectUpdates.put(queued, object);
+        return;
+      }
+      RemoteInterpreterEvent event = new RemoteInterpreterEvent(
+          RemoteInterpreterEventType.ANGULAR_OBJECT_UPDATE, null);
+      queuedAngularObjectUpdates.put(key, event);
+      angularObjectUpdates.put(event, object);
+      sendEvent(event);
+    }
   }
 
   /**
@@ -105,8 +132,16 @@ public class RemoteInterpreterEventClient implements ResourcePoolConnector {
     removeObject.put("noteId", noteId);
     removeObject.put("paragraphId", paragraphId);
 
-    sendEvent(new RemoteInterpreterEvent(
-        RemoteInterpreterEventType.ANGULAR_OBJECT_REMOVE, gson.toJson(removeObject)));
+    RemoteInterpreterEvent event = new RemoteInterpreterEvent(
+        RemoteInterpreterEventType.ANGULAR_OBJECT_REMOVE, gson.toJson(removeObject));
+    synchronized (eventQueue) {
+      queuedAngularObjectUpdates.remove(angularObjectKey(name, noteId, paragraphId));
+      sendEvent(event);
+    }
+  }
+
+  private static String angularObjectKey(String name, String noteId, String paragraphId) {
+    return noteId + "|" + paragraphId + "|" + name;
   }
 
 
@@ -351,6 +386,8 @@ public class RemoteInterpreterEventClient implements ResourcePoolConnector {
    * @return next available event
    */
   public RemoteInterpreterEvent pollEvent() {
+    RemoteInterpreterEvent event;
+    AngularObject angularObject;
     synchronized (eventQueue) {
       if (eventQueue.isEmpty()) {
         try {
@@ -361,21 +398,40 @@ public class RemoteInterpreterEventClient implements ResourcePoolConnector {
 
       if (eventQueue.isEmpty()) {
         return new RemoteInterpreterEvent(RemoteInterpreterEventType.NO_OP, "");
-      } else {
-        RemoteInterpreterEvent event = eventQueue.remove(0);
-        logger.debug("Send event {}", event.getType());
-        return event;
+      }
+      event = eventQueue.remove(0);
+      angularObject = angularObjectUpdates.remove(event);
+      if (angularObject != null) {
+        String key = angularObjectKey(angularObject.getName(), angularObject.getNoteId(),
+            angularObject.getParagraphId());
+        if (queuedAngularObjectUpdates.get(key) == event) {
+          queuedAngularObjectUpdates.remove(key);
+        }
       }
     }
+    if (angularObject != null) {
+      event.setData(angularObject.toJson());
+    }
+    logger.debug("Send event {}", event.getType());
+    return event;
   }
 
   public void onInterpreterOutputAppend(
       String noteId, String paragraphId, int outputIndex, String output) {
+    onInterpreterOutputAppend(noteId, paragraphId, outputIndex, output, null);
+  }
+
+  /**
+   * @param traceId trace of the paragraph run which made the output, may be null
+   */
+  public void onInterpreterOutputAppend(
+      String noteId, String paragraphId, int outputIndex, String output, String traceId) {
     Map<String, String> appendOutput = new HashMap<>();
     appendOutput.put("noteId", noteId);
     appendOutput.put("paragraphId", paragraphId);
     appendOutput.put("index", Integer.toString(outputIndex));
     appendOutput.put("data", output);
+    putTrace(appendOutput, traceId);
 
     sendEvent(new RemoteInterpreterEvent(
         RemoteInterpreterEventType.OUTPUT_APPEND,
@@ -385,12 +441,22 @@ public class RemoteInterpreterEventClient implements ResourcePoolConnector {
   public void onInterpreterOutputUpdate(
       String noteId, String paragraphId, int outputIndex,
       InterpreterResult.Type type, String output) {
+    onInterpreterOutputUpdate(noteId, paragraphId, outputIndex, type, output, null);
+  }
+
+  /**
+   * @param traceId trace of the paragraph run which made the output, may be null
+   */
+  public void onInterpreterOutputUpdate(
+      String noteId, String paragraphId, int outputIndex,
+      InterpreterResult.Type type, String output, String traceId) {
     Map<String, String> appendOutput = new HashMap<>();
     appendOutput.put("noteId", noteId);
     appendOutput.put("paragraphId", paragraphId);
     appendOutput.put("index", Integer.toString(outputIndex));
     appendOutput.put("type", type.name());
     appendOutput.put("data", output);
+    putTrace(appendOutput, traceId);
 
     sendEvent(new RemoteInterpreterEvent(
         RemoteInterpreterEventType.OUTPUT_UPDATE,
@@ -409,6 +475,17 @@ public class RemoteInterpreterEventClient implements ResourcePoolConnector {
         gson.toJson(appendOutput)));
   }
 
+  /**
+   * Tag an output event with the trace id and the time it's sent, so that ZeppelinServer
+   * records how long the event took to reach it
+   */
+  private void putTrace(Map<String, String> event, String traceId) {
+    if (traceId != null) {
+      event.put("traceId", traceId);
+      event.put("sentTime", Long.toString(System.currentTimeMillis()));
+    }
+  }
+
   private void sendEvent(RemoteInterpreterEvent event) {
     logger.debug("Send Event: " + event);
     synchronized (eventQueue) {
@@ -469,6 +546,21 @@ public class RemoteInterpreterEventClient implements ResourcePoolConnector {
     sendEvent(new RemoteInterpreterEvent(RemoteInterpreterEventType.PARA_INFOS,
         gson.toJson(infos)));
   }
+
+  /**
+   * Report the metrics of the interpreter process to ZeppelinServer
+   */
+  public void onMetrics(Map<String, Number> metrics) {
+    sendEvent(new RemoteInterpreterEvent(RemoteInterpreterEventType.METRICS,
+        gson.toJson(metrics)));
+  }
+
+  public int getEventQueueSize() {
+    synchronized (eventQueue) {
+      return eventQueue.size();
+    }
+  }
+
   /**
    * Wait for eventQueue becomes empty
    */
@@ -482,8 +574,11 @@ public class RemoteInterpreterEventClient implements ResourcePoolConnector {
           // ignore exception
         }
       }
-      if (!eventQueue.isEmpty())
+      if (!eventQueue.isEmpty()) {
         eventQueue.clear();
+        queuedAngularObjectUpdates.clear();
+        angularObjectUpdates.clear();
+      }
     }
   }
 }
@@ -32,10 +32,13 @@ import org.apache.zeppelin.interpreter.thrift.RemoteInterpreterEventType;
 import org.apache.zeppelin.interpreter.thrift.RemoteInterpreterService;
 import org.apache.zeppelin.interpreter.thrift.RemoteInterpreterService.Client;
 import org.apache.zeppelin.interpreter.thrift.ZeppelinServerResourceParagraphRunner;
+import org.apache.zeppelin.metrics.MetricsRegistry;
 import org.apache.zeppelin.resource.Resource;
 import org.apache.zeppelin.resource.ResourceId;
 import org.apache.zeppelin.resource.ResourcePool;
 import org.apache.zeppelin.resource.ResourceSet;
+import org.apache.zeppelin.tracing.Span;
+import org.apache.zeppelin.tracing.Tracer;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -167,6 +170,7 @@ public class RemoteInterpreterEventPoller extends Thread {
           String paragraphId = (String) outputAppend.get("paragraphId");
           int index = Integer.parseInt(outputAppend.get("index"));
           String outputToAppend = (String) outputAppend.get("data");
+          recordOutputEventSpan(outputAppend);
 
           String appId = (String) outputAppend.get("appId");
 
@@ -207,6 +211,7 @@ public class RemoteInterpreterEventPoller extends Thread {
               InterpreterResult.Type.valueOf((String) outputAppend.get("type"));
           String outputToUpdate = (String) outputAppend.get("data");
           String appId = (String) outputAppend.get("appId");
+          recordOutputEventSpan(outputAppend);
 
           if (appId == null) {
             listener.onOutputUpdated(noteId, paragraphId, index, type, outputToUpdate);
@@ -248,6 +253,11 @@ public class RemoteInterpreterEventPoller extends Thread {
           if (noteId != null && paraId != null && settingId != null) {
             listener.onParaInfosReceived(noteId, paraId, settingId, paraInfos);
           }
+        } else if (event.getType() == RemoteInterpreterEventType.METRICS) {
+          Map<String, Number> metrics = gson.fromJson(event.getData(),
+              new TypeToken<Map<String, Double>>() {
+              }.getType());
+          MetricsRegistry.singleton().putRemoteValues(getMetricsPrefix(), metrics);
         }
         logger.debug("Event from remote process {}", event.getType());
       } catch (Exception e) {
@@ -262,6 +272,27 @@ public class RemoteInterpreterEventPoller extends Thread {
     if (appendFuture != null) {
       appendFuture.cancel(true);
     }
+    MetricsRegistry.singleton().removeRemoteValues(getMetricsPrefix());
+  }
+
+  // metrics of the interpreter process are exported with the id of its interpreter group
+  private String getMetricsPrefix() {
+    return "interpreter." + (interpreterGroup == null ? "" : interpreterGroup.getId());
+  }
+
+  /**
+   * Record the time a traced output event took from the interpreter process to ZeppelinServer
+   */
+  private void recordOutputEventSpan(Map<String, String> event) {
+    String traceId = event.get("traceId");
+    String sentTime = event.get("sentTime");
+    if (traceId == null || sentTime == null) {
+      return;
+    }
+    long sent = Long.parseLong(sentTime);
+    long elapsedMillis = Math.max(System.currentTimeMillis() - sent, 0);
+    Tracer.singleton().record(new Span(traceId, "output.event", sent,
+        TimeUnit.MILLISECONDS.toNanos(elapsedMillis)));
   }
 
   private void clearUnreadEvents(Client client) throws TException {
@@ -141,6 +141,8 @@ public class RemoteInterpreterManagedProcess extends RemoteInterpreterProcess
 
 
     long startTime = System.currentTimeMillis();
+    // poll often at first, most interpreter processes are reachable in well under a second
+    long checkInterval = 50;
     while (System.currentTimeMillis() - startTime < getConnectTimeout()) {
       if (!running) {
         try {
@@ -156,7 +158,8 @@ public class RemoteInterpreterManagedProcess extends RemoteInterpreterProcess
           break;
         } else {
           try {
-            Thread.sleep(500);
+            Thread.sleep(checkInterval);
+            checkInterval = Math.min(checkInterval * 2, 500);
           } catch (InterruptedException e) {
             logger.error("Exception in RemoteInterpreterProcess while synchronized reference " +
                     "Thread.sleep", e);
@@ -27,18 +27,68 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.io.IOException;
-import java.util.concurrent.atomic.AtomicInteger;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
 
 /**
  * Abstract class for interpreter process
  */
 public abstract class RemoteInterpreterProcess {
   private static final Logger logger = LoggerFactory.getLogger(RemoteInterpreterProcess.class);
+  private static final Gson gson = new Gson();
+  // angular object updates are sent this long after the first pending one, with the latest
+  // value of each object
+  static final long ANGULAR_OBJECT_UPDATE_INTERVAL_MS = 100;
+  // delay before sending again the updates which failed to be sent
+  static final long ANGULAR_OBJECT_UPDATE_RETRY_MS = 1000;
+  private static final ScheduledExecutorService angularObjectUpdateSender =
+      Executors.newSingleThreadScheduledExecutor(new ThreadFactory() {
+        @Override
+        public Thread newThread(Runnable r) {
+          Thread t = new Thread(r, "AngularObjectUpdateSender");
+          t.setDaemon(true);
+          return t;
+        }
+      });
 
   private GenericObjectPool<Client> clientPool;
   private final RemoteInterpreterEventPoller remoteInterpreterEventPoller;
   private final InterpreterContextRunnerPool interpreterContextRunnerPool;
   private int connectTimeout;
+  // latest update of each angular object, waiting for the next flush
+  private final Map<String, AngularObjectUpdate> pendingAngularObjectUpdates =
+      new LinkedHashMap<>();
+  private boolean angularObjectFlushScheduled;
+  // one flush at a time, so that updates reach the remote process in order
+  private final Object angularObjectFlushLock = new Object();
+
+  /**
+   * Value of an angular object to send to the remote process
+   */
+  private static class AngularObjectUpdate {
+    private final String name;
+    private final String noteId;
+    private final String paragraphId;
+    private final Object value;
+
+    AngularObjectUpdate(String name, String noteId, String paragraphId, Object value) {
+      this.name = name;
+      this.noteId = noteId;
+      this.paragraphId = paragraphId;
+      this.value = value;
+    }
+
+    String key() {
+      return noteId + "|" + paragraphId + "|" + name;
+    }
+  }
 
   public RemoteInterpreterProcess(
       int connectTimeout,
@@ -103,11 +153,104 @@ public abstract class RemoteInterpreterProcess {
 
   /**
    * Called when angular object is updated in client side to propagate
-   * change to the remote process
+   * change to the remote process.
+   *
+   * The update is not sent right away. Only the latest value of each object is kept, and all
+   * pending updates are sent together ANGULAR_OBJECT_UPDATE_INTERVAL_MS later, so an object
+   * updated many times in a row (e.g. bound to a slider) makes one rpc per interval instead of
+   * one per change. Updates which failed to be sent are sent again while the process runs.
    * @param name
    * @param o
    */
   public void updateRemoteAngularObject(String name, String noteId, String paragraphId, Object o) {
+    AngularObjectUpdate update = new AngularObjectUpdate(name, noteId, paragraphId, o);
+    synchronized (pendingAngularObjectUpdates) {
+      pendingAngularObjectUpdates.put(update.key(), update);
+    }
+    scheduleAngularObjectFlush(ANGULAR_OBJECT_UPDATE_INTERVAL_MS);
+  }
+
+  private void scheduleAngularObjectFlush(long delayMs) {
+    synchronized (pendingAngularObjectUpdates) {
+      if (angularObjectFlushScheduled) {
+        return;
+      }
+      angularObjectFlushScheduled = true;
+    }
+    angularObjectUpdateSender.schedule(new Runnable() {
+      @Override
+      public void run() {
+        synchronized (pendingAngularObjectUpdates) {
+          angularObjectFlushScheduled = false;
+        }
+        try {
+          flushAngularObjectUpdates();
+        } catch (Exception e) {
+          logger.error("Can't update angular object", e);
+        }
+      }
+    }, delayMs, TimeUnit.MILLISECONDS);
+  }
+
+  /**
+   * Send the pending angular object updates. When some can't be sent, they're kept and sent
+   * again ANGULAR_OBJECT_UPDATE_RETRY_MS later, unless the process is not running anymore.
+   *
+   * @return whether all pending updates reached the remote process
+   */
+  boolean flushAngularObjectUpdates() {
+    synchronized (angularObjectFlushLock) {
+      List<AngularObjectUpdate> updates;
+      synchronized (pendingAngularObjectUpdates) {
+        if (pendingAngularObjectUpdates.isEmpty()) {
+          return true;
+        }
+        updates = new ArrayList<>(pendingAngularObjectUpdates.values());
+        pendingAngularObjectUpdates.clear();
+      }
+      List<AngularObjectUpdate> unsent = sendAngularObjectUpdates(updates);
+      if (unsent.isEmpty()) {
+        return true;
+      }
+      if (isRunning()) {
+        requeueAngularObjectUpdates(unsent);
+        scheduleAngularObjectFlush(ANGULAR_OBJECT_UPDATE_RETRY_MS);
+      } else {
+        logger.warn("Drop {} angular object updates, the interpreter process is not running",
+            unsent.size());
+      }
+      return false;
+    }
+  }
+
+  /**
+   * Keep the updates which failed to be sent, unless the object was updated again meanwhile
+   */
+  private void requeueAngularObjectUpdates(List<AngularObjectUpdate> unsent) {
+    synchronized (pendingAngularObjectUpdates) {
+      Map<String, AngularObjectUpdate> newer = new LinkedHashMap<>(pendingAngularObjectUpdates);
+      pendingAngularObjectUpdates.clear();
+      for (AngularObjectUpdate update : unsent) {
+        pendingAngularObjectUpdates.put(update.key(), update);
+      }
+      pendingAngularObjectUpdates.putAll(newer);
+    }
+  }
+
+  /**
+   * Send the pending angular object updates now, waiting for a flush in progress, so that
+   * a paragraph runs with the values the user set before running it.
+   */
+  public void waitForAngularObjectUpdates() {
+    if (!flushAngularObjectUpdates()) {
+      logger.warn("Some angular object updates didn't reach the interpreter process yet");
+    }
+  }
+
+  /**
+   * @return the updates which weren't sent because of a connection error
+   */
+  private List<AngularObjectUpdate> sendAngularObjectUpdates(List<AngularObjectUpdate> updates) {
     Client client = null;
     try {
       client = getClient();
@@ -115,26 +258,30 @@ public abstract class RemoteInterpreterProcess {
       // remote process not started
       logger.info("NullPointerException in RemoteInterpreterProcess while " +
           "updateRemoteAngularObject getClient, remote process not started", e);
-      return;
+      return Collections.emptyList();
     } catch (Exception e) {
       logger.error("Can't update angular object", e);
+      return updates;
     }
 
     boolean broken = false;
+    int sent = 0;
     try {
-      Gson gson = new Gson();
-      client.angularObjectUpdate(name, noteId, paragraphId, gson.toJson(o));
+      for (AngularObjectUpdate update : updates) {
+        client.angularObjectUpdate(update.name, update.noteId, update.paragraphId,
+            gson.toJson(update.value));
+        sent++;
+      }
     } catch (TException e) {
       broken = true;
       logger.error("Can't update angular object", e);
-    } catch (NullPointerException e) {
-      logger.error("Remote interpreter process not started", e);
-      return;
+      return updates.subList(sent, updates.size());
+    } catch (RuntimeException e) {
+      logger.error("Can't update angular object", e);
     } finally {
-      if (client != null) {
-        releaseClient(client, broken);
-      }
+      releaseClient(client, broken);
     }
+    return Collections.emptyList();
   }
 
   public InterpreterContextRunnerPool getInterpreterContextRunnerPool() {
@@ -26,6 +26,10 @@ import java.nio.ByteBuffer;
 import java.util.*;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
 
 import org.apache.thrift.TException;
 import org.apache.thrift.server.TThreadPoolServer;
@@ -39,12 +43,16 @@ import org.apache.zeppelin.interpreter.InterpreterHookRegistry.HookType;
 import org.apache.zeppelin.interpreter.InterpreterHookListener;
 import org.apache.zeppelin.interpreter.InterpreterResult.Code;
 import org.apache.zeppelin.interpreter.thrift.*;
+import org.apache.zeppelin.metrics.Gauge;
+import org.apache.zeppelin.metrics.MetricsRegistry;
 import org.apache.zeppelin.resource.*;
 import org.apache.zeppelin.scheduler.Job;
 import org.apache.zeppelin.scheduler.Job.Status;
 import org.apache.zeppelin.scheduler.JobListener;
 import org.apache.zeppelin.scheduler.JobProgressPoller;
 import org.apache.zeppelin.scheduler.Scheduler;
+import org.apache.zeppelin.tracing.Span;
+import org.apache.zeppelin.tracing.Tracer;
 import org.apache.zeppelin.user.AuthenticationInfo;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -83,9 +91,22 @@ public class RemoteInterpreterServer
   private ZeppelinRemoteWorksController remoteWorksController;
 
   private final long DEFAULT_SHUTDOWN_TIMEOUT = 2000;
+  // interval of the reports of the metrics of this process to ZeppelinServer
+  private static final long METRICS_REPORT_INTERVAL_MS = 10000;
+  private final ScheduledExecutorService metricsReporter =
+      Executors.newSingleThreadScheduledExecutor(new ThreadFactory() {
+        @Override
+        public Thread newThread(Runnable r) {
+          Thread t = new Thread(r, "RemoteInterpreterServerMetrics");
+          t.setDaemon(true);
+          return t;
+        }
+      });
 
   // Hold information for manual progress update
   private ConcurrentMap<String, Integer> progressMap = new ConcurrentHashMap<>();
+  // context of each paragraph between interpret() and its end, by session, class and paragraph
+  private ConcurrentMap<String, InterpreterContext> runningContexts = new ConcurrentHashMap<>();
 
   public RemoteInterpreterServer(int port) throws TTransportException {
     this.port = port;
@@ -101,12 +122,34 @@ public class RemoteInterpreterServer
   @Override
   public void run() {
     logger.info("Starting remote interpreter server on port {}", port);
+    startMetricsReporter();
     server.serve();
   }
 
+  private void startMetricsReporter() {
+    final MetricsRegistry metrics = MetricsRegistry.singleton();
+    metrics.register("event.queue", new Gauge() {
+      @Override
+      public long getValue() {
+        return eventClient.getEventQueueSize();
+      }
+    });
+    metricsReporter.scheduleWithFixedDelay(new Runnable() {
+      @Override
+      public void run() {
+        try {
+          eventClient.onMetrics(new HashMap<String, Number>(metrics.getLocalValues()));
+        } catch (RuntimeException e) {
+          logger.warn("Fail to report metrics", e);
+        }
+      }
+    }, METRICS_REPORT_INTERVAL_MS, METRICS_REPORT_INTERVAL_MS, TimeUnit.MILLISECONDS);
+  }
+
   @Override
   public void shutdown() throws TException {
     logger.info("Shutting down...");
+    metricsReporter.shutdownNow();
     eventClient.waitForEventQueueBecomesEmpty(DEFAULT_SHUTDOWN_TIMEOUT);
     if (interpreterGroup != null) {
       interpreterGroup.close();
@@ -154,6 +197,7 @@ public class RemoteInterpreterServer
       port = Integer.parseInt(args[0]);
     }
     RemoteInterpreterServer remoteInterpreterServer = new RemoteInterpreterServer(port);
+    MetricsRegistry.singleton().registerMBean();
     remoteInterpreterServer.start();
     remoteInterpreterServer.join();
     System.exit(0);
@@ -304,6 +348,7 @@ public class RemoteInterpreterServer
     Interpreter intp = getInterpreter(noteId, className);
     InterpreterContext context = convert(interpreterContext);
     context.setClassName(intp.getClassName());
+    Span queued = Tracer.singleton().startSpan(context.getTraceId(), "interpreter.queued");
 
     Scheduler scheduler = intp.getScheduler();
     InterpretJobListener jobListener = new InterpretJobListener();
@@ -314,17 +359,26 @@ public class RemoteInterpreterServer
         JobProgressPoller.DEFAULT_INTERVAL_MSEC,
         intp,
         st,
-        context);
-    scheduler.submit(job);
-
-    while (!job.isTerminated()) {
-      synchronized (jobListener) {
-        try {
-          jobListener.wait(1000);
-        } catch (InterruptedException e) {
-          logger.info("Exception in RemoteInterpreterServer while interpret, jobListener.wait", e);
+        context,
+        queued);
+    String runningContextKey =
+        getRunningContextKey(noteId, className, interpreterContext.getParagraphId());
+    runningContexts.put(runningContextKey, context);
+    try {
+      scheduler.submit(job);
+
+      while (!job.isTerminated()) {
+        synchronized (jobListener) {
+          try {
+            jobListener.wait(1000);
+          } catch (InterruptedException e) {
+            logger.info("Exception in RemoteInterpreterServer while interpret, " +
+                "jobListener.wait", e);
+          }
         }
       }
+    } finally {
+      runningContexts.remove(runningContextKey, context);
     }
 
     progressMap.remove(interpreterContext.getParagraphId());
@@ -340,9 +394,15 @@ public class RemoteInterpreterServer
         result = new InterpreterResult(Code.KEEP_PREVIOUS_RESULT);
       }
     }
-    return convert(result,
+    RemoteInterpreterResult remoteResult = convert(result,
         context.getConfig(),
         context.getGui());
+    // the spans of the run go back with its result, so the client has them once it's done
+    List<Span> spans = Tracer.singleton().takeSpans(context.getTraceId());
+    if (!spans.isEmpty()) {
+      remoteResult.setSpans(gson.toJson(spans));
+    }
+    return remoteResult;
   }
 
   @Override
@@ -403,6 +463,7 @@ public class RemoteInterpreterServer
     private Interpreter interpreter;
     private String script;
     private InterpreterContext context;
+    private Span queued;
     private Map<String, Object> infos;
     private Object results;
 
@@ -413,11 +474,13 @@ public class RemoteInterpreterServer
         long progressUpdateIntervalMsec,
         Interpreter interpreter,
         String script,
-        InterpreterContext context) {
+        InterpreterContext context,
+        Span queued) {
       super(jobId, jobName, listener, progressUpdateIntervalMsec);
       this.interpreter = interpreter;
       this.script = script;
       this.context = context;
+      this.queued = queued;
     }
 
     @Override
@@ -478,6 +541,9 @@ public class RemoteInterpreterServer
 
     @Override
     protected Object jobRun() throws Throwable {
+      queued.end();
+      Tracer tracer = Tracer.singleton();
+      Span execute = tracer.startSpan(context.getTraceId(), "interpreter.execute");
       try {
         InterpreterContext.set(context);
 
@@ -499,8 +565,10 @@ public class RemoteInterpreterServer
           processInterpreterHooks(context.getNoteId());
           result = interpreter.interpret(script, context);
         }
+        execute.end();
 
         // data from context.out is prepended to InterpreterResult if both defined
+        Span flush = tracer.startSpan(context.getTraceId(), "interpreter.flush");
         context.out.flush();
         List<InterpreterResultMessage> resultMessages = context.out.toInterpreterResultMessage();
         resultMessages.addAll(result.message());
@@ -524,8 +592,10 @@ public class RemoteInterpreterServer
                 resultMessages.get(lastMessageIndex));
           }
         }
+        flush.end();
         return new InterpreterResult(result.code(), resultMessages);
       } finally {
+        execute.end();
         InterpreterContext.remove();
       }
     }
@@ -553,7 +623,7 @@ public class RemoteInterpreterServer
     if (job != null) {
       job.setStatus(Status.ABORT);
     } else {
-      intp.cancel(convert(interpreterContext, null));
+      intp.cancel(getContext(noteId, className, interpreterContext));
     }
   }
 
@@ -570,7 +640,7 @@ public class RemoteInterpreterServer
         throw new TException("No interpreter {} existed for session {}".format(
             className, sessionId));
       }
-      return intp.getProgress(convert(interpreterContext, null));
+      return intp.getProgress(getContext(sessionId, className, interpreterContext));
     }
   }
 
@@ -590,38 +660,71 @@ public class RemoteInterpreterServer
     return completion;
   }
 
+  /**
+   * @return context given to interpret() when the paragraph is running, the context sent by
+   *         the client otherwise
+   */
+  private InterpreterContext getContext(String sessionId, String className,
+                                        RemoteInterpreterContext ric) {
+    InterpreterContext context =
+        runningContexts.get(getRunningContextKey(sessionId, className, ric.getParagraphId()));
+    if (context != null) {
+      return context;
+    }
+    return convert(ric, null);
+  }
+
+  /**
+   * A paragraph may run in several interpreters of the session, and in several sessions
+   */
+  private String getRunningContextKey(String sessionId, String className, String paragraphId) {
+    return sessionId + "\t" + className + "\t" + paragraphId;
+  }
+
   private InterpreterContext convert(RemoteInterpreterContext ric) {
-    return convert(ric, createInterpreterOutput(ric.getNoteId(), ric.getParagraphId()));
+    return convert(ric, createInterpreterOutput(ric.getNoteId(), ric.getParagraphId(),
+        ric.getTraceId()));
   }
 
   private InterpreterContext convert(RemoteInterpreterContext ric, InterpreterOutput output) {
     List<InterpreterContextRunner> contextRunners = new LinkedList<>();
-    List<InterpreterContextRunner> runners = gson.fromJson(ric.getRunners(),
-            new TypeToken<List<RemoteInterpreterContextRunner>>() {
-        }.getType());
+    if (ric.isSetRunners()) {
+      List<InterpreterContextRunner> runners = gson.fromJson(ric.getRunners(),
+              new TypeToken<List<RemoteInterpreterContextRunner>>() {
+          }.getType());
 
-    for (InterpreterContextRunner r : runners) {
-      contextRunners.add(new ParagraphRunner(this, r.getNoteId(), r.getParagraphId()));
+      for (InterpreterContextRunner r : runners) {
+        contextRunners.add(new ParagraphRunner(this, r.getNoteId(), r.getParagraphId()));
+      }
     }
 
-    return new InterpreterContext(
+    // the client only sends the ids of the context while a paragraph runs
+    InterpreterContext context = new InterpreterContext(
         ric.getNoteId(),
         ric.getParagraphId(),
         ric.getReplName(),
         ric.getParagraphTitle(),
         ric.getParagraphText(),
-        AuthenticationInfo.fromJson(ric.getAuthenticationInfo()),
-        (Map<String, Object>) gson.fromJson(ric.getConfig(),
-            new TypeToken<Map<String, Object>>() {}.getType()),
-        GUI.fromJson(ric.getGui()),
+        ric.isSetAuthenticationInfo() ?
+            AuthenticationInfo.fromJson(ric.getAuthenticationInfo()) : new AuthenticationInfo(),
+        ric.isSetConfig() ?
+            (Map<String, Object>) gson.fromJson(ric.getConfig(),
+                new TypeToken<Map<String, Object>>() {}.getType()) :
+            new HashMap<String, Object>(),
+        ric.isSetGui() ? GUI.fromJson(ric.getGui()) : new GUI(),
         interpreterGroup.getAngularObjectRegistry(),
         interpreterGroup.getResourcePool(),
         contextRunners, output, remoteWorksController, eventClient, progressMap);
+    context.setTraceId(ric.getTraceId());
+    return context;
   }
 
 
+  /**
+   * @param traceId trace of the paragraph run, the output events are tagged with it
+   */
   protected InterpreterOutput createInterpreterOutput(final String noteId, final String
-      paragraphId) {
+      paragraphId, final String traceId) {
     return new InterpreterOutput(new InterpreterOutputListener() {
       @Override
       public void onUpdateAll(InterpreterOutput out) {
@@ -638,7 +741,7 @@ public class RemoteInterpreterServer
         String output = new String(line);
         logger.debug("Output Append: {}", output);
         eventClient.onInterpreterOutputAppend(
-            noteId, paragraphId, index, output);
+            noteId, paragraphId, index, output, traceId);
       }
 
       @Override
@@ -648,7 +751,7 @@ public class RemoteInterpreterServer
           output = new String(out.toByteArray());
           logger.debug("Output Update: {}", output);
           eventClient.onInterpreterOutputUpdate(
-              noteId, paragraphId, index, out.getType(), output);
+              noteId, paragraphId, index, out.getType(), output, traceId);
         } catch (IOException e) {
           logger.error(e.getMessage(), e);
         }
@@ -0,0 +1,203 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.zeppelin.interpreter.remote;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Keeps a number of already started interpreter processes of one InterpreterSetting that are
+ * not bound to any InterpreterGroup yet. A new InterpreterGroup takes a process from here
+ * instead of launching one, and the pool launches a replacement in the background.
+ *
+ * Also records how many processes were handed out warm and how many had to be cold started.
+ */
+public class StandbyInterpreterProcessPool {
+  private static final Logger LOGGER = LoggerFactory.getLogger(
+      StandbyInterpreterProcessPool.class);
+
+  /**
+   * Creates a new, not yet started interpreter process
+   */
+  public interface ProcessFactory {
+    RemoteInterpreterProcess create();
+  }
+
+  private final String name;
+  private final int size;
+  private final ProcessFactory factory;
+  private final ConcurrentLinkedQueue<RemoteInterpreterProcess> standbyProcesses =
+      new ConcurrentLinkedQueue<>();
+  private final AtomicInteger launching = new AtomicInteger(0);
+  private final ExecutorService launcher;
+  private volatile boolean closed = false;
+
+  private final AtomicLong warmStarts = new AtomicLong(0);
+  private final AtomicLong coldStarts = new AtomicLong(0);
+  private final AtomicLong coldStartTimeMs = new AtomicLong(0);
+
+  public StandbyInterpreterProcessPool(final String name, int size, ProcessFactory factory) {
+    this.name = name;
+    this.size = size;
+    this.factory = factory;
+    this.launcher = Executors.newSingleThreadExecutor(new ThreadFactory() {
+      @Override
+      public Thread newThread(Runnable r) {
+        Thread t = new Thread(r, "StandbyInterpreterProcessLauncher-" + name);
+        t.setDaemon(true);
+        return t;
+      }
+    });
+  }
+
+  public boolean isEnabled() {
+    return size > 0;
+  }
+
+  /**
+   * Take a started standby process. Returns null when there's none available, in which case
+   * the caller is expected to create and start its own process.
+   */
+  public RemoteInterpreterProcess poll() {
+    if (!isEnabled() || closed) {
+      return null;
+    }
+    RemoteInterpreterProcess process;
+    while ((process = standbyProcesses.poll()) != null) {
+      if (process.isRunning()) {
+        break;
+      }
+      LOGGER.warn("Drop standby interpreter process of {} as it is not running anymore", name);
+    }
+    refill();
+    if (process != null) {
+      warmStarts.incrementAndGet();
+      LOGGER.info("Use standby interpreter process for {}, {} left", name,
+          standbyProcesses.size());
+    }
+    return process;
+  }
+
+  /**
+   * Launch processes in the background until the pool is full again
+   */
+  public void refill() {
+    if (!isEnabled() || closed) {
+      return;
+    }
+    while (standbyProcesses.size() + launching.get() < size) {
+      launching.incrementAndGet();
+      launcher.execute(new Runnable() {
+        @Override
+        public void run() {
+          try {
+            launch();
+          } finally {
+            launching.decrementAndGet();
+          }
+        }
+      });
+    }
+  }
+
+  private void launch() {
+    if (closed) {
+      return;
+    }
+    RemoteInterpreterProcess process = factory.create();
+    try {
+      long start = System.currentTimeMillis();
+      process.start("anonymous", false);
+      LOGGER.info("Standby interpreter process for {} started in {} ms", name,
+          System.currentTimeMillis() - start);
+    } catch (Exception e) {
+      LOGGER.error("Fail to start standby interpreter process for " + name, e);
+      process.stop();
+      return;
+    }
+    standbyProcesses.add(process);
+    if (closed) {
+      // closed while this process was starting
+      stopStandbyProcesses();
+    }
+  }
+
+  /**
+   * Record that an interpreter process had to be started on demand
+   */
+  public void recordColdStart(long elapsedMs) {
+    coldStarts.incrementAndGet();
+    coldStartTimeMs.addAndGet(elapsedMs);
+  }
+
+  public long getWarmStarts() {
+    return warmStarts.get();
+  }
+
+  public long getColdStarts() {
+    return coldStarts.get();
+  }
+
+  public long getColdStartTimeMs() {
+    return coldStartTimeMs.get();
+  }
+
+  public int getStandbyCount() {
+    return standbyProcesses.size();
+  }
+
+  public Map<String, Object> getStats() {
+    Map<String, Object> stats = new HashMap<>();
+    stats.put("poolSize", size);
+    stats.put("standby", getStandbyCount());
+    stats.put("warmStarts", getWarmStarts());
+    stats.put("coldStarts", getColdStarts());
+    long cold = getColdStarts();
+    stats.put("avgColdStartMs", cold == 0 ? 0 : getColdStartTimeMs() / cold);
+    return stats;
+  }
+
+  private void stopStandbyProcesses() {
+    RemoteInterpreterProcess process;
+    while ((process = standbyProcesses.poll()) != null) {
+      try {
+        process.stop();
+      } catch (Exception e) {
+        LOGGER.warn("Fail to stop standby interpreter process of " + name, e);
+      }
+    }
+  }
+
+  /**
+   * Stop all the standby processes. The pool can't be used anymore after this.
+   */
+  public void close() {
+    closed = true;
+    launcher.shutdownNow();
+    stopStandbyProcesses();
+  }
+}
@@ -0,0 +1,55 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.zeppelin.interpreter.remote;
+
+import org.apache.thrift.TException;
+import org.apache.thrift.protocol.TMessage;
+import org.apache.thrift.protocol.TProtocol;
+import org.apache.thrift.protocol.TProtocolDecorator;
+import org.apache.zeppelin.metrics.MetricsRegistry;
+
+/**
+ * Client protocol which times each rpc, from writing the request to reading the end of the
+ * response, in the "thrift.METHOD" timer of the metrics registry.
+ *
+ * A client is used by one thread at a time, so there's one rpc in flight per protocol.
+ */
+class TimedProtocol extends TProtocolDecorator {
+  private String method;
+  private long start;
+
+  TimedProtocol(TProtocol protocol) {
+    super(protocol);
+  }
+
+  @Override
+  public void writeMessageBegin(TMessage message) throws TException {
+    method = message.name;
+    start = System.nanoTime();
+    super.writeMessageBegin(message);
+  }
+
+  @Override
+  public void readMessageEnd() throws TException {
+    super.readMessageEnd();
+    if (method != null) {
+      MetricsRegistry.singleton().timer("thrift." + method).update(System.nanoTime() - start);
+      method = null;
+    }
+  }
+}
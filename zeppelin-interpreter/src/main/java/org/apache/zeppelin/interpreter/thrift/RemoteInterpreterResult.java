@@ -59,6 +59,7 @@ public class RemoteInterpreterResult implements org.apache.thrift.TBase<RemoteIn
   private static final org.apache.thrift.protocol.TField MSG_FIELD_DESC = new org.apache.thrift.protocol.TField("msg", org.apache.thrift.protocol.TType.LIST, (short)2);
   private static final org.apache.thrift.protocol.TField CONFIG_FIELD_DESC = new org.apache.thrift.protocol.TField("config", org.apache.thrift.protocol.TType.STRING, (short)3);
   private static final org.apache.thrift.protocol.TField GUI_FIELD_DESC = new org.apache.thrift.protocol.TField("gui", org.apache.thrift.protocol.TType.STRING, (short)4);
+  private static final org.apache.thrift.protocol.TField SPANS_FIELD_DESC = new org.apache.thrift.protocol.TField("spans", org.apache.thrift.protocol.TType.STRING, (short)5);
 
   private static final Map<Class<? extends IScheme>, SchemeFactory> schemes = new HashMap<Class<? extends IScheme>, SchemeFactory>();
   static {
@@ -70,13 +71,15 @@ public class RemoteInterpreterResult implements org.apache.thrift.TBase<RemoteIn
   public List<RemoteInterpreterResultMessage> msg; // required
   public String config; // required
   public String gui; // required
+  public String spans; // optional
 
   /** The set of fields this struct contains, along with convenience methods for finding and manipulating them. */
   public enum _Fields implements org.apache.thrift.TFieldIdEnum {
     CODE((short)1, "code"),
     MSG((short)2, "msg"),
     CONFIG((short)3, "config"),
-    GUI((short)4, "gui");
+    GUI((short)4, "gui"),
+    SPANS((short)5, "spans");
 
     private static final Map<String, _Fields> byName = new HashMap<String, _Fields>();
 
@@ -99,6 +102,8 @@ public class RemoteInterpreterResult implements org.apache.thrift.TBase<RemoteIn
           return CONFIG;
         case 4: // GUI
           return GUI;
+        case 5: // SPANS
+          return SPANS;
         default:
           return null;
       }
@@ -139,6 +144,7 @@ public class RemoteInterpreterResult implements org.apache.thrift.TBase<RemoteIn
   }
 
   // isset id assignments
+  private static final _Fields optionals[] = {_Fields.SPANS};
   public static final Map<_Fields, org.apache.thrift.meta_data.FieldMetaData> metaDataMap;
   static {
     Map<_Fields, org.apache.thrift.meta_data.FieldMetaData> tmpMap = new EnumMap<_Fields, org.apache.thrift.meta_data.FieldMetaData>(_Fields.class);
@@ -151,6 +157,8 @@ public class RemoteInterpreterResult implements org.apache.thrift.TBase<RemoteIn
         new org.apache.thrift.meta_data.FieldValueMetaData(org.apache.thrift.protocol.TType.STRING)));
     tmpMap.put(_Fields.GUI, new org.apache.thrift.meta_data.FieldMetaData("gui", org.apache.thrift.TFieldRequirementType.DEFAULT, 
         new org.apache.thrift.meta_data.FieldValueMetaData(org.apache.thrift.protocol.TType.STRING)));
+    tmpMap.put(_Fields.SPANS, new org.apache.thrift.meta_data.FieldMetaData("spans", org.apache.thrift.TFieldRequirementType.OPTIONAL, 
+        new org.apache.thrift.meta_data.FieldValueMetaData(org.apache.thrift.protocol.TType.STRING)));
     metaDataMap = Collections.unmodifiableMap(tmpMap);
     org.apache.thrift.meta_data.FieldMetaData.addStructMetaDataMap(RemoteInterpreterResult.class, metaDataMap);
   }
@@ -191,6 +199,9 @@ public class RemoteInterpreterResult implements org.apache.thrift.TBase<RemoteIn
     if (other.isSetGui()) {
       this.gui = other.gui;
     }
+    if (other.isSetSpans()) {
+      this.spans = other.spans;
+    }
   }
 
   public RemoteInterpreterResult deepCopy() {
@@ -203,6 +214,7 @@ public class RemoteInterpreterResult implements org.apache.thrift.TBase<RemoteIn
     this.msg = null;
     this.config = null;
     this.gui = null;
+    this.spans = null;
   }
 
   public String getCode() {
@@ -316,6 +328,30 @@ public class RemoteInterpreterResult implements org.apache.thrift.TBase<RemoteIn
     }
   }
 
+  public String getSpans() {
+    return this.spans;
+  }
+
+  public RemoteInterpreterResult setSpans(String spans) {
+    this.spans = spans;
+    return this;
+  }
+
+  public void unsetSpans() {
+    this.spans = null;
+  }
+
+  /** Returns true if field spans is set (has been assigned a value) and false otherwise */
+  public boolean isSetSpans() {
+    return this.spans != null;
+  }
+
+  public void setSpansIsSet(boolean value) {
+    if (!value) {
+      this.spans = null;
+    }
+  }
+
   public void setFieldValue(_Fields field, Object value) {
     switch (field) {
     case CODE:
@@ -350,6 +386,14 @@ public class RemoteInterpreterResult implements org.apache.thrift.TBase<RemoteIn
       }
       break;
 
+    case SPANS:
+      if (value == null) {
+        unsetSpans();
+      } else {
+        setSpans((String)value);
+      }
+      break;
+
     }
   }
 
@@ -367,6 +411,9 @@ public class RemoteInterpreterResult implements org.apache.thrift.TBase<RemoteIn
     case GUI:
       return getGui();
 
+    case SPANS:
+      return getSpans();
+
     }
     throw new IllegalStateException();
   }
@@ -386,6 +433,8 @@ public class RemoteInterpreterResult implements org.apache.thrift.TBase<RemoteIn
       return isSetConfig();
     case GUI:
       return isSetGui();
+    case SPANS:
+      return isSetSpans();
     }
     throw new IllegalStateException();
   }
@@ -439,6 +488,15 @@ public class RemoteInterpreterResult implements org.apache.thrift.TBase<RemoteIn
         return false;
     }
 
+    boolean this_present_spans = true && this.isSetSpans();
+    boolean that_present_spans = true && that.isSetSpans();
+    if (this_present_spans || that_present_spans) {
+      if (!(this_present_spans && that_present_spans))
+        return false;
+      if (!this.spans.equals(that.spans))
+        return false;
+    }
+
     return true;
   }
 
@@ -466,6 +524,11 @@ public class RemoteInterpreterResult implements org.apache.thrift.TBase<RemoteIn
     if (present_gui)
       list.add(gui);
 
+    boolean present_spans = true && (isSetSpans());
+    list.add(present_spans);
+    if (present_spans)
+      list.add(spans);
+
     return list.hashCode();
   }
 
@@ -517,6 +580,16 @@ public class RemoteInterpreterResult implements org.apache.thrift.TBase<RemoteIn
         return lastComparison;
       }
     }
+    lastComparison = Boolean.valueOf(isSetSpans()).compareTo(other.isSetSpans());
+    if (lastComparison != 0) {
+      return lastComparison;
+    }
+    if (isSetSpans()) {
+      lastComparison = org.apache.thrift.TBaseHelper.compareTo(this.spans, other.spans);
+      if (lastComparison != 0) {
+        return lastComparison;
+      }
+    }
     return 0;
   }
 
@@ -568,6 +641,16 @@ public class RemoteInterpreterResult implements org.apache.thrift.TBase<RemoteIn
       sb.append(this.gui);
     }
     first = false;
+    if (isSetSpans()) {
+      if (!first) sb.append(", ");
+      sb.append("spans:");
+      if (this.spans == null) {
+        sb.append("null");
+      } else {
+        sb.append(this.spans);
+      }
+      first = false;
+    }
     sb.append(")");
     return sb.toString();
   }
@@ -654,6 +737,14 @@ public class RemoteInterpreterResult implements org.apache.thrift.TBase<RemoteIn
               org.apache.thrift.protocol.TProtocolUtil.skip(iprot, schemeField.type);
             }
             break;
+          case 5: // SPANS
+            if (schemeField.type == org.apache.thrift.protocol.TType.STRING) {
+              struct.spans = iprot.readString();
+              struct.setSpansIsSet(true);
+            } else { 
+              org.apache.thrift.protocol.TProtocolUtil.skip(iprot, schemeField.type);
+            }
+            break;
           default:
             org.apache.thrift.protocol.TProtocolUtil.skip(iprot, schemeField.type);
         }
@@ -696,6 +787,13 @@ public class RemoteInterpreterResult implements org.apache.thrift.TBase<RemoteIn
         oprot.writeString(struct.gui);
         oprot.writeFieldEnd();
       }
+      if (struct.spans != null) {
+        if (struct.isSetSpans()) {
+          oprot.writeFieldBegin(SPANS_FIELD_DESC);
+          oprot.writeString(struct.spans);
+          oprot.writeFieldEnd();
+        }
+      }
       oprot.writeFieldStop();
       oprot.writeStructEnd();
     }
@@ -726,7 +824,10 @@ public class RemoteInterpreterResult implements org.apache.thrift.TBase<RemoteIn
       if (struct.isSetGui()) {
         optionals.set(3);
       }
-      oprot.writeBitSet(optionals, 4);
+      if (struct.isSetSpans()) {
+        optionals.set(4);
+      }
+      oprot.writeBitSet(optionals, 5);
       if (struct.isSetCode()) {
         oprot.writeString(struct.code);
       }
@@ -745,12 +846,15 @@ public class RemoteInterpreterResult implements org.apache.thrift.TBase<RemoteIn
       if (struct.isSetGui()) {
         oprot.writeString(struct.gui);
       }
+      if (struct.isSetSpans()) {
+        oprot.writeString(struct.spans);
+      }
     }
 
     @Override
     public void read(org.apache.thrift.protocol.TProtocol prot, RemoteInterpreterResult struct) throws org.apache.thrift.TException {
       TTupleProtocol iprot = (TTupleProtocol) prot;
-      BitSet incoming = iprot.readBitSet(4);
+      BitSet incoming = iprot.readBitSet(5);
       if (incoming.get(0)) {
         struct.code = iprot.readString();
         struct.setCodeIsSet(true);
@@ -777,6 +881,10 @@ public class RemoteInterpreterResult implements org.apache.thrift.TBase<RemoteIn
         struct.gui = iprot.readString();
         struct.setGuiIsSet(true);
       }
+      if (incoming.get(4)) {
+        struct.spans = iprot.readString();
+        struct.setSpansIsSet(true);
+      }
     }
   }
 
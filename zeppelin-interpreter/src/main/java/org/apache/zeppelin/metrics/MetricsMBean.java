@@ -0,0 +1,102 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.zeppelin.metrics;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import javax.management.Attribute;
+import javax.management.AttributeList;
+import javax.management.AttributeNotFoundException;
+import javax.management.DynamicMBean;
+import javax.management.MBeanAttributeInfo;
+import javax.management.MBeanConstructorInfo;
+import javax.management.MBeanInfo;
+import javax.management.MBeanNotificationInfo;
+import javax.management.MBeanOperationInfo;
+
+/**
+ * Read only MBean with one attribute per value of the metrics registry. Attributes change as
+ * metrics are added, so the MBean info is built on each request.
+ */
+class MetricsMBean implements DynamicMBean {
+  private final MetricsRegistry registry;
+
+  MetricsMBean(MetricsRegistry registry) {
+    this.registry = registry;
+  }
+
+  @Override
+  public Object getAttribute(String attribute) throws AttributeNotFoundException {
+    Number value = registry.getValues().get(attribute);
+    if (value == null) {
+      throw new AttributeNotFoundException(attribute);
+    }
+    return toAttributeValue(value);
+  }
+
+  @Override
+  public AttributeList getAttributes(String[] attributes) {
+    Map<String, Number> values = registry.getValues();
+    AttributeList list = new AttributeList();
+    for (String attribute : attributes) {
+      Number value = values.get(attribute);
+      if (value != null) {
+        list.add(new Attribute(attribute, toAttributeValue(value)));
+      }
+    }
+    return list;
+  }
+
+  @Override
+  public void setAttribute(Attribute attribute) {
+    throw new UnsupportedOperationException("Metrics are read only");
+  }
+
+  @Override
+  public AttributeList setAttributes(AttributeList attributes) {
+    return new AttributeList();
+  }
+
+  @Override
+  public Object invoke(String actionName, Object[] params, String[] signature) {
+    throw new UnsupportedOperationException("Metrics MBean has no operation");
+  }
+
+  @Override
+  public MBeanInfo getMBeanInfo() {
+    List<MBeanAttributeInfo> attributes = new ArrayList<>();
+    for (Map.Entry<String, Number> entry : registry.getValues().entrySet()) {
+      attributes.add(new MBeanAttributeInfo(entry.getKey(),
+          toAttributeValue(entry.getValue()).getClass().getName(),
+          entry.getKey(), true, false, false));
+    }
+    return new MBeanInfo(getClass().getName(), "Zeppelin metrics",
+        attributes.toArray(new MBeanAttributeInfo[attributes.size()]),
+        new MBeanConstructorInfo[0], new MBeanOperationInfo[0], new MBeanNotificationInfo[0]);
+  }
+
+  // long or double, so that JMX clients can chart every attribute
+  private static Object toAttributeValue(Number value) {
+    if (value instanceof Double || value instanceof Float) {
+      return value.doubleValue();
+    }
+    return value.longValue();
+  }
+}
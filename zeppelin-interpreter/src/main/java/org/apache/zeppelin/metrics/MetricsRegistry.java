@@ -0,0 +1,185 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.zeppelin.metrics;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.lang.management.ManagementFactory;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.SortedMap;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+
+/**
+ * Metrics of the process: gauges, counters and timers by name, plus the values reported by
+ * other processes (e.g. the interpreter processes report theirs to ZeppelinServer).
+ *
+ * Values are exported through JMX (org.apache.zeppelin:type=Metrics) and as text, one
+ * "name value" line per value. A timer is exported as name.count, name.mean_ms, name.max_ms,
+ * name.p50_ms and name.p99_ms.
+ */
+public class MetricsRegistry {
+  private static final Logger logger = LoggerFactory.getLogger(MetricsRegistry.class);
+  public static final String MBEAN_NAME = "org.apache.zeppelin:type=Metrics";
+
+  private static final MetricsRegistry singleton = new MetricsRegistry();
+
+  private final ConcurrentMap<String, Gauge> gauges = new ConcurrentHashMap<>();
+  private final ConcurrentMap<String, Timer> timers = new ConcurrentHashMap<>();
+  // values reported by other processes, by prefix of their names
+  private final ConcurrentMap<String, Map<String, Number>> remoteValues =
+      new ConcurrentHashMap<>();
+
+  public static MetricsRegistry singleton() {
+    return singleton;
+  }
+
+  MetricsRegistry() {
+  }
+
+  public Counter counter(String name) {
+    Gauge gauge = gauges.get(name);
+    if (gauge == null) {
+      Counter counter = new Counter();
+      gauge = gauges.putIfAbsent(name, counter);
+      if (gauge == null) {
+        return counter;
+      }
+    }
+    if (!(gauge instanceof Counter)) {
+      throw new IllegalArgumentException(name + " is a gauge, not a counter");
+    }
+    return (Counter) gauge;
+  }
+
+  public Timer timer(String name) {
+    Timer timer = timers.get(name);
+    if (timer == null) {
+      Timer newTimer = new Timer();
+      timer = timers.putIfAbsent(name, newTimer);
+      if (timer == null) {
+        timer = newTimer;
+      }
+    }
+    return timer;
+  }
+
+  /**
+   * Register a gauge, replacing the gauge of the same name
+   */
+  public void register(String name, Gauge gauge) {
+    gauges.put(name, gauge);
+  }
+
+  /**
+   * Remove the metrics whose name starts with the prefix, e.g. the metrics of a scheduler
+   * which is removed
+   */
+  public void removeAll(String prefix) {
+    removeKeys(gauges, prefix);
+    removeKeys(timers, prefix);
+  }
+
+  private static void removeKeys(Map<String, ?> map, String prefix) {
+    Iterator<String> it = map.keySet().iterator();
+    while (it.hasNext()) {
+      if (it.next().startsWith(prefix)) {
+        it.remove();
+      }
+    }
+  }
+
+  /**
+   * Set the values reported by another process. They are exported with the prefix, until the
+   * next report of the process replaces them.
+   */
+  public void putRemoteValues(String prefix, Map<String, Number> values) {
+    remoteValues.put(prefix, new TreeMap<>(values));
+  }
+
+  public void removeRemoteValues(String prefix) {
+    remoteValues.remove(prefix);
+  }
+
+  /**
+   * @return values of the metrics of this process, by name
+   */
+  public SortedMap<String, Number> getLocalValues() {
+    SortedMap<String, Number> values = new TreeMap<>();
+    for (Map.Entry<String, Gauge> entry : gauges.entrySet()) {
+      try {
+        values.put(entry.getKey(), entry.getValue().getValue());
+      } catch (RuntimeException e) {
+        logger.debug("Fail to read gauge " + entry.getKey(), e);
+      }
+    }
+    for (Map.Entry<String, Timer> entry : timers.entrySet()) {
+      String name = entry.getKey();
+      Timer timer = entry.getValue();
+      values.put(name + ".count", timer.getCount());
+      values.put(name + ".mean_ms", timer.getMeanMillis());
+      values.put(name + ".max_ms", timer.getMaxMillis());
+      values.put(name + ".p50_ms", timer.getPercentileMillis(0.5));
+      values.put(name + ".p99_ms", timer.getPercentileMillis(0.99));
+    }
+    return values;
+  }
+
+  /**
+   * @return values of the metrics of this process and of the values reported by the others
+   */
+  public SortedMap<String, Number> getValues() {
+    SortedMap<String, Number> values = getLocalValues();
+    for (Map.Entry<String, Map<String, Number>> remote : remoteValues.entrySet()) {
+      for (Map.Entry<String, Number> entry : remote.getValue().entrySet()) {
+        values.put(remote.getKey() + "." + entry.getKey(), entry.getValue());
+      }
+    }
+    return values;
+  }
+
+  public String toText() {
+    StringBuilder sb = new StringBuilder();
+    for (Map.Entry<String, Number> entry : getValues().entrySet()) {
+      sb.append(entry.getKey()).append(' ').append(entry.getValue()).append('\n');
+    }
+    return sb.toString();
+  }
+
+  /**
+   * Export the metrics through the platform MBean server
+   */
+  public void registerMBean() {
+    try {
+      MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+      ObjectName name = new ObjectName(MBEAN_NAME);
+      if (!server.isRegistered(name)) {
+        server.registerMBean(new MetricsMBean(this), name);
+      }
+    } catch (JMException e) {
+      logger.warn("Fail to register metrics MBean", e);
+    }
+  }
+}
@@ -0,0 +1,99 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.zeppelin.metrics;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Count and distribution of durations since the process started.
+ *
+ * Durations are counted in buckets of powers of two microseconds, so updating the timer takes
+ * no lock and no memory, and percentiles are reported as the upper bound of their bucket.
+ */
+public class Timer {
+  // bucket i counts the durations shorter than 2^i microseconds, the last one the longer ones
+  private static final int BUCKETS = 40;
+
+  private final AtomicLong count = new AtomicLong();
+  private final AtomicLong totalNanos = new AtomicLong();
+  private final AtomicLong maxNanos = new AtomicLong();
+  private final AtomicLongArray buckets = new AtomicLongArray(BUCKETS);
+
+  public void update(long duration, TimeUnit unit) {
+    update(unit.toNanos(duration));
+  }
+
+  public void update(long nanos) {
+    if (nanos < 0) {
+      return;
+    }
+    count.incrementAndGet();
+    totalNanos.addAndGet(nanos);
+    long max = maxNanos.get();
+    while (nanos > max && !maxNanos.compareAndSet(max, nanos)) {
+      max = maxNanos.get();
+    }
+    long micros = TimeUnit.NANOSECONDS.toMicros(nanos);
+    int bucket = Math.min(64 - Long.numberOfLeadingZeros(micros), BUCKETS - 1);
+    buckets.incrementAndGet(bucket);
+  }
+
+  public long getCount() {
+    return count.get();
+  }
+
+  public double getMeanMillis() {
+    long n = count.get();
+    return n == 0 ? 0 : toMillis(totalNanos.get()) / n;
+  }
+
+  public double getMaxMillis() {
+    return toMillis(maxNanos.get());
+  }
+
+  /**
+   * @param quantile between 0 and 1
+   * @return upper bound of the quantile of the durations, 0 when nothing was timed
+   */
+  public double getPercentileMillis(double quantile) {
+    long n = 0;
+    long[] counts = new long[BUCKETS];
+    for (int i = 0; i < BUCKETS; i++) {
+      counts[i] = buckets.get(i);
+      n += counts[i];
+    }
+    if (n == 0) {
+      return 0;
+    }
+    long rank = (long) Math.ceil(quantile * n);
+    long seen = 0;
+    for (int i = 0; i < BUCKETS - 1; i++) {
+      seen += counts[i];
+      if (seen >= rank) {
+        return Math.min((1L << i) / 1000.0, getMaxMillis());
+      }
+    }
+    return getMaxMillis();
+  }
+
+  private static double toMillis(long nanos) {
+    return nanos / 1000000.0;
+  }
+}
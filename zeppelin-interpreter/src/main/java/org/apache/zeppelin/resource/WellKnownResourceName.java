@@ -21,7 +21,8 @@ package org.apache.zeppelin.resource;
  */
 public enum WellKnownResourceName {
   ZeppelinReplResult("zeppelin.repl.result"),                 // last object of repl
-  ZeppelinTableResult("zeppelin.paragraph.result.table");     // paragraph run result
+  ZeppelinTableResult("zeppelin.paragraph.result.table"),     // paragraph run result
+  ZeppelinTableData("zeppelin.paragraph.result.tabledata");   // typed table of z.show
 
   String name;
   WellKnownResourceName(String name) {
@@ -71,6 +71,8 @@ public abstract class Job {
   Date dateCreated;
   Date dateStarted;
   Date dateFinished;
+  // when the job was last submitted to a scheduler
+  transient volatile Date datePending;
   volatile Status status;
 
   static Logger LOGGER = LoggerFactory.getLogger(Job.class);
@@ -148,6 +150,9 @@ public abstract class Job {
     }
     Status before = this.status;
     Status after = status;
+    if (status == Status.PENDING) {
+      datePending = new Date();
+    }
     if (listener != null) {
       listener.beforeStatusChange(this, before, after);
     }
@@ -256,6 +261,10 @@ public abstract class Job {
     return dateCreated;
   }
 
+  public Date getDatePending() {
+    return datePending;
+  }
+
   public Date getDateStarted() {
     return dateStarted;
   }
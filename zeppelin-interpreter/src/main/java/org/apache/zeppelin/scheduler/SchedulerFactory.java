@@ -18,13 +18,17 @@
 package org.apache.zeppelin.scheduler;
 
 import java.util.Collection;
+import java.util.Date;
 import java.util.LinkedHashMap;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
 import java.util.concurrent.ExecutorService;
+import java.util.concurrent.TimeUnit;
 
 import org.apache.zeppelin.interpreter.remote.RemoteInterpreter;
+import org.apache.zeppelin.metrics.Gauge;
+import org.apache.zeppelin.metrics.MetricsRegistry;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -68,6 +72,7 @@ public class SchedulerFactory implements SchedulerListener {
       if (!schedulers.containsKey(name)) {
         Scheduler s = new FIFOScheduler(name, executor, this);
         schedulers.put(name, s);
+        registerMetrics(s);
         executor.execute(s);
       }
       return schedulers.get(name);
@@ -79,6 +84,7 @@ public class SchedulerFactory implements SchedulerListener {
       if (!schedulers.containsKey(name)) {
         Scheduler s = new ParallelScheduler(name, executor, this, maxConcurrency);
         schedulers.put(name, s);
+        registerMetrics(s);
         executor.execute(s);
       }
       return schedulers.get(name);
@@ -101,6 +107,7 @@ public class SchedulerFactory implements SchedulerListener {
             this,
             maxConcurrency);
         schedulers.put(name, s);
+        registerMetrics(s);
         executor.execute(s);
       }
       return schedulers.get(name);
@@ -112,19 +119,42 @@ public class SchedulerFactory implements SchedulerListener {
       Scheduler s = schedulers.remove(name);
       if (s != null) {
         s.stop();
+        MetricsRegistry.singleton().removeAll(metricsPrefix(s));
       }
     }
   }
 
+  private static String metricsPrefix(Scheduler scheduler) {
+    return "scheduler." + scheduler.getName() + ".";
+  }
+
+  private void registerMetrics(final Scheduler scheduler) {
+    MetricsRegistry.singleton().register(metricsPrefix(scheduler) + "queue", new Gauge() {
+      @Override
+      public long getValue() {
+        return scheduler.getJobsWaiting().size();
+      }
+    });
+  }
+
   @Override
   public void jobStarted(Scheduler scheduler, Job job) {
     logger.info("Job " + job.getId() + " started by scheduler " + scheduler.getName());
-
+    Date pending = job.getDatePending();
+    if (pending != null) {
+      MetricsRegistry.singleton().timer(metricsPrefix(scheduler) + "wait").update(
+          System.currentTimeMillis() - pending.getTime(), TimeUnit.MILLISECONDS);
+    }
   }
 
   @Override
   public void jobFinished(Scheduler scheduler, Job job) {
     logger.info("Job " + job.getId() + " finished by scheduler " + scheduler.getName());
-
+    Date started = job.getDateStarted();
+    Date finished = job.getDateFinished();
+    if (started != null && finished != null) {
+      MetricsRegistry.singleton().timer(metricsPrefix(scheduler) + "run").update(
+          finished.getTime() - started.getTime(), TimeUnit.MILLISECONDS);
+    }
   }
 }
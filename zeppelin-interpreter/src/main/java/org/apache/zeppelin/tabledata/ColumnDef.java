@@ -28,7 +28,8 @@ public class ColumnDef implements Serializable {
   public static enum TYPE {
     STRING,
     LONG,
-    INT
+    INT,
+    DOUBLE
   }
 
   private String name;
@@ -0,0 +1,391 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.zeppelin.tabledata;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.io.Serializable;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+
+/**
+ * Table data stored column by column in a memory mapped file, so that a table written once
+ * by one process (e.g. a pandas DataFrame put into the resource pool by the python
+ * interpreter) can be read by the other processes of the host without copying or parsing it.
+ * Only the path of the file is serialized, when the object is moved between processes.
+ *
+ * File layout, little endian:
+ * <pre>
+ *   "ZTD1"                       magic
+ *   int32                        number of columns
+ *   int64                        number of rows
+ *   per column:
+ *     int32, utf-8 bytes         name
+ *     int32                      type, 0: STRING, 1: LONG, 2: INT, 3: DOUBLE
+ *     int64, int64               offset and length of the column data in the file
+ *   column data, 8 bytes aligned:
+ *     LONG, INT, DOUBLE          one int64, int32 or float64 per row
+ *     STRING                     int64 offsets[rows + 1] into the utf-8 bytes which follow,
+ *                                then optionally a null bitmap of (rows + 7) / 8 bytes, most
+ *                                significant bit first
+ * </pre>
+ */
+public class ColumnarTableData implements TableData, Serializable {
+  private static final byte[] MAGIC = "ZTD1".getBytes(StandardCharsets.US_ASCII);
+  private static final int TYPE_STRING = 0;
+  private static final int TYPE_LONG = 1;
+  private static final int TYPE_INT = 2;
+  private static final int TYPE_DOUBLE = 3;
+
+  private final String path;
+
+  private transient ColumnDef[] columnDefs;
+  private transient long rowCount;
+  // values of the LONG, INT and DOUBLE columns, utf-8 bytes of the STRING columns
+  private transient ByteBuffer[] columnData;
+  // offsets into columnData of the STRING columns, null for the other types
+  private transient ByteBuffer[] stringOffsets;
+  // null bitmaps of the STRING columns, null when the column has none
+  private transient ByteBuffer[] nullBitmaps;
+
+  public ColumnarTableData(String path) {
+    this.path = path;
+  }
+
+  public String getPath() {
+    return path;
+  }
+
+  @Override
+  public ColumnDef[] columns() {
+    load();
+    return columnDefs;
+  }
+
+  @Override
+  public Iterator<Row> rows() {
+    load();
+    return new Iterator<Row>() {
+      private long row = 0;
+
+      @Override
+      public boolean hasNext() {
+        return row < rowCount;
+      }
+
+      @Override
+      public Row next() {
+        if (!hasNext()) {
+          throw new NoSuchElementException();
+        }
+        Object[] values = new Object[columnDefs.length];
+        for (int c = 0; c < columnDefs.length; c++) {
+          values[c] = get(c, row);
+        }
+        row++;
+        return new Row(values);
+      }
+
+      @Override
+      public void remove() {
+        throw new UnsupportedOperationException();
+      }
+    };
+  }
+
+  public long getRowCount() {
+    load();
+    return rowCount;
+  }
+
+  public Object get(int column, long row) {
+    switch (columns()[column].type()) {
+      case LONG:
+        return getLong(column, row);
+      case INT:
+        return getInt(column, row);
+      case DOUBLE:
+        return getDouble(column, row);
+      default:
+        return getString(column, row);
+    }
+  }
+
+  public long getLong(int column, long row) {
+    load();
+    return columnData[column].getLong(index(row, 8));
+  }
+
+  public int getInt(int column, long row) {
+    load();
+    return columnData[column].getInt(index(row, 4));
+  }
+
+  public double getDouble(int column, long row) {
+    load();
+    return columnData[column].getDouble(index(row, 8));
+  }
+
+  public String getString(int column, long row) {
+    load();
+    ByteBuffer nulls = nullBitmaps[column];
+    if (nulls != null) {
+      index(row, 1);
+      if ((nulls.get((int) (row >> 3)) & (0x80 >> (row & 7))) != 0) {
+        return null;
+      }
+    }
+    // the offsets have one more entry than rows, the end of the last value
+    int offset = index(row, 8);
+    int start = (int) stringOffsets[column].getLong(offset);
+    int end = (int) stringOffsets[column].getLong(offset + 8);
+    byte[] bytes = new byte[end - start];
+    ByteBuffer data = columnData[column].duplicate();
+    data.position(start);
+    data.get(bytes);
+    return new String(bytes, StandardCharsets.UTF_8);
+  }
+
+  private int index(long row, int width) {
+    if (row < 0 || row >= rowCount) {
+      throw new IndexOutOfBoundsException("row " + row + " of " + rowCount);
+    }
+    return (int) (row * width);
+  }
+
+  private synchronized void load() {
+    if (columnDefs != null) {
+      return;
+    }
+    try (RandomAccessFile file = new RandomAccessFile(path, "r")) {
+      FileChannel channel = file.getChannel();
+      ByteBuffer header = channel.map(FileChannel.MapMode.READ_ONLY, 0,
+          Math.min(channel.size(), Integer.MAX_VALUE)).order(ByteOrder.LITTLE_ENDIAN);
+      byte[] magic = new byte[MAGIC.length];
+      header.get(magic);
+      if (!Arrays.equals(MAGIC, magic)) {
+        throw new TableDataException(path + " is not a columnar table");
+      }
+      int columnCount = header.getInt();
+      long rows = header.getLong();
+      ColumnDef[] defs = new ColumnDef[columnCount];
+      ByteBuffer[] data = new ByteBuffer[columnCount];
+      ByteBuffer[] offsets = new ByteBuffer[columnCount];
+      ByteBuffer[] bitmaps = new ByteBuffer[columnCount];
+      for (int c = 0; c < columnCount; c++) {
+        byte[] name = new byte[header.getInt()];
+        header.get(name);
+        int type = header.getInt();
+        long offset = header.getLong();
+        long length = header.getLong();
+        defs[c] = new ColumnDef(new String(name, StandardCharsets.UTF_8), toColumnType(type));
+        if (type == TYPE_STRING) {
+          long offsetsLength = (rows + 1) * 8;
+          offsets[c] = map(channel, offset, offsetsLength);
+          long bytesLength = offsets[c].getLong((int) (rows * 8));
+          data[c] = map(channel, offset + offsetsLength, bytesLength);
+          if (offsetsLength + bytesLength < length) {
+            bitmaps[c] = map(channel, offset + offsetsLength + bytesLength, (rows + 7) / 8);
+          }
+        } else {
+          data[c] = map(channel, offset, length);
+        }
+      }
+      this.rowCount = rows;
+      this.columnData = data;
+      this.stringOffsets = offsets;
+      this.nullBitmaps = bitmaps;
+      this.columnDefs = defs;
+    } catch (IOException e) {
+      throw new RuntimeException("Fail to read columnar table " + path, e);
+    }
+  }
+
+  private ByteBuffer map(FileChannel channel, long offset, long length) throws IOException {
+    if (length > Integer.MAX_VALUE) {
+      throw new TableDataException("Column of " + length + " bytes in " + path +
+          " is larger than the 2GB supported per column");
+    }
+    MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, offset, length);
+    return buffer.order(ByteOrder.LITTLE_ENDIAN);
+  }
+
+  private static ColumnDef.TYPE toColumnType(int type) throws TableDataException {
+    switch (type) {
+      case TYPE_STRING:
+        return ColumnDef.TYPE.STRING;
+      case TYPE_LONG:
+        return ColumnDef.TYPE.LONG;
+      case TYPE_INT:
+        return ColumnDef.TYPE.INT;
+      case TYPE_DOUBLE:
+        return ColumnDef.TYPE.DOUBLE;
+      default:
+        throw new TableDataException("Unknown column type " + type);
+    }
+  }
+
+  private static int toTypeCode(ColumnDef.TYPE type) {
+    switch (type) {
+      case LONG:
+        return TYPE_LONG;
+      case INT:
+        return TYPE_INT;
+      case DOUBLE:
+        return TYPE_DOUBLE;
+      default:
+        return TYPE_STRING;
+    }
+  }
+
+  /**
+   * Write a table in the columnar format, so that JVM interpreters can share tables the same
+   * way. Rows are kept in memory while the file is written.
+   */
+  public static ColumnarTableData write(File file, TableData table) throws IOException {
+    ColumnDef[] defs = table.columns();
+    List<Object[]> rows = new ArrayList<>();
+    Iterator<Row> it = table.rows();
+    while (it.hasNext()) {
+      rows.add(it.next().get());
+    }
+
+    // encode the columns first, to know where each of them starts
+    List<byte[]> names = new ArrayList<>();
+    List<ByteBuffer> columns = new ArrayList<>();
+    long headerLength = MAGIC.length + 4 + 8;
+    for (int c = 0; c < defs.length; c++) {
+      byte[] name = defs[c].name().getBytes(StandardCharsets.UTF_8);
+      names.add(name);
+      headerLength += 4 + name.length + 4 + 8 + 8;
+      columns.add(encodeColumn(defs[c].type(), c, rows));
+    }
+
+    ByteBuffer header = ByteBuffer.allocate((int) align(headerLength))
+        .order(ByteOrder.LITTLE_ENDIAN);
+    header.put(MAGIC);
+    header.putInt(defs.length);
+    header.putLong(rows.size());
+    long offset = header.capacity();
+    for (int c = 0; c < defs.length; c++) {
+      header.putInt(names.get(c).length);
+      header.put(names.get(c));
+      header.putInt(toTypeCode(defs[c].type()));
+      header.putLong(offset);
+      header.putLong(columns.get(c).limit());
+      offset += align(columns.get(c).limit());
+    }
+    header.position(header.capacity());
+    header.flip();
+
+    File tmpFile = new File(file.getPath() + ".tmp");
+    try (RandomAccessFile out = new RandomAccessFile(tmpFile, "rw")) {
+      FileChannel channel = out.getChannel();
+      channel.truncate(0);
+      writeFully(channel, header);
+      for (ByteBuffer column : columns) {
+        writeFully(channel, column);
+        int padding = (int) (align(column.limit()) - column.limit());
+        writeFully(channel, ByteBuffer.allocate(padding));
+      }
+    }
+    if (file.exists() && !file.delete() || !tmpFile.renameTo(file)) {
+      throw new IOException("Fail to move " + tmpFile + " to " + file);
+    }
+    return new ColumnarTableData(file.getAbsolutePath());
+  }
+
+  private static ByteBuffer encodeColumn(ColumnDef.TYPE type, int column, List<Object[]> rows) {
+    ByteBuffer buffer;
+    switch (type) {
+      case LONG:
+        buffer = ByteBuffer.allocate(rows.size() * 8).order(ByteOrder.LITTLE_ENDIAN);
+        for (Object[] row : rows) {
+          buffer.putLong(row[column] == null ? 0 : toNumber(row[column]).longValue());
+        }
+        break;
+      case INT:
+        buffer = ByteBuffer.allocate(rows.size() * 4).order(ByteOrder.LITTLE_ENDIAN);
+        for (Object[] row : rows) {
+          buffer.putInt(row[column] == null ? 0 : toNumber(row[column]).intValue());
+        }
+        break;
+      case DOUBLE:
+        buffer = ByteBuffer.allocate(rows.size() * 8).order(ByteOrder.LITTLE_ENDIAN);
+        for (Object[] row : rows) {
+          buffer.putDouble(row[column] == null ? Double.NaN :
+              toNumber(row[column]).doubleValue());
+        }
+        break;
+      default:
+        List<byte[]> values = new ArrayList<>(rows.size());
+        byte[] nulls = new byte[(rows.size() + 7) / 8];
+        int length = 0;
+        for (int r = 0; r < rows.size(); r++) {
+          Object cell = rows.get(r)[column];
+          byte[] value = new byte[0];
+          if (cell == null) {
+            nulls[r >> 3] |= 0x80 >> (r & 7);
+          } else {
+            value = cell.toString().getBytes(StandardCharsets.UTF_8);
+          }
+          values.add(value);
+          length += value.length;
+        }
+        buffer = ByteBuffer.allocate((rows.size() + 1) * 8 + length + nulls.length)
+            .order(ByteOrder.LITTLE_ENDIAN);
+        long position = 0;
+        buffer.putLong(position);
+        for (byte[] value : values) {
+          position += value.length;
+          buffer.putLong(position);
+        }
+        for (byte[] value : values) {
+          buffer.put(value);
+        }
+        buffer.put(nulls);
+    }
+    buffer.flip();
+    return buffer;
+  }
+
+  private static Number toNumber(Object value) {
+    if (value instanceof Number) {
+      return (Number) value;
+    }
+    return Double.valueOf(value.toString());
+  }
+
+  private static long align(long length) {
+    return (length + 7) / 8 * 8;
+  }
+
+  private static void writeFully(FileChannel channel, ByteBuffer buffer) throws IOException {
+    while (buffer.hasRemaining()) {
+      channel.write(buffer);
+    }
+  }
+}
@@ -0,0 +1,85 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.zeppelin.tracing;
+
+/**
+ * Timed step of a paragraph run. Spans of the same run share the trace id, in ZeppelinServer
+ * and in the interpreter process.
+ */
+public class Span {
+  private final String traceId;
+  private final String name;
+  private final long startTime;   // epoch millis, only comparable between spans of one process
+  private long durationNanos;
+  private transient Tracer tracer;
+  private transient long startNanos;
+
+  public Span(String traceId, String name, long startTime, long durationNanos) {
+    this.traceId = traceId;
+    this.name = name;
+    this.startTime = startTime;
+    this.durationNanos = durationNanos;
+  }
+
+  Span(Tracer tracer, String traceId, String name) {
+    this(traceId, name, System.currentTimeMillis(), -1);
+    this.tracer = tracer;
+    this.startNanos = System.nanoTime();
+  }
+
+  /**
+   * End the span and add it to the tracer which started it
+   */
+  public void end() {
+    if (durationNanos >= 0) {
+      return;
+    }
+    durationNanos = System.nanoTime() - startNanos;
+    if (tracer != null) {
+      tracer.record(this);
+    }
+  }
+
+  public String getTraceId() {
+    return traceId;
+  }
+
+  public String getName() {
+    return name;
+  }
+
+  public long getStartTime() {
+    return startTime;
+  }
+
+  /**
+   * @return duration of the span, or -1 when the span didn't end
+   */
+  public long getDurationNanos() {
+    return durationNanos;
+  }
+
+  public double getDurationMillis() {
+    return getDurationNanos() / 1000000.0;
+  }
+
+  @Override
+  public String toString() {
+    return traceId + " " + name + " " + getDurationMillis() + "ms";
+  }
+}
@@ -0,0 +1,148 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.zeppelin.tracing;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+/**
+ * Collects the spans of the recent paragraph runs of the process.
+ *
+ * A paragraph run gets a trace id when it starts. The trace id is sent to the interpreter
+ * process in the traceId field of the context of interpret(), and the spans of the interpreter
+ * process come back in the spans field of the result.
+ */
+public class Tracer {
+  private static final Logger logger = LoggerFactory.getLogger(Tracer.class);
+
+  public static final int DEFAULT_CAPACITY = 10000;
+
+  private static final Tracer singleton = new Tracer(DEFAULT_CAPACITY);
+
+  private final int capacity;
+  // all the spans, oldest first
+  private final LinkedHashSet<Span> spans = new LinkedHashSet<>();
+  // trace id -> spans of the trace, in the order they ended
+  private final Map<String, List<Span>> spansByTrace = new HashMap<>();
+  private final Random random = new Random();
+
+  public static Tracer singleton() {
+    return singleton;
+  }
+
+  Tracer(int capacity) {
+    this.capacity = capacity;
+  }
+
+  public String newTraceId() {
+    long id;
+    synchronized (random) {
+      id = random.nextLong();
+    }
+    return Long.toHexString(id);
+  }
+
+  /**
+   * Start a span, which is recorded when it ends. Spans without trace id are not recorded.
+   */
+  public Span startSpan(String traceId, String name) {
+    return new Span(traceId == null ? null : this, traceId, name);
+  }
+
+  /**
+   * Record a span, e.g. a span which ended in another process. The oldest spans are dropped
+   * beyond the capacity of the tracer.
+   */
+  public void record(Span span) {
+    if (span.getTraceId() == null) {
+      return;
+    }
+    if (logger.isDebugEnabled()) {
+      logger.debug("span {}", span);
+    }
+    synchronized (spans) {
+      if (spans.contains(span)) {
+        return;
+      }
+      if (spans.size() == capacity) {
+        Iterator<Span> oldest = spans.iterator();
+        Span evicted = oldest.next();
+        oldest.remove();
+        // the oldest span of the tracer is the oldest one of its trace
+        List<Span> traceSpans = spansByTrace.get(evicted.getTraceId());
+        traceSpans.remove(0);
+        if (traceSpans.isEmpty()) {
+          spansByTrace.remove(evicted.getTraceId());
+        }
+      }
+      spans.add(span);
+      List<Span> traceSpans = spansByTrace.get(span.getTraceId());
+      if (traceSpans == null) {
+        traceSpans = new ArrayList<>();
+        spansByTrace.put(span.getTraceId(), traceSpans);
+      }
+      traceSpans.add(span);
+    }
+  }
+
+  /**
+   * @return spans of the trace, in the order they ended
+   */
+  public List<Span> getSpans(String traceId) {
+    if (traceId == null) {
+      return new ArrayList<>();
+    }
+    synchronized (spans) {
+      List<Span> traceSpans = spansByTrace.get(traceId);
+      return traceSpans == null ? new ArrayList<Span>() : new ArrayList<>(traceSpans);
+    }
+  }
+
+  /**
+   * Remove the spans of the trace from the tracer, e.g. to send them to another process
+   */
+  public List<Span> takeSpans(String traceId) {
+    if (traceId == null) {
+      return new ArrayList<>();
+    }
+    synchronized (spans) {
+      List<Span> traceSpans = spansByTrace.remove(traceId);
+      if (traceSpans == null) {
+        return new ArrayList<>();
+      }
+      for (Span span : traceSpans) {
+        spans.remove(span);
+      }
+      return traceSpans;
+    }
+  }
+
+  public List<Span> getRecentSpans() {
+    synchronized (spans) {
+      return new ArrayList<>(spans);
+    }
+  }
+}
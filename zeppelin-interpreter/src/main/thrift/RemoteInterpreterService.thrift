@@ -27,7 +27,8 @@ struct RemoteInterpreterContext {
   6: string authenticationInfo,
   7: string config,   // json serialized config
   8: string gui,      // json serialized gui
-  9: string runners   // json serialized runner
+  9: string runners,  // json serialized runner
+  10: optional string traceId
 }
 
 struct RemoteInterpreterResultMessage {
@@ -38,7 +39,8 @@ struct RemoteInterpreterResult {
   1: string code,
   2: list<RemoteInterpreterResultMessage> msg,
   3: string config,   // json serialized config
-  4: string gui       // json serialized gui
+  4: string gui,      // json serialized gui
+  5: optional string spans   // json serialized spans of the interpreter process
 }
 
 enum RemoteInterpreterEventType {
@@ -57,7 +59,8 @@ enum RemoteInterpreterEventType {
   META_INFOS = 13,
   REMOTE_ZEPPELIN_SERVER_RESOURCE = 14,
   RESOURCE_INVOKE_METHOD = 15,
-  PARA_INFOS = 16
+  PARA_INFOS = 16,
+  METRICS = 17
 }
 
 
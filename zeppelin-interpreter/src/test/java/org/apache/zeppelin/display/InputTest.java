@@ -17,7 +17,9 @@
 
 package org.apache.zeppelin.display;
 
+import java.util.Arrays;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.Map;
 
 import org.apache.zeppelin.display.ui.CheckBox;
@@ -136,4 +138,24 @@ public class InputTest {
 				"NEW_CHECKED=nc_a and nc_c", replaced);
 	}
 
+	@Test
+	public void testFormSubstitutionOfParsedScript() {
+		String script = "SELECT * FROM t WHERE a = '${a=1}' AND b IN (${checkbox:b=x,x|y|z})" +
+				" AND a2 = '${a}'";
+		LinkedHashMap<String, Input> forms = Input.extractSimpleQueryForm(script);
+		assertEquals(2, forms.size());
+		// callers get their own map of the forms
+		forms.remove("a");
+		assertEquals(2, Input.extractSimpleQueryForm(script).size());
+
+		Map<String, Object> params = new HashMap<>();
+		assertEquals("SELECT * FROM t WHERE a = '1' AND b IN (x) AND a2 = ''",
+				Input.getSimpleQuery(params, script));
+		// values are substituted as they are
+		params.put("a", "$1 \\ ${b}");
+		params.put("b", Arrays.asList("z", "y", "w"));
+		assertEquals("SELECT * FROM t WHERE a = '$1 \\ ${b}' AND b IN (z,y) AND a2 = '$1 \\ ${b}'",
+				Input.getSimpleQuery(params, script));
+		assertEquals(Arrays.asList("z", "y"), params.get("b"));
+	}
 }
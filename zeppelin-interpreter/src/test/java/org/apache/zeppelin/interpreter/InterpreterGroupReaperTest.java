@@ -0,0 +1,154 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.zeppelin.interpreter;
+
+import org.apache.commons.io.FileUtils;
+import org.apache.zeppelin.conf.ZeppelinConfiguration;
+import org.apache.zeppelin.conf.ZeppelinConfiguration.ConfVars;
+import org.apache.zeppelin.interpreter.remote.RemoteInterpreterProcess;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.Arrays;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+import static org.mockito.Matchers.anyLong;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+public class InterpreterGroupReaperTest {
+
+  private File confDir;
+  private InterpreterSettingManager interpreterSettingManager;
+  private InterpreterSetting interpreterSetting;
+
+  @Before
+  public void setUp() {
+    confDir = new File(System.getProperty("java.io.tmpdir"),
+        "ZeppelinTest_" + System.currentTimeMillis());
+    confDir.mkdirs();
+    System.setProperty(ConfVars.ZEPPELIN_CONF_DIR.getVarName(), confDir.getAbsolutePath());
+    System.setProperty(ConfVars.ZEPPELIN_INTERPRETER_EVICTION_MAX_PROCESSES.getVarName(), "1");
+    System.setProperty(ConfVars.ZEPPELIN_INTERPRETER_EVICTION_IDLE_TIMEOUT.getVarName(), "0");
+
+    interpreterSettingManager = mock(InterpreterSettingManager.class);
+    interpreterSetting = mock(InterpreterSetting.class);
+    when(interpreterSetting.getName()).thenReturn("test");
+    InterpreterOption option = new InterpreterOption();
+    option.setPerNote(InterpreterOption.ISOLATED);
+    when(interpreterSetting.getOption()).thenReturn(option);
+    when(interpreterSettingManager.get()).thenReturn(Arrays.asList(interpreterSetting));
+  }
+
+  @After
+  public void tearDown() throws Exception {
+    System.clearProperty(ConfVars.ZEPPELIN_CONF_DIR.getVarName());
+    System.clearProperty(ConfVars.ZEPPELIN_INTERPRETER_EVICTION_MAX_PROCESSES.getVarName());
+    System.clearProperty(ConfVars.ZEPPELIN_INTERPRETER_EVICTION_IDLE_TIMEOUT.getVarName());
+    FileUtils.deleteDirectory(confDir);
+  }
+
+  private InterpreterGroup createGroup(String id, long lastActivityTime, boolean busy) {
+    RemoteInterpreterProcess process = mock(RemoteInterpreterProcess.class);
+    when(process.isRunning()).thenReturn(true);
+    InterpreterGroup group = mock(InterpreterGroup.class);
+    when(group.getId()).thenReturn(id);
+    when(group.getInterpreterSetting()).thenReturn(interpreterSetting);
+    when(group.getRemoteInterpreterProcess()).thenReturn(process);
+    when(group.getLastActivityTime()).thenReturn(lastActivityTime);
+    when(group.isBusy()).thenReturn(busy);
+    when(group.closeIfIdle(anyLong())).thenReturn(!busy);
+    return group;
+  }
+
+  @Test
+  public void testEvictLeastRecentlyUsed() {
+    ZeppelinConfiguration conf = new ZeppelinConfiguration();
+    assertTrue(InterpreterGroupReaper.isEnabled(conf));
+
+    long now = System.currentTimeMillis();
+    InterpreterGroup oldest = createGroup("oldest", now - 3000, false);
+    InterpreterGroup busy = createGroup("busy", now - 5000, true);
+    InterpreterGroup middle = createGroup("middle", now - 2000, false);
+    InterpreterGroup recent = createGroup("recent", now - 1000, false);
+    when(interpreterSetting.getAllInterpreterGroups()).thenReturn(
+        new ArrayList<>(Arrays.asList(recent, oldest, busy, middle)));
+
+    InterpreterGroupReaper reaper = new InterpreterGroupReaper(conf, interpreterSettingManager);
+    reaper.evict();
+
+    // 4 processes with a limit of 1, the busy group must be kept
+    verify(oldest).closeIfIdle(0);
+    verify(middle).closeIfIdle(0);
+    verify(recent).closeIfIdle(0);
+    verify(busy, never()).closeIfIdle(anyLong());
+    assertEquals(3, reaper.getEvictionRecords().size());
+
+    // records survive a restart and are handed out only once
+    reaper = new InterpreterGroupReaper(conf, interpreterSettingManager);
+    InterpreterGroupReaper.EvictionRecord record = reaper.takeEvictionRecord("oldest");
+    assertNotNull(record);
+    assertTrue(record.getMessage().contains("test"));
+    assertNull(reaper.takeEvictionRecord("oldest"));
+  }
+
+  @Test
+  public void testSharedGroupIsNotEvicted() {
+    ZeppelinConfiguration conf = new ZeppelinConfiguration();
+    when(interpreterSetting.getOption()).thenReturn(new InterpreterOption());
+
+    long now = System.currentTimeMillis();
+    InterpreterGroup first = createGroup("first", now - 2000, false);
+    InterpreterGroup second = createGroup("second", now - 1000, false);
+    when(interpreterSetting.getAllInterpreterGroups()).thenReturn(
+        new ArrayList<>(Arrays.asList(first, second)));
+
+    InterpreterGroupReaper reaper = new InterpreterGroupReaper(conf, interpreterSettingManager);
+    reaper.evict();
+    verify(first, never()).closeIfIdle(anyLong());
+    verify(second, never()).closeIfIdle(anyLong());
+    assertTrue(reaper.getEvictionRecords().isEmpty());
+  }
+
+  @Test
+  public void testCloseIfIdle() {
+    InterpreterGroup group = new InterpreterGroup("idle");
+    group.onCallStart();
+    assertFalse(group.closeIfIdle(0));
+    group.onCallFinish();
+    assertTrue(group.closeIfIdle(0));
+
+    // no new call is accepted once the group is closed
+    try {
+      group.onCallStart();
+      fail("call into a closed group should be rejected");
+    } catch (InterpreterException e) {
+      assertTrue(e.getMessage().contains("idle"));
+    }
+  }
+}
@@ -0,0 +1,75 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.zeppelin.interpreter.remote;
+
+import static org.junit.Assert.assertEquals;
+
+import org.apache.zeppelin.display.AngularObject;
+import org.apache.zeppelin.interpreter.thrift.RemoteInterpreterEvent;
+import org.apache.zeppelin.interpreter.thrift.RemoteInterpreterEventType;
+import org.junit.Test;
+
+public class RemoteInterpreterEventClientTest {
+
+  @Test
+  public void testAngularObjectUpdatesAreCoalesced() {
+    RemoteInterpreterEventClient eventClient = new RemoteInterpreterEventClient();
+    AngularObject<Integer> slider = new AngularObject<>("slider", 1, "note1", null, null);
+    AngularObject<String> other = new AngularObject<>("other", "a", "note1", null, null);
+
+    eventClient.angularObjectUpdate(slider);
+    eventClient.angularObjectUpdate(other);
+    slider.set(2, false);
+    eventClient.angularObjectUpdate(slider);
+    slider.set(3, false);
+    eventClient.angularObjectUpdate(slider);
+
+    RemoteInterpreterEvent event = eventClient.pollEvent();
+    assertEquals(RemoteInterpreterEventType.ANGULAR_OBJECT_UPDATE, event.getType());
+    AngularObject sent = AngularObject.fromJson(event.getData());
+    assertEquals("slider", sent.getName());
+    assertEquals(3, ((Number) sent.get()).intValue());
+    assertEquals("other", AngularObject.fromJson(eventClient.pollEvent().getData()).getName());
+
+    // an update after the polled one is sent again
+    slider.set(4, false);
+    eventClient.angularObjectUpdate(slider);
+    sent = AngularObject.fromJson(eventClient.pollEvent().getData());
+    assertEquals(4, ((Number) sent.get()).intValue());
+  }
+
+  @Test
+  public void testUpdatesAreNotMergedAcrossRemove() {
+    RemoteInterpreterEventClient eventClient = new RemoteInterpreterEventClient();
+    AngularObject<String> ao = new AngularObject<>("name", "v1", "note1", "paragraph1", null);
+
+    eventClient.angularObjectUpdate(ao);
+    eventClient.angularObjectRemove("name", "note1", "paragraph1");
+    eventClient.angularObjectAdd(ao);
+    ao.set("v2", false);
+    eventClient.angularObjectUpdate(ao);
+
+    assertEquals(RemoteInterpreterEventType.ANGULAR_OBJECT_UPDATE,
+        eventClient.pollEvent().getType());
+    assertEquals(RemoteInterpreterEventType.ANGULAR_OBJECT_REMOVE,
+        eventClient.pollEvent().getType());
+    assertEquals(RemoteInterpreterEventType.ANGULAR_OBJECT_ADD, eventClient.pollEvent().getType());
+    RemoteInterpreterEvent event = eventClient.pollEvent();
+    assertEquals(RemoteInterpreterEventType.ANGULAR_OBJECT_UPDATE, event.getType());
+    assertEquals("v2", AngularObject.fromJson(event.getData()).get());
+  }
+}
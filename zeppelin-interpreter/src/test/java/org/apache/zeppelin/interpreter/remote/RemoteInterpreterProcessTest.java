@@ -0,0 +1,118 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.zeppelin.interpreter.remote;
+
+import org.apache.thrift.TException;
+import org.apache.zeppelin.interpreter.thrift.RemoteInterpreterService.Client;
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.mockito.Matchers.anyString;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+public class RemoteInterpreterProcessTest {
+
+  private Client client;
+  private FakeProcess process;
+
+  @Before
+  public void setUp() {
+    client = mock(Client.class);
+    process = new FakeProcess(client);
+  }
+
+  @Test
+  public void testAngularObjectUpdatesAreCoalesced() throws TException {
+    for (int i = 0; i < 10; i++) {
+      process.updateRemoteAngularObject("slider", "note", "paragraph", "v" + i);
+    }
+    process.updateRemoteAngularObject("other", "note", "paragraph", "o");
+
+    // sent before running a paragraph, without waiting for the scheduled flush
+    process.waitForAngularObjectUpdates();
+
+    verify(client, times(2)).angularObjectUpdate(
+        anyString(), anyString(), anyString(), anyString());
+    verify(client).angularObjectUpdate("slider", "note", "paragraph", "\"v9\"");
+    verify(client).angularObjectUpdate("other", "note", "paragraph", "\"o\"");
+  }
+
+  @Test
+  public void testScheduledFlush() throws TException {
+    process.updateRemoteAngularObject("slider", "note", "paragraph", "v1");
+    process.updateRemoteAngularObject("slider", "note", "paragraph", "v2");
+
+    verify(client, timeout(2000)).angularObjectUpdate("slider", "note", "paragraph", "\"v2\"");
+    verify(client, times(1)).angularObjectUpdate(
+        anyString(), anyString(), anyString(), anyString());
+  }
+
+  @Test
+  public void testFailedAngularObjectUpdateIsRetried() throws TException {
+    doThrow(new TException("connection reset")).doNothing().when(client)
+        .angularObjectUpdate("slider", "note", "paragraph", "\"v1\"");
+
+    process.updateRemoteAngularObject("slider", "note", "paragraph", "v1");
+    process.waitForAngularObjectUpdates();
+    verify(client, times(1)).angularObjectUpdate("slider", "note", "paragraph", "\"v1\"");
+
+    // sent again without any other update
+    verify(client, timeout(RemoteInterpreterProcess.ANGULAR_OBJECT_UPDATE_RETRY_MS * 3).times(2))
+        .angularObjectUpdate("slider", "note", "paragraph", "\"v1\"");
+  }
+
+  private static class FakeProcess extends RemoteInterpreterProcess {
+    private final Client client;
+
+    FakeProcess(Client client) {
+      super(mock(RemoteInterpreterEventPoller.class), 1000);
+      this.client = client;
+    }
+
+    @Override
+    public Client getClient() {
+      return client;
+    }
+
+    @Override
+    public String getHost() {
+      return "localhost";
+    }
+
+    @Override
+    public int getPort() {
+      return 0;
+    }
+
+    @Override
+    public void start(String userName, Boolean isUserImpersonate) {
+    }
+
+    @Override
+    public void stop() {
+    }
+
+    @Override
+    public boolean isRunning() {
+      return true;
+    }
+  }
+}
@@ -0,0 +1,121 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.zeppelin.interpreter.remote;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Mockito.mock;
+
+public class StandbyInterpreterProcessPoolTest {
+
+  private final List<FakeProcess> created = new ArrayList<>();
+
+  private StandbyInterpreterProcessPool.ProcessFactory factory =
+      new StandbyInterpreterProcessPool.ProcessFactory() {
+        @Override
+        public RemoteInterpreterProcess create() {
+          FakeProcess process = new FakeProcess();
+          synchronized (created) {
+            created.add(process);
+          }
+          return process;
+        }
+      };
+
+  @Test
+  public void testDisabledPool() {
+    StandbyInterpreterProcessPool pool = new StandbyInterpreterProcessPool("test", 0, factory);
+    assertFalse(pool.isEnabled());
+    assertNull(pool.poll());
+    assertEquals(0, created.size());
+  }
+
+  @Test
+  public void testPollAndRefill() throws InterruptedException {
+    StandbyInterpreterProcessPool pool = new StandbyInterpreterProcessPool("test", 2, factory);
+    // nothing is started until the pool is first used
+    assertNull(pool.poll());
+    waitForStandby(pool, 2);
+
+    RemoteInterpreterProcess process = pool.poll();
+    assertNotNull(process);
+    assertTrue(process.isRunning());
+    assertEquals(1, pool.getWarmStarts());
+    waitForStandby(pool, 2);
+    assertEquals(3, created.size());
+
+    pool.recordColdStart(100);
+    assertEquals(1, pool.getColdStarts());
+    assertEquals(100L, pool.getStats().get("avgColdStartMs"));
+
+    pool.close();
+    assertEquals(0, pool.getStandbyCount());
+    assertTrue(process.isRunning());
+    assertNull(pool.poll());
+  }
+
+  private void waitForStandby(StandbyInterpreterProcessPool pool, int expected)
+      throws InterruptedException {
+    long start = System.currentTimeMillis();
+    while (pool.getStandbyCount() < expected && System.currentTimeMillis() - start < 10000) {
+      Thread.sleep(10);
+    }
+    assertEquals(expected, pool.getStandbyCount());
+  }
+
+  private static class FakeProcess extends RemoteInterpreterProcess {
+    private volatile boolean running = false;
+
+    FakeProcess() {
+      super(mock(RemoteInterpreterEventPoller.class), 1000);
+    }
+
+    @Override
+    public String getHost() {
+      return "localhost";
+    }
+
+    @Override
+    public int getPort() {
+      return 0;
+    }
+
+    @Override
+    public void start(String userName, Boolean isUserImpersonate) {
+      running = true;
+    }
+
+    @Override
+    public void stop() {
+      running = false;
+    }
+
+    @Override
+    public boolean isRunning() {
+      return running;
+    }
+  }
+}
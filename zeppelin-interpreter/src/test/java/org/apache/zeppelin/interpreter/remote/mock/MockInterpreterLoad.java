@@ -0,0 +1,159 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.zeppelin.interpreter.remote.mock;
+
+import org.apache.zeppelin.interpreter.Interpreter;
+import org.apache.zeppelin.interpreter.InterpreterContext;
+import org.apache.zeppelin.interpreter.InterpreterException;
+import org.apache.zeppelin.interpreter.InterpreterResult;
+import org.apache.zeppelin.interpreter.thrift.InterpreterCompletion;
+import org.apache.zeppelin.scheduler.Scheduler;
+import org.apache.zeppelin.scheduler.SchedulerFactory;
+
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * MockInterpreter generating synthetic output, for load tests. The paragraph text sets the
+ * output, e.g. "latency=100 lines=50 interval=10 bytes=80":
+ *
+ *   latency   milliseconds before the first line
+ *   lines     number of lines written to the output
+ *   interval  milliseconds between two lines
+ *   bytes     size of the padding of each line
+ *
+ * Each line is "LINE_PREFIX epochMillis lineNumber padding", so that the clients can measure
+ * the latency of the output. Progress is the share of the lines written. Paragraphs run
+ * concurrently, up to the "zeppelin.load.concurrency" property.
+ */
+public class MockInterpreterLoad extends Interpreter {
+  public static final String LINE_PREFIX = "load";
+
+  private final ConcurrentMap<String, Integer> progress = new ConcurrentHashMap<>();
+  private final ConcurrentMap<String, Boolean> canceled = new ConcurrentHashMap<>();
+
+  public MockInterpreterLoad(Properties property) {
+    super(property);
+  }
+
+  @Override
+  public void open() {
+  }
+
+  @Override
+  public void close() {
+  }
+
+  /**
+   * @return paragraph text setting the output
+   */
+  public static String script(long latency, int lines, long interval, int bytes) {
+    return "latency=" + latency + " lines=" + lines + " interval=" + interval
+        + " bytes=" + bytes;
+  }
+
+  @Override
+  public InterpreterResult interpret(String st, InterpreterContext context) {
+    Map<String, Long> params = new HashMap<>();
+    for (String param : st.trim().split("\\s+")) {
+      String[] kv = param.split("=");
+      if (kv.length == 2) {
+        params.put(kv[0], Long.parseLong(kv[1]));
+      }
+    }
+    long latency = get(params, "latency", 0);
+    long lines = get(params, "lines", 10);
+    long interval = get(params, "interval", 0);
+    char[] padding = new char[(int) get(params, "bytes", 80)];
+    Arrays.fill(padding, 'x');
+
+    String paragraphId = context.getParagraphId();
+    progress.put(paragraphId, 0);
+    canceled.remove(paragraphId);
+    try {
+      sleep(latency);
+      for (int i = 0; i < lines && !canceled.containsKey(paragraphId); i++) {
+        if (i > 0) {
+          sleep(interval);
+        }
+        context.out.write(LINE_PREFIX + " " + System.currentTimeMillis() + " " + i + " "
+            + new String(padding) + "\n");
+        context.out.flush();
+        progress.put(paragraphId, (int) ((i + 1) * 100 / lines));
+      }
+    } catch (IOException e) {
+      throw new InterpreterException(e);
+    } finally {
+      progress.remove(paragraphId);
+    }
+    return new InterpreterResult(canceled.remove(paragraphId) != null ?
+        InterpreterResult.Code.ERROR : InterpreterResult.Code.SUCCESS);
+  }
+
+  private static long get(Map<String, Long> params, String name, long defaultValue) {
+    Long value = params.get(name);
+    return value == null ? defaultValue : value;
+  }
+
+  private static void sleep(long millis) {
+    if (millis <= 0) {
+      return;
+    }
+    try {
+      Thread.sleep(millis);
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+  }
+
+  @Override
+  public void cancel(InterpreterContext context) {
+    canceled.put(context.getParagraphId(), true);
+  }
+
+  @Override
+  public FormType getFormType() {
+    return FormType.NATIVE;
+  }
+
+  @Override
+  public int getProgress(InterpreterContext context) {
+    Integer p = progress.get(context.getParagraphId());
+    return p == null ? 0 : p;
+  }
+
+  @Override
+  public List<InterpreterCompletion> completion(String buf, int cursor,
+      InterpreterContext interpreterContext) {
+    return null;
+  }
+
+  @Override
+  public Scheduler getScheduler() {
+    int concurrency = Integer.parseInt(
+        getProperty().getProperty("zeppelin.load.concurrency", "100"));
+    return SchedulerFactory.singleton().createOrGetParallelScheduler(
+        "interpreter_" + this.hashCode(), concurrency);
+  }
+}
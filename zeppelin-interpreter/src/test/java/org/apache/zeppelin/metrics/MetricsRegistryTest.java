@@ -0,0 +1,82 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.zeppelin.metrics;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.SortedMap;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.Test;
+
+public class MetricsRegistryTest {
+
+  @Test
+  public void testTimer() {
+    Timer timer = new Timer();
+    assertEquals(0, timer.getPercentileMillis(0.5), 0);
+    for (int i = 0; i < 99; i++) {
+      timer.update(1, TimeUnit.MILLISECONDS);
+    }
+    timer.update(100, TimeUnit.MILLISECONDS);
+
+    assertEquals(100, timer.getCount());
+    assertEquals(1.99, timer.getMeanMillis(), 0.0001);
+    assertEquals(100, timer.getMaxMillis(), 0);
+    // 1ms is counted in the bucket of up to 1024us
+    assertEquals(1.024, timer.getPercentileMillis(0.5), 0);
+    assertEquals(1.024, timer.getPercentileMillis(0.99), 0);
+    assertEquals(100, timer.getPercentileMillis(1), 0);
+  }
+
+  @Test
+  public void testValues() {
+    MetricsRegistry registry = new MetricsRegistry();
+    Counter backlog = registry.counter("websocket.send.backlog");
+    backlog.inc();
+    assertSame(backlog, registry.counter("websocket.send.backlog"));
+    registry.register("scheduler.s1.queue", new Gauge() {
+      @Override
+      public long getValue() {
+        return 3;
+      }
+    });
+    registry.timer("scheduler.s1.wait").update(2, TimeUnit.MILLISECONDS);
+    Map<String, Number> remote = new HashMap<>();
+    remote.put("event.queue", 5.0);
+    registry.putRemoteValues("interpreter.group1", remote);
+
+    SortedMap<String, Number> values = registry.getValues();
+    assertEquals(1L, values.get("websocket.send.backlog"));
+    assertEquals(3L, values.get("scheduler.s1.queue"));
+    assertEquals(1L, values.get("scheduler.s1.wait.count"));
+    assertEquals(2.0, values.get("scheduler.s1.wait.max_ms"));
+    assertEquals(5.0, values.get("interpreter.group1.event.queue"));
+    assertFalse(registry.getLocalValues().containsKey("interpreter.group1.event.queue"));
+    assertTrue(registry.toText().contains("scheduler.s1.queue 3\n"));
+
+    registry.removeAll("scheduler.s1.");
+    registry.removeRemoteValues("interpreter.group1");
+    assertEquals(1, registry.getValues().size());
+  }
+}
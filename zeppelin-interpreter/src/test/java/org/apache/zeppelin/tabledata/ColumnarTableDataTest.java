@@ -0,0 +1,161 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.zeppelin.tabledata;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.fail;
+
+public class ColumnarTableDataTest {
+  private File file;
+
+  @Before
+  public void setUp() throws IOException {
+    file = File.createTempFile("ColumnarTableDataTest", ".ztd");
+  }
+
+  @After
+  public void tearDown() {
+    file.delete();
+  }
+
+  @Test
+  public void testWriteAndRead() throws IOException, ClassNotFoundException {
+    final ColumnDef[] columns = new ColumnDef[] {
+        new ColumnDef("name", ColumnDef.TYPE.STRING),
+        new ColumnDef("count", ColumnDef.TYPE.LONG),
+        new ColumnDef("rank", ColumnDef.TYPE.INT),
+        new ColumnDef("score", ColumnDef.TYPE.DOUBLE)
+    };
+    final List<Row> rows = Arrays.asList(
+        new Row(new Object[] {"sun", 100L, 1, 0.5}),
+        new Row(new Object[] {"", 200L, 2, -1.25}),
+        new Row(new Object[] {"\uB2EC", 300L, 3, 1e10}));
+    ColumnarTableData table = ColumnarTableData.write(file, new TableData() {
+      @Override
+      public ColumnDef[] columns() {
+        return columns;
+      }
+
+      @Override
+      public Iterator<Row> rows() {
+        return rows.iterator();
+      }
+    });
+
+    assertEquals(3, table.getRowCount());
+    assertEquals("\uB2EC", table.getString(0, 2));
+    assertEquals(200L, table.getLong(1, 1));
+    assertEquals(3, table.getInt(2, 2));
+    assertEquals(-1.25, table.getDouble(3, 1), 0);
+
+    // only the path is serialized, the other process maps the same file
+    ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+    new ObjectOutputStream(bytes).writeObject(table);
+    ColumnarTableData copy = (ColumnarTableData) new ObjectInputStream(
+        new ByteArrayInputStream(bytes.toByteArray())).readObject();
+
+    ColumnDef[] cols = copy.columns();
+    assertEquals(4, cols.length);
+    assertEquals("score", cols[3].name());
+    assertEquals(ColumnDef.TYPE.DOUBLE, cols[3].type());
+
+    Iterator<Row> it = copy.rows();
+    assertEquals(Arrays.asList("sun", 100L, 1, 0.5), Arrays.asList(it.next().get()));
+    assertEquals(Arrays.asList("", 200L, 2, -1.25), Arrays.asList(it.next().get()));
+    assertEquals(Arrays.asList("\uB2EC", 300L, 3, 1e10), Arrays.asList(it.next().get()));
+    assertFalse(it.hasNext());
+  }
+
+  @Test
+  public void testNullStrings() throws IOException {
+    final ColumnDef[] columns = new ColumnDef[] {
+        new ColumnDef("name", ColumnDef.TYPE.STRING)
+    };
+    final List<Row> rows = Arrays.asList(
+        new Row(new Object[] {"sun"}),
+        new Row(new Object[] {null}),
+        new Row(new Object[] {""}));
+    ColumnarTableData table = ColumnarTableData.write(file, new TableData() {
+      @Override
+      public ColumnDef[] columns() {
+        return columns;
+      }
+
+      @Override
+      public Iterator<Row> rows() {
+        return rows.iterator();
+      }
+    });
+
+    // null is kept apart from the empty string and is not written as "null"
+    assertEquals("sun", table.getString(0, 0));
+    assertNull(table.getString(0, 1));
+    assertEquals("", table.getString(0, 2));
+  }
+
+  @Test
+  public void testRowOutOfRange() throws IOException {
+    final ColumnDef[] columns = new ColumnDef[] {
+        new ColumnDef("name", ColumnDef.TYPE.STRING),
+        new ColumnDef("count", ColumnDef.TYPE.LONG)
+    };
+    final List<Row> rows = Arrays.asList(
+        new Row(new Object[] {"sun", 100L}),
+        new Row(new Object[] {"moon", 200L}));
+    ColumnarTableData table = ColumnarTableData.write(file, new TableData() {
+      @Override
+      public ColumnDef[] columns() {
+        return columns;
+      }
+
+      @Override
+      public Iterator<Row> rows() {
+        return rows.iterator();
+      }
+    });
+
+    assertEquals("moon", table.getString(0, 1));
+    try {
+      table.getString(0, 2);
+      fail("row 2 of 2 should be out of range");
+    } catch (IndexOutOfBoundsException e) {
+      // expected
+    }
+    try {
+      table.getLong(1, 2);
+      fail("row 2 of 2 should be out of range");
+    } catch (IndexOutOfBoundsException e) {
+      // expected
+    }
+  }
+}
@@ -0,0 +1,79 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.zeppelin.tracing;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.List;
+
+import org.junit.Test;
+
+public class TracerTest {
+
+  @Test
+  public void testSpans() {
+    Tracer tracer = new Tracer(3);
+    Span span = tracer.startSpan("t1", "paragraph.interpret");
+    assertEquals(-1, span.getDurationNanos());
+    span.end();
+    long duration = span.getDurationNanos();
+    assertTrue(duration >= 0);
+    span.end();
+    assertEquals(duration, span.getDurationNanos());
+
+    tracer.startSpan(null, "paragraph.interpret").end();
+    tracer.record(new Span("t2", "interpreter.execute", 0, 10));
+    tracer.record(new Span("t1", "interpreter.execute", 0, 20));
+    assertEquals(3, tracer.getRecentSpans().size());
+    assertEquals(2, tracer.getSpans("t1").size());
+
+    List<Span> spans = tracer.takeSpans("t2");
+    assertEquals(1, spans.size());
+    assertEquals(10, spans.get(0).getDurationNanos());
+    assertEquals(0, tracer.getSpans("t2").size());
+  }
+
+  @Test
+  public void testCapacity() {
+    Tracer tracer = new Tracer(2);
+    tracer.record(new Span("t1", "a", 0, 1));
+    tracer.record(new Span("t1", "b", 0, 1));
+    tracer.record(new Span("t1", "c", 0, 1));
+    List<Span> spans = tracer.getSpans("t1");
+    assertEquals(2, spans.size());
+    assertEquals("b", spans.get(0).getName());
+  }
+
+  @Test
+  public void testEvictionAfterTake() {
+    Tracer tracer = new Tracer(2);
+    tracer.record(new Span("t1", "a", 0, 1));
+    tracer.record(new Span("t2", "b", 0, 1));
+    assertEquals(1, tracer.takeSpans("t1").size());
+    assertEquals(0, tracer.takeSpans("t1").size());
+
+    // the taken span doesn't count towards the capacity anymore
+    tracer.record(new Span("t3", "c", 0, 1));
+    assertEquals(1, tracer.getSpans("t2").size());
+    tracer.record(new Span("t3", "d", 0, 1));
+    assertEquals(0, tracer.getSpans("t2").size());
+    assertEquals(2, tracer.getSpans("t3").size());
+    assertEquals(2, tracer.getRecentSpans().size());
+  }
+}
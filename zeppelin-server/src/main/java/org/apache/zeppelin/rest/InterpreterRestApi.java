@@ -261,6 +261,21 @@ public class InterpreterRestApi {
     return new JsonResponse<>(Status.OK, "metadata", infos).build();
   }
 
+  /**
+   * Get statistics about warm and cold interpreter process starts of an interpreter setting
+   */
+  @GET
+  @Path("process/{settingId}")
+  @ZeppelinApi
+  public Response getProcessStats(@PathParam("settingId") String settingId) {
+    InterpreterSetting interpreterSetting = interpreterSettingManager.get(settingId);
+    if (interpreterSetting == null) {
+      return new JsonResponse<>(Status.NOT_FOUND).build();
+    }
+    return new JsonResponse<>(Status.OK, "",
+        interpreterSetting.getStandbyProcessPool().getStats()).build();
+  }
+
   /**
    * Delete repository
    *
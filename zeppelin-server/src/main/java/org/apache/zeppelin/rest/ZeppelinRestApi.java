@@ -20,6 +20,7 @@ package org.apache.zeppelin.rest;
 import org.apache.log4j.Level;
 import org.apache.log4j.Logger;
 import org.apache.zeppelin.annotation.ZeppelinApi;
+import org.apache.zeppelin.metrics.MetricsRegistry;
 import org.apache.zeppelin.server.JsonResponse;
 import org.apache.zeppelin.util.Util;
 
@@ -31,7 +32,9 @@ import javax.ws.rs.GET;
 import javax.ws.rs.PUT;
 import javax.ws.rs.Path;
 import javax.ws.rs.PathParam;
+import javax.ws.rs.Produces;
 import javax.ws.rs.core.Context;
+import javax.ws.rs.core.MediaType;
 import javax.ws.rs.core.Response;
 
 /**
@@ -67,6 +70,20 @@ public class ZeppelinRestApi {
     return new JsonResponse<>(Response.Status.OK, "Zeppelin version", versionInfo).build();
   }
 
+  /**
+   * Get the metrics of the server and of the running interpreter processes, one
+   * "name value" line per metric
+   *
+   * @return 200 response with the metrics as plain text
+   */
+  @GET
+  @Path("metrics")
+  @Produces(MediaType.TEXT_PLAIN)
+  @ZeppelinApi
+  public Response getMetrics() {
+    return Response.ok(MetricsRegistry.singleton().toText(), MediaType.TEXT_PLAIN).build();
+  }
+
   /**
    * Set the log level for root logger
    * @param request
@@ -64,6 +64,8 @@ import org.apache.zeppelin.scheduler.Job;
 import org.apache.zeppelin.scheduler.Job.Status;
 import org.apache.zeppelin.server.ZeppelinServer;
 import org.apache.zeppelin.ticket.TicketContainer;
+import org.apache.zeppelin.tracing.Span;
+import org.apache.zeppelin.tracing.Tracer;
 import org.apache.zeppelin.types.InterpreterSettingsList;
 import org.apache.zeppelin.user.AuthenticationInfo;
 import org.apache.zeppelin.util.WatcherSecurityKey;
@@ -1930,7 +1932,9 @@ public class NotebookServer extends WebSocketServlet
   public void onOutputAppend(String noteId, String paragraphId, int index, String output) {
     Message msg = new Message(OP.PARAGRAPH_APPEND_OUTPUT).put("noteId", noteId)
         .put("paragraphId", paragraphId).put("index", index).put("data", output);
+    Span span = Tracer.singleton().startSpan(getTraceId(noteId, paragraphId), "output.broadcast");
     broadcast(noteId, msg);
+    span.end();
   }
 
   /**
@@ -1944,6 +1948,7 @@ public class NotebookServer extends WebSocketServlet
     Message msg = new Message(OP.PARAGRAPH_UPDATE_OUTPUT).put("noteId", noteId)
         .put("paragraphId", paragraphId).put("index", index).put("type", type).put("data", output);
     Note note = notebook().getNote(noteId);
+    Span span = Tracer.singleton().startSpan(getTraceId(noteId, paragraphId), "output.broadcast");
     if (note.isPersonalizedMode()) {
       String user = note.getParagraph(paragraphId).getUser();
       if (null != user) {
@@ -1952,6 +1957,16 @@ public class NotebookServer extends WebSocketServlet
     } else {
       broadcast(noteId, msg);
     }
+    span.end();
+  }
+
+  /**
+   * @return trace id of the current or last run of the paragraph, null when it's not traced
+   */
+  private String getTraceId(String noteId, String paragraphId) {
+    Note note = notebook().getNote(noteId);
+    Paragraph paragraph = note == null ? null : note.getParagraph(paragraphId);
+    return paragraph == null ? null : paragraph.getTraceId();
   }
 
 
@@ -2212,12 +2227,22 @@ public class NotebookServer extends WebSocketServlet
               job.getStatus(), job.getException(), job.getReturn());
         }
 
+        // the timing of this run is persisted, without the persist step which is added after
+        if (job instanceof Paragraph) {
+          ((Paragraph) job).updateTimingRuntimeInfo();
+        }
+        Span persist = Tracer.singleton().startSpan(
+            job instanceof Paragraph ? ((Paragraph) job).getTraceId() : null, "note.persist");
         try {
           //TODO(khalid): may change interface for JobListener and pass subject from interpreter
           note.persist(job instanceof Paragraph ? ((Paragraph) job).getAuthenticationInfo() : null);
         } catch (IOException e) {
           LOG.error(e.toString(), e);
         }
+        persist.end();
+        if (job instanceof Paragraph) {
+          ((Paragraph) job).updateTimingRuntimeInfo();
+        }
       }
       if (job instanceof Paragraph) {
         Paragraph p = (Paragraph) job;
@@ -2240,7 +2265,9 @@ public class NotebookServer extends WebSocketServlet
           new Message(OP.PARAGRAPH_APPEND_OUTPUT).put("noteId", paragraph.getNote().getId())
               .put("paragraphId", paragraph.getId()).put("data", output);
 
+      Span span = Tracer.singleton().startSpan(paragraph.getTraceId(), "output.broadcast");
       notebookServer.broadcast(paragraph.getNote().getId(), msg);
+      span.end();
     }
 
     /**
@@ -2253,7 +2280,9 @@ public class NotebookServer extends WebSocketServlet
           new Message(OP.PARAGRAPH_UPDATE_OUTPUT).put("noteId", paragraph.getNote().getId())
               .put("paragraphId", paragraph.getId()).put("data", output);
 
+      Span span = Tracer.singleton().startSpan(paragraph.getTraceId(), "output.broadcast");
       notebookServer.broadcast(paragraph.getNote().getId(), msg);
+      span.end();
     }
 
     @Override
@@ -21,6 +21,9 @@ import java.io.IOException;
 import javax.servlet.http.HttpServletRequest;
 
 import org.apache.commons.lang.StringUtils;
+import org.apache.zeppelin.metrics.Counter;
+import org.apache.zeppelin.metrics.MetricsRegistry;
+import org.apache.zeppelin.metrics.Timer;
 import org.eclipse.jetty.websocket.api.Session;
 import org.eclipse.jetty.websocket.api.WebSocketAdapter;
 
@@ -28,6 +31,10 @@ import org.eclipse.jetty.websocket.api.WebSocketAdapter;
  * Notebook websocket
  */
 public class NotebookSocket extends WebSocketAdapter {
+  // messages being sent or waiting for the previous message of their socket, of all sockets
+  private static final Counter sendBacklog =
+      MetricsRegistry.singleton().counter("websocket.send.backlog");
+  private static final Timer sendTimer = MetricsRegistry.singleton().timer("websocket.send");
 
   private Session connection;
   private NotebookSocketListener listener;
@@ -68,8 +75,17 @@ public class NotebookSocket extends WebSocketAdapter {
     return protocol;
   }
 
-  public synchronized void send(String serializeMessage) throws IOException {
-    connection.getRemote().sendString(serializeMessage);
+  public void send(String serializeMessage) throws IOException {
+    long start = System.nanoTime();
+    sendBacklog.inc();
+    try {
+      synchronized (this) {
+        connection.getRemote().sendString(serializeMessage);
+      }
+    } finally {
+      sendBacklog.dec();
+      sendTimer.update(System.nanoTime() - start);
+    }
   }
 
   public String getUser() {
@@ -0,0 +1,168 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.zeppelin.socket;
+
+import com.google.gson.Gson;
+
+import org.apache.zeppelin.interpreter.remote.mock.MockInterpreterLoad;
+import org.apache.zeppelin.metrics.Timer;
+import org.apache.zeppelin.notebook.socket.Message;
+import org.apache.zeppelin.notebook.socket.Message.OP;
+import org.eclipse.jetty.websocket.api.WebSocketAdapter;
+import org.eclipse.jetty.websocket.client.ClientUpgradeRequest;
+import org.eclipse.jetty.websocket.client.WebSocketClient;
+
+import java.io.IOException;
+import java.net.URI;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Websocket client of NotebookServer simulating a user: opens a note, runs its own paragraph
+ * of the note and receives the output of all the paragraphs of the note.
+ *
+ * The latency of each output line of MockInterpreterLoad is recorded, from the write in the
+ * interpreter process to the reception by the client.
+ */
+public class LoadTestClient extends WebSocketAdapter {
+  private static final Gson gson = new Gson();
+
+  private final String noteId;
+  private final String paragraphId;
+  private final Timer outputLatency;
+  private final AtomicLong linesReceived = new AtomicLong();
+  private final AtomicLong progressReceived = new AtomicLong();
+  private final AtomicLong messagesReceived = new AtomicLong();
+
+  // state of the run of the paragraph of the client, guarded by this
+  private boolean running;
+  private boolean started;
+
+  public LoadTestClient(String noteId, String paragraphId, Timer outputLatency) {
+    this.noteId = noteId;
+    this.paragraphId = paragraphId;
+    this.outputLatency = outputLatency;
+  }
+
+  public void connect(WebSocketClient client, URI uri, long timeoutMs) throws Exception {
+    ClientUpgradeRequest request = new ClientUpgradeRequest();
+    // NotebookServer only accepts the connections from allowed origins
+    request.setHeader("Origin", "http://localhost");
+    client.connect(this, uri, request).get(timeoutMs, TimeUnit.MILLISECONDS);
+    send(new Message(OP.GET_NOTE).put("id", noteId));
+  }
+
+  /**
+   * Run the paragraph of the client and wait for its end
+   *
+   * @return nanoseconds from the request to the reception of the finished paragraph
+   */
+  public long run(String script, long timeoutMs) throws IOException, InterruptedException,
+      TimeoutException {
+    long start = System.nanoTime();
+    synchronized (this) {
+      running = true;
+      started = false;
+    }
+    send(new Message(OP.RUN_PARAGRAPH)
+        .put("id", paragraphId)
+        .put("paragraph", script)
+        .put("title", paragraphId));
+
+    long deadline = System.currentTimeMillis() + timeoutMs;
+    synchronized (this) {
+      while (running) {
+        long wait = deadline - System.currentTimeMillis();
+        if (wait <= 0) {
+          throw new TimeoutException("Paragraph " + paragraphId + " didn't finish");
+        }
+        wait(wait);
+      }
+    }
+    return System.nanoTime() - start;
+  }
+
+  private void send(Message message) throws IOException {
+    getRemote().sendString(gson.toJson(message));
+  }
+
+  @Override
+  public void onWebSocketText(String text) {
+    long now = System.currentTimeMillis();
+    messagesReceived.incrementAndGet();
+    Message message = gson.fromJson(text, Message.class);
+    if (message.op == OP.PARAGRAPH_APPEND_OUTPUT) {
+      String data = (String) message.get("data");
+      if (data != null) {
+        onOutput(data, now);
+      }
+    } else if (message.op == OP.PROGRESS) {
+      progressReceived.incrementAndGet();
+    } else if (message.op == OP.PARAGRAPH) {
+      Map<String, Object> paragraph = (Map<String, Object>) message.get("paragraph");
+      if (paragraph != null && paragraphId.equals(paragraph.get("id"))) {
+        onStatus((String) paragraph.get("status"));
+      }
+    }
+  }
+
+  private void onOutput(String data, long now) {
+    // appended output can hold several lines
+    for (String line : data.split("\n")) {
+      String[] fields = line.split(" ", 3);
+      if (fields.length == 3 && MockInterpreterLoad.LINE_PREFIX.equals(fields[0])) {
+        long written = Long.parseLong(fields[1]);
+        outputLatency.update(Math.max(now - written, 0), TimeUnit.MILLISECONDS);
+        linesReceived.incrementAndGet();
+      }
+    }
+  }
+
+  private synchronized void onStatus(String status) {
+    if (!running || status == null) {
+      return;
+    }
+    if (status.equals("PENDING") || status.equals("RUNNING")) {
+      started = true;
+    } else if (started && (status.equals("FINISHED") || status.equals("ERROR")
+        || status.equals("ABORT"))) {
+      running = false;
+      notifyAll();
+    }
+  }
+
+  public long getLinesReceived() {
+    return linesReceived.get();
+  }
+
+  public long getProgressReceived() {
+    return progressReceived.get();
+  }
+
+  public long getMessagesReceived() {
+    return messagesReceived.get();
+  }
+
+  public void close() {
+    if (isConnected()) {
+      getSession().close();
+    }
+  }
+}
@@ -0,0 +1,303 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.zeppelin.socket;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import org.apache.zeppelin.conf.ZeppelinConfiguration;
+import org.apache.zeppelin.interpreter.InterpreterInfo;
+import org.apache.zeppelin.interpreter.InterpreterOption;
+import org.apache.zeppelin.interpreter.InterpreterProperty;
+import org.apache.zeppelin.interpreter.InterpreterRunner;
+import org.apache.zeppelin.interpreter.InterpreterSetting;
+import org.apache.zeppelin.interpreter.remote.mock.MockInterpreterLoad;
+import org.apache.zeppelin.metrics.MetricsRegistry;
+import org.apache.zeppelin.metrics.Timer;
+import org.apache.zeppelin.notebook.Note;
+import org.apache.zeppelin.notebook.Notebook;
+import org.apache.zeppelin.notebook.Paragraph;
+import org.apache.zeppelin.rest.AbstractTestRestApi;
+import org.apache.zeppelin.server.ZeppelinServer;
+import org.apache.zeppelin.user.AuthenticationInfo;
+import org.eclipse.jetty.websocket.client.WebSocketClient;
+import org.junit.AfterClass;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import java.lang.management.ManagementFactory;
+import java.net.URI;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import javax.management.ObjectName;
+
+/**
+ * Load test of NotebookServer and of the remote interpreter path: websocket clients share notes,
+ * each one runs its own paragraph of MockInterpreterLoad in a remote interpreter process and
+ * receives the output of all the paragraphs of its note.
+ *
+ * Reports the throughput, the latency of the runs and of the output lines, and the resource
+ * usage of ZeppelinServer. It's left out of the default build, -Dload activates the load-test
+ * profile which runs it. The default run is small; size it with system properties, e.g.
+ * mvn test -pl zeppelin-server -Dload -Dtest=NotebookServerLoadTest -Dload.clients=500
+ *
+ *   load.clients          websocket clients
+ *   load.clientsPerNote   clients sharing a note
+ *   load.runs             runs of the paragraph of each client
+ *   load.latency          milliseconds before the first output line of a run
+ *   load.lines            output lines of a run
+ *   load.interval         milliseconds between two output lines
+ *   load.bytes            size of an output line
+ *
+ * The output of a run, lines * bytes, must stay under zeppelin.interpreter.output.limit.
+ */
+public class NotebookServerLoadTest extends AbstractTestRestApi {
+  private static final String INTERPRETER_SCRIPT =
+      System.getProperty("os.name").startsWith("Windows") ?
+          "../bin/interpreter.cmd" :
+          "../bin/interpreter.sh";
+  private static final long TIMEOUT_MS = 5 * 60 * 1000;
+
+  private static final int clients = Integer.getInteger("load.clients", 10);
+  private static final int clientsPerNote = Integer.getInteger("load.clientsPerNote", 5);
+  private static final int runs = Integer.getInteger("load.runs", 3);
+  private static final long latency = Long.getLong("load.latency", 50);
+  private static final int lines = Integer.getInteger("load.lines", 20);
+  private static final long interval = Long.getLong("load.interval", 10);
+  private static final int bytes = Integer.getInteger("load.bytes", 80);
+
+  private static Notebook notebook;
+  private static InterpreterSetting setting;
+  private static List<Note> notes = new ArrayList<>();
+  private static AuthenticationInfo anonymous = new AuthenticationInfo("anonymous");
+
+  @BeforeClass
+  public static void init() throws Exception {
+    AbstractTestRestApi.startUp();
+    notebook = ZeppelinServer.notebook;
+
+    InterpreterOption option = new InterpreterOption();
+    option.setRemote(true);
+    Map<String, InterpreterProperty> properties = new HashMap<>();
+    properties.put("zeppelin.load.concurrency",
+        new InterpreterProperty("zeppelin.load.concurrency", clients));
+    // paragraphs of the notes run concurrently in ZeppelinServer too
+    properties.put("zeppelin.interpreter.max.poolsize",
+        new InterpreterProperty("zeppelin.interpreter.max.poolsize", clients));
+    List<InterpreterInfo> infos = new ArrayList<>();
+    infos.add(new InterpreterInfo(MockInterpreterLoad.class.getName(), "load", true,
+        new HashMap<String, Object>()));
+    setting = new InterpreterSetting.Builder()
+        .setName("load")
+        .setGroup("load")
+        .setInterpreterInfos(infos)
+        .setOption(option)
+        .setProperties(properties)
+        .setRunner(new InterpreterRunner(INTERPRETER_SCRIPT, INTERPRETER_SCRIPT))
+        .setInterpreterDir("../interpreter/load")
+        .setConf(ZeppelinConfiguration.create())
+        .create();
+    notebook.getInterpreterSettingManager().addInterpreterSetting(setting);
+  }
+
+  @AfterClass
+  public static void destroy() throws Exception {
+    for (Note note : notes) {
+      notebook.removeNote(note.getId(), anonymous);
+    }
+    notebook.getInterpreterSettingManager().remove(setting.getId());
+    AbstractTestRestApi.shutDown();
+  }
+
+  @Test
+  public void testLoad() throws Exception {
+    // notes and paragraphs of the clients
+    final Timer outputLatency = new Timer();
+    final List<LoadTestClient> loadClients = new ArrayList<>();
+    Map<LoadTestClient, Integer> clientsOfNote = new HashMap<>();
+    for (int i = 0; i < clients; i++) {
+      if (i % clientsPerNote == 0) {
+        notes.add(notebook.createNote(Arrays.asList(setting.getId()), anonymous));
+      }
+      Note note = notes.get(notes.size() - 1);
+      Paragraph p = note.addNewParagraph(AuthenticationInfo.ANONYMOUS);
+      loadClients.add(new LoadTestClient(note.getId(), p.getId(), outputLatency));
+    }
+    for (int i = 0; i < clients; i++) {
+      int first = i - i % clientsPerNote;
+      clientsOfNote.put(loadClients.get(i), Math.min(clientsPerNote, clients - first));
+    }
+
+    WebSocketClient wsClient = new WebSocketClient();
+    // paragraphs are sent with their whole output
+    wsClient.getPolicy().setMaxTextMessageSize(64 * 1024 * 1024);
+    wsClient.start();
+    URI uri = new URI("ws://localhost:8080/ws");
+    for (LoadTestClient client : loadClients) {
+      client.connect(wsClient, uri, TIMEOUT_MS);
+    }
+
+    // warm up the interpreter process, so that its start isn't measured
+    final String script = "%load " + MockInterpreterLoad.script(latency, lines, interval, bytes);
+    loadClients.get(0).run("%load " + MockInterpreterLoad.script(0, 1, 0, 1), TIMEOUT_MS);
+    Map<LoadTestClient, Long> linesBefore = new HashMap<>();
+    for (LoadTestClient client : loadClients) {
+      linesBefore.put(client, client.getLinesReceived());
+    }
+
+    ResourceSampler sampler = new ResourceSampler();
+    final Timer runLatency = new Timer();
+    final AtomicLong failures = new AtomicLong();
+    ExecutorService executor = Executors.newFixedThreadPool(clients);
+    List<Future<?>> futures = new ArrayList<>();
+    long start = System.nanoTime();
+    for (final LoadTestClient client : loadClients) {
+      futures.add(executor.submit(new Callable<Void>() {
+        @Override
+        public Void call() throws Exception {
+          for (int r = 0; r < runs; r++) {
+            try {
+              runLatency.update(client.run(script, TIMEOUT_MS));
+            } catch (Exception e) {
+              LOG.error("Run failed", e);
+              failures.incrementAndGet();
+            }
+          }
+          return null;
+        }
+      }));
+    }
+    for (Future<?> future : futures) {
+      future.get();
+    }
+    long elapsed = System.nanoTime() - start;
+
+    // output lines may be received after the end of the paragraph
+    long deadline = System.currentTimeMillis() + 10000;
+    boolean allReceived = false;
+    while (!allReceived && System.currentTimeMillis() < deadline) {
+      allReceived = true;
+      for (LoadTestClient client : loadClients) {
+        long expected = (long) runs * lines * clientsOfNote.get(client);
+        allReceived &= client.getLinesReceived() - linesBefore.get(client) >= expected;
+      }
+      if (!allReceived) {
+        Thread.sleep(100);
+      }
+    }
+    sampler.stop();
+    executor.shutdown();
+
+    long received = 0;
+    long progress = 0;
+    long messages = 0;
+    for (LoadTestClient client : loadClients) {
+      received += client.getLinesReceived() - linesBefore.get(client);
+      progress += client.getProgressReceived();
+      messages += client.getMessagesReceived();
+      client.close();
+    }
+    wsClient.stop();
+
+    double seconds = elapsed / 1e9;
+    StringBuilder report = new StringBuilder("\nLoad test report\n");
+    report.append(String.format("clients %d, notes %d, runs per client %d, output %d lines of "
+        + "%d bytes every %d ms after %d ms%n", clients, notes.size(), runs, lines, bytes,
+        interval, latency));
+    report.append(String.format("elapsed %.1f s, %.1f runs/s, %.1f output lines/s received, "
+        + "%d messages, %d progress updates%n", seconds, runLatency.getCount() / seconds,
+        received / seconds, messages, progress));
+    report.append(String.format("run latency ms: mean %.1f, p50 %.1f, p99 %.1f, max %.1f%n",
+        runLatency.getMeanMillis(), runLatency.getPercentileMillis(0.5),
+        runLatency.getPercentileMillis(0.99), runLatency.getMaxMillis()));
+    report.append(String.format("output latency ms: mean %.1f, p50 %.1f, p99 %.1f, max %.1f%n",
+        outputLatency.getMeanMillis(), outputLatency.getPercentileMillis(0.5),
+        outputLatency.getPercentileMillis(0.99), outputLatency.getMaxMillis()));
+    report.append(sampler.report());
+    for (Map.Entry<String, Number> entry : MetricsRegistry.singleton().getValues().entrySet()) {
+      if (entry.getKey().startsWith("websocket.") || entry.getKey().startsWith("interpreter.")) {
+        report.append(entry.getKey()).append(' ').append(entry.getValue()).append('\n');
+      }
+    }
+    LOG.info(report.toString());
+
+    assertEquals(0, failures.get());
+    assertTrue("Output lines are missing", allReceived);
+  }
+
+  /**
+   * Samples the heap and the threads of the process, which runs ZeppelinServer
+   */
+  private static class ResourceSampler implements Runnable {
+    private final ScheduledExecutorService executor =
+        Executors.newSingleThreadScheduledExecutor();
+    private final long start = System.nanoTime();
+    private final long startCpuNanos = getProcessCpuTime();
+    private long maxHeap;
+    private int maxThreads;
+    private long endCpuNanos;
+    private long end;
+
+    ResourceSampler() {
+      executor.scheduleAtFixedRate(this, 0, 200, TimeUnit.MILLISECONDS);
+    }
+
+    @Override
+    public synchronized void run() {
+      maxHeap = Math.max(maxHeap,
+          ManagementFactory.getMemoryMXBean().getHeapMemoryUsage().getUsed());
+      maxThreads = Math.max(maxThreads, ManagementFactory.getThreadMXBean().getThreadCount());
+    }
+
+    void stop() throws InterruptedException {
+      executor.shutdown();
+      executor.awaitTermination(1, TimeUnit.SECONDS);
+      end = System.nanoTime();
+      endCpuNanos = getProcessCpuTime();
+    }
+
+    synchronized String report() {
+      String cpu = startCpuNanos < 0 || endCpuNanos < 0 ? "n/a" :
+          String.format("%.2f", (double) (endCpuNanos - startCpuNanos) / (end - start));
+      return String.format("server: max heap used %d MB, max threads %d, cpu cores used %s%n",
+          maxHeap / (1024 * 1024), maxThreads, cpu);
+    }
+
+    // not part of the standard MXBean interface, available on most JVMs
+    private static long getProcessCpuTime() {
+      try {
+        return ((Number) ManagementFactory.getPlatformMBeanServer().getAttribute(
+            new ObjectName(ManagementFactory.OPERATING_SYSTEM_MXBEAN_NAME), "ProcessCpuTime"))
+            .longValue();
+      } catch (Exception e) {
+        return -1;
+      }
+    }
+  }
+}
@@ -1080,6 +1080,15 @@ function ParagraphCtrl ($scope, $rootScope, $route, $window, $routeParams, $loca
     return desc
   }
 
+  // time spent in each step of the last run, see Paragraph.updateTimingRuntimeInfo()
+  $scope.getTiming = function (paragraph) {
+    const timing = paragraph.runtimeInfos && paragraph.runtimeInfos.timing
+    if (!timing || !timing.values || timing.values.length === 0) {
+      return ''
+    }
+    return timing.values[timing.values.length - 1]
+  }
+
   $scope.getElapsedTime = function (paragraph) {
     return 'Started ' + moment(paragraph.dateStarted).fromNow() + '.'
   }
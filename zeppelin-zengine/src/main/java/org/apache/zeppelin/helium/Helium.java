@@ -269,7 +269,7 @@ public class Helium {
   }
 
   public File getBundle(HeliumPackage pkg, boolean rebuild) throws IOException {
-    return bundleFactory.buildPackage(pkg, rebuild, true);
+    return bundleFactory.getPackageBundle(pkg, rebuild);
   }
 
   public boolean enable(String name, String artifact) throws IOException {
@@ -280,9 +280,10 @@ public class Helium {
       return false;
     }
 
-    // if package is bundle, rebuild bundle
+    // if package is bundle, build it in the background unless it's cached.
+    // loading the bundle waits for the build
     if (HeliumPackage.isBundleType(pkgInfo.getPkg().getType())) {
-      bundleFactory.buildPackage(pkgInfo.getPkg(), true, true);
+      bundleFactory.buildPackageInBackground(pkgInfo.getPkg());
     }
 
     // set `enable` field
@@ -19,6 +19,8 @@ package org.apache.zeppelin.helium;
 import com.github.eirslett.maven.plugins.frontend.lib.*;
 
 import com.google.common.base.Charsets;
+import com.google.common.hash.Hasher;
+import com.google.common.hash.Hashing;
 import com.google.common.io.Resources;
 import com.google.gson.Gson;
 import com.google.gson.reflect.TypeToken;
@@ -41,6 +43,14 @@ import org.slf4j.LoggerFactory;
 import java.io.*;
 import java.net.URI;
 import java.util.*;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadFactory;
+import java.util.regex.Pattern;
 
 import org.apache.zeppelin.conf.ZeppelinConfiguration;
 
@@ -60,7 +70,11 @@ public class HeliumBundleFactory {
   private static final String HELIUM_BUNDLES_SRC = "load.js";
   private static final String YARN_CACHE_DIR = "yarn-cache";
   private static final String PACKAGE_JSON = "package.json";
-  private static final String HELIUM_BUNDLE_CACHE = "helium.bundle.cache.js";
+  private static final String HELIUM_BUNDLE_CACHE_DIR = "bundle-cache";
+  // bundle cache of the package directory layout used before the bundle-cache directory
+  private static final String LEGACY_HELIUM_BUNDLE_CACHE = "helium.bundle.cache.js";
+  // bundles kept per package, besides the one served, so switching back doesn't rebuild
+  private static final int MAX_CACHED_BUNDLES_PER_PACKAGE = 2;
   private static final String HELIUM_BUNDLE = "helium.bundle.js";
   private static final String HELIUM_BUNDLES_VAR = "heliumBundles";
   private static final int FETCH_RETRY_COUNT = 2;
@@ -73,6 +87,8 @@ public class HeliumBundleFactory {
   private final File heliumBundleDirectory;
   private final File heliumLocalModuleDirectory;
   private final File yarnCacheDir;
+  // built bundles, named after the hash of everything the build depends on
+  private final File bundleCacheDirectory;
   private File tabledataModulePath;
   private File visualizationModulePath;
   private File spellModulePath;
@@ -82,6 +98,23 @@ public class HeliumBundleFactory {
   private Gson gson;
   private boolean nodeAndNpmInstalled = false;
 
+  // builds share node, the local modules and the captured output, so they run one at a time
+  private final ExecutorService buildExecutor = Executors.newSingleThreadExecutor(
+      new ThreadFactory() {
+        @Override
+        public Thread newThread(Runnable r) {
+          Thread t = new Thread(r, "HeliumBundleBuilder");
+          t.setDaemon(true);
+          return t;
+        }
+      });
+  // cache key -> build in progress
+  private final Map<String, Future<File>> builds = new ConcurrentHashMap<>();
+  // package name -> the last bundle built or served for the package
+  private final Map<String, File> lastBundles = new ConcurrentHashMap<>();
+  // cache key -> error of the last build, until it's reported or built again
+  private final Map<String, String> buildErrors = new ConcurrentHashMap<>();
+
   private ByteArrayOutputStream out  = new ByteArrayOutputStream();
 
   public HeliumBundleFactory(
@@ -105,6 +138,7 @@ public class HeliumBundleFactory {
     this.heliumBundleDirectory = new File(heliumLocalRepoDirectory, HELIUM_BUNDLES_DIR);
     this.heliumLocalModuleDirectory = new File(heliumLocalRepoDirectory, HELIUM_LOCAL_MODULE_DIR);
     this.yarnCacheDir = new File(heliumLocalRepoDirectory, YARN_CACHE_DIR);
+    this.bundleCacheDirectory = new File(heliumLocalRepoDirectory, HELIUM_BUNDLE_CACHE_DIR);
     this.defaultNodeInstallerUrl = conf.getHeliumNodeInstallerUrl();
     this.defaultNpmInstallerUrl = conf.getHeliumNpmInstallerUrl();
     this.defaultYarnInstallerUrl = conf.getHeliumYarnInstallerUrl();
@@ -116,6 +150,7 @@ public class HeliumBundleFactory {
             heliumLocalRepoDirectory, nodeInstallationDirectory);
 
     gson = new Gson();
+    deleteLegacyBundleCaches();
   }
 
   void installNodeAndNpm() throws TaskRunnerException {
@@ -208,8 +243,125 @@ public class HeliumBundleFactory {
     return new File(heliumBundleDirectory, pkgName + "/" + HELIUM_BUNDLES_SRC_DIR);
   }
 
-  private File getHeliumPackageBundleCache(String pkgName) {
-    return new File(heliumBundleDirectory, pkgName + "/" + HELIUM_BUNDLE_CACHE);
+  private File getHeliumPackageBundleCache(String pkgName, String cacheKey) {
+    return new File(bundleCacheDirectory, getBundleCachePrefix(pkgName) + cacheKey + ".js");
+  }
+
+  private String getBundleCachePrefix(String pkgName) {
+    return pkgName.replaceAll("[^A-Za-z0-9_.-]", "_") + "-";
+  }
+
+  /**
+   * Delete the bundles of the package except the newest ones and the one being served
+   */
+  void pruneBundleCache(String pkgName, File keep) {
+    final Pattern pattern = Pattern.compile(
+        Pattern.quote(getBundleCachePrefix(pkgName)) + "[0-9a-f]{40}\\.js");
+    File[] bundles = bundleCacheDirectory.listFiles(new FileFilter() {
+      @Override
+      public boolean accept(File file) {
+        return file.isFile() && pattern.matcher(file.getName()).matches();
+      }
+    });
+    if (bundles == null || bundles.length <= MAX_CACHED_BUNDLES_PER_PACKAGE) {
+      return;
+    }
+    Arrays.sort(bundles, new Comparator<File>() {
+      @Override
+      public int compare(File f1, File f2) {
+        return Long.compare(f2.lastModified(), f1.lastModified());
+      }
+    });
+    File served = lastBundles.get(pkgName);
+    for (int i = MAX_CACHED_BUNDLES_PER_PACKAGE; i < bundles.length; i++) {
+      if (!bundles[i].equals(keep) && !bundles[i].equals(served)) {
+        logger.info("Delete superseded bundle " + bundles[i]);
+        FileUtils.deleteQuietly(bundles[i]);
+      }
+    }
+  }
+
+  /**
+   * Delete the bundles cached in the package directories, and the bundles cached without
+   * the package name, by previous versions
+   */
+  private void deleteLegacyBundleCaches() {
+    File[] packageDirs = heliumBundleDirectory.listFiles();
+    if (packageDirs != null) {
+      for (File packageDir : packageDirs) {
+        File legacyBundleCache = new File(packageDir, LEGACY_HELIUM_BUNDLE_CACHE);
+        if (legacyBundleCache.isFile()) {
+          logger.info("Delete legacy bundle cache " + legacyBundleCache);
+          FileUtils.deleteQuietly(legacyBundleCache);
+        }
+      }
+    }
+    File[] unnamedBundles = bundleCacheDirectory.listFiles(new FileFilter() {
+      @Override
+      public boolean accept(File file) {
+        return file.isFile() && file.getName().matches("[0-9a-f]{40}\\.js");
+      }
+    });
+    if (unnamedBundles != null) {
+      for (File unnamedBundle : unnamedBundles) {
+        logger.info("Delete legacy bundle cache " + unnamedBundle);
+        FileUtils.deleteQuietly(unnamedBundle);
+      }
+    }
+  }
+
+  /**
+   * Hash of the package, its version and the framework modules, node and templates it's
+   * built with. A bundle built for the same key is reused, whatever other packages are enabled.
+   */
+  String getBundleCacheKey(HeliumPackage pkg, String[] moduleNameVersion) throws IOException {
+    Hasher hasher = Hashing.sha1().newHasher();
+    hasher.putString(pkg.getName(), Charsets.UTF_8)
+        .putString(pkg.getArtifact(), Charsets.UTF_8)
+        .putString(moduleNameVersion[0] + "@" + moduleNameVersion[1], Charsets.UTF_8)
+        .putString(String.valueOf(pkg.getType()), Charsets.UTF_8)
+        .putString(gson.toJson(pkg.getIcon()), Charsets.UTF_8)
+        .putString(NODE_VERSION + NPM_VERSION + YARN_VERSION, Charsets.UTF_8);
+    for (File module : new File[] {tabledataModulePath, visualizationModulePath,
+        spellModulePath}) {
+      hasher.putString(getFrameworkModuleVersion(module), Charsets.UTF_8);
+    }
+    for (String template : new String[] {"webpack.config.js", PACKAGE_JSON}) {
+      hasher.putString(Resources.toString(
+          Resources.getResource("helium/" + template), Charsets.UTF_8), Charsets.UTF_8);
+    }
+    if (isLocalPackage(pkg)) {
+      // local packages are under development, their sources change without a new version
+      hasher.putLong(getLastModified(new File(pkg.getArtifact())));
+    }
+    return hasher.hash().toString();
+  }
+
+  private String getFrameworkModuleVersion(File modulePath) {
+    if (modulePath == null) {
+      return "";
+    }
+    File packageJson = new File(modulePath, PACKAGE_JSON);
+    try {
+      return packageJson.isFile() ?
+          NpmPackage.fromJson(FileUtils.readFileToString(packageJson)).version : "";
+    } catch (IOException e) {
+      logger.warn("Can't read version of " + modulePath, e);
+      return "";
+    }
+  }
+
+  private static long getLastModified(File file) {
+    long lastModified = file.lastModified();
+    File[] children = file.listFiles();
+    if (children != null) {
+      for (File child : children) {
+        if (!child.getName().equals("node_modules") && !child.getName().startsWith(".")) {
+          lastModified = Math.max(lastModified, getLastModified(child));
+        }
+      }
+    }
+    return lastModified;
   }
 
   private static List<String> unTgz(File tarFile, File directory) throws IOException {
@@ -393,9 +545,15 @@ public class HeliumBundleFactory {
     return heliumBundle;
   }
 
-  public synchronized File buildPackage(HeliumPackage pkg,
-                                        boolean rebuild,
-                                        boolean recopyLocalModule) throws IOException {
+  /**
+   * Build the bundle of the package, or get it from the cache.
+   *
+   * @param rebuild build again, even when a bundle was built for the same cache key.
+   *                Bundles of packages with a fixed online version are always reused.
+   */
+  public File buildPackage(HeliumPackage pkg,
+                           boolean rebuild,
+                           boolean recopyLocalModule) throws IOException {
     if (pkg == null) {
       return null;
     }
@@ -406,13 +564,122 @@ public class HeliumBundleFactory {
       return null;
     }
 
-    String pkgName = pkg.getName();
-    File bundleDir = getHeliumPackageDirectory(pkgName);
-    File bundleCache = getHeliumPackageBundleCache(pkgName);
+    String cacheKey = getBundleCacheKey(pkg, moduleNameVersion);
+    File bundleCache = getHeliumPackageBundleCache(pkg.getName(), cacheKey);
+    if ((!rebuild || isFixedVersion(pkg, moduleNameVersion)) && bundleCache.isFile()) {
+      lastBundles.put(pkg.getName(), bundleCache);
+      return bundleCache;
+    }
+    return waitForBuild(startBuild(pkg, moduleNameVersion, cacheKey, recopyLocalModule));
+  }
 
-    if (!rebuild && bundleCache.exists() && !bundleCache.isDirectory()) {
+  /**
+   * Get the bundle of the package without waiting for a build, when the package has a bundle
+   * already. A (re)build is started in the background and the previous bundle of the package
+   * is served until it's done.
+   */
+  public File getPackageBundle(HeliumPackage pkg, boolean rebuild) throws IOException {
+    if (pkg == null) {
+      return null;
+    }
+    String[] moduleNameVersion = getNpmModuleNameAndVersion(pkg);
+    if (moduleNameVersion == null) {
+      logger.warn("Can't get module name and version of package " + pkg.getName());
+      return null;
+    }
+
+    String cacheKey = getBundleCacheKey(pkg, moduleNameVersion);
+    File bundleCache = getHeliumPackageBundleCache(pkg.getName(), cacheKey);
+    if ((!rebuild || isFixedVersion(pkg, moduleNameVersion)) && bundleCache.isFile()) {
+      lastBundles.put(pkg.getName(), bundleCache);
       return bundleCache;
     }
+    if (!rebuild) {
+      // report a failed background build once, the next load builds again
+      String error = buildErrors.remove(cacheKey);
+      if (error != null) {
+        throw new IOException("Fail to build bundle of " + pkg.getName() + ": " + error);
+      }
+    }
+
+    Future<File> build = startBuild(pkg, moduleNameVersion, cacheKey, true);
+    File previous = lastBundles.get(pkg.getName());
+    if (previous != null && previous.isFile()) {
+      return previous;
+    }
+    return waitForBuild(build);
+  }
+
+  /**
+   * Start building the bundle of the package in the background, unless it's cached already
+   */
+  public void buildPackageInBackground(HeliumPackage pkg) throws IOException {
+    String[] moduleNameVersion = getNpmModuleNameAndVersion(pkg);
+    if (moduleNameVersion == null) {
+      logger.warn("Can't get module name and version of package " + pkg.getName());
+      return;
+    }
+    String cacheKey = getBundleCacheKey(pkg, moduleNameVersion);
+    if (!getHeliumPackageBundleCache(pkg.getName(), cacheKey).isFile()) {
+      startBuild(pkg, moduleNameVersion, cacheKey, true);
+    }
+  }
+
+  private boolean isFixedVersion(HeliumPackage pkg, String[] moduleNameVersion) {
+    return !isLocalPackage(pkg) && moduleNameVersion[1].matches("\\d+\\.\\d+\\.\\d+.*");
+  }
+
+  /**
+   * @return the build of the cache key, a build already in progress is shared
+   */
+  private Future<File> startBuild(final HeliumPackage pkg, final String[] moduleNameVersion,
+                                  final String cacheKey, final boolean recopyLocalModule) {
+    synchronized (builds) {
+      Future<File> build = builds.get(cacheKey);
+      if (build != null) {
+        return build;
+      }
+      buildErrors.remove(cacheKey);
+      build = buildExecutor.submit(new Callable<File>() {
+        @Override
+        public File call() throws Exception {
+          try {
+            File bundle = build(pkg, moduleNameVersion, cacheKey, recopyLocalModule);
+            lastBundles.put(pkg.getName(), bundle);
+            return bundle;
+          } catch (Exception e) {
+            logger.error("Fail to build bundle of " + pkg.getName(), e);
+            buildErrors.put(cacheKey, e.getMessage() != null ? e.getMessage() : e.toString());
+            throw e;
+          } finally {
+            builds.remove(cacheKey);
+          }
+        }
+      });
+      builds.put(cacheKey, build);
+      return build;
+    }
+  }
+
+  private File waitForBuild(Future<File> build) throws IOException {
+    try {
+      return build.get();
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new IOException(e);
+    } catch (ExecutionException e) {
+      if (e.getCause() instanceof IOException) {
+        throw (IOException) e.getCause();
+      }
+      throw new IOException(e.getCause());
+    }
+  }
+
+  private File build(HeliumPackage pkg, String[] moduleNameVersion, String cacheKey,
+                     boolean recopyLocalModule) throws IOException {
+    String pkgName = pkg.getName();
+    File bundleDir = getHeliumPackageDirectory(pkgName);
+    File bundleCache = getHeliumPackageBundleCache(pkgName, cacheKey);
 
     // 0. install node, npm (should be called before `downloadPackage`
     try {
@@ -451,15 +718,22 @@ public class HeliumBundleFactory {
     copyFrameworkModulesToInstallPath(recopyLocalModule); // should copy local modules first
     installNodeModules(fpf);
 
-    // 5. let's bundle and update cache
+    // 5. let's bundle and update cache, readers see either the previous or the new bundle
     File heliumBundle = bundleHeliumPackage(fpf, bundleDir);
-    bundleCache.delete();
-    FileUtils.moveFile(heliumBundle, bundleCache);
+    FileUtils.forceMkdir(bundleCacheDirectory);
+    File tmpBundleCache = new File(bundleCacheDirectory,
+        getBundleCachePrefix(pkgName) + cacheKey + ".tmp");
+    FileUtils.deleteQuietly(tmpBundleCache);
+    FileUtils.moveFile(heliumBundle, tmpBundleCache);
+    if (bundleCache.exists() && !bundleCache.delete() || !tmpBundleCache.renameTo(bundleCache)) {
+      throw new IOException("Fail to move " + tmpBundleCache + " to " + bundleCache);
+    }
+    pruneBundleCache(pkgName, bundleCache);
 
     return bundleCache;
   }
 
-  private synchronized void buildAllPackages(List<HeliumPackage> pkgs, boolean rebuild)
+  private void buildAllPackages(List<HeliumPackage> pkgs, boolean rebuild)
       throws IOException {
 
     if (pkgs == null || pkgs.size() == 0) {
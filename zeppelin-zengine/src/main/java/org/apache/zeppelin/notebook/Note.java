@@ -39,6 +39,7 @@ import org.apache.zeppelin.display.Input;
 import org.apache.zeppelin.interpreter.*;
 import org.apache.zeppelin.interpreter.remote.RemoteAngularObjectRegistry;
 import org.apache.zeppelin.interpreter.thrift.InterpreterCompletion;
+import org.apache.zeppelin.metrics.MetricsRegistry;
 import org.apache.zeppelin.notebook.repo.NotebookRepo;
 import org.apache.zeppelin.notebook.utility.IdHashes;
 import org.apache.zeppelin.scheduler.Job;
@@ -730,10 +731,12 @@ public class Note implements ParagraphJobListener, JsonSerializable {
 
   public void persist(AuthenticationInfo subject) throws IOException {
     Preconditions.checkNotNull(subject, "AuthenticationInfo should not be null");
+    long start = System.nanoTime();
     stopDelayedPersistTimer();
     snapshotAngularObjectRegistry(subject.getUser());
     index.updateIndexDoc(this);
     repo.save(this, subject);
+    MetricsRegistry.singleton().timer("note.persist").update(System.nanoTime() - start);
   }
 
   /**
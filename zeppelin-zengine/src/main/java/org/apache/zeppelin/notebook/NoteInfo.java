@@ -20,6 +20,8 @@ package org.apache.zeppelin.notebook;
 import java.util.HashMap;
 import java.util.Map;
 
+import com.google.common.hash.Hashing;
+
 /**
  *
  */
@@ -27,6 +29,8 @@ public class NoteInfo {
   String id;
   String name;
   private Map<String, Object> config = new HashMap<>();
+  // fingerprint of the stored note, null when the repo doesn't provide one
+  private transient String contentHash;
 
   public NoteInfo(String id, String name, Map<String, Object> config) {
     super();
@@ -65,4 +69,20 @@ public class NoteInfo {
     this.config = config;
   }
 
+  /**
+   * @return hex MD5 of the stored note.json, which is also the ETag S3 reports for it.
+   *         Notes with the same hash in two repos are the same, without reading them.
+   */
+  public String getContentHash() {
+    return contentHash;
+  }
+
+  public void setContentHash(String contentHash) {
+    this.contentHash = contentHash;
+  }
+
+  public static String contentHash(byte[] noteJson) {
+    return Hashing.md5().hashBytes(noteJson).toString();
+  }
+
 }
@@ -565,7 +565,12 @@ public class Notebook implements NoteEventListener {
     if (notebookRepo instanceof NotebookRepoSync) {
       NotebookRepoSync mainRepo = (NotebookRepoSync) notebookRepo;
       if (mainRepo.getRepoCount() > 1) {
-        mainRepo.sync(subject);
+        if (mainRepo.isSyncInBackground()) {
+          // notes pulled from the secondary storage are loaded on the next reload
+          mainRepo.syncInBackground(subject);
+        } else {
+          mainRepo.sync(subject);
+        }
       }
     }
 
@@ -974,6 +979,7 @@ public class Notebook implements NoteEventListener {
   }
 
   public void close() {
+    this.notebookAuthorization.flush();
     this.notebookRepo.close();
     this.noteSearchService.close();
   }
@@ -24,14 +24,22 @@ import java.io.FileOutputStream;
 import java.io.IOException;
 import java.io.InputStreamReader;
 import java.io.OutputStreamWriter;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
 import java.util.Collections;
-import java.util.HashMap;
 import java.util.HashSet;
 import java.util.LinkedHashMap;
 import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
 
 import org.apache.commons.lang.StringUtils;
 import org.apache.zeppelin.conf.ZeppelinConfiguration;
@@ -46,22 +54,36 @@ import com.google.gson.Gson;
 import com.google.gson.GsonBuilder;
 
 /**
- * Contains authorization information for notes
+ * Contains authorization information for notes.
+ *
+ * Per note entries are immutable snapshots that are replaced atomically on every change,
+ * so permission checks never take a lock. Changes are written to disk by a background
+ * thread, coalescing all changes made within the configured flush interval into a single
+ * atomic rewrite of notebook-authorization.json.
  */
 public class NotebookAuthorization {
   private static final Logger LOG = LoggerFactory.getLogger(NotebookAuthorization.class);
+  private static final String OWNERS = "owners";
+  private static final String READERS = "readers";
+  private static final String WRITERS = "writers";
   private static NotebookAuthorization instance = null;
   /*
    * { "note1": { "owners": ["u1"], "readers": ["u1", "u2"], "writers": ["u1"] },  "note2": ... } }
    */
-  private static Map<String, Map<String, Set<String>>> authInfo = new HashMap<>();
+  private static Map<String, Map<String, Set<String>>> authInfo = new ConcurrentHashMap<>();
   /*
    * contains roles for each user
    */
-  private static Map<String, Set<String>> userRoles = new HashMap<>();
+  private static Map<String, Set<String>> userRoles = new ConcurrentHashMap<>();
   private static ZeppelinConfiguration conf;
   private static Gson gson;
   private static String filePath;
+  private static long flushInterval;
+  private static final AtomicBoolean flushScheduled = new AtomicBoolean(false);
+  private static final Object saveLock = new Object();
+  // serializes writers only, readers never block
+  private static final Object updateLock = new Object();
+  private static ScheduledExecutorService flushExecutor;
 
   private NotebookAuthorization() {}
 
@@ -70,6 +92,15 @@ public class NotebookAuthorization {
       instance = new NotebookAuthorization();
       conf = config;
       filePath = conf.getNotebookAuthorizationPath();
+      flushInterval = conf.getNotebookAuthorizationFlushInterval();
+      flushExecutor = Executors.newSingleThreadScheduledExecutor(new ThreadFactory() {
+        @Override
+        public Thread newThread(Runnable r) {
+          Thread t = new Thread(r, "NotebookAuthorizationFlusher");
+          t.setDaemon(true);
+          return t;
+        }
+      });
       GsonBuilder builder = new GsonBuilder();
       builder.setPrettyPrinting();
       gson = builder.create();
@@ -111,7 +142,18 @@ public class NotebookAuthorization {
 
     String json = sb.toString();
     NotebookAuthorizationInfoSaving info = NotebookAuthorizationInfoSaving.fromJson(json);
-    authInfo = info.authInfo;
+    Map<String, Map<String, Set<String>>> loaded = new ConcurrentHashMap<>();
+    if (info != null && info.authInfo != null) {
+      for (Map.Entry<String, Map<String, Set<String>>> e : info.authInfo.entrySet()) {
+        Map<String, Set<String>> noteAuthInfo = e.getValue();
+        if (e.getKey() == null || noteAuthInfo == null) {
+          continue;
+        }
+        loaded.put(e.getKey(), newNoteAuthInfo(noteAuthInfo.get(OWNERS),
+            noteAuthInfo.get(READERS), noteAuthInfo.get(WRITERS)));
+      }
+    }
+    authInfo = loaded;
   }
   
   public void setRoles(String user, Set<String> roles) {
@@ -120,7 +162,7 @@ public class NotebookAuthorization {
       return;
     }
     roles = validateUser(roles);
-    userRoles.put(user, roles);
+    userRoles.put(user, Collections.unmodifiableSet(roles));
   }
   
   public Set<String> getRoles(String user) {
@@ -131,31 +173,59 @@ public class NotebookAuthorization {
     return roles;
   }
   
-  private void saveToFile() {
-    String jsonString;
+  /**
+   * Requests the current state to be persisted. With a positive flush interval the write
+   * happens in the background and is shared by every change made until then.
+   */
+  private void scheduleSave() {
+    if (flushInterval <= 0) {
+      saveToFile();
+      return;
+    }
+    if (flushScheduled.compareAndSet(false, true)) {
+      flushExecutor.schedule(new Runnable() {
+        @Override
+        public void run() {
+          flushScheduled.set(false);
+          saveToFile();
+        }
+      }, flushInterval, TimeUnit.MILLISECONDS);
+    }
+  }
 
-    synchronized (authInfo) {
+  /**
+   * Writes pending changes to notebook-authorization.json immediately.
+   */
+  public void flush() {
+    saveToFile();
+  }
+
+  private static void saveToFile() {
+    synchronized (saveLock) {
       NotebookAuthorizationInfoSaving info = new NotebookAuthorizationInfoSaving();
       info.authInfo = authInfo;
-      jsonString = gson.toJson(info);
-    }
+      String jsonString = gson.toJson(info);
 
-    try {
       File settingFile = new File(filePath);
-      if (!settingFile.exists()) {
-        settingFile.createNewFile();
+      File tmpFile = new File(settingFile.getAbsolutePath() + ".tmp");
+      try {
+        FileOutputStream fos = new FileOutputStream(tmpFile, false);
+        OutputStreamWriter out = new OutputStreamWriter(fos);
+        out.append(jsonString);
+        out.close();
+        fos.close();
+        try {
+          Files.move(tmpFile.toPath(), settingFile.toPath(),
+              StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (AtomicMoveNotSupportedException e) {
+          Files.move(tmpFile.toPath(), settingFile.toPath(), StandardCopyOption.REPLACE_EXISTING);
+        }
+      } catch (IOException e) {
+        LOG.error("Error saving notebook authorization file: " + e.getMessage());
       }
-
-      FileOutputStream fos = new FileOutputStream(settingFile, false);
-      OutputStreamWriter out = new OutputStreamWriter(fos);
-      out.append(jsonString);
-      out.close();
-      fos.close();
-    } catch (IOException e) {
-      LOG.error("Error saving notebook authorization file: " + e.getMessage());
     }
   }
-  
+
   public boolean isPublic() {
     return conf.isNotebokPublic();
   }
@@ -170,112 +240,103 @@ public class NotebookAuthorization {
     return returnUser;
   }
 
-  public void setOwners(String noteId, Set<String> entities) {
-    Map<String, Set<String>> noteAuthInfo = authInfo.get(noteId);
-    entities = validateUser(entities);
-    if (noteAuthInfo == null) {
-      noteAuthInfo = new LinkedHashMap();
-      noteAuthInfo.put("owners", new LinkedHashSet(entities));
-      noteAuthInfo.put("readers", new LinkedHashSet());
-      noteAuthInfo.put("writers", new LinkedHashSet());
-    } else {
-      noteAuthInfo.put("owners", new LinkedHashSet(entities));
+  private static Map<String, Set<String>> newNoteAuthInfo(Set<String> owners,
+      Set<String> readers, Set<String> writers) {
+    Map<String, Set<String>> noteAuthInfo = new LinkedHashMap<>();
+    noteAuthInfo.put(OWNERS, immutableCopy(owners));
+    noteAuthInfo.put(READERS, immutableCopy(readers));
+    noteAuthInfo.put(WRITERS, immutableCopy(writers));
+    return Collections.unmodifiableMap(noteAuthInfo);
+  }
+
+  private static Set<String> immutableCopy(Set<String> entities) {
+    if (entities == null || entities.isEmpty()) {
+      return Collections.emptySet();
     }
-    authInfo.put(noteId, noteAuthInfo);
-    saveToFile();
+    return Collections.unmodifiableSet(new LinkedHashSet<>(entities));
   }
 
-  public void setReaders(String noteId, Set<String> entities) {
-    Map<String, Set<String>> noteAuthInfo = authInfo.get(noteId);
-    entities = validateUser(entities);
-    if (noteAuthInfo == null) {
-      noteAuthInfo = new LinkedHashMap();
-      noteAuthInfo.put("owners", new LinkedHashSet());
-      noteAuthInfo.put("readers", new LinkedHashSet(entities));
-      noteAuthInfo.put("writers", new LinkedHashSet());
-    } else {
-      noteAuthInfo.put("readers", new LinkedHashSet(entities));
+  /**
+   * Replaces the given permission sets of a note in one step. A null set leaves the
+   * corresponding permission unchanged.
+   */
+  public void setPermissions(String noteId, Set<String> owners, Set<String> readers,
+      Set<String> writers) {
+    synchronized (updateLock) {
+      Map<String, Set<String>> current = authInfo.get(noteId);
+      authInfo.put(noteId, newNoteAuthInfo(
+          owners != null ? validateUser(owners) : getEntities(current, OWNERS),
+          readers != null ? validateUser(readers) : getEntities(current, READERS),
+          writers != null ? validateUser(writers) : getEntities(current, WRITERS)));
     }
-    authInfo.put(noteId, noteAuthInfo);
-    saveToFile();
+    scheduleSave();
+  }
+
+  public void setOwners(String noteId, Set<String> entities) {
+    setPermissions(noteId, entities, null, null);
+  }
+
+  public void setReaders(String noteId, Set<String> entities) {
+    setPermissions(noteId, null, entities, null);
   }
 
   public void setWriters(String noteId, Set<String> entities) {
-    Map<String, Set<String>> noteAuthInfo = authInfo.get(noteId);
-    entities = validateUser(entities);
+    setPermissions(noteId, null, null, entities);
+  }
+
+  private static Set<String> getEntities(Map<String, Set<String>> noteAuthInfo, String type) {
     if (noteAuthInfo == null) {
-      noteAuthInfo = new LinkedHashMap();
-      noteAuthInfo.put("owners", new LinkedHashSet());
-      noteAuthInfo.put("readers", new LinkedHashSet());
-      noteAuthInfo.put("writers", new LinkedHashSet(entities));
-    } else {
-      noteAuthInfo.put("writers", new LinkedHashSet(entities));
+      return Collections.emptySet();
     }
-    authInfo.put(noteId, noteAuthInfo);
-    saveToFile();
+    Set<String> entities = noteAuthInfo.get(type);
+    return entities == null ? Collections.<String>emptySet() : entities;
   }
 
   public Set<String> getOwners(String noteId) {
-    Map<String, Set<String>> noteAuthInfo = authInfo.get(noteId);
-    Set<String> entities = null;
-    if (noteAuthInfo == null) {
-      entities = new HashSet<>();
-    } else {
-      entities = noteAuthInfo.get("owners");
-      if (entities == null) {
-        entities = new HashSet<>();
-      }
-    }
-    return entities;
+    return new HashSet<>(getEntities(authInfo.get(noteId), OWNERS));
   }
 
   public Set<String> getReaders(String noteId) {
-    Map<String, Set<String>> noteAuthInfo = authInfo.get(noteId);
-    Set<String> entities = null;
-    if (noteAuthInfo == null) {
-      entities = new HashSet<>();
-    } else {
-      entities = noteAuthInfo.get("readers");
-      if (entities == null) {
-        entities = new HashSet<>();
-      }
-    }
-    return entities;
+    return new HashSet<>(getEntities(authInfo.get(noteId), READERS));
   }
 
   public Set<String> getWriters(String noteId) {
-    Map<String, Set<String>> noteAuthInfo = authInfo.get(noteId);
-    Set<String> entities = null;
-    if (noteAuthInfo == null) {
-      entities = new HashSet<>();
-    } else {
-      entities = noteAuthInfo.get("writers");
-      if (entities == null) {
-        entities = new HashSet<>();
-      }
-    }
-    return entities;
+    return new HashSet<>(getEntities(authInfo.get(noteId), WRITERS));
   }
 
   public boolean isOwner(String noteId, Set<String> entities) {
-    return isMember(entities, getOwners(noteId));
+    Map<String, Set<String>> noteAuthInfo = authInfo.get(noteId);
+    return isMember(entities, getEntities(noteAuthInfo, OWNERS));
   }
 
   public boolean isWriter(String noteId, Set<String> entities) {
-    return isMember(entities, getWriters(noteId)) || isMember(entities, getOwners(noteId));
+    Map<String, Set<String>> noteAuthInfo = authInfo.get(noteId);
+    return isMember(entities, getEntities(noteAuthInfo, WRITERS)) ||
+            isMember(entities, getEntities(noteAuthInfo, OWNERS));
   }
 
   public boolean isReader(String noteId, Set<String> entities) {
-    return isMember(entities, getReaders(noteId)) ||
-            isMember(entities, getOwners(noteId)) ||
-            isMember(entities, getWriters(noteId));
+    // read a single snapshot so that all three checks see the same state
+    Map<String, Set<String>> noteAuthInfo = authInfo.get(noteId);
+    return isMember(entities, getEntities(noteAuthInfo, READERS)) ||
+            isMember(entities, getEntities(noteAuthInfo, OWNERS)) ||
+            isMember(entities, getEntities(noteAuthInfo, WRITERS));
   }
 
   // return true if b is empty or if (a intersection b) is non-empty
   private boolean isMember(Set<String> a, Set<String> b) {
-    Set<String> intersection = new HashSet<>(b);
-    intersection.retainAll(a);
-    return (b.isEmpty() || (intersection.size() > 0));
+    if (b.isEmpty()) {
+      return true;
+    }
+    if (a == null) {
+      return false;
+    }
+    for (String entity : a) {
+      if (b.contains(entity)) {
+        return true;
+      }
+    }
+    return false;
   }
 
   public boolean isOwner(Set<String> userAndRoles, String noteId) {
@@ -312,8 +373,13 @@ public class NotebookAuthorization {
   }
 
   public void removeNote(String noteId) {
-    authInfo.remove(noteId);
-    saveToFile();
+    Map<String, Set<String>> removed;
+    synchronized (updateLock) {
+      removed = authInfo.remove(noteId);
+    }
+    if (removed != null) {
+      scheduleSave();
+    }
   }
 
   public List<NoteInfo> filterByUser(List<NoteInfo> notes, AuthenticationInfo subject) {
@@ -333,21 +399,43 @@ public class NotebookAuthorization {
     if (!AuthenticationInfo.isAnonymous(subject)) {
       if (isPublic()) {
         // add current user to owners - can be public
-        Set<String> owners = getOwners(noteId);
-        owners.add(subject.getUser());
-        setOwners(noteId, owners);
+        addPermissions(noteId, subject.getUser(), true, false, false);
       } else {
         // add current user to owners, readers, writers - private note
-        Set<String> entities = getOwners(noteId);
-        entities.add(subject.getUser());
-        setOwners(noteId, entities);
-        entities = getReaders(noteId);
-        entities.add(subject.getUser());
-        setReaders(noteId, entities);
-        entities = getWriters(noteId);
-        entities.add(subject.getUser());
-        setWriters(noteId, entities);
+        addToAllPermissions(noteId, subject.getUser());
       }
     }
   }
+
+  /**
+   * Adds the given user to owners, readers and writers of a note in one update.
+   */
+  public void addToAllPermissions(String noteId, String user) {
+    addPermissions(noteId, user, true, true, true);
+  }
+
+  /**
+   * Adds the user to the selected permissions of the note. The read-modify-write is done under
+   * updateLock so that concurrent grants on the same note aren't lost.
+   */
+  private void addPermissions(String noteId, String user, boolean owner, boolean reader,
+      boolean writer) {
+    synchronized (updateLock) {
+      Map<String, Set<String>> current = authInfo.get(noteId);
+      authInfo.put(noteId, newNoteAuthInfo(
+          withUser(getEntities(current, OWNERS), user, owner),
+          withUser(getEntities(current, READERS), user, reader),
+          withUser(getEntities(current, WRITERS), user, writer)));
+    }
+    scheduleSave();
+  }
+
+  private Set<String> withUser(Set<String> entities, String user, boolean add) {
+    if (!add) {
+      return entities;
+    }
+    Set<String> result = new HashSet<>(entities);
+    result.add(user);
+    return validateUser(result);
+  }
 }
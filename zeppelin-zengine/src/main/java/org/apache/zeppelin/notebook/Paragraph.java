@@ -28,6 +28,7 @@ import java.util.List;
 import java.util.Map;
 import java.util.Random;
 import java.util.Set;
+import java.util.concurrent.TimeUnit;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
@@ -56,10 +57,13 @@ import org.apache.zeppelin.interpreter.InterpreterResultMessageOutput;
 import org.apache.zeppelin.interpreter.InterpreterSetting;
 import org.apache.zeppelin.interpreter.InterpreterSettingManager;
 import org.apache.zeppelin.interpreter.thrift.InterpreterCompletion;
+import org.apache.zeppelin.metrics.MetricsRegistry;
 import org.apache.zeppelin.resource.ResourcePool;
 import org.apache.zeppelin.scheduler.Job;
 import org.apache.zeppelin.scheduler.JobListener;
 import org.apache.zeppelin.scheduler.Scheduler;
+import org.apache.zeppelin.tracing.Span;
+import org.apache.zeppelin.tracing.Tracer;
 import org.apache.zeppelin.user.AuthenticationInfo;
 import org.apache.zeppelin.user.Credentials;
 import org.apache.zeppelin.user.UserCredentials;
@@ -78,11 +82,15 @@ public class Paragraph extends Job implements Cloneable, JsonSerializable {
   private static final long serialVersionUID = -6328572073497992016L;
 
   private static Logger logger = LoggerFactory.getLogger(Paragraph.class);
+  public static final String TIMING_RUNTIME_INFO = "timing";
   private transient InterpreterFactory factory;
   private transient InterpreterSettingManager interpreterSettingManager;
   private transient Note note;
   private transient AuthenticationInfo authenticationInfo;
   private transient Map<String, Paragraph> userParagraphMap = Maps.newHashMap(); // personalized
+  // trace of the last run, and the interpreter setting which ran it
+  private transient volatile String traceId;
+  private transient volatile InterpreterSetting traceSetting;
 
   String title;
   String text;
@@ -392,8 +400,29 @@ public class Paragraph extends Job implements Cloneable, JsonSerializable {
   }
 
 
+  @Override
+  public void run() {
+    long start = System.nanoTime();
+    try {
+      super.run();
+    } finally {
+      MetricsRegistry.singleton().timer("paragraph.run").update(System.nanoTime() - start);
+    }
+  }
+
   @Override
   protected Object jobRun() throws Throwable {
+    Tracer tracer = Tracer.singleton();
+    traceId = tracer.newTraceId();
+    traceSetting = null;
+    Date pending = getDatePending();
+    if (pending != null) {
+      long queuedMillis = System.currentTimeMillis() - pending.getTime();
+      tracer.record(new Span(traceId, "paragraph.queued", pending.getTime(),
+          TimeUnit.MILLISECONDS.toNanos(Math.max(queuedMillis, 0))));
+    }
+    Span prepare = tracer.startSpan(traceId, "paragraph.prepare");
+
     String replName = getRequiredReplName();
     Interpreter repl = getRepl(replName);
     logger.info("run paragraph {} using {} " + repl, getId(), replName);
@@ -403,6 +432,7 @@ public class Paragraph extends Job implements Cloneable, JsonSerializable {
     }
     //TODO(zjffdu) check interpreter setting status in interpreter setting itself
     InterpreterSetting intp = getInterpreterSettingById(repl.getInterpreterGroup().getId());
+    traceSetting = intp;
     while (intp.getStatus().equals(
         org.apache.zeppelin.interpreter.InterpreterSetting.Status.DOWNLOADING_DEPENDENCIES)) {
       Thread.sleep(200);
@@ -440,13 +470,18 @@ public class Paragraph extends Job implements Cloneable, JsonSerializable {
     logger.debug("RUN : " + script);
     try {
       InterpreterContext context = getInterpreterContext();
+      context.setTraceId(traceId);
       InterpreterContext.set(context);
+      prepare.end();
+      Span interpret = tracer.startSpan(traceId, "paragraph.interpret");
       InterpreterResult ret = repl.interpret(script, context);
+      interpret.end();
 
       if (Code.KEEP_PREVIOUS_RESULT == ret.code()) {
         return getReturn();
       }
 
+      Span flush = tracer.startSpan(traceId, "paragraph.flush");
       context.out.flush();
       List<InterpreterResultMessage> resultMessages = context.out.toInterpreterResultMessage();
       resultMessages.addAll(ret.message());
@@ -458,6 +493,7 @@ public class Paragraph extends Job implements Cloneable, JsonSerializable {
         p.setResult(res);
         p.settings.setParams(settings.getParams());
       }
+      flush.end();
 
       return res;
     } finally {
@@ -793,6 +829,73 @@ public class Paragraph extends Job implements Cloneable, JsonSerializable {
     }
   }
 
+  /**
+   * @return id of the trace of the last run of the paragraph, null when it didn't run since
+   *     ZeppelinServer started
+   */
+  public String getTraceId() {
+    return traceId;
+  }
+
+  /**
+   * Add the time spent in each step of the last run to the runtime infos, under "timing":
+   * queued in ZeppelinServer, submitted to the interpreter (including the interpreter process
+   * scheduler and the transport), executing, output flush and persisted. The persisted step is
+   * only there once the note was persisted after the run, so it's called again after that.
+   */
+  public void updateTimingRuntimeInfo() {
+    InterpreterSetting setting = traceSetting;
+    if (traceId == null || setting == null) {
+      return;
+    }
+    Map<String, Long> nanos = new HashMap<>();
+    for (Span span : Tracer.singleton().getSpans(traceId)) {
+      Long total = nanos.get(span.getName());
+      nanos.put(span.getName(), (total == null ? 0 : total) + span.getDurationNanos());
+    }
+    if (!nanos.containsKey("paragraph.interpret")) {
+      return;
+    }
+    boolean remote = nanos.containsKey("interpreter.execute");
+    long executing = remote ? get(nanos, "interpreter.execute") : get(nanos, "paragraph.interpret");
+    long remoteFlush = get(nanos, "interpreter.flush");
+    long submitted = get(nanos, "paragraph.prepare") + get(nanos, "paragraph.interpret")
+        - executing - remoteFlush;
+
+    Map<String, String> steps = new LinkedHashMap<>();
+    steps.put("queued", toMillis(get(nanos, "paragraph.queued")));
+    steps.put("submitted", toMillis(submitted));
+    steps.put("executing", toMillis(executing));
+    steps.put("output flush", toMillis(remoteFlush + get(nanos, "paragraph.flush")));
+    if (nanos.containsKey("note.persist")) {
+      steps.put("persisted", toMillis(get(nanos, "note.persist")));
+    }
+    StringBuilder timing = new StringBuilder();
+    for (Map.Entry<String, String> step : steps.entrySet()) {
+      if (timing.length() > 0) {
+        timing.append(", ");
+      }
+      timing.append(step.getKey()).append(' ').append(step.getValue());
+    }
+
+    if (runtimeInfos != null) {
+      runtimeInfos.remove(TIMING_RUNTIME_INFO);
+    }
+    Map<String, String> infos = new HashMap<>();
+    infos.put(TIMING_RUNTIME_INFO, timing.toString());
+    updateRuntimeInfos("Timing", "Time spent in each step of the last run", infos,
+        setting.getGroup(), setting.getId());
+  }
+
+  private static long get(Map<String, Long> nanos, String name) {
+    Long value = nanos.get(name);
+    return value == null ? 0 : value;
+  }
+
+  private static String toMillis(long nanos) {
+    return TimeUnit.NANOSECONDS.toMillis(Math.max(nanos, 0)) + " ms";
+  }
+
   public void clearRuntimeInfos() {
     if (this.runtimeInfos != null) {
       this.runtimeInfos.clear();
@@ -19,10 +19,16 @@ package org.apache.zeppelin.notebook.repo;
 
 import java.io.File;
 import java.io.IOException;
-import java.util.Collection;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
 
 import org.apache.zeppelin.conf.ZeppelinConfiguration;
+import org.apache.zeppelin.conf.ZeppelinConfiguration.ConfVars;
 import org.apache.zeppelin.notebook.Note;
 import org.apache.zeppelin.user.AuthenticationInfo;
 import org.eclipse.jgit.api.Git;
@@ -30,17 +36,21 @@ import org.eclipse.jgit.api.errors.GitAPIException;
 import org.eclipse.jgit.api.errors.NoHeadException;
 import org.eclipse.jgit.diff.DiffEntry;
 import org.eclipse.jgit.dircache.DirCache;
+import org.eclipse.jgit.errors.MissingObjectException;
+import org.eclipse.jgit.errors.RevisionSyntaxException;
 import org.eclipse.jgit.internal.storage.file.FileRepository;
-import org.eclipse.jgit.lib.Constants;
 import org.eclipse.jgit.lib.ObjectId;
 import org.eclipse.jgit.lib.Repository;
 import org.eclipse.jgit.revwalk.RevCommit;
+import org.eclipse.jgit.revwalk.RevWalk;
+import org.eclipse.jgit.treewalk.TreeWalk;
 import org.eclipse.jgit.treewalk.filter.PathFilter;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import com.google.common.base.Joiner;
 import com.google.common.collect.Lists;
+import com.google.common.util.concurrent.SettableFuture;
 
 /**
  * NotebookRepo that hosts all the notebook FS in a single Git repo
@@ -49,17 +59,30 @@ import com.google.common.collect.Lists;
  *   - does not handle branches
  *   - only basic local git file repo, no remote Github push\pull yet
  *
+ * Checkpoints are committed by a single background thread, one commit per note, so the
+ * history of a note only has its own checkpoint messages. Revisions are read from the object
+ * database, without touching the working tree.
+ *
  *   TODO(bzz): add default .gitignore
  */
 public class GitNotebookRepo extends VFSNotebookRepo {
   private static final Logger LOG = LoggerFactory.getLogger(GitNotebookRepo.class);
+  private static final String NOTE_JSON = "note.json";
+  // asks the committer to stop, once the checkpoints requested before are committed
+  private static final CheckpointRequest STOP = new CheckpointRequest(null, null);
+  // how long a checkpoint waits for the committer
+  private static final long CHECKPOINT_TIMEOUT_SECONDS = 60;
 
   private String localPath;
   private Git git;
+  private final String encoding;
+  private final BlockingQueue<CheckpointRequest> checkpoints = new LinkedBlockingQueue<>();
+  private final Thread committer;
 
   public GitNotebookRepo(ZeppelinConfiguration conf) throws IOException {
     super(conf);
     localPath = getRootDir().getName().getPath();
+    encoding = conf.getString(ConfVars.ZEPPELIN_ENCODING);
     LOG.info("Opening a git repo at '{}'", localPath);
     Repository localRepo = new FileRepository(Joiner.on(File.separator).join(localPath, ".git"));
     if (!localRepo.getDirectory().exists()) {
@@ -67,11 +90,29 @@ public class GitNotebookRepo extends VFSNotebookRepo {
       localRepo.create();
     }
     git = new Git(localRepo);
+
+    committer = new Thread(new Runnable() {
+      @Override
+      public void run() {
+        commitCheckpoints();
+      }
+    }, "GitNotebookRepoCommitter");
+    committer.setDaemon(true);
+    committer.start();
   }
 
-  @Override
-  public synchronized void save(Note note, AuthenticationInfo subject) throws IOException {
-    super.save(note, subject);
+  /**
+   * Checkpoint of a note, waiting for the committer
+   */
+  private static class CheckpointRequest {
+    private final String pattern;
+    private final String commitMessage;
+    private final SettableFuture<Revision> revision = SettableFuture.create();
+
+    CheckpointRequest(String pattern, String commitMessage) {
+      this.pattern = pattern;
+      this.commitMessage = commitMessage;
+    }
   }
 
   /* implemented as git add+commit
@@ -82,64 +123,94 @@ public class GitNotebookRepo extends VFSNotebookRepo {
    */
   @Override
   public Revision checkpoint(String pattern, String commitMessage, AuthenticationInfo subject) {
-    Revision revision = Revision.EMPTY;
+    if (!committer.isAlive()) {
+      LOG.warn("Repo is closed, {} is not checkpointed", pattern);
+      return Revision.EMPTY;
+    }
+    CheckpointRequest request = new CheckpointRequest(pattern, commitMessage);
+    checkpoints.add(request);
+    try {
+      return request.revision.get(CHECKPOINT_TIMEOUT_SECONDS, TimeUnit.SECONDS);
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      LOG.warn("Interrupted while waiting for the checkpoint of {}", pattern);
+    } catch (ExecutionException e) {
+      LOG.error("Failed to add+commit {} to Git", pattern, e.getCause());
+    } catch (TimeoutException e) {
+      LOG.error("Timed out waiting for the checkpoint of {}", pattern);
+    }
+    return Revision.EMPTY;
+  }
+
+  private void commitCheckpoints() {
     try {
-      List<DiffEntry> gitDiff = git.diff().call();
-      if (!gitDiff.isEmpty()) {
-        LOG.debug("Changes found for pattern '{}': {}", pattern, gitDiff);
-        DirCache added = git.add().addFilepattern(pattern).call();
-        LOG.debug("{} changes are about to be commited", added.getEntryCount());
-        RevCommit commit = git.commit().setMessage(commitMessage).call();
-        revision = new Revision(commit.getName(), commit.getShortMessage(), commit.getCommitTime());
-      } else {
-        LOG.debug("No changes found {}", pattern);
+      while (true) {
+        CheckpointRequest request;
+        try {
+          request = checkpoints.take();
+        } catch (InterruptedException e) {
+          break;
+        }
+        if (request == STOP) {
+          break;
+        }
+        try {
+          request.revision.set(commit(request));
+        } catch (Throwable e) {
+          request.revision.setException(e);
+        }
+      }
+    } finally {
+      // nobody commits the checkpoints requested after the stop
+      List<CheckpointRequest> pending = new ArrayList<>();
+      checkpoints.drainTo(pending);
+      for (CheckpointRequest request : pending) {
+        request.revision.setException(new IOException("Repo is closed"));
       }
-    } catch (GitAPIException e) {
-      LOG.error("Failed to add+commit {} to Git", pattern, e);
     }
-    return revision;
+  }
+
+  private Revision commit(CheckpointRequest request) throws GitAPIException {
+    List<DiffEntry> gitDiff = git.diff().setPathFilter(PathFilter.create(request.pattern)).call();
+    if (gitDiff.isEmpty()) {
+      LOG.debug("No changes found {}", request.pattern);
+      return Revision.EMPTY;
+    }
+    LOG.debug("Changes found for pattern '{}': {}", request.pattern, gitDiff);
+    DirCache added = git.add().addFilepattern(request.pattern).call();
+    LOG.debug("{} changes are about to be commited", added.getEntryCount());
+    RevCommit commit = git.commit().setMessage(request.commitMessage).call();
+    return new Revision(commit.getName(), commit.getShortMessage(), commit.getCommitTime());
   }
 
   /**
-   * the idea is to:
-   * 1. stash current changes
-   * 2. remember head commit and checkout to the desired revision
-   * 3. get note and checkout back to the head
-   * 4. apply stash on top and remove it
+   * Read note.json of the note in the tree of the revision, the working tree and the notes
+   * being saved meanwhile are not touched.
    */
   @Override
-  public synchronized Note get(String noteId, String revId, AuthenticationInfo subject)
+  public Note get(String noteId, String revId, AuthenticationInfo subject)
       throws IOException {
-    Note note = null;
-    RevCommit stash = null;
-    try {
-      List<DiffEntry> gitDiff = git.diff().setPathFilter(PathFilter.create(noteId)).call();
-      boolean modified = !gitDiff.isEmpty();
-      if (modified) {
-        // stash changes
-        stash = git.stashCreate().call();
-        Collection<RevCommit> stashes = git.stashList().call();
-        LOG.debug("Created stash : {}, stash size : {}", stash, stashes.size());
+    Repository repository = git.getRepository();
+    try (RevWalk revWalk = new RevWalk(repository)) {
+      ObjectId commitId = repository.resolve(revId);
+      if (commitId == null) {
+        LOG.error("Failed to return note from revision \"{}\", no such revision", revId);
+        return null;
       }
-      ObjectId head = git.getRepository().resolve(Constants.HEAD);
-      // checkout to target revision
-      git.checkout().setStartPoint(revId).addPath(noteId).call();
-      // get the note
-      note = super.get(noteId, subject);
-      // checkout back to head
-      git.checkout().setStartPoint(head.getName()).addPath(noteId).call();
-      if (modified && stash != null) {
-        // unstash changes
-        ObjectId applied = git.stashApply().setStashRef(stash.getName()).call();
-        ObjectId dropped = git.stashDrop().setStashRef(0).call();
-        Collection<RevCommit> stashes = git.stashList().call();
-        LOG.debug("Stash applied as : {}, and dropped : {}, stash size: {}", applied, dropped,
-            stashes.size());
+      RevCommit commit = revWalk.parseCommit(commitId);
+      try (TreeWalk treeWalk = TreeWalk.forPath(repository, noteId + "/" + NOTE_JSON,
+          commit.getTree())) {
+        if (treeWalk == null) {
+          LOG.error("Note {} not found in revision \"{}\"", noteId, revId);
+          return null;
+        }
+        byte[] json = repository.open(treeWalk.getObjectId(0)).getBytes();
+        return parseNote(new String(json, encoding));
       }
-    } catch (GitAPIException e) {
+    } catch (MissingObjectException | RevisionSyntaxException e) {
       LOG.error("Failed to return note from revision \"{}\"", revId, e);
+      return null;
     }
-    return note;
   }
 
   @Override
@@ -173,6 +244,12 @@ public class GitNotebookRepo extends VFSNotebookRepo {
   
   @Override
   public void close() {
+    checkpoints.add(STOP);
+    try {
+      committer.join();
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
     git.getRepository().close();
   }
 
@@ -7,12 +7,19 @@ import com.mongodb.bulk.BulkWriteError;
 import com.mongodb.client.MongoCollection;
 import com.mongodb.client.MongoCursor;
 import com.mongodb.client.MongoDatabase;
+import static com.mongodb.client.model.Filters.and;
 import static com.mongodb.client.model.Filters.eq;
 import static com.mongodb.client.model.Filters.type;
 import static com.mongodb.client.model.Filters.in;
 
+import com.google.common.annotations.VisibleForTesting;
+import com.google.common.hash.Hasher;
+import com.google.common.hash.Hashing;
+import com.google.gson.Gson;
 import com.mongodb.client.model.InsertManyOptions;
+import com.mongodb.client.model.Projections;
 import com.mongodb.client.model.UpdateOptions;
+import com.mongodb.client.result.UpdateResult;
 import org.apache.zeppelin.conf.ZeppelinConfiguration;
 import org.apache.zeppelin.notebook.Note;
 import org.apache.zeppelin.notebook.NoteInfo;
@@ -27,7 +34,9 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.io.IOException;
+import java.nio.charset.StandardCharsets;
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
@@ -36,11 +45,16 @@ import java.util.regex.Pattern;
  */
 public class MongoNotebookRepo implements NotebookRepo {
   private static final Logger LOG = LoggerFactory.getLogger(MongoNotebookRepo.class);
+  // hash of the stored document, a partial update only applies to the version it was made from
+  static final String VERSION_FIELD = "_version";
 
   private final ZeppelinConfiguration conf;
   private final MongoClient mongo;
   private final MongoDatabase db;
   private final MongoCollection<Document> coll;
+  private final Gson gson = new Gson();
+  // last known stored state of the notes, to only update what changed on save
+  private final Map<String, StoredNote> storedNotes = new ConcurrentHashMap<>();
 
   public MongoNotebookRepo(ZeppelinConfiguration conf) throws IOException {
     this.conf = conf;
@@ -55,22 +69,42 @@ public class MongoNotebookRepo implements NotebookRepo {
     }
   }
 
+  @VisibleForTesting
+  MongoNotebookRepo(ZeppelinConfiguration conf, MongoCollection<Document> coll) {
+    this.conf = conf;
+    this.mongo = null;
+    this.db = null;
+    this.coll = coll;
+  }
+
   /**
    * If environment variable ZEPPELIN_NOTEBOOK_MONGO_AUTOIMPORT is true,
    * this method will insert local notes into MongoDB on startup.
    * If a note already exists in MongoDB, skip it.
    */
   private void insertFileSystemNotes() throws IOException {
+    int batchSize = Math.max(1, conf.getMongoBatchSize());
     LinkedList<Document> docs = new LinkedList<>(); // docs to be imported
     NotebookRepo vfsRepo = new VFSNotebookRepo(this.conf);
     List<NoteInfo> infos =  vfsRepo.list(null);
-    // collect notes to be imported
+    // import notes in batches, not to keep all of them in memory
     for (NoteInfo info : infos) {
       Note note = vfsRepo.get(info.getId(), null);
       Document doc = noteToDocument(note);
       docs.add(doc);
+      if (docs.size() >= batchSize) {
+        insertNotes(docs);
+        docs.clear();
+      }
+    }
+    if (!docs.isEmpty()) {
+      insertNotes(docs);
     }
 
+    vfsRepo.close();  // it does nothing for now but maybe in the future...
+  }
+
+  private void insertNotes(List<Document> docs) {
     /*
      * 'ordered(false)' option allows to proceed bulk inserting even though
      * there are duplicated documents. The duplicated documents will be skipped
@@ -81,8 +115,6 @@ public class MongoNotebookRepo implements NotebookRepo {
     } catch (MongoBulkWriteException e) {
       printDuplicatedException(e);  //print duplicated document warning log
     }
-
-    vfsRepo.close();  // it does nothing for now but maybe in the future...
   }
 
   /**
@@ -108,12 +140,16 @@ public class MongoNotebookRepo implements NotebookRepo {
     syncId();
 
     List<NoteInfo> infos = new LinkedList<>();
-    MongoCursor<Document> cursor = coll.find().iterator();
+    // only read the fields of NoteInfo, not the paragraphs and their results
+    MongoCursor<Document> cursor = coll.find()
+        .projection(Projections.include("id", "name", "config")).iterator();
 
     while (cursor.hasNext()) {
       Document doc = cursor.next();
-      Note note = documentToNote(doc);
-      NoteInfo info = new NoteInfo(note);
+      NoteInfo info = gson.fromJson(doc.toJson(), NoteInfo.class);
+      if (info.getConfig() == null) {
+        info.setConfig(new HashMap<String, Object>());
+      }
       infos.add(info);
     }
 
@@ -202,23 +238,134 @@ public class MongoNotebookRepo implements NotebookRepo {
       throw new IOException("Note " + noteId + "not found");
     }
 
+    storedNotes.put(noteId, new StoredNote(doc));
     return documentToNote(doc);
   }
 
   @Override
   public void save(Note note, AuthenticationInfo subject) throws IOException {
     Document doc = noteToDocument(note);
-    coll.replaceOne(eq("_id", note.getId()), doc, new UpdateOptions().upsert(true));
+    StoredNote current = new StoredNote(doc);
+    doc.put(VERSION_FIELD, current.getVersion());
+    // saves of the same note are applied in order, each one relative to the previous
+    synchronized (note) {
+      StoredNote stored = storedNotes.get(note.getId());
+      if (stored != null) {
+        Document update = stored.updateTo(current, doc);
+        if (update.isEmpty()) {
+          return;
+        }
+        // only when the document is still the one the update was made from
+        UpdateResult result = coll.updateOne(
+            and(eq("_id", note.getId()), eq(VERSION_FIELD, stored.getVersion())), update);
+        if (result.getMatchedCount() > 0) {
+          storedNotes.put(note.getId(), current);
+          return;
+        }
+      }
+      // not read or saved before, removed or changed by someone else meanwhile
+      coll.replaceOne(eq("_id", note.getId()), doc, new UpdateOptions().upsert(true));
+      storedNotes.put(note.getId(), current);
+    }
   }
 
   @Override
   public void remove(String noteId, AuthenticationInfo subject) throws IOException {
+    storedNotes.remove(noteId);
     coll.deleteOne(eq("_id", noteId));
   }
 
   @Override
   public void close() {
-    mongo.close();
+    if (mongo != null) {
+      mongo.close();
+    }
+  }
+
+  /**
+   * Hashes of the fields and of the paragraphs of a stored note document, and of the whole
+   * document unless it has a version already
+   */
+  static class StoredNote {
+    private final Map<String, String> fields = new HashMap<>();
+    private final List<String> paragraphs = new ArrayList<>();
+    private final String version;
+
+    StoredNote(Document doc) {
+      Hasher versionHasher = Hashing.md5().newHasher();
+      for (Map.Entry<String, Object> field : doc.entrySet()) {
+        if (field.getKey().equals("_id") || field.getKey().equals(VERSION_FIELD)) {
+          continue;
+        }
+        versionHasher.putString(field.getKey(), StandardCharsets.UTF_8);
+        if (field.getKey().equals("paragraphs") && field.getValue() instanceof List) {
+          for (Object paragraph : (List<?>) field.getValue()) {
+            String paragraphHash = hash(paragraph);
+            paragraphs.add(paragraphHash);
+            versionHasher.putString(paragraphHash, StandardCharsets.UTF_8);
+          }
+        } else {
+          String fieldHash = hash(field.getValue());
+          fields.put(field.getKey(), fieldHash);
+          versionHasher.putString(fieldHash, StandardCharsets.UTF_8);
+        }
+      }
+      String storedVersion = doc.getString(VERSION_FIELD);
+      version = storedVersion != null ? storedVersion : versionHasher.hash().toString();
+    }
+
+    String getVersion() {
+      return version;
+    }
+
+    /**
+     * @return $set and $unset of the fields and paragraphs of doc which changed from this,
+     *         an empty document when nothing changed
+     */
+    Document updateTo(StoredNote next, Document doc) {
+      Document set = new Document();
+      Document unset = new Document();
+      for (Map.Entry<String, String> field : next.fields.entrySet()) {
+        if (!field.getValue().equals(fields.get(field.getKey()))) {
+          set.put(field.getKey(), doc.get(field.getKey()));
+        }
+      }
+      for (String field : fields.keySet()) {
+        if (!next.fields.containsKey(field)) {
+          unset.put(field, "");
+        }
+      }
+
+      if (next.paragraphs.size() < paragraphs.size()) {
+        // an array can't be truncated by position, set the whole list
+        set.put("paragraphs", doc.get("paragraphs"));
+      } else {
+        List<?> docParagraphs = (List<?>) doc.get("paragraphs");
+        for (int i = 0; i < next.paragraphs.size(); i++) {
+          // setting the positions after the end appends the new paragraphs
+          if (i >= paragraphs.size() || !next.paragraphs.get(i).equals(paragraphs.get(i))) {
+            set.put("paragraphs." + i, docParagraphs.get(i));
+          }
+        }
+      }
+
+      Document update = new Document();
+      if (!set.isEmpty() || !unset.isEmpty()) {
+        set.put(VERSION_FIELD, next.version);
+      }
+      if (!set.isEmpty()) {
+        update.put("$set", set);
+      }
+      if (!unset.isEmpty()) {
+        update.put("$unset", unset);
+      }
+      return update;
+    }
+
+    private static String hash(Object value) {
+      return Hashing.md5().hashString(new Document("v", value).toJson(),
+          StandardCharsets.UTF_8).toString();
+    }
   }
 
   @Override
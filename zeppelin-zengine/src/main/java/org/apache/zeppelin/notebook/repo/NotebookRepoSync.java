@@ -26,7 +26,12 @@ import java.util.Date;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
-import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadFactory;
 
 import org.apache.zeppelin.conf.ZeppelinConfiguration;
 import org.apache.zeppelin.conf.ZeppelinConfiguration.ConfVars;
@@ -55,6 +60,18 @@ public class NotebookRepoSync implements NotebookRepo {
 
   private List<NotebookRepo> repos = new ArrayList<>();
   private final boolean oneWaySync;
+  private final int syncThreads;
+  private final boolean syncInBackground;
+  // runs one background sync at a time
+  private final ExecutorService backgroundSync = Executors.newSingleThreadExecutor(
+      new ThreadFactory() {
+        @Override
+        public Thread newThread(Runnable r) {
+          Thread t = new Thread(r, "NotebookRepoSync");
+          t.setDaemon(true);
+          return t;
+        }
+      });
 
   /**
    * @param conf
@@ -63,6 +80,8 @@ public class NotebookRepoSync implements NotebookRepo {
   public NotebookRepoSync(ZeppelinConfiguration conf) {
     config = conf;
     oneWaySync = conf.getBoolean(ConfVars.ZEPPELIN_NOTEBOOK_ONE_WAY_SYNC);
+    syncThreads = Math.max(1, conf.getInt(ConfVars.ZEPPELIN_NOTEBOOK_SYNC_THREADS));
+    syncInBackground = conf.getBoolean(ConfVars.ZEPPELIN_NOTEBOOK_SYNC_BACKGROUND);
     String allStorageClassNames = conf.getString(ConfVars.ZEPPELIN_NOTEBOOK_STORAGE).trim();
     if (allStorageClassNames.isEmpty()) {
       allStorageClassNames = defaultStorage;
@@ -95,10 +114,14 @@ public class NotebookRepoSync implements NotebookRepo {
     }
     // sync for anonymous mode on start
     if (getRepoCount() > 1 && conf.getBoolean(ConfVars.ZEPPELIN_ANONYMOUS_ALLOWED)) {
-      try {
-        sync(AuthenticationInfo.ANONYMOUS);
-      } catch (IOException e) {
-        LOG.error("Couldn't sync on start ", e);
+      if (syncInBackground) {
+        syncInBackground(AuthenticationInfo.ANONYMOUS);
+      } else {
+        try {
+          sync(AuthenticationInfo.ANONYMOUS);
+        } catch (IOException e) {
+          LOG.error("Couldn't sync on start ", e);
+        }
       }
     }
   }
@@ -216,6 +239,16 @@ public class NotebookRepoSync implements NotebookRepo {
    * @throws IOException
    */
   void sync(int sourceRepoIndex, int destRepoIndex, AuthenticationInfo subject) throws IOException {
+    ExecutorService executor = Executors.newFixedThreadPool(syncThreads);
+    try {
+      sync(sourceRepoIndex, destRepoIndex, subject, executor);
+    } finally {
+      executor.shutdownNow();
+    }
+  }
+
+  private void sync(int sourceRepoIndex, int destRepoIndex, AuthenticationInfo subject,
+      ExecutorService executor) throws IOException {
     LOG.info("Sync started");
     NotebookAuthorization auth = NotebookAuthorization.getInstance();
     NotebookRepo srcRepo = getRepo(sourceRepoIndex);
@@ -225,7 +258,7 @@ public class NotebookRepoSync implements NotebookRepo {
     List <NoteInfo> dstNotes = dstRepo.list(subject);
 
     Map<String, List<String>> noteIds = notesCheckDiff(srcNotes, srcRepo, dstNotes, dstRepo,
-        subject);
+        subject, executor);
     List<String> pushNoteIds = noteIds.get(pushKey);
     List<String> pullNoteIds = noteIds.get(pullKey);
     List<String> delDstNoteIds = noteIds.get(delDstKey);
@@ -235,7 +268,7 @@ public class NotebookRepoSync implements NotebookRepo {
       for (String id : pushNoteIds) {
         LOG.info("ID : " + id);
       }
-      pushNotes(subject, pushNoteIds, srcRepo, dstRepo, false);
+      pushNotes(subject, pushNoteIds, srcRepo, dstRepo, false, executor);
     } else {
       LOG.info("Nothing to push");
     }
@@ -245,7 +278,7 @@ public class NotebookRepoSync implements NotebookRepo {
       for (String id : pullNoteIds) {
         LOG.info("ID : " + id);
       }
-      pushNotes(subject, pullNoteIds, dstRepo, srcRepo, true);
+      pushNotes(subject, pullNoteIds, dstRepo, srcRepo, true, executor);
     } else {
       LOG.info("Nothing to pull");
     }
@@ -267,18 +300,77 @@ public class NotebookRepoSync implements NotebookRepo {
     sync(0, 1, subject);
   }
 
-  private void pushNotes(AuthenticationInfo subject, List<String> ids, NotebookRepo localRepo,
-      NotebookRepo remoteRepo, boolean setPermissions) {
-    for (String id : ids) {
-      try {
-        remoteRepo.save(localRepo.get(id, subject), subject);
-        if (setPermissions && emptyNoteAcl(id)) {
-          makePrivate(id, subject);
+  public boolean isSyncInBackground() {
+    return syncInBackground;
+  }
+
+  /**
+   * Sync in the background, after the syncs started before
+   */
+  public Future<?> syncInBackground(final AuthenticationInfo subject) {
+    return backgroundSync.submit(new Callable<Void>() {
+      @Override
+      public Void call() throws IOException {
+        try {
+          sync(subject);
+        } catch (IOException e) {
+          LOG.error("Couldn't sync in background", e);
+          throw e;
+        }
+        return null;
+      }
+    });
+  }
+
+  private void pushNotes(final AuthenticationInfo subject, List<String> ids,
+      final NotebookRepo localRepo, final NotebookRepo remoteRepo, boolean setPermissions,
+      ExecutorService executor) {
+    List<Callable<Boolean>> transfers = new ArrayList<>();
+    for (final String id : ids) {
+      transfers.add(new Callable<Boolean>() {
+        @Override
+        public Boolean call() {
+          try {
+            remoteRepo.save(localRepo.get(id, subject), subject);
+            return true;
+          } catch (IOException e) {
+            LOG.error("Failed to push note to storage, moving onto next one", e);
+            return false;
+          }
+        }
+      });
+    }
+    List<Boolean> pushed = invokeAll(executor, transfers);
+    for (int i = 0; i < ids.size(); i++) {
+      String id = ids.get(i);
+      if (Boolean.TRUE.equals(pushed.get(i)) && setPermissions && emptyNoteAcl(id)) {
+        makePrivate(id, subject);
+      }
+    }
+  }
+
+  /**
+   * @return result of each task, null for the tasks which failed
+   */
+  private <T> List<T> invokeAll(ExecutorService executor, List<Callable<T>> tasks) {
+    List<T> results = new ArrayList<>();
+    try {
+      for (Future<T> future : executor.invokeAll(tasks)) {
+        try {
+          results.add(future.get());
+        } catch (ExecutionException e) {
+          LOG.error("Sync task failed", e.getCause());
+          results.add(null);
         }
-      } catch (IOException e) {
-        LOG.error("Failed to push note to storage, moving onto next one", e);
+      }
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      LOG.warn("Sync is interrupted");
+      while (results.size() < tasks.size()) {
+        results.add(null);
       }
     }
+    return results;
   }
 
   private boolean emptyNoteAcl(String noteId) {
@@ -293,16 +385,7 @@ public class NotebookRepoSync implements NotebookRepo {
       LOG.info("User is anonymous, permissions are not set for pulled notes");
       return;
     }
-    NotebookAuthorization notebookAuthorization = NotebookAuthorization.getInstance();
-    Set<String> users = notebookAuthorization.getOwners(noteId);
-    users.add(subject.getUser());
-    notebookAuthorization.setOwners(noteId, users);
-    users = notebookAuthorization.getReaders(noteId);
-    users.add(subject.getUser());
-    notebookAuthorization.setReaders(noteId, users);
-    users = notebookAuthorization.getWriters(noteId);
-    users.add(subject.getUser());
-    notebookAuthorization.setWriters(noteId, users);
+    NotebookAuthorization.getInstance().addToAllPermissions(noteId, subject.getUser());
   }
 
   private void deleteNotes(AuthenticationInfo subject, List<String> ids, NotebookRepo repo)
@@ -329,38 +412,34 @@ public class NotebookRepoSync implements NotebookRepo {
   }
 
   private Map<String, List<String>> notesCheckDiff(List<NoteInfo> sourceNotes,
-      NotebookRepo sourceRepo, List<NoteInfo> destNotes, NotebookRepo destRepo,
-      AuthenticationInfo subject) {
+      final NotebookRepo sourceRepo, List<NoteInfo> destNotes, final NotebookRepo destRepo,
+      final AuthenticationInfo subject, ExecutorService executor) {
     List <String> pushIDs = new ArrayList<>();
     List <String> pullIDs = new ArrayList<>();
     List <String> delDstIDs = new ArrayList<>();
 
-    NoteInfo dnote;
-    Date sdate, ddate;
+    Map<String, NoteInfo> sourceNotesById = byId(sourceNotes);
+    Map<String, NoteInfo> destNotesById = byId(destNotes);
+
+    // notes in both storages, which need to be read to know which one is more up to date
+    List<String> modifiedIDs = new ArrayList<>();
+    List<Callable<String>> comparisons = new ArrayList<>();
     for (NoteInfo snote : sourceNotes) {
-      dnote = containsID(destNotes, snote.getId());
+      final NoteInfo dnote = destNotesById.get(snote.getId());
       if (dnote != null) {
-        try {
-          /* note exists in source and destination storage systems */
-          sdate = lastModificationDate(sourceRepo.get(snote.getId(), subject));
-          ddate = lastModificationDate(destRepo.get(dnote.getId(), subject));
-        } catch (IOException e) {
-          LOG.error("Cannot access previously listed note {} from storage ", dnote.getId(), e);
+        if (snote.getContentHash() != null
+            && snote.getContentHash().equals(dnote.getContentHash())) {
+          /* same content in source and destination, no need to read it */
           continue;
         }
-
-        if (sdate.compareTo(ddate) != 0) {
-          if (sdate.after(ddate) || oneWaySync) {
-            /* if source contains more up to date note - push
-             * if oneWaySync is enabled, always push no matter who's newer */
-            pushIDs.add(snote.getId());
-            LOG.info("Modified note is added to push list : " + sdate);
-          } else {
-            /* destination contains more up to date note - pull */
-            LOG.info("Modified note is added to pull list : " + ddate);
-            pullIDs.add(snote.getId());
+        final String id = snote.getId();
+        modifiedIDs.add(id);
+        comparisons.add(new Callable<String>() {
+          @Override
+          public String call() {
+            return compareNotes(id, sourceRepo, destRepo, subject);
           }
-        }
+        });
       } else {
         /* note exists in source storage, and absent in destination
          * view source as up to date - push
@@ -369,9 +448,17 @@ public class NotebookRepoSync implements NotebookRepo {
       }
     }
 
+    List<String> directions = invokeAll(executor, comparisons);
+    for (int i = 0; i < modifiedIDs.size(); i++) {
+      if (pushKey.equals(directions.get(i))) {
+        pushIDs.add(modifiedIDs.get(i));
+      } else if (pullKey.equals(directions.get(i))) {
+        pullIDs.add(modifiedIDs.get(i));
+      }
+    }
+
     for (NoteInfo note : destNotes) {
-      dnote = containsID(sourceNotes, note.getId());
-      if (dnote == null) {
+      if (!sourceNotesById.containsKey(note.getId())) {
         /* note exists in destination storage, and absent in source */
         if (oneWaySync) {
           /* if oneWaySync is enabled, delete the note from destination */
@@ -392,14 +479,44 @@ public class NotebookRepoSync implements NotebookRepo {
     return map;
   }
 
-  private NoteInfo containsID(List <NoteInfo> notes, String id) {
-    for (NoteInfo note : notes) {
-      if (note.getId().equals(id)) {
-        return note;
+  /**
+   * @return pushKey or pullKey when the note should be copied, null otherwise
+   */
+  private String compareNotes(String id, NotebookRepo sourceRepo, NotebookRepo destRepo,
+      AuthenticationInfo subject) {
+    Date sdate, ddate;
+    try {
+      /* note exists in source and destination storage systems */
+      sdate = lastModificationDate(sourceRepo.get(id, subject));
+      ddate = lastModificationDate(destRepo.get(id, subject));
+    } catch (IOException e) {
+      LOG.error("Cannot access previously listed note {} from storage ", id, e);
+      return null;
+    }
+
+    if (sdate.compareTo(ddate) != 0) {
+      if (sdate.after(ddate) || oneWaySync) {
+        /* if source contains more up to date note - push
+         * if oneWaySync is enabled, always push no matter who's newer */
+        LOG.info("Modified note is added to push list : " + sdate);
+        return pushKey;
+      } else {
+        /* destination contains more up to date note - pull */
+        LOG.info("Modified note is added to pull list : " + ddate);
+        return pullKey;
       }
     }
     return null;
   }
+
+  private static Map<String, NoteInfo> byId(List<NoteInfo> notes) {
+    Map<String, NoteInfo> notesById = new HashMap<>();
+    for (NoteInfo note : notes) {
+      notesById.put(note.getId(), note);
+    }
+    return notesById;
+  }
+
   /**
    * checks latest modification date based on Paragraph fields
    * @return -Date
@@ -429,6 +546,7 @@ public class NotebookRepoSync implements NotebookRepo {
   @Override
   public void close() {
     LOG.info("Closing all notebook storages");
+    backgroundSync.shutdownNow();
     for (NotebookRepo repo: repos) {
       repo.close();
     }
@@ -17,18 +17,27 @@
 
 package org.apache.zeppelin.notebook.repo;
 
-import java.io.File;
-import java.io.FileOutputStream;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
-import java.io.OutputStreamWriter;
-import java.io.Writer;
+import java.io.UnsupportedEncodingException;
+import java.net.URLDecoder;
+import java.net.URLEncoder;
 import java.util.Collections;
+import java.util.HashMap;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadFactory;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
 
-import org.apache.commons.io.FileUtils;
 import org.apache.commons.io.IOUtils;
 import org.apache.commons.lang3.StringUtils;
 import org.apache.zeppelin.conf.ZeppelinConfiguration;
@@ -59,6 +68,8 @@ import com.amazonaws.regions.Region;
 import com.amazonaws.regions.Regions;
 import com.amazonaws.services.s3.model.S3Object;
 import com.amazonaws.services.s3.model.S3ObjectSummary;
+import com.google.gson.Gson;
+import com.google.gson.JsonParseException;
 
 /**
  * Backend for storing Notebooks on S3
@@ -66,6 +77,14 @@ import com.amazonaws.services.s3.model.S3ObjectSummary;
 public class S3NotebookRepo implements NotebookRepo {
   private static final Logger LOG = LoggerFactory.getLogger(S3NotebookRepo.class);
 
+  // user metadata of note.json, which lets list() read the NoteInfo without the note
+  static final String NOTE_INFO_METADATA = "zeppelin-note-info";
+  static final String CONTENT_HASH_METADATA = "zeppelin-content-md5";
+  // S3 limits the user metadata of an object to 2KB
+  private static final int MAX_NOTE_INFO_METADATA_LENGTH = 1536;
+  private static final String GZIP_ENCODING = "gzip";
+  private static final Gson gson = new Gson();
+
   // Use a credential provider chain so that instance profiles can be utilized
   // on an EC2 instance. The order of locations where credentials are searched
   // is documented here
@@ -84,13 +103,25 @@ public class S3NotebookRepo implements NotebookRepo {
   private final String bucketName;
   private final String user;
   private final boolean useServerSideEncryption;
+  private final boolean useGzip;
   private final ZeppelinConfiguration conf;
+  private final ExecutorService listExecutor;
 
   public S3NotebookRepo(ZeppelinConfiguration conf) throws IOException {
     this.conf = conf;
     bucketName = conf.getBucketName();
     user = conf.getUser();
     useServerSideEncryption = conf.isS3ServerSideEncryption();
+    useGzip = conf.isS3Gzip();
+    listExecutor = Executors.newFixedThreadPool(Math.max(1, conf.getS3ListThreads()),
+        new ThreadFactory() {
+          @Override
+          public Thread newThread(Runnable r) {
+            Thread t = new Thread(r, "S3NotebookRepoList");
+            t.setDaemon(true);
+            return t;
+          }
+        });
 
     // always use the default provider chain
     AWSCredentialsProvider credentialsProvider = new DefaultAWSCredentialsProviderChain();
@@ -156,8 +187,7 @@ public class S3NotebookRepo implements NotebookRepo {
 
   @Override
   public List<NoteInfo> list(AuthenticationInfo subject) throws IOException {
-    List<NoteInfo> infos = new LinkedList<>();
-    NoteInfo info;
+    List<Callable<NoteInfo>> tasks = new LinkedList<>();
     try {
       ListObjectsRequest listObjectsRequest = new ListObjectsRequest()
               .withBucketName(bucketName)
@@ -166,11 +196,14 @@ public class S3NotebookRepo implements NotebookRepo {
       do {
         objectListing = s3client.listObjects(listObjectsRequest);
         for (S3ObjectSummary objectSummary : objectListing.getObjectSummaries()) {
-          if (objectSummary.getKey().endsWith("note.json")) {
-            info = getNoteInfo(objectSummary.getKey());
-            if (info != null) {
-              infos.add(info);
-            }
+          final String key = objectSummary.getKey();
+          if (key.endsWith("note.json")) {
+            tasks.add(new Callable<NoteInfo>() {
+              @Override
+              public NoteInfo call() throws IOException {
+                return getNoteInfo(key);
+              }
+            });
           }
         }
         listObjectsRequest.setMarker(objectListing.getNextMarker());
@@ -178,23 +211,49 @@ public class S3NotebookRepo implements NotebookRepo {
     } catch (AmazonClientException ace) {
       throw new IOException("Unable to list objects in S3: " + ace, ace);
     }
+
+    List<NoteInfo> infos = new LinkedList<>();
+    try {
+      for (Future<NoteInfo> future : listExecutor.invokeAll(tasks)) {
+        try {
+          NoteInfo info = future.get();
+          if (info != null) {
+            infos.add(info);
+          }
+        } catch (ExecutionException e) {
+          if (e.getCause() instanceof IOException) {
+            throw (IOException) e.getCause();
+          }
+          throw new IOException("Unable to list objects in S3: " + e.getCause(), e.getCause());
+        }
+      }
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new IOException("Interrupted while listing objects in S3", e);
+    }
     return infos;
   }
 
-  private Note getNote(String key) throws IOException {
-    S3Object s3object;
+  private byte[] getNoteJson(S3Object s3object) throws IOException {
+    try (InputStream ins = s3object.getObjectContent()) {
+      if (GZIP_ENCODING.equals(s3object.getObjectMetadata().getContentEncoding())) {
+        return IOUtils.toByteArray(new GZIPInputStream(ins));
+      }
+      return IOUtils.toByteArray(ins);
+    }
+  }
+
+  private S3Object getObject(String key) throws IOException {
     try {
-      s3object = s3client.getObject(new GetObjectRequest(bucketName, key));
+      return s3client.getObject(new GetObjectRequest(bucketName, key));
     }
     catch (AmazonClientException ace) {
       throw new IOException("Unable to retrieve object from S3: " + ace, ace);
     }
+  }
 
-    Note note;
-    try (InputStream ins = s3object.getObjectContent()) {
-      String json = IOUtils.toString(ins, conf.getString(ConfVars.ZEPPELIN_ENCODING));
-      note = Note.fromJson(json);
-    }
+  private Note parseNote(byte[] json) throws IOException {
+    Note note = Note.fromJson(new String(json, conf.getString(ConfVars.ZEPPELIN_ENCODING)));
 
     for (Paragraph p : note.getParagraphs()) {
       if (p.getStatus() == Status.PENDING || p.getStatus() == Status.RUNNING) {
@@ -205,9 +264,64 @@ public class S3NotebookRepo implements NotebookRepo {
     return note;
   }
 
+  private Note getNote(String key) throws IOException {
+    return parseNote(getNoteJson(getObject(key)));
+  }
+
+  /**
+   * Read the NoteInfo from the user metadata of note.json, and from the note itself when it
+   * was saved without it.
+   */
   private NoteInfo getNoteInfo(String key) throws IOException {
-    Note note = getNote(key);
-    return new NoteInfo(note);
+    ObjectMetadata metadata;
+    try {
+      metadata = s3client.getObjectMetadata(bucketName, key);
+    }
+    catch (AmazonClientException ace) {
+      throw new IOException("Unable to retrieve object metadata from S3: " + ace, ace);
+    }
+    NoteInfo info = fromUserMetadata(metadata.getUserMetadata());
+    if (info != null) {
+      return info;
+    }
+
+    byte[] json = getNoteJson(getObject(key));
+    info = new NoteInfo(parseNote(json));
+    info.setContentHash(NoteInfo.contentHash(json));
+    return info;
+  }
+
+  static NoteInfo fromUserMetadata(Map<String, String> userMetadata) {
+    String encoded = userMetadata.get(NOTE_INFO_METADATA);
+    if (encoded == null) {
+      return null;
+    }
+    try {
+      NoteInfo info = gson.fromJson(URLDecoder.decode(encoded, "UTF-8"), NoteInfo.class);
+      info.setContentHash(userMetadata.get(CONTENT_HASH_METADATA));
+      return info;
+    } catch (UnsupportedEncodingException | JsonParseException e) {
+      LOG.warn("Invalid note info metadata {}", encoded, e);
+      return null;
+    }
+  }
+
+  /**
+   * @return NoteInfo and hash of the note as user metadata, without the NoteInfo when it
+   *         doesn't fit in the user metadata
+   */
+  static Map<String, String> toUserMetadata(Note note, byte[] json) {
+    Map<String, String> userMetadata = new HashMap<>();
+    userMetadata.put(CONTENT_HASH_METADATA, NoteInfo.contentHash(json));
+    try {
+      String encoded = URLEncoder.encode(gson.toJson(new NoteInfo(note)), "UTF-8");
+      if (encoded.length() <= MAX_NOTE_INFO_METADATA_LENGTH) {
+        userMetadata.put(NOTE_INFO_METADATA, encoded);
+      }
+    } catch (UnsupportedEncodingException e) {
+      throw new RuntimeException(e);
+    }
+    return userMetadata;
   }
 
   @Override
@@ -217,32 +331,34 @@ public class S3NotebookRepo implements NotebookRepo {
 
   @Override
   public void save(Note note, AuthenticationInfo subject) throws IOException {
-    String json = note.toJson();
+    byte[] json = note.toJson().getBytes(conf.getString(ConfVars.ZEPPELIN_ENCODING));
     String key = user + "/" + "notebook" + "/" + note.getId() + "/" + "note.json";
 
-    File file = File.createTempFile("note", "json");
-    try {
-      Writer writer = new OutputStreamWriter(new FileOutputStream(file));
-      writer.write(json);
-      writer.close();
-
-      PutObjectRequest putRequest = new PutObjectRequest(bucketName, key, file);
-
-      if (useServerSideEncryption) {
-        // Request server-side encryption.
-        ObjectMetadata objectMetadata = new ObjectMetadata();
-        objectMetadata.setSSEAlgorithm(ObjectMetadata.AES_256_SERVER_SIDE_ENCRYPTION);
-        putRequest.setMetadata(objectMetadata);
+    ObjectMetadata objectMetadata = new ObjectMetadata();
+    objectMetadata.setUserMetadata(toUserMetadata(note, json));
+    byte[] content = json;
+    if (useGzip) {
+      ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+      try (GZIPOutputStream out = new GZIPOutputStream(bytes)) {
+        out.write(json);
       }
+      content = bytes.toByteArray();
+      objectMetadata.setContentEncoding(GZIP_ENCODING);
+    }
+    objectMetadata.setContentLength(content.length);
+    if (useServerSideEncryption) {
+      // Request server-side encryption.
+      objectMetadata.setSSEAlgorithm(ObjectMetadata.AES_256_SERVER_SIDE_ENCRYPTION);
+    }
 
+    try {
+      PutObjectRequest putRequest = new PutObjectRequest(bucketName, key,
+          new ByteArrayInputStream(content), objectMetadata);
       s3client.putObject(putRequest);
     }
     catch (AmazonClientException ace) {
       throw new IOException("Unable to store note in S3: " + ace, ace);
     }
-    finally {
-      FileUtils.deleteQuietly(file);
-    }
   }
 
   @Override
@@ -267,7 +383,7 @@ public class S3NotebookRepo implements NotebookRepo {
 
   @Override
   public void close() {
-    //no-op
+    listExecutor.shutdownNow();
   }
 
   @Override
@@ -153,6 +153,11 @@ public class VFSNotebookRepo implements NotebookRepo {
   }
 
   private Note getNote(FileObject noteDir) throws IOException {
+    return parseNote(new String(readNoteJson(noteDir),
+        conf.getString(ConfVars.ZEPPELIN_ENCODING)));
+  }
+
+  private byte[] readNoteJson(FileObject noteDir) throws IOException {
     if (!isDirectory(noteDir)) {
       throw new IOException(noteDir.getName().toString() + " is not a directory");
     }
@@ -161,12 +166,18 @@ public class VFSNotebookRepo implements NotebookRepo {
     if (!noteJson.exists()) {
       throw new IOException(noteJson.getName().toString() + " not found");
     }
-    
+
     FileContent content = noteJson.getContent();
-    InputStream ins = content.getInputStream();
-    String json = IOUtils.toString(ins, conf.getString(ConfVars.ZEPPELIN_ENCODING));
-    ins.close();
+    try (InputStream ins = content.getInputStream()) {
+      return IOUtils.toByteArray(ins);
+    }
+  }
 
+  /**
+   * Note of the json read from the repo, with the paragraphs and applications which were
+   * running when it was saved marked as aborted and unloaded.
+   */
+  protected Note parseNote(String json) {
     Note note = Note.fromJson(json);
 //    note.setReplLoader(replLoader);
 //    note.jobListenerFactory = jobListenerFactory;
@@ -190,8 +201,11 @@ public class VFSNotebookRepo implements NotebookRepo {
   }
 
   private NoteInfo getNoteInfo(FileObject noteDir) throws IOException {
-    Note note = getNote(noteDir);
-    return new NoteInfo(note);
+    byte[] json = readNoteJson(noteDir);
+    Note note = parseNote(new String(json, conf.getString(ConfVars.ZEPPELIN_ENCODING)));
+    NoteInfo info = new NoteInfo(note);
+    info.setContentHash(NoteInfo.contentHash(json));
+    return info;
   }
 
   @Override
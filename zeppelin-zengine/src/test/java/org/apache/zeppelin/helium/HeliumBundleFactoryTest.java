@@ -20,6 +20,7 @@ import com.github.eirslett.maven.plugins.frontend.lib.InstallationException;
 import com.github.eirslett.maven.plugins.frontend.lib.TaskRunnerException;
 import com.google.common.io.Resources;
 import org.apache.commons.io.FileUtils;
+import org.apache.commons.lang.StringUtils;
 import org.junit.After;
 import org.junit.Before;
 import org.junit.BeforeClass;
@@ -119,6 +120,65 @@ public class HeliumBundleFactoryTest {
     assertEquals(lastModified, bundle.lastModified());
   }
 
+  @Test
+  public void bundleCacheKey() throws IOException {
+    HeliumPackage pkgV1 = new HeliumPackage(HeliumType.VISUALIZATION, "zeppelin-bubblechart",
+        "zeppelin-bubblechart", "zeppelin-bubblechart@0.0.3", "", null, "license", "icon");
+    HeliumPackage pkgV2 = new HeliumPackage(HeliumType.VISUALIZATION, "zeppelin-bubblechart",
+        "zeppelin-bubblechart", "zeppelin-bubblechart@0.0.1", "", null, "license", "icon");
+
+    String keyV1 = hbf.getBundleCacheKey(pkgV1,
+        new String[] {"zeppelin-bubblechart", "0.0.3"});
+    assertEquals(keyV1, hbf.getBundleCacheKey(pkgV1,
+        new String[] {"zeppelin-bubblechart", "0.0.3"}));
+    assertNotEquals(keyV1, hbf.getBundleCacheKey(pkgV2,
+        new String[] {"zeppelin-bubblechart", "0.0.1"}));
+  }
+
+  @Test
+  public void pruneBundleCache() throws IOException {
+    File bundleCacheDir = new File(tmpDir, HeliumBundleFactory.HELIUM_LOCAL_REPO + "/bundle-cache");
+    bundleCacheDir.mkdirs();
+    File[] bundles = new File[4];
+    for (int i = 0; i < bundles.length; i++) {
+      bundles[i] = new File(bundleCacheDir,
+          "zeppelin-bubblechart-" + StringUtils.repeat(Integer.toString(i), 40) + ".js");
+      FileUtils.writeStringToFile(bundles[i], "bundle " + i);
+      bundles[i].setLastModified(1000000000000L + i * 1000);
+    }
+    File otherPackage = new File(bundleCacheDir,
+        "zeppelin-bubblechart-x-" + StringUtils.repeat("0", 40) + ".js");
+    FileUtils.writeStringToFile(otherPackage, "other");
+
+    // keeps the newest bundles and the one asked for
+    hbf.pruneBundleCache("zeppelin-bubblechart", bundles[0]);
+    assertTrue(bundles[0].isFile());
+    assertFalse(bundles[1].isFile());
+    assertTrue(bundles[2].isFile());
+    assertTrue(bundles[3].isFile());
+    assertTrue(otherPackage.isFile());
+  }
+
+  @Test
+  public void bundlePackageInBackground() throws IOException, TaskRunnerException {
+    HeliumPackage pkgV1 = new HeliumPackage(HeliumType.VISUALIZATION, "zeppelin-bubblechart",
+        "zeppelin-bubblechart", "zeppelin-bubblechart@0.0.3", "", null, "license", "icon");
+    HeliumPackage pkgV2 = new HeliumPackage(HeliumType.VISUALIZATION, "zeppelin-bubblechart",
+        "zeppelin-bubblechart", "zeppelin-bubblechart@0.0.1", "", null, "license", "icon");
+
+    File bundleV1 = hbf.getPackageBundle(pkgV1, false);
+    assertTrue(bundleV1.isFile());
+
+    // previous bundle is served while the other version is being built
+    assertEquals(bundleV1, hbf.getPackageBundle(pkgV2, false));
+    File bundleV2 = hbf.buildPackage(pkgV2, false, true);
+    assertNotEquals(bundleV1, bundleV2);
+    assertEquals(bundleV2, hbf.getPackageBundle(pkgV2, false));
+
+    // both versions are kept, switching back doesn't build again
+    assertEquals(bundleV1, hbf.getPackageBundle(pkgV1, false));
+  }
+
   @Test
   public void bundleLocalPackage() throws IOException, TaskRunnerException {
     URL res = Resources.getResource("helium/webpack.config.js");
@@ -741,6 +741,61 @@ public class NotebookTest extends AbstractInterpreterTest implements JobListener
     notebook.removeNote(note.getId(), anonymous);
   }
 
+  @Test
+  public void testAddToAllPermissions() throws IOException {
+    Note note = notebook.createNote(anonymous);
+    notebookAuthorization.setOwners(note.getId(), Sets.newHashSet("user1"));
+
+    notebookAuthorization.addToAllPermissions(note.getId(), "user2");
+    assertEquals(Sets.newHashSet("user1", "user2"), notebookAuthorization.getOwners(note.getId()));
+    assertEquals(Sets.newHashSet("user2"), notebookAuthorization.getReaders(note.getId()));
+    assertEquals(Sets.newHashSet("user2"), notebookAuthorization.getWriters(note.getId()));
+    assertFalse(notebookAuthorization.isReader(note.getId(), Sets.newHashSet("user3")));
+
+    // returned sets are copies and must not change the stored permissions
+    notebookAuthorization.getReaders(note.getId()).add("user3");
+    assertFalse(notebookAuthorization.isReader(note.getId(), Sets.newHashSet("user3")));
+
+    notebookAuthorization.flush();
+    notebook.removeNote(note.getId(), anonymous);
+  }
+
+  @Test
+  public void testConcurrentAddToAllPermissions() throws IOException, InterruptedException {
+    final Note note = notebook.createNote(anonymous);
+    final int numUsers = 20;
+    final CountDownLatch start = new CountDownLatch(1);
+    List<Thread> threads = new LinkedList<>();
+    for (int i = 0; i < numUsers; i++) {
+      final String user = "user" + i;
+      Thread t = new Thread() {
+        @Override
+        public void run() {
+          try {
+            start.await();
+          } catch (InterruptedException e) {
+            return;
+          }
+          notebookAuthorization.addToAllPermissions(note.getId(), user);
+        }
+      };
+      t.start();
+      threads.add(t);
+    }
+    start.countDown();
+    for (Thread t : threads) {
+      t.join();
+    }
+
+    // no concurrent update may be lost
+    assertEquals(numUsers, notebookAuthorization.getOwners(note.getId()).size());
+    assertEquals(numUsers, notebookAuthorization.getReaders(note.getId()).size());
+    assertEquals(numUsers, notebookAuthorization.getWriters(note.getId()).size());
+
+    notebookAuthorization.flush();
+    notebook.removeNote(note.getId(), anonymous);
+  }
+
   @Test
   public void testAuthorizationRoles() throws IOException {
     String user1 = "user1";
@@ -21,8 +21,13 @@ import static com.google.common.truth.Truth.assertThat;
 
 import java.io.File;
 import java.io.IOException;
+import java.util.Arrays;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 
 import org.apache.commons.io.FileUtils;
 import org.apache.commons.lang.StringUtils;
@@ -36,6 +41,7 @@ import org.apache.zeppelin.user.AuthenticationInfo;
 import org.eclipse.jgit.api.Git;
 import org.eclipse.jgit.api.errors.GitAPIException;
 import org.eclipse.jgit.diff.DiffEntry;
+import org.eclipse.jgit.treewalk.filter.PathFilter;
 import org.junit.After;
 import org.junit.Before;
 import org.junit.Test;
@@ -167,6 +173,50 @@ public class GitNotebookRepoTest {
     assertThat(notebookRepo.revisionHistory(TEST_NOTE_ID2, null).size()).isEqualTo(2);
   }
 
+  @Test
+  public void concurrentCheckpointsTest() throws Exception {
+    notebookRepo = new GitNotebookRepo(conf);
+    assertThat(notebookRepo.revisionHistory(TEST_NOTE_ID, null)).isEmpty();
+    assertThat(notebookRepo.revisionHistory(TEST_NOTE_ID2, null)).isEmpty();
+
+    // checkpoints of different notes, requested at the same time
+    ExecutorService executor = Executors.newFixedThreadPool(2);
+    List<Future<Revision>> revisions = executor.invokeAll(Arrays.asList(
+        new Callable<Revision>() {
+          @Override
+          public Revision call() {
+            return notebookRepo.checkpoint(TEST_NOTE_ID, "commit, note1", null);
+          }
+        },
+        new Callable<Revision>() {
+          @Override
+          public Revision call() {
+            return notebookRepo.checkpoint(TEST_NOTE_ID2, "commit, note2", null);
+          }
+        }));
+    executor.shutdown();
+
+    for (Future<Revision> revision : revisions) {
+      assertThat(revision.get()).isNotEqualTo(Revision.EMPTY);
+    }
+    // each note is committed with its own message
+    List<Revision> history = notebookRepo.revisionHistory(TEST_NOTE_ID, null);
+    assertThat(history.size()).isEqualTo(1);
+    assertThat(history.get(0).message).isEqualTo("commit, note1");
+    List<Revision> history2 = notebookRepo.revisionHistory(TEST_NOTE_ID2, null);
+    assertThat(history2.size()).isEqualTo(1);
+    assertThat(history2.get(0).message).isEqualTo("commit, note2");
+    // nothing changed since
+    assertThat(notebookRepo.checkpoint(TEST_NOTE_ID, "commit, note1", null))
+        .isEqualTo(Revision.EMPTY);
+
+    // reading a revision leaves the working tree alone
+    Note note = notebookRepo.get(TEST_NOTE_ID, revisions.get(0).get().id, null);
+    assertThat(note).isNotNull();
+    assertThat(notebookRepo.getGit().diff().setPathFilter(PathFilter.create(TEST_NOTE_ID)).call())
+        .isEmpty();
+  }
+
   @Test
   public void addCheckpointTest() throws IOException {
     // initial checks
@@ -0,0 +1,152 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.zeppelin.notebook.repo;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Matchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.reset;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.mongodb.MongoClient;
+import com.mongodb.client.MongoCollection;
+import com.mongodb.client.model.UpdateOptions;
+import com.mongodb.client.result.UpdateResult;
+import org.apache.zeppelin.conf.ZeppelinConfiguration;
+import org.apache.zeppelin.notebook.Note;
+import org.bson.BsonDocument;
+import org.bson.BsonString;
+import org.bson.Document;
+import org.bson.conversions.Bson;
+import org.junit.Test;
+import org.mockito.ArgumentCaptor;
+
+public class MongoNotebookRepoTest {
+
+  private static Document note(String name, String... paragraphs) {
+    StringBuilder json = new StringBuilder("{\"_id\": \"2A94M5J1Z\", \"id\": \"2A94M5J1Z\", ");
+    json.append("\"name\": \"").append(name).append("\", \"paragraphs\": [");
+    for (int i = 0; i < paragraphs.length; i++) {
+      json.append(i > 0 ? ", " : "").append("{\"text\": \"").append(paragraphs[i]).append("\"}");
+    }
+    return Document.parse(json.append("]}").toString());
+  }
+
+  private static Document update(Document before, Document after) {
+    return new MongoNotebookRepo.StoredNote(before)
+        .updateTo(new MongoNotebookRepo.StoredNote(after), after);
+  }
+
+  @Test
+  public void testUpdateOnlyChangedParagraphs() {
+    Document before = note("note", "p1", "p2", "p3");
+    assertTrue(update(before, note("note", "p1", "p2", "p3")).isEmpty());
+
+    Document set = (Document) update(before, note("note", "p1", "p2 changed", "p3")).get("$set");
+    assertEquals(2, set.size());
+    assertEquals("p2 changed", ((Document) set.get("paragraphs.1")).getString("text"));
+
+    // appended paragraphs are set at their position
+    set = (Document) update(before, note("renamed", "p1", "p2", "p3", "p4")).get("$set");
+    assertEquals(3, set.size());
+    assertEquals("renamed", set.getString("name"));
+    assertEquals("p4", ((Document) set.get("paragraphs.3")).getString("text"));
+
+    // removed paragraphs need the whole list
+    set = (Document) update(before, note("note", "p1", "p3")).get("$set");
+    assertEquals(2, set.size());
+    assertTrue(set.containsKey("paragraphs"));
+  }
+
+  @Test
+  public void testUnsetRemovedFields() {
+    Document before = note("note", "p1");
+    before.put("info", new Document("key", "value"));
+    Document update = update(before, note("note", "p1"));
+    assertEquals(new Document(MongoNotebookRepo.VERSION_FIELD,
+        new MongoNotebookRepo.StoredNote(note("note", "p1")).getVersion()), update.get("$set"));
+    assertEquals(new Document("info", ""), update.get("$unset"));
+  }
+
+  @Test
+  public void testVersion() {
+    String version = new MongoNotebookRepo.StoredNote(note("note", "p1")).getVersion();
+    assertEquals(version, new MongoNotebookRepo.StoredNote(note("note", "p1")).getVersion());
+    assertNotEquals(version, new MongoNotebookRepo.StoredNote(note("note", "p2")).getVersion());
+
+    // the version of a stored document is the one it was written with
+    Document stored = note("note", "p2");
+    stored.put(MongoNotebookRepo.VERSION_FIELD, version);
+    assertEquals(version, new MongoNotebookRepo.StoredNote(stored).getVersion());
+
+    Document set = (Document) update(note("note", "p1"), note("note", "p2")).get("$set");
+    assertEquals(new MongoNotebookRepo.StoredNote(note("note", "p2")).getVersion(),
+        set.getString(MongoNotebookRepo.VERSION_FIELD));
+  }
+
+  @Test
+  @SuppressWarnings("unchecked")
+  public void testSavePartialUpdate() throws Exception {
+    MongoCollection<Document> coll = mock(MongoCollection.class);
+    MongoNotebookRepo repo = new MongoNotebookRepo(ZeppelinConfiguration.create(), coll);
+    Note note = new Note();
+    note.setName("note");
+
+    // not read before, the whole document is written with its version
+    repo.save(note, null);
+    ArgumentCaptor<Document> written = ArgumentCaptor.forClass(Document.class);
+    verify(coll).replaceOne(any(Bson.class), written.capture(), any(UpdateOptions.class));
+    String version = written.getValue().getString(MongoNotebookRepo.VERSION_FIELD);
+    assertEquals(new MongoNotebookRepo.StoredNote(written.getValue()).getVersion(), version);
+
+    // only the changed fields are updated, if the stored document is still that version
+    reset(coll);
+    when(coll.updateOne(any(Bson.class), any(Bson.class)))
+        .thenReturn(UpdateResult.acknowledged(1, 1L, null));
+    note.setName("renamed");
+    repo.save(note, null);
+    ArgumentCaptor<Bson> filter = ArgumentCaptor.forClass(Bson.class);
+    ArgumentCaptor<Bson> update = ArgumentCaptor.forClass(Bson.class);
+    verify(coll).updateOne(filter.capture(), update.capture());
+    assertEquals(new BsonDocument("_id", new BsonString(note.getId()))
+            .append(MongoNotebookRepo.VERSION_FIELD, new BsonString(version)),
+        toBson(filter.getValue()));
+    BsonDocument set = toBson(update.getValue()).getDocument("$set");
+    assertEquals("renamed", set.getString("name").getValue());
+    assertNotEquals(version, set.getString(MongoNotebookRepo.VERSION_FIELD).getValue());
+    verify(coll, never()).replaceOne(any(Bson.class), any(Document.class),
+        any(UpdateOptions.class));
+
+    // changed by someone else meanwhile, the whole document is written
+    reset(coll);
+    when(coll.updateOne(any(Bson.class), any(Bson.class)))
+        .thenReturn(UpdateResult.acknowledged(0, 0L, null));
+    note.setName("renamed again");
+    repo.save(note, null);
+    verify(coll).replaceOne(any(Bson.class), written.capture(), any(UpdateOptions.class));
+    assertEquals("renamed again", written.getValue().getString("name"));
+  }
+
+  private static BsonDocument toBson(Bson bson) {
+    return bson.toBsonDocument(BsonDocument.class, MongoClient.getDefaultCodecRegistry());
+  }
+}
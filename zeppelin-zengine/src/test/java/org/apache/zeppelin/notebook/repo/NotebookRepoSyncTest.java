@@ -228,6 +228,32 @@ public class NotebookRepoSyncTest implements JobListenerFactory {
     assertEquals(1, notebookRepoSync.list(1, anonymous).size());
   }
 
+  @Test
+  public void testSyncInBackground() throws Exception {
+    File srcDir = new File("src/test/resources/2A94M5J1Z");
+    FileUtils.copyDirectory(srcDir, new File(mainNotebookDir + "/2A94M5J1Z"));
+    FileUtils.copyDirectory(srcDir, new File(secNotebookDir + "/2A94M5J1Z"));
+    /* a note only in the secondary storage */
+    String json = FileUtils.readFileToString(new File(srcDir, "note.json"));
+    FileUtils.writeStringToFile(new File(secNotebookDir + "/2A94M5J1Y/note.json"),
+        json.replace("2A94M5J1Z", "2A94M5J1Y"));
+
+    /* same note in both storages has the same fingerprint */
+    String hash = notebookRepoSync.list(0, anonymous).get(0).getContentHash();
+    assertThat(hash).isNotNull();
+    for (NoteInfo info : notebookRepoSync.list(1, anonymous)) {
+      if (info.getId().equals("2A94M5J1Z")) {
+        assertEquals(hash, info.getContentHash());
+      } else {
+        assertThat(info.getContentHash()).isNotEqualTo(hash);
+      }
+    }
+
+    notebookRepoSync.syncInBackground(anonymous).get();
+    assertEquals(2, notebookRepoSync.list(0, anonymous).size());
+    assertEquals(2, notebookRepoSync.list(1, anonymous).size());
+  }
+
   @Test
   public void testOneWaySyncOnReloadedList() throws IOException, SchedulerException {
     System.setProperty(ConfVars.ZEPPELIN_NOTEBOOK_DIR.getVarName(), mainNotebookDir.getAbsolutePath());
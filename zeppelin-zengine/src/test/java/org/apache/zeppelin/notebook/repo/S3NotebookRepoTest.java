@@ -0,0 +1,62 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.zeppelin.notebook.repo;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import org.apache.commons.lang3.StringUtils;
+import org.apache.zeppelin.notebook.Note;
+import org.apache.zeppelin.notebook.NoteInfo;
+import org.junit.Test;
+
+public class S3NotebookRepoTest {
+
+  @Test
+  public void testNoteInfoInUserMetadata() {
+    Note note = new Note();
+    note.setName("folder/\uB178\uD2B8 1");
+    Map<String, Object> config = new HashMap<>();
+    config.put("looknfeel", "default");
+    note.setConfig(config);
+    byte[] json = note.toJson().getBytes();
+
+    Map<String, String> userMetadata = S3NotebookRepo.toUserMetadata(note, json);
+    NoteInfo info = S3NotebookRepo.fromUserMetadata(userMetadata);
+    assertEquals(note.getId(), info.getId());
+    assertEquals(note.getName(), info.getName());
+    assertEquals(config, info.getConfig());
+    assertEquals(NoteInfo.contentHash(json), info.getContentHash());
+
+    // notes saved without the metadata are read to be listed
+    assertNull(S3NotebookRepo.fromUserMetadata(new HashMap<String, String>()));
+  }
+
+  @Test
+  public void testLargeNoteInfoIsNotInUserMetadata() {
+    Note note = new Note();
+    note.setName(StringUtils.repeat("a", 2048));
+    Map<String, String> userMetadata = S3NotebookRepo.toUserMetadata(note, new byte[0]);
+    assertFalse(userMetadata.containsKey(S3NotebookRepo.NOTE_INFO_METADATA));
+    assertNull(S3NotebookRepo.fromUserMetadata(userMetadata));
+  }
+}